@@ -752,6 +752,16 @@ public interface CoreSession {
      */
     DataModel getDataModel(DocumentRef docRef, Schema schema);
 
+    /**
+     * Loads in bulk the given schemas of the given documents, so that reading their properties doesn't require a
+     * separate backend call for each document.
+     * <p>
+     * Schemas that are already loaded or that a document doesn't have are skipped, as well as detached documents.
+     *
+     * @since 2023.13
+     */
+    void prefetchSchemas(List<DocumentModel> docs, Collection<String> schemas);
+
     // -------- Versioning API ---------------
 
     /**
@@ -22,10 +22,14 @@
 package org.nuxeo.ecm.core.api.model.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -52,16 +56,79 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
     private static final long serialVersionUID = 1L;
 
-    protected Map<String, Property> children;
+    /**
+     * The children materialized so far, indexed by the position of their field in the type (see
+     * {@link ComplexType#getFieldIndex}). Allocated on first access.
+     *
+     * @since 2023.13
+     */
+    protected Property[] children;
+
+    /** @since 2023.13 */
+    protected int childrenCount;
 
     protected ComplexProperty(Property parent) {
         super(parent);
-        children = new HashMap<>();
     }
 
     protected ComplexProperty(Property parent, int flags) {
         super(parent, flags);
-        children = new HashMap<>();
+    }
+
+    /**
+     * Gets the materialized child for the given field position, or {@code null}.
+     *
+     * @since 2023.13
+     */
+    protected Property getCachedChild(int index) {
+        return children == null || index >= children.length ? null : children[index];
+    }
+
+    /**
+     * Sets the materialized child for the given field position.
+     *
+     * @since 2023.13
+     */
+    protected void setCachedChild(int index, Property property) {
+        if (children == null) {
+            children = new Property[Math.max(getType().getFieldsCount(), index + 1)];
+        } else if (index >= children.length) {
+            children = Arrays.copyOf(children, index + 1);
+        }
+        if (children[index] == null) {
+            childrenCount++;
+        }
+        children[index] = property;
+    }
+
+    /**
+     * Gets the children materialized so far, in field order.
+     *
+     * @since 2023.13
+     */
+    protected List<Property> getCachedChildren() {
+        if (childrenCount == 0) {
+            return Collections.emptyList();
+        }
+        List<Property> list = new ArrayList<>(childrenCount);
+        for (Property property : children) {
+            if (property != null) {
+                list.add(property);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Forgets all the materialized children.
+     *
+     * @since 2023.13
+     */
+    protected void clearCachedChildren() {
+        if (children != null) {
+            Arrays.fill(children, null);
+        }
+        childrenCount = 0;
     }
 
     /**
@@ -102,14 +169,16 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
     }
 
     public final Property getNonPhantomChild(Field field) {
-        String name = field.getName().getPrefixedName();
-        Property property = children.get(name);
+        int index = getType().getFieldIndex(field);
+        Property property = index < 0 ? null : getCachedChild(index);
         if (property == null) {
             property = internalGetChild(field);
             if (property == null) {
                 return null;
             }
-            children.put(name, property);
+            if (index >= 0) {
+                setCachedChild(index, property);
+            }
         }
         return property;
     }
@@ -118,34 +187,37 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
         Property property = getNonPhantomChild(field);
         if (property == null) {
             property = getRoot().createProperty(this, field, IS_PHANTOM);
-            children.put(property.getName(), property); // cache it
+            int index = getType().getFieldIndex(field);
+            if (index >= 0) {
+                setCachedChild(index, property); // cache it
+            }
         }
         return property;
     }
 
     public final Collection<Property> getNonPhantomChildren() {
         ComplexType type = getType();
-        if (children.size() < type.getFieldsCount()) { // populate with
-                                                       // unloaded props only
-                                                       // if needed
+        if (childrenCount < type.getFieldsCount()) { // populate with
+                                                     // unloaded props only
+                                                     // if needed
             for (Field field : type.getFields()) {
                 getNonPhantomChild(field); // force loading non phantom props
             }
         }
-        return Collections.unmodifiableCollection(children.values());
+        return Collections.unmodifiableCollection(getCachedChildren());
     }
 
     @Override
     public Collection<Property> getChildren() {
         ComplexType type = getType();
-        if (children.size() < type.getFieldsCount()) { // populate with
-                                                       // phantoms if needed
+        if (childrenCount < type.getFieldsCount()) { // populate with
+                                                     // phantoms if needed
             for (Field field : type.getFields()) {
                 getChild(field); // force loading all props including
                                  // phantoms
             }
         }
-        return Collections.unmodifiableCollection(children.values());
+        return Collections.unmodifiableCollection(getCachedChildren());
     }
 
     @Override
@@ -167,7 +239,11 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
             }
             return;
         }
-        children.put(property.getName(), property);
+        int index = getType().getFieldIndex(field);
+        if (index < 0) {
+            throw new PropertyNotFoundException(name);
+        }
+        setCachedChild(index, property);
         setIsModified();
     }
 
@@ -230,7 +306,7 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
         if (value == null) {
             remove();
             // completly clear this property
-            for (Property child : children.values()) {
+            for (Property child : getCachedChildren()) {
                 child.remove();
             }
             return; // TODO how to treat nulls?
@@ -241,10 +317,10 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
         if (getRoot().getClearComplexPropertyBeforeSet()) {
             // completely clear this property before adding new values
-            for (Property child : children.values()) {
+            for (Property child : getCachedChildren()) {
                 child.remove();
             }
-            children.clear();
+            clearCachedChildren();
         }
 
         Map<String, Object> map = (Map<String, Object>) value;
@@ -330,7 +406,7 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
         if (!isContainer()) {
             throw new UnsupportedOperationException("Cannot iterate over children of scalar properties");
         }
-        return new DirtyPropertyIterator(children.values().iterator());
+        return new DirtyPropertyIterator(getCachedChildren().iterator());
     }
 
     /**
@@ -359,22 +435,38 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
     @Override
     public Set<Entry<String, Property>> entrySet() {
-        return children.entrySet();
+        return getCachedChildrenMap().entrySet();
     }
 
     @Override
     public Property get(Object key) {
-        return children.get(key);
+        if (!(key instanceof String)) {
+            return null;
+        }
+        Field field = getType().getField((String) key);
+        if (field == null) {
+            return null;
+        }
+        int index = getType().getFieldIndex(field);
+        return index < 0 ? null : getCachedChild(index);
     }
 
     @Override
     public boolean isEmpty() {
-        return children.isEmpty();
+        return childrenCount == 0;
     }
 
     @Override
     public Set<String> keySet() {
-        return children.keySet();
+        return getCachedChildrenMap().keySet();
+    }
+
+    protected Map<String, Property> getCachedChildrenMap() {
+        Map<String, Property> map = new LinkedHashMap<>();
+        for (Property property : getCachedChildren()) {
+            map.put(property.getName(), property);
+        }
+        return Collections.unmodifiableMap(map);
     }
 
     /**
@@ -403,14 +495,14 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
     @Override
     public Collection<Property> values() {
-        return children.values();
+        return Collections.unmodifiableCollection(getCachedChildren());
     }
 
     @Override
     public void clearDirtyFlags() {
         // even makes child properties not dirty
         super.clearDirtyFlags();
-        for (Property child : children.values()) {
+        for (Property child : getCachedChildren()) {
             if (!child.isRemoved() && !child.isPhantom()) {
                 child.clearDirtyFlags();
             }
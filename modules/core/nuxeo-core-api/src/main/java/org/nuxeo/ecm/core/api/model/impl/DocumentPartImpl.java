@@ -140,7 +140,8 @@ public class DocumentPartImpl extends ComplexProperty implements DocumentPart {
 
     @Override
     public String toString() {
-        return getClass().getSimpleName() + '(' + getName() + (isDirty() ? "*" : "") + ", " + children + ')';
+        return getClass().getSimpleName() + '(' + getName() + (isDirty() ? "*" : "") + ", " + getCachedChildrenMap()
+                + ')';
     }
 
 }
@@ -128,6 +128,20 @@ public interface Session<T extends QueryFilter> {
      */
     Document getDocumentByUUID(String uuid) throws DocumentNotFoundException;
 
+    /**
+     * Fetches in bulk the given schemas of the given documents, for backends that would otherwise fetch them separately
+     * for each document when they are read.
+     * <p>
+     * The default implementation does nothing, for backends already holding the whole documents in memory.
+     *
+     * @param ids the document ids
+     * @param schemas the schemas
+     * @since 2023.13
+     */
+    default void prefetchSchemas(List<String> ids, Collection<String> schemas) {
+        // nothing to prefetch
+    }
+
     /**
      * Gets the root document in this repository.
      *
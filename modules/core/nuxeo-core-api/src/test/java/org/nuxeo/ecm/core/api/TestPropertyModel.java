@@ -21,6 +21,7 @@ package org.nuxeo.ecm.core.api;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -33,6 +34,8 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -43,6 +46,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.nuxeo.ecm.core.api.model.Property;
+import org.nuxeo.ecm.core.api.model.PropertyNotFoundException;
 import org.nuxeo.ecm.core.api.model.ReadOnlyPropertyException;
 import org.nuxeo.ecm.core.api.model.ValueExporter;
 import org.nuxeo.ecm.core.api.model.impl.DocumentPartImpl;
@@ -52,7 +56,12 @@ import org.nuxeo.ecm.core.api.model.impl.primitives.DateProperty;
 import org.nuxeo.ecm.core.api.model.impl.primitives.LongProperty;
 import org.nuxeo.ecm.core.api.model.impl.primitives.StringProperty;
 import org.nuxeo.ecm.core.schema.SchemaManager;
+import org.nuxeo.ecm.core.schema.types.ComplexTypeImpl;
+import org.nuxeo.ecm.core.schema.types.Field;
+import org.nuxeo.ecm.core.schema.types.FieldImpl;
+import org.nuxeo.ecm.core.schema.types.QName;
 import org.nuxeo.ecm.core.schema.types.Schema;
+import org.nuxeo.ecm.core.schema.types.primitives.StringType;
 import org.nuxeo.runtime.RuntimeService;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.test.runner.Deploy;
@@ -787,4 +796,45 @@ public class TestPropertyModel {
         assertEquals(unPrefixedMap(map), export);
     }
 
+    @Test
+    public void testComplexChildrenMaterializedLazily() throws Exception {
+        // shared field index follows the field iteration order
+        int expected = 0;
+        for (Field field : schema.getFields()) {
+            assertEquals(expected++, schema.getFieldIndex(field));
+        }
+
+        assertTrue(dp.isEmpty());
+        Property title = dp.get("book:title");
+        assertEquals(1, dp.values().size());
+        assertSame(title, dp.get((Object) "book:title"));
+        assertSame(title, dp.get("title"));
+        assertEquals(Collections.singleton("book:title"), dp.keySet());
+
+        Collection<Property> children = dp.getChildren();
+        assertEquals(schema.getFieldsCount(), children.size());
+        assertTrue(children.contains(title));
+        assertEquals(schema.getFieldsCount(), dp.keySet().size());
+    }
+
+    @Test
+    public void testSetComplexChildWithoutFieldIndex() {
+        ComplexTypeImpl type = new ComplexTypeImpl(null, schema.getName(), "unindexed") {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int getFieldIndex(Field field) {
+                return -1;
+            }
+        };
+        Field field = type.addField("foo", StringType.INSTANCE, null, 0, null);
+        MapProperty property = new MapProperty(dp, new FieldImpl(QName.valueOf("unindexed"), schema, type));
+        try {
+            property.set("foo", new StringProperty(property, field, 0));
+            fail("should throw PropertyNotFoundException");
+        } catch (PropertyNotFoundException e) {
+            assertEquals("foo", e.getOriginalMessage());
+        }
+    }
+
 }
@@ -163,4 +163,14 @@ public interface ConversionService {
      */
     BlobHolder getConversionResult(String id, boolean cleanTransientStoreEntry);
 
+    /**
+     * Returns a fingerprint of the contributed configuration of the given converter and of its sub converters, which
+     * changes when the converter is contributed differently, or {@code null} if the converter is not registered.
+     *
+     * @since 2023.13
+     */
+    default String getConverterFingerprint(String converterName) {
+        return null;
+    }
+
 }
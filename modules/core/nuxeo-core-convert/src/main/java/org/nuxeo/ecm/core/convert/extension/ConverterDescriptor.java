@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.nuxeo.common.xmap.annotation.XNode;
 import org.nuxeo.common.xmap.annotation.XNodeList;
@@ -177,4 +178,23 @@ public class ConverterDescriptor {
         return converterType;
     }
 
+    /**
+     * @since 2023.13
+     */
+    public List<String> getSubConverters() {
+        return subConverters;
+    }
+
+    /**
+     * Returns a description of the contributed configuration of this converter, which changes when it's contributed
+     * differently.
+     *
+     * @since 2023.13
+     */
+    public String getConfigurationDescription() {
+        return converterName + '|' + (className == null ? null : className.getName()) + '|' + converterType + '|'
+                + sourceMimeTypes + '|' + destinationMimeType + '|' + bypassIfSameMimeType + '|'
+                + new TreeMap<>(parameters) + '|' + steps + '|' + subConverters;
+    }
+
 }
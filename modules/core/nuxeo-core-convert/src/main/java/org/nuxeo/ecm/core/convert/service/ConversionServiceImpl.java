@@ -27,14 +27,17 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.ws.rs.core.MediaType;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -435,6 +438,35 @@ public class ConversionServiceImpl extends DefaultComponent implements Conversio
         return translationHelper.getConverterName(sourceMimeType, destinationMimeType, allowWildcard);
     }
 
+    @Override
+    public String getConverterFingerprint(String converterName) {
+        ConverterDescriptor desc = converterDescriptors.get(converterName);
+        if (desc == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        appendConfigurationDescription(desc, sb, new HashSet<>());
+        return DigestUtils.sha256Hex(sb.toString());
+    }
+
+    /**
+     * Appends the configuration description of the converter and of its sub converters, each one once.
+     *
+     * @since 2023.13
+     */
+    protected void appendConfigurationDescription(ConverterDescriptor desc, StringBuilder sb, Set<String> done) {
+        if (!done.add(desc.getConverterName())) {
+            return;
+        }
+        sb.append(desc.getConfigurationDescription()).append('\n');
+        for (String subConverter : desc.getSubConverters()) {
+            ConverterDescriptor subDesc = converterDescriptors.get(subConverter);
+            if (subDesc != null) {
+                appendConfigurationDescription(subDesc, sb, done);
+            }
+        }
+    }
+
     @Override
     public ConverterCheckResult isConverterAvailable(String converterName) throws ConversionException {
         return isConverterAvailable(converterName, false);
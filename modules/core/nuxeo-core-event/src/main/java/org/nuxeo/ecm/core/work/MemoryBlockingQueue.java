@@ -121,6 +121,9 @@ public class MemoryBlockingQueue extends NuxeoBlockingQueue {
     long completedCount;
     long cancelledCount;
 
+    // incremented when a work stops running, @since 2023.13
+    protected volatile long runningWorksChanges;
+
     /**
      * Creates a {@link BlockingQueue} with a maximum capacity.
      * <p>
@@ -156,8 +159,17 @@ public class MemoryBlockingQueue extends NuxeoBlockingQueue {
 
     @Override
     public Runnable take() throws InterruptedException {
-        Runnable r = queue.take();
+        // works over the concurrency limit stay in the queue
+        acquireConcurrency();
+        Runnable r;
+        try {
+            r = queue.take();
+        } catch (InterruptedException e) {
+            releaseConcurrency();
+            throw e;
+        }
         if (anotherWorkIsAlreadyRunning(r)) {
+            releaseConcurrency();
             // reschedule the work so it does not run concurrently
             offer(r);
             // take a break we don't want to take too much CPU looping on the same message.
@@ -178,12 +190,50 @@ public class MemoryBlockingQueue extends NuxeoBlockingQueue {
 
     @Override
     public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
-        long nanos = unit.toNanos(timeout);
-        nanos = awaitActivation(nanos);
-        if (nanos <= 0) {
-            return null;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (;;) {
+            long nanos = awaitActivation(deadline - System.nanoTime());
+            // works over the concurrency limit stay in the queue
+            if (nanos <= 0 || !tryAcquireConcurrency(nanos)) {
+                return null;
+            }
+            Runnable r;
+            try {
+                r = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                releaseConcurrency();
+                throw e;
+            }
+            if (r == null) {
+                releaseConcurrency();
+                return null;
+            }
+            long changes = runningWorksChanges;
+            if (!anotherWorkIsAlreadyRunning(r)) {
+                return r;
+            }
+            releaseConcurrency();
+            // reschedule the work so it does not run concurrently, see take()
+            offer(r);
+            awaitRunningWorksChange(changes, deadline);
         }
-        return queue.poll(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Waits until a work stops running or the deadline is reached.
+     *
+     * @since 2023.13
+     */
+    protected synchronized void awaitRunningWorksChange(long changes, long deadline) throws InterruptedException {
+        long nanos;
+        while (runningWorksChanges == changes && (nanos = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, nanos);
+        }
+    }
+
+    protected synchronized void signalRunningWorksChange() {
+        runningWorksChanges++;
+        notifyAll();
     }
 
     synchronized WorkQueueMetrics workSchedule(Work work) {
@@ -233,6 +283,7 @@ public class MemoryBlockingQueue extends NuxeoBlockingQueue {
         }
         runningCount -= 1;
         completedCount += 1;
+        signalRunningWorksChange();
         return metrics();
     }
 
@@ -243,6 +294,7 @@ public class MemoryBlockingQueue extends NuxeoBlockingQueue {
         }
         works.remove(id);
         runningCount -= 1;
+        signalRunningWorksChange();
         return workSchedule(work);
     }
 
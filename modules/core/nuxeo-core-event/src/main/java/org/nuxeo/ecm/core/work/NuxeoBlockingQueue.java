@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -41,7 +42,7 @@ public abstract class NuxeoBlockingQueue extends AbstractQueue<Runnable> impleme
      * ThreadPoolExecutor uses a BlockingQueue but the Java 7 implementation only calls these methods on it:
      * - isEmpty()
      * - size()
-     * - poll(timeout, unit): not used, as core pool size = max size and no core thread timeout
+     * - poll(timeout, unit): only used when core thread timeout is allowed (elastic and virtual executors)
      * - take()
      * - offer(e)
      * - remove(e)
@@ -60,6 +61,13 @@ public abstract class NuxeoBlockingQueue extends AbstractQueue<Runnable> impleme
 
     protected final WorkQueuing queuing;
 
+    /**
+     * Limits the number of elements taken from the queue and not yet released, {@code null} if unlimited.
+     *
+     * @since 2023.13
+     */
+    protected volatile Semaphore concurrency;
+
     protected NuxeoBlockingQueue(String queueId, WorkQueuing queuing) {
         this.queueId = queueId;
         this.queuing = queuing;
@@ -85,6 +93,52 @@ public abstract class NuxeoBlockingQueue extends AbstractQueue<Runnable> impleme
         return metrics();
     }
 
+    /**
+     * Sets the maximum number of elements taken from the queue and not yet {@linkplain #releaseConcurrency()
+     * released}, or a negative value for no limit. Elements over the limit stay in the queue.
+     *
+     * @since 2023.13
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        concurrency = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    }
+
+    /**
+     * Waits until an element can be taken from the queue according to the concurrency limit.
+     *
+     * @since 2023.13
+     */
+    protected void acquireConcurrency() throws InterruptedException {
+        Semaphore semaphore = concurrency;
+        if (semaphore != null) {
+            semaphore.acquire();
+        }
+    }
+
+    /**
+     * Waits at most the given time until an element can be taken from the queue according to the concurrency limit.
+     *
+     * @return {@code false} if the waiting time elapsed
+     * @since 2023.13
+     */
+    protected boolean tryAcquireConcurrency(long nanos) throws InterruptedException {
+        Semaphore semaphore = concurrency;
+        return semaphore == null || semaphore.tryAcquire(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Signals that an element taken from the queue with {@link #take} or {@link #poll(long, TimeUnit)} is done,
+     * allowing another one to be taken.
+     *
+     * @since 2023.13
+     */
+    public void releaseConcurrency() {
+        Semaphore semaphore = concurrency;
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
     @Override
     public boolean offer(Runnable r) {
         try {
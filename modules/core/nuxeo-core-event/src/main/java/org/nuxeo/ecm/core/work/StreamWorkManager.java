@@ -32,6 +32,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
@@ -44,6 +45,7 @@ import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 
 import org.apache.logging.log4j.Logger;
+import org.nuxeo.common.concurrent.ThreadFactories;
 import org.nuxeo.ecm.core.event.EventServiceComponent;
 import org.nuxeo.ecm.core.work.api.Work;
 import org.nuxeo.ecm.core.work.api.WorkQueueDescriptor;
@@ -168,6 +170,13 @@ public class StreamWorkManager extends WorkManagerImpl {
 
     protected boolean storeState;
 
+    /**
+     * Per queue limit of works running at the same time on this instance, shared by the computation threads.
+     *
+     * @since 2023.13
+     */
+    protected final Map<String, Semaphore> concurrencyLimits = new HashMap<>();
+
     protected long stateTTL;
 
     protected int getOverProvisioningFactor() {
@@ -367,11 +376,16 @@ public class StreamWorkManager extends WorkManagerImpl {
 
     protected void initTopology() {
         List<WorkQueueDescriptor> descriptors = getDescriptors(QUEUES_EP);
+        concurrencyLimits.clear();
+        descriptors.stream()
+                   .filter(d -> d.getMaxConcurrency() > 0 && d.getMaxConcurrency() < d.getMaxThreads())
+                   .forEach(d -> concurrencyLimits.put(d.getId(), new Semaphore(d.getMaxConcurrency())));
         // create the single topology with one root per work pool
         Topology.Builder builder = Topology.builder();
         descriptors.stream()
                    .filter(WorkQueueDescriptor::isProcessingEnabled)
-                   .forEach(d -> builder.addComputation(() -> new WorkComputation(NAMESPACE_PREFIX + d.getId()),
+                   .forEach(d -> builder.addComputation(
+                           () -> new WorkComputation(NAMESPACE_PREFIX + d.getId(), concurrencyLimits.get(d.getId())),
                            Collections.singletonList(INPUT_1 + ":" + NAMESPACE_PREFIX + d.getId())));
         topology = builder.build();
         // create a topology for the disabled work pools in order to init their input streams
@@ -388,6 +402,11 @@ public class StreamWorkManager extends WorkManagerImpl {
         descriptors.forEach(item -> settings.setConcurrency(NAMESPACE_PREFIX + item.getId(), item.getMaxThreads()));
         descriptors.forEach(
                 item -> settings.setPartitions(NAMESPACE_PREFIX + item.getId(), getPartitions(item.getMaxThreads())));
+        // computation threads are long lived, so an elastic executor is the same as the default one
+        descriptors.stream()
+                   .filter(WorkQueueDescriptor::isVirtualExecutor)
+                   .forEach(item -> settings.setThreadFactory(NAMESPACE_PREFIX + item.getId(),
+                           ThreadFactories.newVirtualThreadFactory(NAMESPACE_PREFIX + item.getId() + "Pool")));
     }
 
     protected int getPartitions(int maxThreads) {
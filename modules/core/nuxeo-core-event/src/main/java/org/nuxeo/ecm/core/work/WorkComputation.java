@@ -29,6 +29,7 @@ import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections4.queue.CircularFifoQueue;
@@ -65,10 +66,23 @@ public class WorkComputation extends AbstractComputation {
 
     protected final long stateTTL;
 
+    /** @since 2023.13 */
+    protected final Semaphore concurrency;
+
     protected Work work;
 
     public WorkComputation(String name) {
+        this(name, null);
+    }
+
+    /**
+     * @param concurrency limits the works running at the same time, shared between the computations of a queue, or
+     *            {@code null} for no limit
+     * @since 2023.13
+     */
+    public WorkComputation(String name, Semaphore concurrency) {
         super(name, 1, 0);
+        this.concurrency = concurrency;
         MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
         workTimer = registry.timer(
                 MetricName.build("nuxeo.works.queue.timer").tagged("queue", Name.ofUrn(name).getName()));
@@ -102,7 +116,7 @@ public class WorkComputation extends AbstractComputation {
                 }
                 // The running state is needed to activate the DLQ mechanism
                 work.setWorkInstanceState(Work.State.RUNNING);
-                new WorkHolder(work).run();
+                runWork(work);
                 // if the same work id has not been scheduled again, set the state to null for 'completed'
                 if (storeState && WorkStateHelper.getState(work.getId()) == Work.State.RUNNING) {
                     WorkStateHelper.setState(work.getId(), null, stateTTL);
@@ -138,6 +152,19 @@ public class WorkComputation extends AbstractComputation {
         }
     }
 
+    protected void runWork(Work work) throws InterruptedException {
+        if (concurrency == null) {
+            new WorkHolder(work).run();
+            return;
+        }
+        concurrency.acquire();
+        try {
+            new WorkHolder(work).run();
+        } finally {
+            concurrency.release();
+        }
+    }
+
     protected void cleanupWorkInFailure(Work work, Exception exception) {
         try {
             work.cleanUp(false, exception);
@@ -45,8 +45,10 @@ import javax.transaction.SystemException;
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.nuxeo.common.concurrent.ThreadFactories;
 import org.nuxeo.common.utils.ExceptionUtils;
 import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.core.event.EventServiceComponent;
@@ -105,6 +107,13 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
 
     protected static final String THREAD_PREFIX = "Nuxeo-Work-";
 
+    /**
+     * Idle time after which the threads of a queue using an elastic or virtual executor are released.
+     *
+     * @since 2023.13
+     */
+    protected static final long ELASTIC_KEEP_ALIVE_SECONDS = 60;
+
     /**
      * @since 10.2
      */
@@ -225,13 +234,21 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
             throw new IllegalStateException("work queue " + config.id + " already have an executor");
         }
         NuxeoBlockingQueue queue = queuing.init(config);
-        ThreadFactory threadFactory = new NamedThreadFactory(THREAD_PREFIX + config.id + "-");
+        ThreadFactory threadFactory = new NamedThreadFactory(THREAD_PREFIX + config.id + "-",
+                config.isVirtualExecutor());
         int maxPoolSize = config.getMaxThreads();
         WorkThreadPoolExecutor executor = new WorkThreadPoolExecutor(maxPoolSize, maxPoolSize, 0, TimeUnit.SECONDS,
                 queue, threadFactory);
-        // prestart all core threads so that direct additions to the queue
-        // (from another Nuxeo instance) can be seen
-        executor.prestartAllCoreThreads();
+        executor.setMaxConcurrency(config.getMaxConcurrency());
+        if (config.isVirtualExecutor() || config.isElasticExecutor()) {
+            // threads are started on submission and released when idle
+            executor.setKeepAliveTime(ELASTIC_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            executor.allowCoreThreadTimeOut(true);
+        } else {
+            // prestart all core threads so that direct additions to the queue
+            // (from another Nuxeo instance) can be seen
+            executor.prestartAllCoreThreads();
+        }
         executors.put(config.id, executor);
         log.info("Initialized work queue {}, {}", config.id, config);
     }
@@ -241,6 +258,11 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
             throw new IllegalArgumentException("cannot activate all queues");
         }
         queuing.setActive(config.id, config.isProcessingEnabled());
+        WorkThreadPoolExecutor executor = executors.get(config.id);
+        if (executor != null && executor.allowsCoreThreadTimeOut()) {
+            // idle threads may have been released, start them to process the already scheduled works
+            executor.prestartAllCoreThreads();
+        }
         log.info("Activated work queue {}, {}", config.id, config);
         // Enable metrics
         if (config.isProcessingEnabled()) {
@@ -583,7 +605,7 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
     }
 
     /**
-     * Creates non-daemon threads at normal priority.
+     * Creates non-daemon threads at normal priority, or virtual threads if requested and supported.
      */
     private static class NamedThreadFactory implements ThreadFactory {
 
@@ -593,14 +615,36 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
 
         private final String prefix;
 
+        private final ThreadFactory virtualThreadFactory;
+
         public NamedThreadFactory(String prefix) {
+            this(prefix, false);
+        }
+
+        /** @since 2023.13 */
+        public NamedThreadFactory(String prefix, boolean virtual) {
             SecurityManager sm = System.getSecurityManager();
             group = sm == null ? Thread.currentThread().getThreadGroup() : sm.getThreadGroup();
             this.prefix = prefix;
+            if (virtual && ThreadFactories.isVirtualThreadSupported()) {
+                virtualThreadFactory = ThreadFactories.newVirtualThreadFactory(StringUtils.removeEnd(prefix, "-"));
+            } else {
+                if (virtual) {
+                    LogManager.getLogger(WorkManagerImpl.class)
+                              .warn("Virtual threads are not supported by this JVM, using platform threads for: {}",
+                                      prefix);
+                }
+                virtualThreadFactory = null;
+            }
         }
 
         @Override
         public Thread newThread(Runnable r) {
+            if (virtualThreadFactory != null) {
+                Thread thread = virtualThreadFactory.newThread(r);
+                thread.setUncaughtExceptionHandler(this::handleUncaughtException);
+                return thread;
+            }
             String name = prefix + threadNumber.incrementAndGet();
             Thread thread = new Thread(group, r, name);
             // do not set daemon
@@ -670,6 +714,21 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
             workTimer = registry.timer(MetricName.build("nuxeo.works.queue.timer").tagged("queue", queueId));
         }
 
+        /**
+         * Sets the maximum number of works running at the same time, or a negative value for no limit other than the
+         * number of threads. The works over the limit stay scheduled in the queue.
+         *
+         * @since 2023.13
+         */
+        public void setMaxConcurrency(int maxConcurrency) {
+            getNuxeoBlockingQueue().setMaxConcurrency(maxConcurrency < getMaximumPoolSize() ? maxConcurrency : -1);
+        }
+
+        /** @since 2023.13 */
+        protected NuxeoBlockingQueue getNuxeoBlockingQueue() {
+            return (NuxeoBlockingQueue) getQueue();
+        }
+
         public int getScheduledOrRunningSize() {
             return getWorkQueueIds().stream()
                                     .map(WorkManagerImpl.this::getMetrics)
@@ -701,12 +760,18 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
          */
         protected void submit(Work work) throws RuntimeException {
             queuing.workSchedule(queueId, work);
+            if (allowsCoreThreadTimeOut()) {
+                // idle threads may have been released, start a new one if needed
+                prestartCoreThread();
+            }
         }
 
         @Override
         protected void beforeExecute(Thread t, Runnable r) {
             Work work = WorkHolder.getWork(r);
             if (isShutdown()) {
+                // afterExecute won't be called
+                getNuxeoBlockingQueue().releaseConcurrency();
                 work.setWorkInstanceState(State.SCHEDULED);
                 queuing.workReschedule(queueId, work);
                 throw new RejectedExecutionException(queueId + " was shutdown, rescheduled " + work);
@@ -734,6 +799,7 @@ public class WorkManagerImpl extends DefaultComponent implements WorkManager {
                 work.setWorkInstanceState(State.UNKNOWN);
                 queuing.workCompleted(queueId, work);
             } finally {
+                getNuxeoBlockingQueue().releaseConcurrency();
                 running.remove(work);
                 runningCount.dec();
                 completedCount.inc();
@@ -43,6 +43,30 @@ public class WorkQueueDescriptor implements Descriptor {
 
     public static final int DEFAULT_CAPACITY = -1;
 
+    /**
+     * Runs the queue on a fixed pool of platform threads, this is the default.
+     *
+     * @since 2023.13
+     */
+    public static final String EXECUTOR_PLATFORM = "platform";
+
+    /**
+     * Runs the queue on virtual threads when the JVM supports them, on platform threads otherwise.
+     *
+     * @since 2023.13
+     */
+    public static final String EXECUTOR_VIRTUAL = "virtual";
+
+    /**
+     * Runs the queue on platform threads that are started on demand and released when idle.
+     *
+     * @since 2023.13
+     */
+    public static final String EXECUTOR_ELASTIC = "elastic";
+
+    /** @since 2023.13 */
+    public static final int DEFAULT_MAX_CONCURRENCY = -1;
+
     @XNode("@id")
     public String id;
 
@@ -81,6 +105,45 @@ public class WorkQueueDescriptor implements Descriptor {
         return maxThreads == null ? DEFAULT_MAX_THREADS : maxThreads.intValue();
     }
 
+    /**
+     * The kind of threads running the works of this queue, one of {@value #EXECUTOR_PLATFORM},
+     * {@value #EXECUTOR_VIRTUAL} or {@value #EXECUTOR_ELASTIC}.
+     *
+     * @since 2023.13
+     */
+    @XNode("executor")
+    public String executor;
+
+    /** @since 2023.13 */
+    public String getExecutor() {
+        return executor == null ? EXECUTOR_PLATFORM : executor;
+    }
+
+    /** @since 2023.13 */
+    public boolean isVirtualExecutor() {
+        return EXECUTOR_VIRTUAL.equals(getExecutor());
+    }
+
+    /** @since 2023.13 */
+    public boolean isElasticExecutor() {
+        return EXECUTOR_ELASTIC.equals(getExecutor());
+    }
+
+    /**
+     * When specified, limits the number of works of this queue running at the same time on this instance,
+     * independently of the number of threads. This is useful with the {@value #EXECUTOR_VIRTUAL} executor, where many
+     * threads are cheap but the resource they use is not.
+     *
+     * @since 2023.13
+     */
+    @XNode("maxConcurrency")
+    public Integer maxConcurrency;
+
+    /** @since 2023.13 */
+    public int getMaxConcurrency() {
+        return maxConcurrency == null ? DEFAULT_MAX_CONCURRENCY : maxConcurrency.intValue();
+    }
+
     @XNodeList(value = "category", type = HashSet.class, componentType = String.class)
     public Set<String> categories = Collections.emptySet();
 
@@ -107,6 +170,8 @@ public class WorkQueueDescriptor implements Descriptor {
         merged.capacity = other.capacity != null ? other.capacity : capacity;
         merged.processing = other.processing != null ? other.processing : processing;
         merged.maxThreads = other.maxThreads != null ? other.maxThreads : maxThreads;
+        merged.executor = other.executor != null ? other.executor : executor;
+        merged.maxConcurrency = other.maxConcurrency != null ? other.maxConcurrency : maxConcurrency;
         merged.categories = new HashSet<>(categories);
         merged.categories.addAll(other.categories);
         return merged;
@@ -125,6 +190,10 @@ public class WorkQueueDescriptor implements Descriptor {
         sb.append(isProcessingEnabled());
         sb.append(" maxThreads=");
         sb.append(getMaxThreads());
+        sb.append(" executor=");
+        sb.append(getExecutor());
+        sb.append(" maxConcurrency=");
+        sb.append(getMaxConcurrency());
         sb.append(" capacity=");
         sb.append(getCapacity());
         sb.append(")");
@@ -18,11 +18,14 @@
  */
 package org.nuxeo.ecm.core.work;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
+import org.nuxeo.ecm.core.work.WorkManagerImpl.WorkThreadPoolExecutor;
+import org.nuxeo.runtime.test.runner.Deploy;
 
 public class TestInMemoryWorkManager extends AbstractWorkManagerTest {
 
@@ -62,4 +65,52 @@ public class TestInMemoryWorkManager extends AbstractWorkManagerTest {
         assertTrue(service.awaitCompletion(duration * 2L, TimeUnit.MILLISECONDS));
         tracker.assertDiff(0, 0, 2, 0);
     }
+
+    @Test
+    @Deploy("org.nuxeo.ecm.core.event.test:test-workmanager-elastic-queue-config.xml")
+    public void testMaxConcurrency() throws InterruptedException {
+        int duration = getDurationMillis() * 3;
+        for (int i = 0; i < 4; i++) {
+            service.schedule(new SleepWork(duration));
+        }
+
+        // wait a bit to make sure the first works are running
+        Thread.sleep(duration / 3);
+        // 4 threads but only 2 works running, the others are still scheduled
+        tracker.assertDiff(2, 2, 0, 0);
+
+        // wait enough so the first works are done and the others are running
+        Thread.sleep(duration);
+        tracker.assertDiff(0, 2, 2, 0);
+
+        assertTrue(service.awaitCompletion(duration * 2L, TimeUnit.MILLISECONDS));
+        tracker.assertDiff(0, 0, 4, 0);
+    }
+
+    @Test
+    @Deploy("org.nuxeo.ecm.core.event.test:test-workmanager-elastic-queue-config.xml")
+    public void testElasticThreadsTimeoutAndRestartOnSubmit() throws InterruptedException {
+        WorkThreadPoolExecutor executor = ((WorkManagerImpl) service).executors.get(QUEUE);
+        assertTrue(executor.allowsCoreThreadTimeOut());
+        // don't wait for the default keep alive, idle threads are interrupted to use the new one
+        executor.setKeepAliveTime(100, TimeUnit.MILLISECONDS);
+
+        int duration = getDurationMillis();
+        service.schedule(new SleepWork(duration));
+        assertTrue(service.awaitCompletion(duration * 10L, TimeUnit.MILLISECONDS));
+        tracker.assertDiff(0, 0, 1, 0);
+
+        // idle threads are released
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (executor.getPoolSize() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, executor.getPoolSize());
+
+        // a thread is started on submit
+        service.schedule(new SleepWork(duration));
+        assertTrue(executor.getPoolSize() > 0);
+        assertTrue(service.awaitCompletion(duration * 10L, TimeUnit.MILLISECONDS));
+        tracker.assertDiff(0, 0, 2, 0);
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.work;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.nuxeo.common.concurrent.ThreadFactories;
+import org.nuxeo.ecm.core.work.api.WorkQueueDescriptor;
+
+/**
+ * @since 2023.13
+ */
+public class TestWorkQueueDescriptor {
+
+    @Test
+    public void testExecutorDefaults() {
+        WorkQueueDescriptor descriptor = new WorkQueueDescriptor();
+        descriptor.id = "test";
+        assertEquals(WorkQueueDescriptor.EXECUTOR_PLATFORM, descriptor.getExecutor());
+        assertFalse(descriptor.isVirtualExecutor());
+        assertFalse(descriptor.isElasticExecutor());
+        assertEquals(WorkQueueDescriptor.DEFAULT_MAX_CONCURRENCY, descriptor.getMaxConcurrency());
+    }
+
+    @Test
+    public void testExecutorMerge() {
+        WorkQueueDescriptor descriptor = new WorkQueueDescriptor();
+        descriptor.id = "test";
+        descriptor.maxThreads = 2;
+        WorkQueueDescriptor other = new WorkQueueDescriptor();
+        other.id = "test";
+        other.maxThreads = 64;
+        other.executor = WorkQueueDescriptor.EXECUTOR_VIRTUAL;
+        other.maxConcurrency = 8;
+
+        WorkQueueDescriptor merged = (WorkQueueDescriptor) descriptor.merge(other);
+        assertEquals(64, merged.getMaxThreads());
+        assertTrue(merged.isVirtualExecutor());
+        assertEquals(8, merged.getMaxConcurrency());
+
+        // an override without executor keeps the previous one
+        WorkQueueDescriptor override = new WorkQueueDescriptor();
+        override.id = "test";
+        override.maxThreads = 32;
+        merged = (WorkQueueDescriptor) merged.merge(override);
+        assertEquals(32, merged.getMaxThreads());
+        assertTrue(merged.isVirtualExecutor());
+        assertEquals(8, merged.getMaxConcurrency());
+    }
+
+    @Test
+    public void testVirtualThreadFactory() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread thread = ThreadFactories.newVirtualThreadFactory("test-virtual").newThread(latch::countDown);
+        assertTrue(thread.getName(), thread.getName().startsWith("test-virtual-"));
+        thread.start();
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+}
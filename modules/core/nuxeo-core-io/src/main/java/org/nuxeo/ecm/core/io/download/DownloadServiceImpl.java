@@ -29,6 +29,11 @@ import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -120,6 +125,25 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
     /** @since 11.1 */
     public static final String DOWNLOAD_URL_FOLLOW_REDIRECT = "org.nuxeo.download.url.follow.redirect";
 
+    /**
+     * Framework property to let the servlet container send local files itself using sendfile, when it supports it.
+     *
+     * @since 2023.13
+     */
+    public static final String DOWNLOAD_SENDFILE_ENABLED = "org.nuxeo.download.sendfile.enabled";
+
+    /** @since 2023.13 */
+    protected static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+
+    /** @since 2023.13 */
+    protected static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+    /** @since 2023.13 */
+    protected static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+
+    /** @since 2023.13 */
+    protected static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     private static final String RUN_FUNCTION = "run";
 
     private static final Pattern FILENAME_SANITIZATION_REGEX = Pattern.compile(";\\w+=.*");
@@ -545,7 +569,7 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
         Consumer<ByteRange> blobTransferer = context.getBlobTransferer();
         if (blobTransferer == null) {
             Blob fblob = blob;
-            blobTransferer = byteRange -> transferBlobWithByteRange(fblob, byteRange, response);
+            blobTransferer = byteRange -> transferBlobWithByteRange(fblob, byteRange, request, response);
         }
         Calendar lastModified = context.getLastModified();
         if (lastModified == null && doc != null) {
@@ -762,6 +786,35 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
         }
     }
 
+    /**
+     * Transfers the blob to the response, letting the servlet container send the underlying local file itself if
+     * sendfile is enabled and supported, and if the file is permanently stored, as the container sends it after the
+     * request processing.
+     *
+     * @since 2023.13
+     */
+    protected void transferBlobWithByteRange(Blob blob, ByteRange byteRange, HttpServletRequest request,
+            HttpServletResponse response) {
+        if (Framework.isBooleanPropertyTrue(DOWNLOAD_SENDFILE_ENABLED)
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            File file = getPermanentFile(blob, byteRange);
+            if (file != null) {
+                try {
+                    request.setAttribute(SENDFILE_FILENAME_ATTR, file.getCanonicalPath());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                long start = byteRange == null ? 0 : byteRange.getStart();
+                long end = byteRange == null ? file.length() : byteRange.getEnd() + 1; // exclusive
+                request.setAttribute(SENDFILE_START_ATTR, Long.valueOf(start));
+                request.setAttribute(SENDFILE_END_ATTR, Long.valueOf(end));
+                log.trace("Sending file: {} from: {} to: {}", file, start, end);
+                return;
+            }
+        }
+        transferBlobWithByteRange(blob, byteRange, response);
+    }
+
     protected void transferBlobWithByteRange(Blob blob, ByteRange byteRange, HttpServletResponse response) {
         transferBlobWithByteRange(blob, byteRange, () -> {
             try {
@@ -779,6 +832,11 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
 
     @Override
     public void transferBlobWithByteRange(Blob blob, ByteRange byteRange, Supplier<OutputStream> outputStreamSupplier) {
+        File file = getLocalFile(blob, byteRange);
+        if (file != null) {
+            transferFileWithByteRange(file, byteRange, outputStreamSupplier);
+            return;
+        }
         try (InputStream in = blob.getStream()) {
             @SuppressWarnings("resource")
             OutputStream out = outputStreamSupplier.get(); // not ours to close
@@ -798,6 +856,91 @@ public class DownloadServiceImpl extends DefaultComponent implements DownloadSer
         }
     }
 
+    /**
+     * Gets the local file holding the blob's data, if there is one covering the byte range.
+     *
+     * @return the file, or {@code null} if the blob must be streamed
+     * @since 2023.13
+     */
+    protected File getLocalFile(Blob blob, ByteRange byteRange) {
+        File file = blob.getFile();
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        long length = file.length();
+        if (blob.getLength() >= 0 && blob.getLength() != length) {
+            // file not holding the actual blob data (encoding, transformation...)
+            return null;
+        }
+        if (byteRange != null && byteRange.getEnd() >= length) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Gets the local file holding the blob's data, if there is one covering the byte range, and if it is stored in the
+     * storage directory of a local blob provider, where it is not removed while still referenced, unlike a temporary
+     * file or a cache entry that can be evicted.
+     *
+     * @return the file, or {@code null} if the blob must be transferred by the current thread
+     * @since 2023.13
+     */
+    protected File getPermanentFile(Blob blob, ByteRange byteRange) {
+        if (!(blob instanceof ManagedBlob)) {
+            return null;
+        }
+        BlobProvider blobProvider = Framework.getService(BlobManager.class).getBlobProvider(blob);
+        Path storageDir;
+        if (blobProvider == null || blobProvider.isTransient()) {
+            return null;
+        } else if (blobProvider instanceof LocalBlobProvider localBlobProvider) {
+            storageDir = localBlobProvider.getStorageDir();
+        } else if (blobProvider.getBinaryManager() instanceof DefaultBinaryManager binaryManager) {
+            storageDir = binaryManager.getStorageDir().toPath();
+        } else {
+            return null;
+        }
+        File file = getLocalFile(blob, byteRange);
+        if (file == null) {
+            return null;
+        }
+        // not in the permanent storage if not committed yet by a transactional blob provider
+        Path path = file.toPath().toAbsolutePath().normalize();
+        return path.startsWith(storageDir.toAbsolutePath().normalize()) ? file : null;
+    }
+
+    /**
+     * Transfers a local file using {@link FileChannel#transferTo}, which lets the operating system avoid copying the
+     * data through intermediate buffers when the target allows it, and seeks directly to the start of the byte range.
+     *
+     * @since 2023.13
+     */
+    protected void transferFileWithByteRange(File file, ByteRange byteRange,
+            Supplier<OutputStream> outputStreamSupplier) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            @SuppressWarnings("resource")
+            OutputStream out = outputStreamSupplier.get(); // not ours to close
+            BufferingServletOutputStream.stopBuffering(out);
+            long position = byteRange == null ? 0 : byteRange.getStart();
+            long count = byteRange == null ? channel.size() : byteRange.getLength();
+            @SuppressWarnings("resource") // not ours to close
+            WritableByteChannel target = Channels.newChannel(out);
+            while (count > 0) {
+                long n = channel.transferTo(position, count, target);
+                if (n <= 0) {
+                    // file truncated
+                    break;
+                }
+                position += n;
+                count -= n;
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     protected String fixXPath(String xpath) {
         // Hack for Flash Url wich doesn't support ':' char
         return xpath == null ? null : xpath.replace(';', ':');
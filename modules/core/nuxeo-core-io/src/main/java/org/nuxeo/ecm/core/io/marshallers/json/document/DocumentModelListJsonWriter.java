@@ -20,17 +20,27 @@
 package org.nuxeo.ecm.core.io.marshallers.json.document;
 
 import static org.nuxeo.ecm.automation.core.util.PaginableDocumentModelList.CODEC_PARAMETER_NAME;
+import static org.nuxeo.ecm.core.io.registry.MarshallingConstants.WILDCARD_VALUE;
 import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
 import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.nuxeo.ecm.automation.core.util.PaginableDocumentModelList;
+import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.io.marshallers.json.DefaultListJsonWriter;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.services.config.ConfigurationService;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 
@@ -44,12 +54,22 @@ public class DocumentModelListJsonWriter extends DefaultListJsonWriter<DocumentM
 
     public static final String ENTITY_DOCUMENT_LIST = "documents";
 
+    /**
+     * Configuration property to disable the bulk loading of the rendered schemas before writing the documents.
+     *
+     * @since 2023.13
+     */
+    public static final String PREFETCH_ENABLED_PROPERTY = "nuxeo.core.io.document.list.prefetch.enabled";
+
     public DocumentModelListJsonWriter() {
         super(ENTITY_DOCUMENT_LIST, DocumentModel.class);
     }
 
     @Override
     public void write(List<DocumentModel> docs, JsonGenerator jg) throws IOException {
+        if (!Framework.getService(ConfigurationService.class).isBooleanFalse(PREFETCH_ENABLED_PROPERTY)) {
+            prefetchSchemas(docs);
+        }
         if (docs instanceof PaginableDocumentModelList) {
             PaginableDocumentModelList paginable = (PaginableDocumentModelList) docs;
             String codecName = paginable.getDocumentLinkBuilder();
@@ -61,4 +81,33 @@ public class DocumentModelListJsonWriter extends DefaultListJsonWriter<DocumentM
         }
     }
 
+    /**
+     * Loads in bulk the schemas that the {@link DocumentModelJsonWriter} will render, instead of letting each document
+     * lazily load them.
+     *
+     * @since 2023.13
+     */
+    protected void prefetchSchemas(List<DocumentModel> docs) {
+        if (docs.isEmpty()) {
+            return;
+        }
+        Set<String> properties = ctx.getProperties();
+        // dublincore is always read for the lastModified field
+        Set<String> schemas = new HashSet<>(properties);
+        schemas.add("dublincore");
+        if (properties.contains(WILDCARD_VALUE)) {
+            docs.forEach(doc -> schemas.addAll(Arrays.asList(doc.getSchemas())));
+        }
+        schemas.remove(WILDCARD_VALUE);
+        // documents are rendered with the session they were loaded with
+        Map<CoreSession, List<DocumentModel>> docsBySession = new LinkedHashMap<>();
+        for (DocumentModel doc : docs) {
+            CoreSession session = doc.isAttached() ? doc.getCoreSession() : null;
+            if (session != null) {
+                docsBySession.computeIfAbsent(session, k -> new ArrayList<>()).add(doc);
+            }
+        }
+        docsBySession.forEach((session, sessionDocs) -> session.prefetchSchemas(sessionDocs, schemas));
+    }
+
 }
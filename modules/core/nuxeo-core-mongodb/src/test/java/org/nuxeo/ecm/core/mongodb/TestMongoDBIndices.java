@@ -48,6 +48,7 @@ import org.nuxeo.runtime.mongodb.MongoDBFeature;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.test.runner.Features;
 import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.transaction.TransactionHelper;
 
 /**
  * @since 11.1
@@ -109,6 +110,41 @@ public class TestMongoDBIndices {
         }
     }
 
+    @Test
+    public void shouldFailWhenRenamingDocumentToConcurrentChildNameInBulkUpdate() throws InterruptedException {
+        DocumentModel doc1 = coreSession.createDocument(
+                coreSession.createDocumentModel(folder.getPathAsString(), "file1", "File"));
+        DocumentModel doc2 = coreSession.createDocument(
+                coreSession.createDocumentModel(folder.getPathAsString(), "file2", "File"));
+        coreSession.save();
+
+        // rename one document and change another one, both updates are sent in the same bulk write
+        coreSession.move(doc1.getRef(), null, DOCUMENT_NAME);
+        doc2.setPropertyValue("dc:title", "foo");
+        coreSession.saveDocument(doc2);
+
+        // meanwhile, the destination name is taken in another transaction
+        Thread thread = new Thread(() -> TransactionHelper.runInTransaction(() -> {
+            CoreSession bobSession = CoreInstance.getCoreSession(coreSession.getRepositoryName(), "bob");
+            createDocument(bobSession, folder, DOCUMENT_NAME);
+        }));
+        thread.start();
+        thread.join();
+
+        try {
+            coreSession.save();
+            fail("should throw a ConcurrentUpdateException");
+        } catch (ConcurrentUpdateException cue) {
+            // reported as for a single document update
+            assertEquals(SC_CONFLICT, cue.getStatusCode());
+            String message = cue.getMessage();
+            assertTrue(message, message.contains("E11000 duplicate key error collection"));
+            assertTrue(message, message.contains(DOCUMENT_NAME));
+            assertTrue(message, message.contains(folder.getId()));
+            TransactionHelper.setTransactionRollbackOnly();
+        }
+    }
+
     @Test
     public void shouldNotFailWhenCreatingVersions() {
         CoreSession bobSession = CoreInstance.getCoreSession(coreSession.getRepositoryName(), "bob");
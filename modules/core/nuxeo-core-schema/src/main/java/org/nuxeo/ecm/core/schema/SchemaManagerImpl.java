@@ -431,6 +431,21 @@ public class SchemaManagerImpl implements SchemaManager {
                 errors.addSuppressed(error);
             }
         }
+        SchemaModelCache cache = errors.getSuppressed().length == 0 ? SchemaModelCache.getInstance() : null;
+        String cacheKey = null;
+        if (cache != null) {
+            try {
+                cacheKey = cache.computeKey(resolvedSchemas.values(), schemaDir);
+            } catch (IOException e) {
+                log.warn("Cannot compute schema cache key, loading schemas from XSD", e);
+            }
+            Map<String, Schema> cached = cacheKey == null ? null : cache.read(cacheKey);
+            if (cached != null) {
+                cached.values().forEach(this::registerSchema);
+                log.info("Registered {} schemas from cache", cached.size());
+                return;
+            }
+        }
         for (SchemaBindingDescriptor sd : resolvedSchemas.values()) {
             try {
                 loadSchema(sd);
@@ -441,6 +456,9 @@ public class SchemaManagerImpl implements SchemaManager {
         if (errors.getSuppressed().length > 0) {
             throw errors;
         }
+        if (cacheKey != null) {
+            cache.write(cacheKey, schemas);
+        }
     }
 
     protected void copySchema(SchemaBindingDescriptor sd) throws IOException {
@@ -0,0 +1,285 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.common.Environment;
+import org.nuxeo.ecm.core.schema.types.Schema;
+import org.nuxeo.ecm.core.schema.types.resolver.ObjectResolver;
+import org.nuxeo.ecm.core.schema.types.resolver.ObjectResolverService;
+import org.nuxeo.ecm.core.schema.types.resolver.ObjectResolverServiceImpl;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Persistent cache of the schemas compiled from their XSD, avoiding the XSD parsing at startup when nothing changed.
+ * <p>
+ * The compiled schemas are stored with a key computed from the distribution version, the bundles of the classes of the
+ * compiled model, the schema contributions and the contents of their XSD files, including the imported ones. Only the
+ * classes of the schema model and of the registered resolvers can be read back from the cache.
+ *
+ * @since 2023.13
+ */
+public class SchemaModelCache {
+
+    private static final Logger log = LogManager.getLogger(SchemaModelCache.class);
+
+    public static final String SCHEMA_CACHE_ENABLED_PROP = "nuxeo.schema.cache.enabled";
+
+    protected static final String CACHE_FILE = "schemas/schemas.cache";
+
+    /** The JDK classes referenced by the schema model, for values, default values and constraint parameters. */
+    protected static final ObjectInputFilter JDK_FILTER = ObjectInputFilter.Config.createFilter(
+            "java.lang.*;java.math.*;java.util.*;java.util.regex.Pattern;!*");
+
+    protected static final Pattern SCHEMA_LOCATION = Pattern.compile("schemaLocation\\s*=\\s*[\"']([^\"']+)[\"']");
+
+    protected final File file;
+
+    public SchemaModelCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the schema cache, or {@code null} if it's not enabled.
+     */
+    public static SchemaModelCache getInstance() {
+        if (Framework.getRuntime() == null || !Framework.isBooleanPropertyTrue(SCHEMA_CACHE_ENABLED_PROP)) {
+            return null;
+        }
+        Environment env = Environment.getDefault();
+        if (env == null || env.getData() == null) {
+            return null;
+        }
+        return new SchemaModelCache(new File(env.getData(), CACHE_FILE));
+    }
+
+    /**
+     * Computes the cache key for the given schema contributions, whose XSD must have been copied to the schemas
+     * directory.
+     */
+    public String computeKey(Collection<SchemaBindingDescriptor> sds, File schemaDir) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Environment env = Environment.getDefault();
+        update(digest, env == null ? null : env.getDistributionVersion());
+        // the bundles of the classes that are serialized
+        updateCodeSource(digest, SchemaModelCache.class);
+        ObjectResolverService resolverService = Framework.getService(ObjectResolverService.class);
+        if (resolverService instanceof ObjectResolverServiceImpl) {
+            ((ObjectResolverServiceImpl) resolverService).getResolverClasses()
+                                                         .stream()
+                                                         .sorted(Comparator.comparing(Class::getName))
+                                                         .forEach(klass -> updateCodeSource(digest, klass));
+        }
+        for (SchemaBindingDescriptor sd : sds) {
+            update(digest, sd.name);
+            update(digest, sd.prefix);
+            update(digest, sd.xsdRootElement);
+            update(digest, String.valueOf(sd.isVersionWritable));
+            if (sd.file == null) {
+                update(digest, null);
+                continue;
+            }
+            byte[] xsd = Files.readAllBytes(sd.file.toPath());
+            digest.update(xsd);
+            // imported XSDs are resolved from the schemas directory or from the bundle of the contribution
+            Matcher m = SCHEMA_LOCATION.matcher(new String(xsd, UTF_8));
+            while (m.find()) {
+                String location = m.group(1);
+                update(digest, location);
+                digest.update(readImport(sd, location, schemaDir));
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    protected byte[] readImport(SchemaBindingDescriptor sd, String location, File schemaDir) throws IOException {
+        File xsd = new File(schemaDir, location);
+        if (xsd.isFile()) {
+            return Files.readAllBytes(xsd.toPath());
+        }
+        if (sd.src != null && sd.context != null) {
+            String path = sd.src.substring(0, sd.src.lastIndexOf('/') + 1) + location;
+            URL url = sd.context.getLocalResource(path);
+            if (url == null) {
+                url = sd.context.getResource(path);
+            }
+            if (url != null) {
+                try (InputStream in = url.openStream()) {
+                    return in.readAllBytes();
+                }
+            }
+        }
+        // unresolved or remote: only the location is part of the key
+        return new byte[0];
+    }
+
+    /**
+     * Updates the digest with the location of the bundle of the given class, whose name holds its version, and with
+     * its modification time, as snapshot versions may be rebuilt without changing it.
+     */
+    protected static void updateCodeSource(MessageDigest digest, Class<?> klass) {
+        update(digest, klass.getName());
+        CodeSource source = klass.getProtectionDomain().getCodeSource();
+        URL location = source == null ? null : source.getLocation();
+        update(digest, location == null ? null : location.toString());
+        if (location != null && "file".equals(location.getProtocol())) {
+            try {
+                update(digest, String.valueOf(new File(location.toURI()).lastModified()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                update(digest, null);
+            }
+        }
+    }
+
+    /**
+     * Only accepts the classes of the schema model, of the registered resolvers, and of the JDK values they hold.
+     */
+    protected static ObjectInputFilter.Status checkInput(ObjectInputFilter.FilterInfo info) {
+        Class<?> klass = info.serialClass();
+        if (klass == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        while (klass.isArray()) {
+            klass = klass.getComponentType();
+        }
+        if (klass.isPrimitive() || klass.getName().startsWith("org.nuxeo.ecm.core.schema.")) {
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        // resolvers and their nested classes, like enums
+        for (Class<?> c = klass; c != null; c = c.getEnclosingClass()) {
+            if (ObjectResolver.class.isAssignableFrom(c)) {
+                return ObjectInputFilter.Status.ALLOWED;
+            }
+        }
+        return JDK_FILTER.checkInput(info);
+    }
+
+    protected static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Reads the compiled schemas for the given key, or returns {@code null} if they're not available.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Schema> read(String key) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ObjectInputStream in = new ContextObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (!key.equals(in.readUTF())) {
+                log.debug("Schema cache is outdated: {}", file);
+                return null;
+            }
+            return (Map<String, Schema>) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // also reached when the filter rejects a class
+            log.warn("Cannot read schema cache: {}, loading schemas from XSD", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the compiled schemas for the given key.
+     */
+    public void write(String key, Map<String, Schema> schemas) {
+        Path path = file.toPath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = Files.createTempFile(path.getParent(), file.getName(), ".tmp");
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeUTF(key);
+                out.writeObject(new LinkedHashMap<>(schemas));
+            } catch (IOException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote schema cache: {} with {} schemas", file, schemas.size());
+        } catch (IOException e) {
+            log.warn("Cannot write schema cache: {}", file, e);
+        }
+    }
+
+    /**
+     * Resolves classes with the context class loader, as resolvers and constraints may come from other bundles.
+     */
+    protected static class ContextObjectInputStream extends ObjectInputStream {
+
+        public ContextObjectInputStream(InputStream in) throws IOException {
+            super(in);
+            setObjectInputFilter(SchemaModelCache::checkInput);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader cl = Thread.currentThread().getContextClassLoader();
+            if (cl != null) {
+                try {
+                    return Class.forName(desc.getName(), false, cl);
+                } catch (ClassNotFoundException e) {
+                    // fall back on the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+}
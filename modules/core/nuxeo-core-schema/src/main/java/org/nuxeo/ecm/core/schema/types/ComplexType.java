@@ -106,4 +106,23 @@ public interface ComplexType extends Type {
      */
     int getFieldsCount();
 
+    /**
+     * Gets the position of the given field in this complex type, following the iteration order of
+     * {@link #getFields()}.
+     *
+     * @param field the field
+     * @return the field position, or {@code -1} if the field is not defined by this type
+     * @since 2023.13
+     */
+    default int getFieldIndex(Field field) {
+        int index = 0;
+        for (Field f : getFields()) {
+            if (f.getName().equals(field.getName())) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
 }
@@ -42,6 +42,14 @@ public class ComplexTypeImpl extends AbstractType implements ComplexType {
     /** The map of name or prefixed name to field. */
     protected volatile Map<String, Field> fieldsByName = new HashMap<>();
 
+    /**
+     * The position of each field, following the iteration order of {@link #fields}. Computed lazily and shared by
+     * all the properties of this type.
+     *
+     * @since 2023.13
+     */
+    protected transient volatile Map<QName, Integer> fieldIndexes;
+
     protected final Namespace ns;
 
     public ComplexTypeImpl(ComplexType superType, String schema, String name, Namespace ns) {
@@ -65,6 +73,7 @@ public class ComplexTypeImpl extends AbstractType implements ComplexType {
         fields.put(name, field);
         fieldsByName.put(name.getLocalName(), field);
         fieldsByName.put(name.getPrefixedName(), field);
+        fieldIndexes = null;
     }
 
     // called by XSDLoader
@@ -101,6 +110,20 @@ public class ComplexTypeImpl extends AbstractType implements ComplexType {
         return fields.size();
     }
 
+    @Override
+    public int getFieldIndex(Field field) {
+        Map<QName, Integer> indexes = fieldIndexes;
+        if (indexes == null) {
+            indexes = new HashMap<>();
+            for (QName name : fields.keySet()) {
+                indexes.put(name, Integer.valueOf(indexes.size()));
+            }
+            fieldIndexes = indexes;
+        }
+        Integer index = indexes.get(field.getName());
+        return index == null ? -1 : index.intValue();
+    }
+
     @Override
     public boolean hasField(String name) {
         return fieldsByName.containsKey(name);
@@ -19,6 +19,7 @@
 
 package org.nuxeo.ecm.core.schema.types.resolver;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -61,6 +62,15 @@ public class ObjectResolverServiceImpl extends DefaultComponent implements Objec
         }
     }
 
+    /**
+     * Gets the classes of the registered resolvers.
+     *
+     * @since 2023.13
+     */
+    public Collection<Class<? extends ObjectResolver>> getResolverClasses() {
+        return resolvers.values();
+    }
+
     @Override
     public ObjectResolver getResolver(String type, Map<String, String> parameters) {
         Class<? extends ObjectResolver> resolverClass = resolvers.get(type);
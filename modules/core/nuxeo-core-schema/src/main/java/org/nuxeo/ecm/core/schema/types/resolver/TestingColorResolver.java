@@ -50,7 +50,7 @@ public class TestingColorResolver extends AbstractObjectResolver implements Obje
 
     private MODE mode;
 
-    private List<Class<?>> managedClasses = null;
+    private transient List<Class<?>> managedClasses = null;
 
     @Override
     public List<Class<?>> getManagedClasses() {
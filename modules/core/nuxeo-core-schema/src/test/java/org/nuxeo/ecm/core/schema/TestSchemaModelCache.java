@@ -0,0 +1,131 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.common.Environment;
+import org.nuxeo.ecm.core.schema.types.Schema;
+import org.nuxeo.ecm.core.schema.types.SchemaImpl;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.HotDeployer;
+import org.nuxeo.runtime.test.runner.RuntimeFeature;
+import org.nuxeo.runtime.test.runner.WithFrameworkProperty;
+
+/**
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(RuntimeFeature.class)
+@Deploy("org.nuxeo.ecm.core.schema")
+@Deploy("org.nuxeo.ecm.core.schema.tests:OSGI-INF/CoreTestExtensions.xml")
+@WithFrameworkProperty(name = SchemaModelCache.SCHEMA_CACHE_ENABLED_PROP, value = "true")
+public class TestSchemaModelCache {
+
+    @Inject
+    protected SchemaManager schemaManager;
+
+    @Inject
+    protected HotDeployer hotDeployer;
+
+    protected SchemaModelCache getCache() {
+        SchemaModelCache cache = SchemaModelCache.getInstance();
+        assertNotNull(cache);
+        return cache;
+    }
+
+    protected String computeKey() throws Exception {
+        SchemaManagerImpl schemaManagerImpl = (SchemaManagerImpl) schemaManager;
+        return getCache().computeKey(schemaManagerImpl.allSchemas, schemaManagerImpl.getSchemasDir());
+    }
+
+    @Test
+    public void testCacheWritten() throws Exception {
+        schemaManager.getSchemas(); // recompute if needed
+        File file = new File(Environment.getDefault().getData(), SchemaModelCache.CACHE_FILE);
+        assertTrue(file.isFile());
+
+        Map<String, Schema> cached = getCache().read(computeKey());
+        assertNotNull(cached);
+        for (Schema schema : schemaManager.getSchemas()) {
+            Schema cachedSchema = cached.get(schema.getName());
+            assertNotNull(schema.getName(), cachedSchema);
+            assertEquals(schema.getNamespace(), cachedSchema.getNamespace());
+            assertEquals(schema.getFields().size(), cachedSchema.getFields().size());
+        }
+        assertNull(getCache().read("not-the-key"));
+    }
+
+    @Test
+    public void testSchemasFromCache() throws Exception {
+        schemaManager.getSchemas(); // recompute if needed
+        String key = computeKey();
+        SchemaModelCache cache = getCache();
+        Map<String, Schema> cached = cache.read(key);
+        assertNotNull(cached);
+        // add a schema only known by the cache to check it's used
+        cached.put("cachedOnly", new SchemaImpl("cachedOnly", new Namespace("http://example.com/cached", "cached")));
+        cache.write(key, cached);
+
+        // doctype contribution only, so the schemas are read from the cache
+        hotDeployer.deploy("org.nuxeo.ecm.core.schema.tests:OSGI-INF/test-change-doctype.xml");
+        assertEquals(key, computeKey());
+        assertNotNull(schemaManager.getSchema("cachedOnly"));
+        assertNotNull(schemaManager.getSchemaFromPrefix("cached"));
+        Schema schema = schemaManager.getSchema("schema2");
+        assertNotNull(schema);
+        assertEquals("myString2", schema.getField("title").getType().getName());
+        assertNotNull(schemaManager.getDocumentType("myDoc2").getSchema("common"));
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testUnexpectedClassRejected() throws Exception {
+        SchemaModelCache cache = getCache();
+        Map map = new HashMap<>();
+        map.put("schema", URI.create("http://example.com/"));
+        cache.write("key", map);
+        // the stream is well-formed but holds a class which is not part of the schema model
+        assertNull(cache.read("key"));
+    }
+
+    @Test
+    public void testKeyChangesWithContributions() throws Exception {
+        String key = computeKey();
+        hotDeployer.deploy("org.nuxeo.ecm.core.schema.tests:OSGI-INF/test-advanced-schema.xml");
+        schemaManager.getSchemas();
+        assertNotEquals(key, computeKey());
+    }
+
+}
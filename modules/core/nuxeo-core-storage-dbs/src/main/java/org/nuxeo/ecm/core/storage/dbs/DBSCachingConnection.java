@@ -28,6 +28,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.nuxeo.ecm.core.api.Lock;
@@ -37,6 +38,7 @@ import org.nuxeo.ecm.core.query.sql.model.OrderByClause;
 import org.nuxeo.ecm.core.storage.State;
 import org.nuxeo.ecm.core.storage.State.StateDiff;
 import org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.ConditionalUpdates;
+import org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.StateUpdate;
 
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
@@ -199,6 +201,16 @@ public class DBSCachingConnection implements DBSConnection {
         invalidate(id);
     }
 
+    @Override
+    public void updateStates(List<StateUpdate> updates) {
+        try {
+            connection.updateStates(updates);
+        } finally {
+            // some updates may have been done even on failure
+            invalidate(updates.stream().map(StateUpdate::getId).collect(Collectors.toList()));
+        }
+    }
+
     @Override
     public void deleteStates(Set<String> ids) {
         connection.deleteStates(ids);
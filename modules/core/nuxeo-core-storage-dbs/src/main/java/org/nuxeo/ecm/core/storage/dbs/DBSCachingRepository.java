@@ -31,6 +31,7 @@ import org.nuxeo.ecm.core.api.lock.LockManager;
 import org.nuxeo.ecm.core.api.repository.FulltextConfiguration;
 import org.nuxeo.ecm.core.blob.BlobManager;
 import org.nuxeo.ecm.core.model.Session;
+import org.nuxeo.ecm.core.storage.QueryPlanCache;
 import org.nuxeo.ecm.core.storage.State;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.cluster.ClusterService;
@@ -287,6 +288,11 @@ public class DBSCachingRepository implements DBSRepository {
         return repository.getBlobKeysPaths();
     }
 
+    @Override
+    public QueryPlanCache<DBSSession.QueryPlan> getQueryPlanCache() {
+        return repository.getQueryPlanCache();
+    }
+
     @Override
     public void updateCapabilities() {
         repository.updateCapabilities();
@@ -32,6 +32,7 @@ import org.nuxeo.ecm.core.query.sql.model.OrderByClause;
 import org.nuxeo.ecm.core.storage.State;
 import org.nuxeo.ecm.core.storage.State.StateDiff;
 import org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.ConditionalUpdates;
+import org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.StateUpdate;
 
 /**
  * Interface for a connection to a {@link DBSRepository}. The connection maintains state when it is transactional.
@@ -116,6 +117,21 @@ public interface DBSConnection extends AutoCloseable, LockManager {
      */
     void updateState(String id, StateDiff diff, ConditionalUpdates conditionalUpdates);
 
+    /**
+     * Updates documents.
+     * <p>
+     * The updates of a given document are applied in order. If a conditional update fails for some documents, a
+     * {@link org.nuxeo.ecm.core.api.ConcurrentUpdateException ConcurrentUpdateException} is thrown.
+     *
+     * @param updates the document updates
+     * @since 2023.13
+     */
+    default void updateStates(List<StateUpdate> updates) {
+        for (StateUpdate update : updates) {
+            updateState(update.getId(), update.getDiff(), update.getConditionalUpdates());
+        }
+    }
+
     /**
      * Deletes a set of document.
      *
@@ -23,6 +23,7 @@ import java.util.List;
 import org.nuxeo.ecm.core.api.lock.LockManager;
 import org.nuxeo.ecm.core.blob.BlobManager;
 import org.nuxeo.ecm.core.model.Repository;
+import org.nuxeo.ecm.core.storage.QueryPlanCache;
 
 /**
  * Interface for a {@link Repository} for Document-Based Storage.
@@ -113,4 +114,13 @@ public interface DBSRepository extends Repository, LockManager {
      */
     void updateCapabilities();
 
+    /**
+     * Gets the cache of query plans, or {@code null} if it's disabled.
+     *
+     * @since 2023.13
+     */
+    default QueryPlanCache<DBSSession.QueryPlan> getQueryPlanCache() {
+        return null;
+    }
+
 }
@@ -51,6 +51,7 @@ import org.nuxeo.ecm.core.schema.types.Schema;
 import org.nuxeo.ecm.core.schema.types.Type;
 import org.nuxeo.ecm.core.storage.FulltextConfigurationFactory;
 import org.nuxeo.ecm.core.storage.FulltextDescriptor;
+import org.nuxeo.ecm.core.storage.QueryPlanCache;
 import org.nuxeo.ecm.core.storage.lock.LockManagerService;
 import org.nuxeo.runtime.api.Framework;
 
@@ -123,6 +124,9 @@ public abstract class DBSRepositoryBase implements DBSRepository {
 
     protected List<List<String>> blobKeysPaths;
 
+    /** @since 2023.13 */
+    protected final QueryPlanCache<DBSSession.QueryPlan> queryPlanCache;
+
     public DBSRepositoryBase(String repositoryName, DBSRepositoryDescriptor descriptor) {
         this.repositoryName = repositoryName;
         String idt = descriptor.idType;
@@ -146,6 +150,7 @@ public abstract class DBSRepositoryBase implements DBSRepository {
         }
         changeTokenEnabled = descriptor.isChangeTokenEnabled();
         blobManager = Framework.getService(BlobManager.class);
+        queryPlanCache = QueryPlanCache.create(repositoryName);
         initBlobsPaths();
         initLockManager();
     }
@@ -230,6 +235,11 @@ public abstract class DBSRepositoryBase implements DBSRepository {
         return blobKeysPaths;
     }
 
+    @Override
+    public QueryPlanCache<DBSSession.QueryPlan> getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
     protected void initBlobsPaths() {
         BlobFinder finder = new BlobFinder();
         finder.visit();
@@ -161,6 +161,7 @@ import org.nuxeo.ecm.core.schema.types.primitives.StringType;
 import org.nuxeo.ecm.core.storage.BaseDocument;
 import org.nuxeo.ecm.core.storage.ExpressionEvaluator;
 import org.nuxeo.ecm.core.storage.QueryOptimizer;
+import org.nuxeo.ecm.core.storage.QueryPlanCache;
 import org.nuxeo.ecm.core.storage.State;
 import org.nuxeo.ecm.core.storage.StateHelper;
 import org.nuxeo.runtime.api.Framework;
@@ -204,6 +205,9 @@ public class DBSSession extends BaseSession {
 
     protected boolean isLatestVersionDisabled = false;
 
+    /** @since 2023.13 */
+    protected final QueryPlanCache<QueryPlan> queryPlanCache;
+
     public DBSSession(DBSRepository repository) {
         super(repository);
         transaction = new DBSTransactionState(repository, this);
@@ -218,6 +222,7 @@ public class DBSSession extends BaseSession {
                                               .tagged("repository", repository.getName()));
         LOG_MIN_DURATION_NS = Long.parseLong(Framework.getProperty(LOG_MIN_DURATION_KEY, "-1")) * 1000000;
         isLatestVersionDisabled = Framework.isBooleanPropertyTrue(DISABLED_ISLATESTVERSION_PROPERTY);
+        queryPlanCache = repository.getQueryPlanCache();
     }
 
     @Override
@@ -841,6 +846,7 @@ public class DBSSession extends BaseSession {
 
     @Override
     public Document move(Document source, Document parent, String name) {
+        invalidateACPCache();
         String oldName = source.getName();
         if (name == null) {
             name = oldName;
@@ -1335,6 +1341,7 @@ public class DBSSession extends BaseSession {
             return;
         }
         checkNegativeAcl(acp);
+        invalidateACPCache();
         if (!overwrite) {
             acp = updateACP(getACP(doc), acp);
         }
@@ -1557,17 +1564,49 @@ public class DBSSession extends BaseSession {
         }
     }
 
-    protected PartialList<Map<String, Serializable>> doQueryAndFetch(String query, String queryType,
-            QueryFilter queryFilter, boolean distinctDocuments, int countUpTo, Mutable<String> idKeyHolder) {
-        if ("NXTAG".equals(queryType)) {
-            // for now don't try to implement tags
-            // and return an empty list
-            return new PartialList<>(Collections.emptyList(), 0);
+    /**
+     * The result of the parsing, transformation and optimization of a NXQL query, which doesn't depend on the values
+     * bound at execution and can be cached.
+     *
+     * @since 2023.13
+     */
+    public static class QueryPlan {
+
+        protected final SQLQuery sqlQuery;
+
+        protected final boolean selectStar;
+
+        protected final String idKey;
+
+        protected final String ecmTag;
+
+        protected final String keyTag;
+
+        public QueryPlan(SQLQuery sqlQuery, boolean selectStar, String idKey, String ecmTag, String keyTag) {
+            this.sqlQuery = sqlQuery;
+            this.selectStar = selectStar;
+            this.idKey = idKey;
+            this.ecmTag = ecmTag;
+            this.keyTag = keyTag;
         }
-        if (!NXQL.NXQL.equals(queryType)) {
-            throw new NuxeoException("No QueryMaker accepts query type: " + queryType);
+    }
+
+    /** @since 2023.13 */
+    protected QueryPlan getQueryPlan(String query, QueryFilter queryFilter) {
+        if (queryPlanCache == null) {
+            return planQuery(query, queryFilter);
         }
+        String key = QueryPlanCache.computeKey(query, queryFilter);
+        QueryPlan plan = queryPlanCache.get(key);
+        if (plan == null) {
+            plan = planQuery(query, queryFilter);
+            queryPlanCache.put(key, plan);
+        }
+        return plan;
+    }
 
+    /** @since 2023.13 */
+    protected QueryPlan planQuery(String query, QueryFilter queryFilter) {
         // transform the query according to the transformers defined by the
         // security policies
         SQLQuery sqlQuery = SQLQueryParser.parse(query);
@@ -1581,16 +1620,11 @@ public class DBSSession extends BaseSession {
             selectClause.add(new Reference(NXQL.ECM_UUID));
         }
         boolean selectStar = selectClause.count() == 1 && (selectClause.containsOperand(new Reference(NXQL.ECM_UUID)));
-        if (selectStar) {
-            distinctDocuments = true;
-        } else if (selectClause.isDistinct()) {
+        if (!selectStar && selectClause.isDistinct()) {
             throw new QueryParseException("SELECT DISTINCT not supported on DBS");
         }
-        if (idKeyHolder != null) {
-            Operand operand = selectClause.operands().iterator().next();
-            String idKey = operand instanceof Reference ? ((Reference) operand).name : NXQL.ECM_UUID;
-            idKeyHolder.setValue(idKey);
-        }
+        Operand operand = selectClause.operands().iterator().next();
+        String idKey = operand instanceof Reference ? ((Reference) operand).name : NXQL.ECM_UUID;
 
         // Replace select clause for tags
         String ecmTag = selectClause.elements.keySet()
@@ -1611,6 +1645,31 @@ public class DBSSession extends BaseSession {
 
         QueryOptimizer optimizer = new DBSQueryOptimizer().withFacetFilter(queryFilter.getFacetFilter());
         sqlQuery = optimizer.optimize(sqlQuery);
+        return new QueryPlan(sqlQuery, selectStar, idKey, ecmTag, keyTag);
+    }
+
+    protected PartialList<Map<String, Serializable>> doQueryAndFetch(String query, String queryType,
+            QueryFilter queryFilter, boolean distinctDocuments, int countUpTo, Mutable<String> idKeyHolder) {
+        if ("NXTAG".equals(queryType)) {
+            // for now don't try to implement tags
+            // and return an empty list
+            return new PartialList<>(Collections.emptyList(), 0);
+        }
+        if (!NXQL.NXQL.equals(queryType)) {
+            throw new NuxeoException("No QueryMaker accepts query type: " + queryType);
+        }
+
+        QueryPlan plan = getQueryPlan(query, queryFilter);
+        SQLQuery sqlQuery = plan.sqlQuery;
+        if (plan.selectStar) {
+            distinctDocuments = true;
+        }
+        if (idKeyHolder != null) {
+            idKeyHolder.setValue(plan.idKey);
+        }
+        String ecmTag = plan.ecmTag;
+        String keyTag = plan.keyTag;
+
         DBSExpressionEvaluator evaluator = new DBSExpressionEvaluator(this, sqlQuery, queryFilter.getPrincipals(),
                 fulltextSearchDisabled);
 
@@ -2186,6 +2245,7 @@ public class DBSSession extends BaseSession {
 
     @Override
     public void start() {
+        invalidateACPCache();
         transaction.begin();
     }
 
@@ -952,14 +952,17 @@ public class DBSTransactionState implements LockManager, AutoCloseable {
         if (!statesToCreate.isEmpty()) {
             connection.createStates(statesToCreate);
         }
-        for (DBSDocumentState docState : transientStates.values()) {
-            String id = docState.getId();
-            if (transientCreated.contains(id)) {
-                continue; // already done
-            }
-            StateDiff diff = docState.getStateChange();
-            if (diff != null) {
-                try {
+        List<StateUpdate> stateUpdates = new ArrayList<>();
+        List<DBSDocumentState> updatedStates = new ArrayList<>();
+        try {
+            for (DBSDocumentState docState : transientStates.values()) {
+                String id = docState.getId();
+                if (transientCreated.contains(id)) {
+                    continue; // already done
+                }
+                StateDiff diff = docState.getStateChange();
+                if (diff != null) {
+                    updatedStates.add(docState);
                     if (undoLog != null) {
                         if (!undoLog.containsKey(id)) {
                             undoLog.put(id, StateHelper.deepCopy(docState.getOriginalState()));
@@ -977,11 +980,14 @@ public class DBSTransactionState implements LockManager, AutoCloseable {
                             conditionalUpdates = getConditionalUpdateForChangeToken(docState);
                         }
                     }
-                    connection.updateState(id, diff, conditionalUpdates);
-                } finally {
-                    docState.setNotDirty();
+                    stateUpdates.add(new StateUpdate(id, diff, conditionalUpdates));
                 }
             }
+            if (!stateUpdates.isEmpty()) {
+                connection.updateStates(stateUpdates);
+            }
+        } finally {
+            updatedStates.forEach(DBSDocumentState::setNotDirty);
         }
         transientCreated.clear();
         userChangeIds.clear();
@@ -1072,6 +1078,41 @@ public class DBSTransactionState implements LockManager, AutoCloseable {
         }
     }
 
+    /**
+     * A document update to be done by {@link DBSConnection#updateStates}.
+     *
+     * @since 2023.13
+     */
+    public static class StateUpdate {
+
+        protected final String id;
+
+        protected final StateDiff diff;
+
+        protected final ConditionalUpdates conditionalUpdates;
+
+        public StateUpdate(String id, StateDiff diff, ConditionalUpdates conditionalUpdates) {
+            this.id = id;
+            this.diff = diff;
+            this.conditionalUpdates = conditionalUpdates;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public StateDiff getDiff() {
+            return diff;
+        }
+
+        /**
+         * Gets the conditional updates, or {@code null}.
+         */
+        public ConditionalUpdates getConditionalUpdates() {
+            return conditionalUpdates;
+        }
+    }
+
     protected void applyUndoLog() {
         Set<String> deletes = new HashSet<>();
         for (Entry<String, State> es : undoLog.entrySet()) {
@@ -28,6 +28,7 @@ import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_ACL;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_ACP;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_ANCESTOR_IDS;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_BLOB_KEYS;
+import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_CHANGE_TOKEN;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_FULLTEXT_BINARY;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_FULLTEXT_JOBID;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_FULLTEXT_SIMPLE;
@@ -67,10 +68,12 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -98,6 +101,7 @@ import org.nuxeo.ecm.core.storage.dbs.DBSRepositoryBase;
 import org.nuxeo.ecm.core.storage.dbs.DBSRepositoryBase.IdType;
 import org.nuxeo.ecm.core.storage.dbs.DBSStateFlattener;
 import org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.ConditionalUpdates;
+import org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.StateUpdate;
 import org.nuxeo.ecm.core.storage.mongodb.MongoDBConverter.ConditionsAndUpdates;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.mongodb.MongoDBOperators;
@@ -111,11 +115,13 @@ import com.mongodb.MongoQueryException;
 import com.mongodb.MongoSocketReadTimeoutException;
 import com.mongodb.MongoWriteException;
 import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.CountOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
@@ -124,7 +130,9 @@ import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
@@ -546,6 +554,99 @@ public class MongoDBConnection extends DBSConnectionBase {
         }
     }
 
+    /**
+     * Updates documents using a single bulk write.
+     * <p>
+     * The bulk write is unordered unless a document needs several database updates, in which case it is ordered to
+     * keep the updates of a given document in sequence.
+     *
+     * @since 2023.13
+     */
+    @Override
+    public void updateStates(List<StateUpdate> stateUpdates) {
+        if (stateUpdates.size() == 1) {
+            StateUpdate stateUpdate = stateUpdates.get(0);
+            updateState(stateUpdate.getId(), stateUpdate.getDiff(), stateUpdate.getConditionalUpdates());
+            return;
+        }
+        List<UpdateOneModel<Document>> requests = new ArrayList<>();
+        List<String> requestIds = new ArrayList<>();
+        boolean ordered = false;
+        for (StateUpdate stateUpdate : stateUpdates) {
+            String id = stateUpdate.getId();
+            ConditionalUpdates conditionalUpdates = stateUpdate.getConditionalUpdates();
+            ConditionsAndUpdates conditionsAndUpdates = converter.diffToBson(stateUpdate.getDiff());
+            ordered |= conditionsAndUpdates.updates.size() > 1;
+            for (Document update : conditionsAndUpdates.updates) {
+                Document filter = new Document(conditionsAndUpdates.conditions);
+                converter.putToBson(filter, KEY_ID, id);
+                if (conditionalUpdates != null) {
+                    // assume bson is identical to dbs internals
+                    // condition works even if value is null
+                    filter.putAll(conditionalUpdates.getConditions());
+                    Document set = (Document) update.computeIfAbsent(MONGODB_SET, k -> new Document());
+                    set.putAll(conditionalUpdates.getUpdates());
+                    conditionalUpdates.finish();
+                }
+                requests.add(new UpdateOneModel<>(filter, update));
+                requestIds.add(id);
+            }
+        }
+        log.trace("MongoDB: BULK UPDATE (ordered={}) {}", ordered, requests);
+        BulkWriteResult result;
+        try {
+            result = bulkWrite(requests, new BulkWriteOptions().ordered(ordered));
+        } catch (MongoBulkWriteException mbwe) {
+            List<BulkWriteError> errors = mbwe.getWriteErrors();
+            // Avoid hiding any others bulk errors
+            if (!errors.isEmpty()
+                    && errors.stream().allMatch(error -> DUPLICATE_KEY.equals(fromErrorCode(error.getCode())))) {
+                log.trace("MongoDB:    -> DUPLICATE KEY: {}", errors);
+                // same message as for a single update, the other duplicates are added as info
+                var concurrentUpdateException = new ConcurrentUpdateException(errors.get(0).getMessage(), mbwe);
+                errors.stream()
+                      .skip(1)
+                      .forEach(error -> concurrentUpdateException.addInfo(
+                              requestIds.get(error.getIndex()) + ": " + error.getMessage()));
+                throw concurrentUpdateException;
+            }
+            throw mbwe;
+        }
+        if (result.getModifiedCount() != requests.size()) {
+            List<String> failedIds = getFailedUpdateIds(stateUpdates);
+            log.trace("MongoDB:    -> CONCURRENT UPDATE: {}", failedIds);
+            var concurrentUpdateException = new ConcurrentUpdateException(failedIds.get(0));
+            failedIds.stream().skip(1).forEach(concurrentUpdateException::addInfo);
+            throw concurrentUpdateException;
+        }
+    }
+
+    /**
+     * Finds which documents of a bulk update were not updated, because they don't exist anymore or because their
+     * change token doesn't match. If they can't be identified, all the documents are returned.
+     *
+     * @since 2023.13
+     */
+    protected List<String> getFailedUpdateIds(List<StateUpdate> stateUpdates) {
+        List<String> ids = stateUpdates.stream().map(StateUpdate::getId).collect(Collectors.toList());
+        Bson projection = Projections.include(converter.keyToBson(KEY_ID), converter.keyToBson(KEY_CHANGE_TOKEN));
+        Map<String, State> states;
+        try (Stream<State> stream = stream(converter.filterIn(KEY_ID, ids), projection)) {
+            states = stream.collect(Collectors.toMap(state -> (String) state.get(KEY_ID), Function.identity()));
+        }
+        List<String> failedIds = new ArrayList<>();
+        for (StateUpdate stateUpdate : stateUpdates) {
+            State state = states.get(stateUpdate.getId());
+            ConditionalUpdates conditionalUpdates = stateUpdate.getConditionalUpdates();
+            // after the last update, the conditions hold the change token we expect to find
+            if (state == null || conditionalUpdates != null && !Objects.equals(state.get(KEY_CHANGE_TOKEN),
+                    conditionalUpdates.getConditions().get(KEY_CHANGE_TOKEN))) {
+                failedIds.add(stateUpdate.getId());
+            }
+        }
+        return failedIds.isEmpty() ? ids : failedIds;
+    }
+
     @Override
     public void deleteStates(Set<String> ids) {
         Bson filter = converter.filterIn(KEY_ID, ids);
@@ -1063,6 +1164,14 @@ public class MongoDBConnection extends DBSConnectionBase {
         }
     }
 
+    protected BulkWriteResult bulkWrite(List<? extends WriteModel<Document>> requests, BulkWriteOptions options) {
+        if (transactionStarted) {
+            return coll.bulkWrite(clientSession, requests, options);
+        } else {
+            return coll.bulkWrite(requests, options);
+        }
+    }
+
     protected DeleteResult deleteMany(Bson filter) {
         if (transactionStarted) {
             return coll.deleteMany(clientSession, filter);
@@ -3127,9 +3127,27 @@ public class TestSQLBackend extends SQLBackendTestCase {
         session.close();
     }
 
+    protected static VCSInvalidationsQueue getCacheQueue(Session session) {
+        Mapper mapper = ((SessionImpl) session).getMapper();
+        if (mapper instanceof BoundedCachingMapper boundedMapper) {
+            return boundedMapper.cacheQueue;
+        }
+        return ((SoftRefCachingMapper) mapper).cacheQueue;
+    }
+
+    /**
+     * Gets the mapper to which the caching mapper of the session delegates.
+     */
+    protected static Mapper getUnderlyingMapper(Session session) {
+        Mapper mapper = ((SessionImpl) session).getMapper();
+        if (mapper instanceof BoundedCachingMapper boundedMapper) {
+            return boundedMapper.mapper;
+        }
+        return ((SoftRefCachingMapper) mapper).mapper;
+    }
+
     protected static void assertSessionInvalidations(Session session, boolean all, int modified, int deleted) {
-        SoftRefCachingMapper mapper = (SoftRefCachingMapper) ((SessionImpl) session).getMapper();
-        VCSInvalidations invalidations = mapper.cacheQueue.queue;
+        VCSInvalidations invalidations = getCacheQueue(session).queue;
         assertTrue(all == invalidations.all);
         if (modified == -1) {
             if (invalidations.modified != null) {
@@ -3865,7 +3883,7 @@ public class TestSQLBackend extends SQLBackendTestCase {
 
         // clear context, the mapper cache should still be used
         ((SessionImpl) session).context.pristine.clear();
-        JDBCConnection jdbc = (JDBCConnection) ((SoftRefCachingMapper) ((SessionImpl) session).getMapper()).mapper;
+        JDBCConnection jdbc = (JDBCConnection) getUnderlyingMapper(session);
         jdbc.countExecutes = true;
         jdbc.executeCount = 0;
 
@@ -0,0 +1,197 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.Serializable;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.storage.sql.jdbc.JDBCConnection;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * All the tests of TestSQLBackend with a {@link BoundedCachingMapper}, plus additional tests.
+ *
+ * @since 2023.13
+ */
+public class TestSQLBackendBoundedCachingMapper extends TestSQLBackend {
+
+    @Override
+    protected RepositoryDescriptor newDescriptor(String name) {
+        RepositoryDescriptor descriptor = super.newDescriptor(name);
+        descriptor.cachingMapperClass = BoundedCachingMapper.class;
+        return descriptor;
+    }
+
+    protected static BoundedCachingMapper getBoundedMapper(Session session) {
+        return (BoundedCachingMapper) ((SessionImpl) session).getMapper();
+    }
+
+    protected RowCache getSharedCache() {
+        return RowCache.CACHES.get(repository.getName());
+    }
+
+    protected RowId getTitleRowId(Serializable id) {
+        return new RowId(repository.getModel().getPropertyInfo("tst:title").fragmentName, id);
+    }
+
+    protected Serializable getSharedCacheTitle(Serializable id) {
+        Row row = getSharedCache().get(getTitleRowId(id));
+        return row == null ? null : row.get(repository.getModel().getPropertyInfo("tst:title").fragmentKey);
+    }
+
+    protected static String getTitle(Session session, Serializable id) {
+        return session.getNodeById(id).getSimpleProperty("tst:title").getString();
+    }
+
+    protected Serializable createDoc(String title) {
+        Session session = repository.getConnection();
+        Node doc = session.addChildNode(session.getRootNode(), "doc", null, "TestDoc", false);
+        doc.setSimpleProperty("tst:title", title);
+        session.save();
+        session.close();
+        return doc.getId();
+    }
+
+    @Test
+    public void testLocalOverlayAndRollback() throws Exception {
+        Serializable id = createDoc("old");
+
+        // read in another session, fills the shared cache
+        Session session = repository.getConnection();
+        assertEquals("old", getTitle(session, id));
+        session.close();
+        assertEquals("old", getSharedCacheTitle(id));
+
+        TransactionHelper.startTransaction();
+        session = repository.getConnection();
+        try {
+            ((SessionImpl) session).start();
+            session.getNodeById(id).setSimpleProperty("tst:title", "new");
+            session.save();
+            // read again through the mapper, the transaction sees its own write
+            ((SessionImpl) session).context.pristine.clear();
+            assertEquals("new", getTitle(session, id));
+            // but it's not shared before commit
+            assertEquals("old", getSharedCacheTitle(id));
+            ((SessionImpl) session).end();
+        } finally {
+            TransactionHelper.setTransactionRollbackOnly();
+            TransactionHelper.commitOrRollbackTransaction();
+            ((SessionImpl) session).rollback();
+            session.close();
+        }
+
+        // the shared cache still holds the committed row
+        session = repository.getConnection();
+        JDBCConnection jdbc = (JDBCConnection) getUnderlyingMapper(session);
+        jdbc.countExecutes = true;
+        jdbc.executeCount = 0;
+        assertEquals("old", getTitle(session, id));
+        assertEquals(0, jdbc.executeCount);
+        session.close();
+    }
+
+    @Test
+    public void testRemoveInvalidatesSharedCache() throws Exception {
+        Session session1 = repository.getConnection();
+        Node folder = session1.addChildNode(session1.getRootNode(), "folder", null, "TestDoc", false);
+        Node doc = session1.addChildNode(folder, "doc", null, "TestDoc", false);
+        doc.setSimpleProperty("tst:title", "hello");
+        session1.save();
+        Serializable docId = doc.getId();
+
+        Session session2 = repository.getConnection();
+        assertEquals("hello", getTitle(session2, docId));
+        assertEquals("hello", getSharedCacheTitle(docId));
+
+        session1.removeNode(doc);
+        session1.save();
+        assertNull(getSharedCacheTitle(docId));
+
+        // new session
+        Session session3 = repository.getConnection();
+        assertNull(session3.getNodeById(docId));
+        // session which had read the document
+        session2.save(); // process invalidations (non-transactional)
+        assertNull(session2.getNodeById(docId));
+    }
+
+    @Test
+    public void testCopyInvalidatesSharedCache() throws Exception {
+        Session session1 = repository.getConnection();
+        Node root1 = session1.getRootNode();
+        Node folder1 = session1.addChildNode(root1, "folder1", null, "TestDoc", false);
+        Node doc = session1.addChildNode(folder1, "doc", null, "TestDoc", false);
+        doc.setSimpleProperty("tst:title", "hello");
+        Node folder2 = session1.addChildNode(root1, "folder2", null, "TestDoc", false);
+        session1.save();
+
+        Session session2 = repository.getConnection();
+        assertEquals("hello", getTitle(session2, doc.getId()));
+        Node folder2s2 = session2.getNodeById(folder2.getId());
+        assertNull(session2.getChildNode(folder2s2, "copy", false));
+
+        Node copy = session1.copy(doc, folder2, "copy");
+        session1.save();
+
+        // new session
+        Session session3 = repository.getConnection();
+        Node copy3 = session3.getChildNode(session3.getNodeById(folder2.getId()), "copy", false);
+        assertNotNull(copy3);
+        assertEquals(copy.getId(), copy3.getId());
+        assertEquals("hello", getTitle(session3, copy.getId()));
+        // session which had read the destination
+        session2.save(); // process invalidations (non-transactional)
+        assertNotNull(session2.getChildNode(folder2s2, "copy", false));
+        assertEquals("hello", getTitle(session2, copy.getId()));
+    }
+
+    @Test
+    public void testStaleReadNotSharedAfterConcurrentCommit() throws Exception {
+        Serializable id = createDoc("old");
+        RowId rowId = getTitleRowId(id);
+
+        // a session starts reading the row from the database
+        Session session2 = repository.getConnection();
+        BoundedCachingMapper mapper2 = getBoundedMapper(session2);
+        long stamp = getSharedCache().getStamp(rowId);
+        Row staleRow = mapper2.rowMapper.readSimpleRow(rowId);
+        assertNotNull(staleRow);
+
+        // meanwhile another session commits a new value
+        Session session1 = repository.getConnection();
+        session1.getNodeById(id).setSimpleProperty("tst:title", "new");
+        session1.save();
+
+        // the row read before the commit is not put in the shared cache
+        mapper2.cachePut(staleRow, stamp);
+        assertNull(getSharedCacheTitle(id));
+
+        Session session3 = repository.getConnection();
+        assertEquals("new", getTitle(session3, id));
+        assertEquals("new", getSharedCacheTitle(id));
+        session2.save(); // process invalidations (non-transactional)
+        assertEquals("new", getTitle(session2, id));
+    }
+
+}
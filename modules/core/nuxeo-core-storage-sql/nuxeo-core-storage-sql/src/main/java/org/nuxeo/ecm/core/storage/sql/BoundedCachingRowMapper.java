@@ -0,0 +1,518 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.nuxeo.common.utils.SizeUtils;
+import org.nuxeo.ecm.core.storage.sql.ACLRow.ACLRowPositionComparator;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+import io.dropwizard.metrics5.Timer;
+
+/**
+ * A {@link RowMapper} that uses a repository-wide {@link RowCache} bounded in bytes.
+ * <p>
+ * The shared cache only holds committed {@link Row}s. The rows written by the current transaction are held in a
+ * session-local cache, and the shared cache is not used for them until the transaction commits, at which point they
+ * are invalidated from the shared cache. Invalidations received from other sessions or from the cluster are applied
+ * to the shared cache as well.
+ * <p>
+ * The maximum size of the shared cache is configured with the {@value #MAX_SIZE_PROP} property of the caching mapper,
+ * for instance {@code 256m}.
+ *
+ * @since 2023.13
+ */
+public class BoundedCachingRowMapper implements RowMapper {
+
+    public static final String MAX_SIZE_PROP = "maxSize";
+
+    public static final String DEFAULT_MAX_SIZE = "100m";
+
+    private static final String ABSENT = "__ABSENT__\0\0\0";
+
+    /**
+     * The repository-wide cache of committed rows.
+     */
+    protected RowCache sharedCache;
+
+    /**
+     * The rows written or invalidated by the current transaction, not shared until commit.
+     * <p>
+     * The values are either {@link Row} for fragments present in the database, or a row with tableName
+     * {@link #ABSENT} to denote a fragment known to be absent from the database.
+     */
+    protected final Map<RowId, Row> localCache = new HashMap<>();
+
+    /**
+     * The rows written by the current transaction, for which the shared cache must not be used.
+     */
+    protected final Set<RowId> localRowIds = new HashSet<>();
+
+    protected Model model;
+
+    /**
+     * The {@link RowMapper} to which operations that cannot be processed from the cache are delegated.
+     */
+    protected RowMapper rowMapper;
+
+    /**
+     * The local invalidations due to writes through this mapper that should be propagated to other sessions at
+     * post-commit time.
+     */
+    protected final VCSInvalidations localInvalidations;
+
+    /**
+     * The queue of cache invalidations received from other session, to process at pre-transaction time.
+     */
+    protected final VCSInvalidationsQueue cacheQueue;
+
+    /**
+     * The propagator of invalidations to other mappers.
+     */
+    protected VCSInvalidationsPropagator cachePropagator;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    // sor means system of record (database access)
+    protected Counter sorRows;
+
+    protected Timer sorGetTimer;
+
+    public BoundedCachingRowMapper() {
+        localInvalidations = new VCSInvalidations();
+        cacheQueue = new VCSInvalidationsQueue("mapper-" + this);
+    }
+
+    public void initialize(String repositoryName, Model model, RowMapper rowMapper,
+            VCSInvalidationsPropagator cachePropagator, Map<String, String> properties) {
+        this.model = model;
+        this.rowMapper = rowMapper;
+        this.cachePropagator = cachePropagator;
+        cachePropagator.addQueue(cacheQueue);
+        long maxSize = SizeUtils.parseSizeInBytes(properties.getOrDefault(MAX_SIZE_PROP, DEFAULT_MAX_SIZE));
+        sharedCache = RowCache.getOrCreate(repositoryName, maxSize);
+        sorRows = registry.counter(MetricName.build(RowCache.METRIC_NAME, "sor", "rows")
+                                             .tagged("repository", repositoryName));
+        sorGetTimer = registry.timer(MetricName.build(RowCache.METRIC_NAME, "sor", "timer")
+                                               .tagged("repository", repositoryName));
+    }
+
+    public void close() {
+        clearLocalCache();
+        cachePropagator.removeQueue(cacheQueue);
+    }
+
+    @Override
+    public Serializable generateNewId() {
+        return rowMapper.generateNewId();
+    }
+
+    /*
+     * ----- Cache -----
+     */
+
+    protected static boolean isAbsent(Row row) {
+        return row.tableName == ABSENT; // == is ok
+    }
+
+    protected Row prepareCachedRow(Row row) {
+        row = row.clone();
+        // for ACL collections, make sure the order is correct
+        // (without the cache, the query to get a list of collection does an
+        // ORDER BY pos, so users of the cache must get the same behavior)
+        if (row.isCollection() && row.values.length > 0 && row.values[0] instanceof ACLRow) {
+            row.values = sortACLRows((ACLRow[]) row.values);
+        }
+        return row;
+    }
+
+    protected ACLRow[] sortACLRows(ACLRow[] acls) {
+        List<ACLRow> list = new ArrayList<>(Arrays.asList(acls));
+        Collections.sort(list, ACLRowPositionComparator.INSTANCE);
+        ACLRow[] res = new ACLRow[acls.length];
+        return list.toArray(res);
+    }
+
+    /**
+     * Caches a row written by the current transaction.
+     */
+    protected void localPut(Row row) {
+        RowId rowId = new RowId(row);
+        localRowIds.add(rowId);
+        localCache.put(rowId, prepareCachedRow(row));
+    }
+
+    /**
+     * Caches a row known to be absent because of the current transaction.
+     */
+    protected void localPutAbsent(RowId rowId) {
+        rowId = new RowId(rowId);
+        localRowIds.add(rowId);
+        localCache.put(rowId, new Row(ABSENT, (Serializable) null));
+    }
+
+    /**
+     * Caches a row read from the database.
+     *
+     * @param stamp the stamp of the shared cache taken before the read
+     */
+    protected void cachePut(Row row, long stamp) {
+        if (localRowIds.contains(row)) {
+            localCache.put(new RowId(row), prepareCachedRow(row));
+        } else {
+            sharedCache.put(new RowId(row), prepareCachedRow(row), stamp);
+        }
+    }
+
+    protected void cachePutAbsent(RowId rowId, long stamp) {
+        Row absent = new Row(ABSENT, (Serializable) null);
+        if (localRowIds.contains(rowId)) {
+            localCache.put(new RowId(rowId), absent);
+        } else {
+            sharedCache.put(new RowId(rowId), absent, stamp);
+        }
+    }
+
+    protected void cachePutAbsentIfNull(RowId rowId, Row row, long stamp) {
+        if (row != null) {
+            cachePut(row, stamp);
+        } else {
+            cachePutAbsent(rowId, stamp);
+        }
+    }
+
+    protected Row cacheGet(RowId rowId) {
+        Row row;
+        if (localRowIds.contains(rowId)) {
+            row = localCache.get(rowId);
+        } else {
+            row = sharedCache.get(rowId);
+        }
+        if (row != null && !isAbsent(row)) {
+            row = row.clone();
+        }
+        return row;
+    }
+
+    protected void clearLocalCache() {
+        localCache.clear();
+        localRowIds.clear();
+        localInvalidations.clear();
+    }
+
+    /*
+     * ----- Invalidations / Cache Management -----
+     */
+
+    @Override
+    public VCSInvalidations receiveInvalidations() {
+        // invalidations from the underlying mapper (cluster)
+        // already propagated to our invalidations queue
+        rowMapper.receiveInvalidations();
+
+        VCSInvalidations invalidations = cacheQueue.getInvalidations();
+
+        // invalidate the shared cache, other sessions may already have done it
+        if (invalidations.all) {
+            sharedCache.invalidateAll();
+        }
+        if (invalidations.modified != null) {
+            for (RowId rowId : invalidations.modified) {
+                sharedCache.invalidate(rowId);
+            }
+        }
+        if (invalidations.deleted != null) {
+            for (RowId rowId : invalidations.deleted) {
+                sharedCache.invalidate(rowId);
+            }
+        }
+
+        return invalidations.isEmpty() ? null : invalidations;
+    }
+
+    // propagate invalidations
+    @Override
+    public void sendInvalidations(VCSInvalidations invalidations) {
+        // add local invalidations
+        if (!localInvalidations.isEmpty()) {
+            if (invalidations == null) {
+                invalidations = new VCSInvalidations();
+            }
+            invalidations.add(localInvalidations);
+        }
+        // the writes of this transaction are now committed
+        for (RowId rowId : localRowIds) {
+            sharedCache.invalidate(rowId);
+        }
+        clearLocalCache();
+
+        if (invalidations != null && !invalidations.isEmpty()) {
+            // send to underlying mapper
+            rowMapper.sendInvalidations(invalidations);
+
+            // queue to other local mappers' caches
+            cachePropagator.propagateInvalidations(invalidations, cacheQueue);
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        clearLocalCache();
+        sharedCache.invalidateAll();
+        sorRows.dec(sorRows.getCount());
+        rowMapper.clearCache();
+    }
+
+    @Override
+    public long getCacheSize() {
+        return sharedCache.getSize() + localCache.size();
+    }
+
+    @Override
+    public void rollback() {
+        try {
+            rowMapper.rollback();
+        } finally {
+            // the shared cache only holds committed rows
+            clearLocalCache();
+        }
+    }
+
+    /*
+     * ----- Batch -----
+     */
+
+    /*
+     * Use those from the cache if available, read from the mapper for the rest.
+     */
+    @Override
+    public List<? extends RowId> read(Collection<RowId> rowIds, boolean cacheOnly) {
+        List<RowId> res = new ArrayList<>(rowIds.size());
+        // find which are in cache, and which not
+        List<RowId> todo = new LinkedList<>();
+        Map<RowId, Long> stamps = new HashMap<>();
+        for (RowId rowId : rowIds) {
+            Row row = cacheGet(rowId);
+            if (row == null) {
+                if (cacheOnly) {
+                    res.add(new RowId(rowId));
+                } else {
+                    todo.add(rowId);
+                    stamps.put(rowId, Long.valueOf(sharedCache.getStamp(rowId)));
+                }
+            } else if (isAbsent(row)) {
+                res.add(new RowId(rowId));
+            } else {
+                res.add(row);
+            }
+        }
+        if (!todo.isEmpty()) {
+            @SuppressWarnings("resource")
+            final Timer.Context context = sorGetTimer.time();
+            try {
+                // ask missing ones to underlying row mapper
+                List<? extends RowId> fetched = rowMapper.read(todo, cacheOnly);
+                // add them to the cache
+                for (RowId rowId : fetched) {
+                    Long stamp = stamps.get(rowId);
+                    if (stamp == null) {
+                        continue;
+                    }
+                    if (rowId instanceof Row) {
+                        cachePut((Row) rowId, stamp.longValue());
+                    } else {
+                        cachePutAbsent(rowId, stamp.longValue());
+                    }
+                }
+                // merge results
+                res.addAll(fetched);
+                sorRows.inc(fetched.size());
+            } finally {
+                context.stop();
+            }
+        }
+        return res;
+    }
+
+    /*
+     * Save in the local cache then pass all the writes to the mapper.
+     */
+    @Override
+    public void write(RowBatch batch) {
+        for (Row row : batch.creates) {
+            localPut(row);
+            // we need to send modified invalidations for created
+            // fragments because other session's ABSENT fragments have
+            // to be invalidated
+            localInvalidations.addModified(new RowId(row));
+        }
+        for (RowUpdate rowu : batch.updates) {
+            localPut(rowu.row);
+            localInvalidations.addModified(new RowId(rowu.row));
+        }
+        for (RowId rowId : batch.deletes) {
+            if (rowId instanceof Row) {
+                throw new AssertionError();
+            }
+            localPutAbsent(rowId);
+            localInvalidations.addDeleted(rowId);
+        }
+        for (RowId rowId : batch.deletesDependent) {
+            if (rowId instanceof Row) {
+                throw new AssertionError();
+            }
+            localPutAbsent(rowId);
+            localInvalidations.addDeleted(rowId);
+        }
+
+        // propagate to underlying mapper
+        rowMapper.write(batch);
+    }
+
+    /*
+     * ----- Read -----
+     */
+
+    @Override
+    public Row readSimpleRow(RowId rowId) {
+        Row row = cacheGet(rowId);
+        if (row == null) {
+            long stamp = sharedCache.getStamp(rowId);
+            row = rowMapper.readSimpleRow(rowId);
+            cachePutAbsentIfNull(rowId, row, stamp);
+            return row;
+        } else if (isAbsent(row)) {
+            return null;
+        } else {
+            return row;
+        }
+    }
+
+    @Override
+    public Map<String, String> getBinaryFulltext(RowId rowId) {
+        return rowMapper.getBinaryFulltext(rowId);
+    }
+
+    @Override
+    public Serializable[] readCollectionRowArray(RowId rowId) {
+        Row row = cacheGet(rowId);
+        if (row == null) {
+            long stamp = sharedCache.getStamp(rowId);
+            Serializable[] array = rowMapper.readCollectionRowArray(rowId);
+            assert array != null;
+            row = new Row(rowId.tableName, rowId.id, array);
+            cachePut(row, stamp);
+            return row.values;
+        } else if (isAbsent(row)) {
+            return null;
+        } else {
+            return row.values;
+        }
+    }
+
+    @Override
+    public List<Row> readSelectionRows(SelectionType selType, Serializable selId, Serializable filter,
+            Serializable criterion, boolean limitToOne) {
+        long globalStamp = sharedCache.getGlobalStamp();
+        List<Row> rows = rowMapper.readSelectionRows(selType, selId, filter, criterion, limitToOne);
+        for (Row row : rows) {
+            if (localRowIds.contains(row)) {
+                localCache.put(new RowId(row), prepareCachedRow(row));
+            } else {
+                sharedCache.putGlobal(new RowId(row), prepareCachedRow(row), globalStamp);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public Set<Serializable> readSelectionsIds(SelectionType selType, List<Serializable> values) {
+        return rowMapper.readSelectionsIds(selType, values);
+    }
+
+    /*
+     * ----- Copy -----
+     */
+
+    @Override
+    public CopyResult copy(IdWithTypes source, Serializable destParentId, String destName, Row overwriteRow,
+            boolean excludeSpecialChildren, boolean excludeACL) {
+        CopyResult result = rowMapper.copy(source, destParentId, destName, overwriteRow, excludeSpecialChildren,
+                excludeACL);
+        VCSInvalidations invalidations = result.invalidations;
+        if (invalidations.modified != null) {
+            for (RowId rowId : invalidations.modified) {
+                localRemove(rowId);
+                localInvalidations.addModified(new RowId(rowId));
+            }
+        }
+        if (invalidations.deleted != null) {
+            for (RowId rowId : invalidations.deleted) {
+                localRemove(rowId);
+                localInvalidations.addDeleted(rowId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forgets a row changed by the current transaction, so that it's read again from the database.
+     */
+    protected void localRemove(RowId rowId) {
+        rowId = new RowId(rowId);
+        localRowIds.add(rowId);
+        localCache.remove(rowId);
+    }
+
+    @Override
+    public List<NodeInfo> getDescendantsInfo(Serializable rootId) {
+        return rowMapper.getDescendantsInfo(rootId);
+    }
+
+    @Override
+    public void remove(Serializable rootId, List<NodeInfo> nodeInfos) {
+        rowMapper.remove(rootId, nodeInfos);
+        for (NodeInfo info : nodeInfos) {
+            for (String fragmentName : model.getTypeFragments(new IdWithTypes(info))) {
+                RowId rowId = new RowId(fragmentName, info.id);
+                localRemove(rowId);
+                localInvalidations.addDeleted(rowId);
+            }
+        }
+        // we only put as absent the root fragment, to avoid polluting the cache
+        // with lots of absent info. the rest is removed entirely
+        localPutAbsent(new RowId(Model.HIER_TABLE_NAME, rootId));
+    }
+
+}
@@ -1062,6 +1062,15 @@ public class Model {
         return docTypePrefetchedFragments.get(typeName);
     }
 
+    /**
+     * Gets the simple and collection fragments of a schema.
+     *
+     * @since 2023.13
+     */
+    public Set<String> getSchemaFragments(String schema) {
+        return schemaFragments.get(schema);
+    }
+
     /**
      * Checks if we have a type (doctype or complex type).
      */
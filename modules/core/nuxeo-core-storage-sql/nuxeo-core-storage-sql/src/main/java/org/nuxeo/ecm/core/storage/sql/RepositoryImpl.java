@@ -423,6 +423,7 @@ public class RepositoryImpl implements Repository, org.nuxeo.ecm.core.model.Repo
     @Override
     public synchronized void close() {
         closeAllSessions();
+        RowCache.remove(getName());
         model = null;
         if (clusterInvalidator != null) {
             clusterInvalidator.close();
@@ -0,0 +1,257 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import java.io.Serializable;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+
+import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.Gauge;
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+
+/**
+ * A repository-wide cache of committed {@link Row}s, bounded by the estimated size of the rows in bytes.
+ * <p>
+ * Rows are evicted individually when the maximum size is reached, instead of being all cleared at once by the GC like
+ * soft references.
+ * <p>
+ * To avoid caching a row read from the database while a concurrent transaction commits a new value for it, each
+ * invalidation increments a stamp, and a row read from the database is only cached if the stamp of its key didn't
+ * change since before the read. Rows read by a query, whose keys are not known before the read, are only cached if no
+ * invalidation at all happened since before the read.
+ *
+ * @since 2023.13
+ */
+public class RowCache {
+
+    private static final Logger log = LogManager.getLogger(RowCache.class);
+
+    protected static final String METRIC_NAME = "nuxeo.repositories.repository.cache.bounded";
+
+    protected static final int STRIPES = 1024;
+
+    protected static final Map<String, RowCache> CACHES = new ConcurrentHashMap<>();
+
+    protected final String repositoryName;
+
+    protected final Cache<RowId, Row> cache;
+
+    /** Invalidation stamps, per stripe of keys. */
+    protected final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    /** Invalidation stamp for all the keys. */
+    protected final AtomicLong globalStamp = new AtomicLong();
+
+    /** Incremented by every invalidation, of a single key or of all the keys. */
+    protected final AtomicLong modificationCount = new AtomicLong();
+
+    protected final AtomicLong weight = new AtomicLong();
+
+    protected final Counter hitCount;
+
+    protected final Counter missCount;
+
+    protected final Counter evictionCount;
+
+    protected RowCache(String repositoryName, long maxBytes) {
+        this.repositoryName = repositoryName;
+        cache = CacheBuilder.newBuilder() //
+                            .concurrencyLevel(16)
+                            .maximumWeight(maxBytes)
+                            .<RowId, Row> weigher((key, row) -> weigh(row))
+                            .<RowId, Row> removalListener(notification -> {
+                                weight.addAndGet(-weigh(notification.getValue()));
+                                if (notification.getCause() == RemovalCause.SIZE) {
+                                    evictionCount().inc();
+                                }
+                            })
+                            .build();
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        hitCount = registry.counter(MetricName.build(METRIC_NAME, "hit").tagged("repository", repositoryName));
+        missCount = registry.counter(MetricName.build(METRIC_NAME, "miss").tagged("repository", repositoryName));
+        evictionCount = registry.counter(
+                MetricName.build(METRIC_NAME, "eviction").tagged("repository", repositoryName));
+        MetricName sizeName = MetricName.build(METRIC_NAME, "size").tagged("repository", repositoryName);
+        registry.remove(sizeName);
+        registry.register(sizeName, (Gauge<Long>) cache::size);
+        MetricName bytesName = MetricName.build(METRIC_NAME, "bytes").tagged("repository", repositoryName);
+        registry.remove(bytesName);
+        registry.register(bytesName, (Gauge<Long>) weight::get);
+    }
+
+    // the removal listener is built before the counter is assigned
+    protected Counter evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the row cache of a repository, creating it if needed.
+     */
+    public static RowCache getOrCreate(String repositoryName, long maxBytes) {
+        return CACHES.computeIfAbsent(repositoryName, k -> {
+            log.info("Creating VCS row cache for repository: {} with max size: {} bytes", k, maxBytes);
+            return new RowCache(k, maxBytes);
+        });
+    }
+
+    /**
+     * Removes the row cache of a repository, when the repository is closed.
+     */
+    public static void remove(String repositoryName) {
+        RowCache rowCache = CACHES.remove(repositoryName);
+        if (rowCache != null) {
+            rowCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Gets a cached row, or {@code null} if it's not cached. The returned row must not be modified.
+     * <p>
+     * A row known to be absent from the database is cached as a marker row, see {@link BoundedCachingRowMapper}.
+     */
+    public Row get(RowId rowId) {
+        Row row = cache.getIfPresent(rowId);
+        if (row == null) {
+            missCount.inc();
+        } else {
+            hitCount.inc();
+        }
+        return row;
+    }
+
+    /**
+     * Gets the stamp to pass to {@link #put} for a row about to be read from the database.
+     */
+    public long getStamp(RowId rowId) {
+        return stamps.get(stripe(rowId)) + globalStamp.get();
+    }
+
+    /**
+     * Gets the stamp to pass to {@link #putGlobal} for rows about to be read from the database, whose keys are not
+     * known in advance.
+     */
+    public long getGlobalStamp() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Caches a row read from the database, unless it was invalidated since the given stamp was taken.
+     */
+    public void put(RowId rowId, Row row, long stamp) {
+        if (getStamp(rowId) != stamp) {
+            return;
+        }
+        doPut(rowId, row);
+        // recheck in case of a concurrent invalidation
+        if (getStamp(rowId) != stamp) {
+            cache.invalidate(rowId);
+        }
+    }
+
+    /**
+     * Caches rows read from the database, unless any row was invalidated since the given global stamp was taken.
+     */
+    public void putGlobal(RowId rowId, Row row, long globalStampValue) {
+        if (modificationCount.get() != globalStampValue) {
+            return;
+        }
+        doPut(rowId, row);
+        // recheck in case of a concurrent invalidation
+        if (modificationCount.get() != globalStampValue) {
+            cache.invalidate(rowId);
+        }
+    }
+
+    protected void doPut(RowId rowId, Row row) {
+        weight.addAndGet(weigh(row));
+        cache.put(rowId, row);
+    }
+
+    public void invalidate(RowId rowId) {
+        stamps.incrementAndGet(stripe(rowId));
+        modificationCount.incrementAndGet();
+        cache.invalidate(rowId);
+    }
+
+    public void invalidateAll() {
+        globalStamp.incrementAndGet();
+        modificationCount.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long getSize() {
+        return cache.size();
+    }
+
+    protected static int stripe(RowId rowId) {
+        return (rowId.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    /**
+     * Estimates the size of a row in bytes.
+     */
+    protected static int weigh(Row row) {
+        // object header, key and fields
+        long size = 64 + weigh(row.id);
+        if (row.values != null) {
+            size += 16 + 8L * row.values.length;
+            for (Serializable value : row.values) {
+                size += weigh(value);
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    protected static long weigh(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return 40 + ((String) value).length();
+        } else if (value instanceof Calendar) {
+            return 200;
+        } else if (value instanceof ACLRow) {
+            ACLRow acl = (ACLRow) value;
+            return 80 + weigh(acl.name) + weigh(acl.permission) + weigh(acl.user) + weigh(acl.group)
+                    + weigh(acl.creator) + weigh(acl.begin) + weigh(acl.end);
+        } else if (value instanceof Object[]) {
+            long size = 16;
+            for (Object v : (Object[]) value) {
+                size += 8 + weigh(v);
+            }
+            return size;
+        } else {
+            return 16;
+        }
+    }
+
+}
@@ -92,6 +92,16 @@ public interface Session extends AutoCloseable {
      */
     List<Node> getNodesByIds(Collection<Serializable> ids);
 
+    /**
+     * Fetches in bulk the fragments of the given schemas for the given nodes, so that reading their properties doesn't
+     * require a fetch for each node.
+     *
+     * @param ids the node ids
+     * @param schemas the schemas
+     * @since 2023.13
+     */
+    void prefetchSchemas(Collection<Serializable> ids, Collection<String> schemas);
+
     /**
      * Gets a node given its absolute path, or given an existing node and a relative path.
      *
@@ -533,6 +533,26 @@ public class SessionImpl implements Session {
         return getNodesByIds(ids, true);
     }
 
+    @Override
+    public void prefetchSchemas(Collection<Serializable> ids, Collection<String> schemas) {
+        List<RowId> rowIds = new ArrayList<>();
+        for (String schema : schemas) {
+            Set<String> tableNames = model.getSchemaFragments(schema);
+            if (tableNames == null) {
+                continue;
+            }
+            for (String tableName : tableNames) {
+                for (Serializable id : ids) {
+                    rowIds.add(new RowId(tableName, id));
+                }
+            }
+        }
+        if (!rowIds.isEmpty()) {
+            // fetched fragments are kept in the context
+            context.getMulti(rowIds, true);
+        }
+    }
+
     @Override
     public Node getParentNode(Node node) {
         if (node == null) {
@@ -174,6 +174,12 @@ public class SQLSession extends BaseSession {
         return doc;
     }
 
+    @Override
+    public void prefetchSchemas(List<String> ids, Collection<String> schemas) {
+        List<Serializable> nodeIds = ids.stream().map(this::idFromString).collect(Collectors.toList());
+        session.prefetchSchemas(nodeIds, schemas);
+    }
+
     @Override
     public Document resolvePath(String path) throws DocumentNotFoundException {
         if (path.endsWith("/") && path.length() > 1) {
@@ -198,6 +204,7 @@ public class SQLSession extends BaseSession {
         if (name == null) {
             name = source.getName();
         }
+        invalidateACPCache();
         Node result = session.move(((SQLDocument) source).getNode(), ((SQLDocument) parent).getNode(), name);
         return newDocument(result);
     }
@@ -690,6 +697,7 @@ public class SQLSession extends BaseSession {
             return;
         }
         checkNegativeAcl(acp);
+        invalidateACPCache();
         Node node = ((SQLDocument) doc).getNode();
         ACLRow[] aclrows;
         if (overwrite) {
@@ -876,6 +884,7 @@ public class SQLSession extends BaseSession {
 
     @Override
     public void start() {
+        invalidateACPCache();
         session.start();
     }
 
@@ -73,6 +73,7 @@ import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
 import org.nuxeo.ecm.core.query.sql.model.SelectClause;
 import org.nuxeo.ecm.core.query.sql.model.StringLiteral;
 import org.nuxeo.ecm.core.query.sql.model.WhereClause;
+import org.nuxeo.ecm.core.storage.QueryPlanCache;
 import org.nuxeo.ecm.core.storage.sql.ColumnType;
 import org.nuxeo.ecm.core.storage.sql.ColumnType.WrappedId;
 import org.nuxeo.ecm.core.storage.sql.Model;
@@ -272,6 +273,20 @@ public class NXQLQueryMaker implements QueryMaker {
 
     protected int fragJoinCount = 0;
 
+    /**
+     * Whether the query being built only depends on the query and on the shape of its filter, so that its plan can be
+     * cached.
+     *
+     * @since 2023.13
+     */
+    protected boolean queryPlanCacheable = true;
+
+    /** @since 2023.13 */
+    protected Serializable securityPrincipalsParam;
+
+    /** @since 2023.13 */
+    protected Serializable securityPermissionsParam;
+
     @Override
     public String getName() {
         return NXQL.NXQL;
@@ -289,6 +304,44 @@ public class NXQLQueryMaker implements QueryMaker {
     @Override
     public Query buildQuery(SQLInfo sqlInfo, Model model, PathResolver pathResolver, String query,
             QueryFilter queryFilter, Object... params) {
+        QueryPlanCache<QueryPlan> queryPlanCache = sqlInfo.getQueryPlanCache();
+        // specialized query makers may keep state outside of the query
+        if (queryPlanCache == null || getClass() != NXQLQueryMaker.class || (params != null && params.length > 0)) {
+            return doBuildQuery(sqlInfo, model, pathResolver, query, queryFilter, params);
+        }
+        String key = QueryPlanCache.computeKey(query, queryFilter);
+        QueryPlan plan = queryPlanCache.get(key);
+        if (plan == null) {
+            Query q = doBuildQuery(sqlInfo, model, pathResolver, query, queryFilter, params);
+            if (!queryPlanCacheable) {
+                return q;
+            }
+            plan = new QueryPlan(q, securityPrincipalsParam, securityPermissionsParam);
+            queryPlanCache.put(key, plan);
+        }
+        dialect = sqlInfo.dialect;
+        Serializable[] securityParams = getSecurityParams(queryFilter);
+        return plan.bind(securityParams[0], securityParams[1]);
+    }
+
+    /**
+     * Gets the principals and permissions parameters used for the security check, or {@code null} values if there is
+     * no security check.
+     *
+     * @since 2023.13
+     */
+    protected Serializable[] getSecurityParams(QueryFilter queryFilter) {
+        Serializable principals = queryFilter.getPrincipals();
+        Serializable permissions = queryFilter.getPermissions();
+        if (principals != null && !dialect.supportsArrays()) {
+            principals = StringUtils.join((String[]) principals, Dialect.ARRAY_SEP);
+            permissions = StringUtils.join((String[]) permissions, Dialect.ARRAY_SEP);
+        }
+        return new Serializable[] { principals, permissions };
+    }
+
+    protected Query doBuildQuery(SQLInfo sqlInfo, Model model, PathResolver pathResolver, String query,
+            QueryFilter queryFilter, Object... params) {
         this.sqlInfo = sqlInfo;
         database = sqlInfo.database;
         dialect = sqlInfo.dialect;
@@ -577,12 +630,13 @@ public class NXQLQueryMaker implements QueryMaker {
             List<Serializable> securityParams = new LinkedList<>();
             List<Join> securityJoins = new ArrayList<>(2);
             if (queryFilter.getPrincipals() != null) {
-                Serializable principals = queryFilter.getPrincipals();
-                Serializable permissions = queryFilter.getPermissions();
-                if (!dialect.supportsArrays()) {
-                    principals = StringUtils.join((String[]) principals, Dialect.ARRAY_SEP);
-                    permissions = StringUtils.join((String[]) permissions, Dialect.ARRAY_SEP);
+                if (securityPrincipalsParam == null) {
+                    Serializable[] securityParams = getSecurityParams(queryFilter);
+                    securityPrincipalsParam = securityParams[0];
+                    securityPermissionsParam = securityParams[1];
                 }
+                Serializable principals = securityPrincipalsParam;
+                Serializable permissions = securityPermissionsParam;
                 // when using WITH for the query, the main column is referenced
                 // through an alias because of the subselect
                 String id = dialect.supportsWith() ? mainAlias : hierId;
@@ -1345,6 +1399,7 @@ public class NXQLQueryMaker implements QueryMaker {
                     NXQL.ECM_FULLTEXT_JOBID.equals(name)) {
                 // ok
             } else if (NXQL.ECM_ISTRASHED.equals(name)) {
+                queryPlanCacheable = false; // trash service state may change
                 TrashService trashService = Framework.getService(TrashService.class);
                 if (trashService.hasFeature(TRASHED_STATE_IS_DEDICATED_PROPERTY)
                         || trashService.hasFeature(TRASHED_STATE_IN_MIGRATION)) {
@@ -2007,6 +2062,7 @@ public class NXQLQueryMaker implements QueryMaker {
 
         protected void visitExpressionStartsWithPath(String path) {
             // find the id from the path
+            queryPlanCacheable = false; // documents may be moved
             Serializable id = pathResolver.getIdForPath(path);
             if (id == null) {
                 // no such path, always return a false
@@ -2049,6 +2105,7 @@ public class NXQLQueryMaker implements QueryMaker {
             if (path.length() > 1 && path.endsWith(PATH_SEP)) {
                 path = path.substring(0, path.length() - PATH_SEP.length());
             }
+            queryPlanCacheable = false; // documents may be moved
             Serializable id = pathResolver.getIdForPath(path);
             if (id == null) {
                 // no such path, always return a false
@@ -2122,6 +2179,7 @@ public class NXQLQueryMaker implements QueryMaker {
         }
 
         protected void visitExpressionIsTrashed(Expression node) {
+            queryPlanCacheable = false; // trash service state may change
             TrashService trashService = Framework.getService(TrashService.class);
             if (trashService.hasFeature(TRASHED_STATE_IS_DEDUCED_FROM_LIFECYCLE)) {
                 visitExpressionIsTrashedOnLifeCycle(node);
@@ -2565,6 +2623,7 @@ public class NXQLQueryMaker implements QueryMaker {
                 } else {
                     periodAndDurationText = ((StringLiteral) node.args.get(0)).value;
                 }
+                queryPlanCacheable = false; // depends on the current time
                 ZonedDateTime dateTime;
                 try {
                     dateTime = NXQL.nowPlusPeriodAndDuration(periodAndDurationText);
@@ -2651,4 +2710,63 @@ public class NXQLQueryMaker implements QueryMaker {
 
     }
 
+    /**
+     * A cached query plan: the SQL and its parameters, with the positions of the security check parameters that must
+     * be re-bound for each execution.
+     *
+     * @since 2023.13
+     */
+    public static class QueryPlan {
+
+        /** The select, or {@code null} if the query cannot match. */
+        protected final SQLInfoSelect selectInfo;
+
+        protected final Serializable[] params;
+
+        protected final int[] principalsPositions;
+
+        protected final int[] permissionsPositions;
+
+        public QueryPlan(Query q, Serializable principals, Serializable permissions) {
+            if (q == null) {
+                selectInfo = null;
+                params = null;
+                principalsPositions = null;
+                permissionsPositions = null;
+                return;
+            }
+            selectInfo = q.selectInfo;
+            params = q.selectParams.toArray(new Serializable[0]);
+            List<Integer> principalsList = new ArrayList<>();
+            List<Integer> permissionsList = new ArrayList<>();
+            for (int i = 0; i < params.length; i++) {
+                // identity, the same values may legitimately appear in the query itself
+                if (principals != null && params[i] == principals) {
+                    principalsList.add(Integer.valueOf(i));
+                } else if (permissions != null && params[i] == permissions) {
+                    permissionsList.add(Integer.valueOf(i));
+                }
+            }
+            principalsPositions = principalsList.stream().mapToInt(Integer::intValue).toArray();
+            permissionsPositions = permissionsList.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        public Query bind(Serializable principals, Serializable permissions) {
+            if (selectInfo == null) {
+                return null;
+            }
+            Serializable[] values = params.clone();
+            for (int i : principalsPositions) {
+                values[i] = principals;
+            }
+            for (int i : permissionsPositions) {
+                values[i] = permissions;
+            }
+            Query q = new Query();
+            q.selectInfo = selectInfo;
+            q.selectParams = new ArrayList<>(Arrays.asList(values));
+            return q;
+        }
+    }
+
 }
@@ -41,6 +41,7 @@ import org.nuxeo.ecm.core.api.model.Delta;
 import org.nuxeo.ecm.core.api.repository.FulltextConfiguration;
 import org.nuxeo.ecm.core.query.sql.NXQL;
 import org.nuxeo.ecm.core.schema.SchemaManager;
+import org.nuxeo.ecm.core.storage.QueryPlanCache;
 import org.nuxeo.ecm.core.storage.sql.ColumnType;
 import org.nuxeo.ecm.core.storage.sql.Mapper;
 import org.nuxeo.ecm.core.storage.sql.Model;
@@ -139,6 +140,9 @@ public class SQLInfo {
 
     protected List<Column> getBinariesColumns;
 
+    /** @since 2023.13 */
+    protected final QueryPlanCache<NXQLQueryMaker.QueryPlan> queryPlanCache;
+
     /**
      * Generates and holds the needed SQL statements given a {@link Model} and a {@link Dialect}.
      *
@@ -151,6 +155,7 @@ public class SQLInfo {
         RepositoryDescriptor repositoryDescriptor = model.getRepositoryDescriptor();
         softDeleteEnabled = repositoryDescriptor.getSoftDeleteEnabled();
         proxiesEnabled = repositoryDescriptor.getProxiesEnabled();
+        queryPlanCache = QueryPlanCache.create(repositoryDescriptor.name);
 
         database = new Database(dialect);
 
@@ -188,6 +193,15 @@ public class SQLInfo {
         }
     }
 
+    /**
+     * Gets the query plan cache, or {@code null} if it's disabled.
+     *
+     * @since 2023.13
+     */
+    public QueryPlanCache<NXQLQueryMaker.QueryPlan> getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
     public Database getDatabase() {
         return database;
     }
@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since 2023.13
+ */
+public class TestRowCache {
+
+    protected static final String REPOSITORY = "testrowcache";
+
+    @After
+    public void tearDown() {
+        RowCache.remove(REPOSITORY);
+    }
+
+    protected static Row newRow(String id) {
+        return new Row("hierarchy", id, new Serializable[] { "name-" + id, Long.valueOf(1) });
+    }
+
+    @Test
+    public void testPutGet() {
+        RowCache cache = RowCache.getOrCreate(REPOSITORY, 1024 * 1024);
+        Row row = newRow("1");
+        RowId rowId = new RowId(row);
+        cache.put(rowId, row, cache.getStamp(rowId));
+        assertNotNull(cache.get(rowId));
+        cache.invalidate(rowId);
+        assertNull(cache.get(rowId));
+    }
+
+    @Test
+    public void testStalePutIgnored() {
+        RowCache cache = RowCache.getOrCreate(REPOSITORY, 1024 * 1024);
+        Row row = newRow("1");
+        RowId rowId = new RowId(row);
+        // stamp taken before a read from the database
+        long stamp = cache.getStamp(rowId);
+        // concurrent commit
+        cache.invalidate(rowId);
+        cache.put(rowId, row, stamp);
+        assertNull(cache.get(rowId));
+
+        long globalStamp = cache.getGlobalStamp();
+        cache.invalidateAll();
+        cache.putGlobal(rowId, row, globalStamp);
+        assertNull(cache.get(rowId));
+    }
+
+    @Test
+    public void testStaleGlobalPutIgnoredAfterRowInvalidation() {
+        RowCache cache = RowCache.getOrCreate(REPOSITORY, 1024 * 1024);
+        Row row = newRow("1");
+        RowId rowId = new RowId(row);
+        // global stamp taken before a selection read from the database
+        long globalStamp = cache.getGlobalStamp();
+        // concurrent commit of the row
+        cache.invalidate(rowId);
+        cache.putGlobal(rowId, row, globalStamp);
+        assertNull(cache.get(rowId));
+
+        // concurrent commit of another row
+        Row other = newRow("2");
+        globalStamp = cache.getGlobalStamp();
+        cache.invalidate(new RowId(other));
+        cache.putGlobal(rowId, row, globalStamp);
+        assertNull(cache.get(rowId));
+
+        // no concurrent commit
+        globalStamp = cache.getGlobalStamp();
+        cache.putGlobal(rowId, row, globalStamp);
+        assertNotNull(cache.get(rowId));
+    }
+
+    @Test
+    public void testBoundedSize() {
+        int rowSize = RowCache.weigh(newRow("0"));
+        RowCache cache = RowCache.getOrCreate(REPOSITORY, 1000L * rowSize);
+        long evictions = cache.evictionCount.getCount();
+        for (int i = 0; i < 2000; i++) {
+            Row row = newRow(String.valueOf(i));
+            RowId rowId = new RowId(row);
+            cache.put(rowId, row, cache.getStamp(rowId));
+        }
+        assertTrue(String.valueOf(cache.getSize()), cache.getSize() <= 1000);
+        assertEquals(2000 - cache.getSize(), cache.evictionCount.getCount() - evictions);
+        assertEquals(cache.getSize() * rowSize, cache.weight.get());
+    }
+
+}
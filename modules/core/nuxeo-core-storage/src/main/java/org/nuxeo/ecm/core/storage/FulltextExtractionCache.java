@@ -0,0 +1,166 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.convert.api.ConversionService;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+
+/**
+ * Cache of the text extracted from blobs for fulltext indexing, shared by all the nodes through a key/value store.
+ * <p>
+ * The text is keyed by the blob digest, its MIME type and the converter used, so that the same content attached to
+ * many documents or versions is extracted only once. Entries expire after {@value #CACHE_TTL_PROP} seconds, and texts
+ * larger than {@value #CACHE_MAX_SIZE_PROP} characters are not cached.
+ * <p>
+ * The key also holds a fingerprint of the contributed configuration of the converters involved, so that a converter
+ * contributed differently doesn't serve the previously extracted text. Changes not visible in the contributions, like
+ * an upgraded external tool, are handled by bumping {@value #CACHE_VERSION_PROP}.
+ *
+ * @since 2023.13
+ */
+public class FulltextExtractionCache {
+
+    private static final Logger log = LogManager.getLogger(FulltextExtractionCache.class);
+
+    public static final String CACHE_ENABLED_PROP = "nuxeo.fulltext.extraction.cache.enabled";
+
+    public static final String CACHE_TTL_PROP = "nuxeo.fulltext.extraction.cache.ttl";
+
+    public static final String CACHE_MAX_SIZE_PROP = "nuxeo.fulltext.extraction.cache.maxSize";
+
+    public static final String CACHE_VERSION_PROP = "nuxeo.fulltext.extraction.cache.version";
+
+    public static final String KV_STORE_NAME = "fulltextExtraction";
+
+    // 7 days
+    protected static final long DEFAULT_TTL = 7 * 24 * 3600;
+
+    // 1M chars
+    protected static final int DEFAULT_MAX_SIZE = 1024 * 1024;
+
+    protected final KeyValueStore store;
+
+    protected final long ttl;
+
+    protected final int maxSize;
+
+    protected final String version;
+
+    public FulltextExtractionCache(KeyValueStore store, long ttl, int maxSize) {
+        this(store, ttl, maxSize, null);
+    }
+
+    public FulltextExtractionCache(KeyValueStore store, long ttl, int maxSize, String version) {
+        this.store = store;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.version = version;
+    }
+
+    /**
+     * Gets the cache, or {@code null} if it's not enabled.
+     */
+    public static FulltextExtractionCache getInstance() {
+        if (!Framework.isBooleanPropertyTrue(CACHE_ENABLED_PROP)) {
+            return null;
+        }
+        KeyValueStore store = Framework.getService(KeyValueService.class).getKeyValueStore(KV_STORE_NAME);
+        long ttl = Long.parseLong(Framework.getProperty(CACHE_TTL_PROP, String.valueOf(DEFAULT_TTL)));
+        int maxSize = Integer.parseInt(Framework.getProperty(CACHE_MAX_SIZE_PROP, String.valueOf(DEFAULT_MAX_SIZE)));
+        String version = Framework.getProperty(CACHE_VERSION_PROP);
+        return new FulltextExtractionCache(store, ttl, maxSize, version);
+    }
+
+    /**
+     * Computes the cache key for the text extracted from the blob by the given converter, or returns {@code null} if
+     * the blob has no digest.
+     */
+    public String computeKey(Blob blob, String converterName) {
+        String digest = blob.getDigest();
+        if (StringUtils.isBlank(digest)) {
+            return null;
+        }
+        // the converter chain depends on the MIME type
+        String source = version + '\0' + converterName + '\0'
+                + getConverterFingerprint(converterName, blob.getMimeType()) + '\0' + blob.getMimeType() + '\0'
+                + blob.getDigestAlgorithm() + '\0' + digest;
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            StringBuilder sb = new StringBuilder();
+            for (byte b : md.digest(source.getBytes(UTF_8))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of the configuration of the given converter and of the converter it dispatches to for the
+     * MIME type, or returns {@code null} if the conversion service is not available.
+     */
+    protected String getConverterFingerprint(String converterName, String mimeType) {
+        if (!Framework.isInitialized()) {
+            return null;
+        }
+        ConversionService conversionService = Framework.getService(ConversionService.class);
+        if (conversionService == null) {
+            return null;
+        }
+        String fingerprint = conversionService.getConverterFingerprint(converterName);
+        // any2text dispatches to the converter registered for the MIME type
+        String mimeTypeConverterName = conversionService.getConverterName(mimeType, "text/plain", false);
+        if (mimeTypeConverterName != null && !mimeTypeConverterName.equals(converterName)) {
+            fingerprint += '\0' + conversionService.getConverterFingerprint(mimeTypeConverterName);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Gets the cached text, or {@code null} if absent.
+     */
+    public String get(String key) {
+        String text = store.getString(key);
+        log.trace("Fulltext extraction cache {} for key: {}", () -> text == null ? "miss" : "hit", () -> key);
+        return text;
+    }
+
+    /**
+     * Caches the text, unless it's too large.
+     */
+    public void put(String key, String text) {
+        if (maxSize > 0 && text.length() > maxSize) {
+            return;
+        }
+        store.put(key, text, ttl);
+    }
+
+}
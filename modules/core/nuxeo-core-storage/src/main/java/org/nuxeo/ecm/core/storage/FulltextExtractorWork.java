@@ -87,6 +87,9 @@ public class FulltextExtractorWork extends AbstractWork {
 
     protected transient List<DocumentRef> docsToUpdate;
 
+    /** @since 2023.13 */
+    protected transient FulltextExtractionCache extractionCache;
+
     /** If true, update the simple text from the document. */
     protected final boolean updateSimpleText;
 
@@ -160,6 +163,7 @@ public class FulltextExtractorWork extends AbstractWork {
         RepositoryService repositoryService = Framework.getService(RepositoryService.class);
         Repository repository = repositoryService.getRepository(repositoryName);
         fulltextConfiguration = repository.getFulltextConfiguration();
+        extractionCache = FulltextExtractionCache.getInstance();
     }
 
     protected void findDocsToUpdate() {
@@ -269,14 +273,39 @@ public class FulltextExtractorWork extends AbstractWork {
     }
 
     /**
-     * Converts the blob to text by calling a converter.
+     * Converts the blob to text by calling a converter, or gets it from the extraction cache if enabled.
      */
     protected String blobToText(Blob blob) {
+        String key = extractionCache == null ? null : extractionCache.computeKey(blob, ANY2TEXT_CONVERTER);
+        if (key != null) {
+            String text = extractionCache.get(key);
+            if (text != null) {
+                return text;
+            }
+        }
+        String text = convertBlobToText(blob);
+        if (text == null) {
+            // conversion failed, don't cache
+            return "";
+        }
+        if (key != null) {
+            extractionCache.put(key, text);
+        }
+        return text;
+    }
+
+    /**
+     * Converts the blob to text by calling a converter.
+     *
+     * @return the text, or {@code null} if the conversion failed
+     * @since 2023.13
+     */
+    protected String convertBlobToText(Blob blob) {
         try {
             ConversionService conversionService = Framework.getService(ConversionService.class);
             if (conversionService == null) {
                 log.debug("No ConversionService available");
-                return "";
+                return null;
             }
             BlobHolder blobHolder = conversionService.convert(ANY2TEXT_CONVERTER, new SimpleBlobHolder(blob), null);
             if (blobHolder == null) {
@@ -297,7 +326,7 @@ public class FulltextExtractorWork extends AbstractWork {
                     + e;
             log.warn(msg);
             log.debug(msg, e);
-            return "";
+            return null;
         }
     }
 
@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.TreeSet;
+
+import org.nuxeo.ecm.core.api.impl.FacetFilter;
+import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.Gauge;
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+
+/**
+ * Bounded cache of query plans, the result of the translation of a NXQL query into a backend-specific query.
+ * <p>
+ * The plans are keyed on the NXQL query and on the shape of the query filter: facet filter, security policy
+ * transformers and whether there is a security check. Values specific to an execution, like the principals of the
+ * security check, must be re-bound by the caller.
+ * <p>
+ * The cache is disabled unless the {@value #CACHE_SIZE_PROP} property is set to a positive value.
+ *
+ * @param <V> the plan type
+ * @since 2023.13
+ */
+public class QueryPlanCache<V> {
+
+    public static final String CACHE_SIZE_PROP = "nuxeo.repository.query.plan.cache.size";
+
+    protected static final String METRIC_NAME = "nuxeo.repositories.repository.query.plan.cache";
+
+    protected final Cache<String, V> cache;
+
+    protected final Counter hitCount;
+
+    protected final Counter missCount;
+
+    protected QueryPlanCache(String repositoryName, long maxSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        hitCount = registry.counter(MetricName.build(METRIC_NAME, "hit").tagged("repository", repositoryName));
+        missCount = registry.counter(MetricName.build(METRIC_NAME, "miss").tagged("repository", repositoryName));
+        MetricName sizeName = MetricName.build(METRIC_NAME, "size").tagged("repository", repositoryName);
+        registry.remove(sizeName);
+        registry.register(sizeName, (Gauge<Long>) cache::size);
+    }
+
+    /**
+     * Creates the query plan cache for a repository, or returns {@code null} if it's disabled.
+     */
+    public static <V> QueryPlanCache<V> create(String repositoryName) {
+        long maxSize = Long.parseLong(Framework.getProperty(CACHE_SIZE_PROP, "0"));
+        return maxSize > 0 ? new QueryPlanCache<>(repositoryName, maxSize) : null;
+    }
+
+    /**
+     * Computes the cache key for a query.
+     *
+     * @param query the NXQL query
+     * @param queryFilter the query filter
+     * @param extra additional backend-specific elements impacting the plan
+     */
+    public static String computeKey(String query, QueryFilter queryFilter, Object... extra) {
+        StringBuilder sb = new StringBuilder(query);
+        FacetFilter facetFilter = queryFilter.getFacetFilter();
+        if (facetFilter != null) {
+            sb.append("\u0000").append(new TreeSet<>(facetFilter.required));
+            sb.append("\u0000").append(new TreeSet<>(facetFilter.excluded));
+        }
+        Collection<SQLQuery.Transformer> transformers = queryFilter.getQueryTransformers();
+        if (transformers != null && !transformers.isEmpty()) {
+            // security policies transform the query according to the principal
+            for (SQLQuery.Transformer transformer : transformers) {
+                sb.append("\u0000").append(transformer.getClass().getName());
+            }
+            sb.append("\u0000").append(Arrays.toString(queryFilter.getPrincipals()));
+        }
+        sb.append("\u0000").append(queryFilter.getPrincipals() != null);
+        for (Object e : extra) {
+            sb.append("\u0000").append(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the plan for the given key, or {@code null} if it's not cached.
+     */
+    public V get(String key) {
+        V plan = cache.getIfPresent(key);
+        if (plan == null) {
+            missCount.inc();
+        } else {
+            hitCount.inc();
+        }
+        return plan;
+    }
+
+    public void put(String key, V plan) {
+        cache.put(key, plan);
+    }
+
+    public long getHitCount() {
+        return hitCount.getCount();
+    }
+
+    public long getMissCount() {
+        return missCount.getCount();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+}
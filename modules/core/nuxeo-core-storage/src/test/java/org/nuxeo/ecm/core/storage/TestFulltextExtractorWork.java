@@ -20,11 +20,18 @@
 package org.nuxeo.ecm.core.storage;
 
 import org.junit.Test;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.runtime.kv.MemKeyValueStore;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * @since 11.5
@@ -56,4 +63,67 @@ public class TestFulltextExtractorWork {
         text = work.joinText(List.of("string1", "string2"), Function.identity(), 1);
         assertEquals(" ", text);
     }
+
+    // @since 2023.13
+    @Test
+    public void testExtractionCache() {
+        AtomicInteger conversions = new AtomicInteger();
+        var work = new FulltextExtractorWork("dummy", "dummy", true, true, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected String convertBlobToText(Blob blob) {
+                conversions.incrementAndGet();
+                return "text" + conversions.get();
+            }
+        };
+        work.extractionCache = new FulltextExtractionCache(new MemKeyValueStore(), 0, 10);
+
+        Blob blob = Blobs.createBlob("content", "application/pdf");
+        blob.setDigest("0123456789abcdef");
+        assertEquals("text1", work.blobToText(blob));
+        assertEquals("text1", work.blobToText(blob));
+        assertEquals(1, conversions.get());
+
+        // same content, other MIME type
+        Blob other = Blobs.createBlob("content", "text/plain");
+        other.setDigest("0123456789abcdef");
+        assertEquals("text2", work.blobToText(other));
+        assertEquals(2, conversions.get());
+
+        // no digest, not cached
+        Blob noDigest = Blobs.createBlob("content", "application/pdf");
+        noDigest.setDigest(null);
+        assertNull(work.extractionCache.computeKey(noDigest, FulltextExtractorWork.ANY2TEXT_CONVERTER));
+    }
+
+    // @since 2023.13
+    @Test
+    public void testExtractionCacheKeyConfiguration() {
+        AtomicReference<String> fingerprint = new AtomicReference<>("config1");
+        var cache = new FulltextExtractionCache(new MemKeyValueStore(), 0, 10) {
+            @Override
+            protected String getConverterFingerprint(String converterName, String mimeType) {
+                return fingerprint.get();
+            }
+        };
+        Blob blob = Blobs.createBlob("content", "application/pdf");
+        blob.setDigest("0123456789abcdef");
+        String key = cache.computeKey(blob, FulltextExtractorWork.ANY2TEXT_CONVERTER);
+        assertEquals(key, cache.computeKey(blob, FulltextExtractorWork.ANY2TEXT_CONVERTER));
+
+        // converter contributed differently
+        fingerprint.set("config2");
+        assertNotEquals(key, cache.computeKey(blob, FulltextExtractorWork.ANY2TEXT_CONVERTER));
+
+        // configured version
+        fingerprint.set("config1");
+        var versioned = new FulltextExtractionCache(new MemKeyValueStore(), 0, 10, "2") {
+            @Override
+            protected String getConverterFingerprint(String converterName, String mimeType) {
+                return fingerprint.get();
+            }
+        };
+        assertNotEquals(key, versioned.computeKey(blob, FulltextExtractorWork.ANY2TEXT_CONVERTER));
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.impl.FacetFilter;
+import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
+
+/**
+ * @since 2023.13
+ */
+public class TestQueryPlanCache {
+
+    protected static final String QUERY = "SELECT * FROM Document WHERE dc:title = 'foo'";
+
+    protected static final String[] PERMISSIONS = { "Browse" };
+
+    protected static QueryFilter filter(String[] principals, FacetFilter facetFilter,
+            List<SQLQuery.Transformer> transformers) {
+        return new QueryFilter(null, principals, PERMISSIONS, facetFilter, transformers, 0, 0);
+    }
+
+    @Test
+    public void testKey() {
+        String[] bob = { "bob", "members", "Everyone" };
+        String[] jim = { "jim", "Everyone" };
+        List<SQLQuery.Transformer> none = Collections.emptyList();
+        String key = QueryPlanCache.computeKey(QUERY, filter(bob, null, none));
+
+        // principals are re-bound, they don't change the plan
+        assertEquals(key, QueryPlanCache.computeKey(QUERY, filter(jim, null, none)));
+        // but the presence of a security check does
+        assertNotEquals(key, QueryPlanCache.computeKey(QUERY, filter(null, null, none)));
+        // as well as the facet filter
+        assertNotEquals(key,
+                QueryPlanCache.computeKey(QUERY, filter(bob, new FacetFilter("HiddenInNavigation", false), none)));
+        assertNotEquals(key, QueryPlanCache.computeKey(QUERY + " AND dc:title = 'bar'", filter(bob, null, none)));
+
+        // security policies transform the query according to the principal
+        List<SQLQuery.Transformer> transformers = Collections.singletonList((principal, query) -> query);
+        assertNotEquals(QueryPlanCache.computeKey(QUERY, filter(bob, null, transformers)),
+                QueryPlanCache.computeKey(QUERY, filter(jim, null, transformers)));
+    }
+
+    @Test
+    public void testGetPut() {
+        QueryPlanCache<Object> cache = new QueryPlanCache<>("test", 1);
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        Object plan1 = new Object();
+        Object plan2 = new Object();
+
+        assertNull(cache.get("q1"));
+        cache.put("q1", plan1);
+        assertSame(plan1, cache.get("q1"));
+        assertEquals(hits + 1, cache.getHitCount());
+        assertEquals(misses + 1, cache.getMissCount());
+
+        // bounded
+        cache.put("q2", plan2);
+        cache.cache.cleanUp();
+        assertEquals(1, cache.cache.size());
+        assertSame(plan2, cache.get("q2"));
+    }
+
+}
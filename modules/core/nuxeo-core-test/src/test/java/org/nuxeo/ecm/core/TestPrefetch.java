@@ -22,6 +22,7 @@ package org.nuxeo.ecm.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -30,6 +31,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelList;
 import org.nuxeo.ecm.core.schema.PrefetchInfo;
 import org.nuxeo.ecm.core.test.CoreFeature;
 import org.nuxeo.runtime.test.runner.Features;
@@ -81,4 +83,28 @@ public class TestPrefetch {
         assertEquals("foo/icon", doc.getPropertyValue("common:icon"));
         assertNull(doc.getPropertyValue("uid:uid"));
     }
+
+    @Test
+    public void testPrefetchSchemas() {
+        for (int i = 0; i < 3; i++) {
+            DocumentModel doc = session.createDocumentModel("/", "foo" + i, "File");
+            doc.setPropertyValue("uid:uid", "foo/uid" + i); // not prefetched
+            session.createDocument(doc);
+        }
+        DocumentModel note = session.createDocumentModel("/", "bar", "Note");
+        session.createDocument(note);
+        txFeature.nextTransaction();
+
+        DocumentModelList docs = session.query("SELECT * FROM Document WHERE ecm:parentId = '"
+                + session.getRootDocument().getId() + "' ORDER BY ecm:name");
+        assertEquals(4, docs.size());
+        // Note doesn't have the file schema
+        session.prefetchSchemas(docs, List.of("uid", "file"));
+        docs.forEach(doc -> doc.detach(false));
+
+        assertEquals("Note", docs.get(0).getType());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("foo/uid" + i, docs.get(i + 1).getPropertyValue("uid:uid"));
+        }
+    }
 }
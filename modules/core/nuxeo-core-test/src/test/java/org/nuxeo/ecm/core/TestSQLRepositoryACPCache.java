@@ -0,0 +1,188 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.nuxeo.ecm.core.api.security.SecurityConstants.READ;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.ecm.core.api.impl.UserPrincipal;
+import org.nuxeo.ecm.core.api.security.ACE;
+import org.nuxeo.ecm.core.api.security.ACL;
+import org.nuxeo.ecm.core.api.security.ACP;
+import org.nuxeo.ecm.core.security.ACPCache;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.ecm.core.test.annotations.Granularity;
+import org.nuxeo.ecm.core.test.annotations.RepositoryConfig;
+import org.nuxeo.runtime.metrics.MetricsService;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+import org.nuxeo.runtime.test.runner.WithFrameworkProperty;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+
+/**
+ * Tests the permission checks with the {@link ACPCache} enabled.
+ *
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@RepositoryConfig(cleanup = Granularity.METHOD)
+@WithFrameworkProperty(name = ACPCache.CACHE_SIZE_PROP, value = "100")
+public class TestSQLRepositoryACPCache {
+
+    protected static final String METRIC_NAME = "nuxeo.repositories.repository.acp.cache";
+
+    @Inject
+    protected CoreFeature coreFeature;
+
+    @Inject
+    protected TransactionalFeature transactionalFeature;
+
+    @Inject
+    protected CoreSession session;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final NuxeoPrincipal bob = new UserPrincipal("bob", List.of(), false, false);
+
+    protected long getHitCount() {
+        return registry.counter(MetricName.build(METRIC_NAME, "hit").tagged("repository", session.getRepositoryName()))
+                       .getCount();
+    }
+
+    protected DocumentModel createFolder(String parentPath, String name) {
+        DocumentModel folder = session.createDocumentModel(parentPath, name, "Folder");
+        return session.createDocument(folder);
+    }
+
+    protected void setACL(CoreSession s, DocumentRef ref, String username, boolean grant, boolean block) {
+        ACP acp = s.getACP(ref);
+        ACL acl = acp.getOrCreateACL();
+        acl.clear();
+        acl.add(new ACE(username, READ, grant));
+        if (block) {
+            acl.add(ACE.BLOCK);
+        }
+        s.setACP(ref, acp, true);
+    }
+
+    /**
+     * Checks that the cache is used, so that the other assertions don't only test the uncached checks.
+     */
+    protected void assertCachedCheck(DocumentRef ref, boolean expected) {
+        assertEquals(expected, session.hasPermission(bob, ref, READ));
+        long hits = getHitCount();
+        assertEquals(expected, session.hasPermission(bob, ref, READ));
+        assertEquals(hits + 1, getHitCount());
+    }
+
+    @Test
+    public void testSetACPOnAncestor() {
+        DocumentModel folder = createFolder("/", "folder");
+        DocumentModel subfolder = createFolder("/folder", "subfolder");
+        DocumentModel file = session.createDocument(session.createDocumentModel("/folder/subfolder", "file", "File"));
+        setACL(session, folder.getRef(), "bob", true, true);
+        session.save();
+        assertCachedCheck(file.getRef(), true);
+
+        // deny on the parent, the document itself is unchanged
+        setACL(session, subfolder.getRef(), "bob", false, false);
+        assertCachedCheck(file.getRef(), false);
+
+        // grant again on the parent
+        setACL(session, subfolder.getRef(), "bob", true, false);
+        assertCachedCheck(file.getRef(), true);
+
+        // block on the grandparent without granting bob, the parent granting someone else
+        setACL(session, folder.getRef(), "alice", true, true);
+        setACL(session, subfolder.getRef(), "carol", true, false);
+        session.save();
+        assertCachedCheck(file.getRef(), false);
+    }
+
+    @Test
+    public void testMoveUnderParentWithOtherACLs() {
+        DocumentModel bobFolder = createFolder("/", "bobfolder");
+        DocumentModel aliceFolder = createFolder("/", "alicefolder");
+        setACL(session, bobFolder.getRef(), "bob", true, true);
+        setACL(session, aliceFolder.getRef(), "alice", true, true);
+        DocumentModel file = session.createDocument(session.createDocumentModel("/bobfolder", "file", "File"));
+        session.save();
+        assertCachedCheck(file.getRef(), true);
+
+        session.move(file.getRef(), aliceFolder.getRef(), null);
+        assertCachedCheck(file.getRef(), false);
+
+        session.move(file.getRef(), bobFolder.getRef(), null);
+        session.save();
+        assertCachedCheck(file.getRef(), true);
+    }
+
+    @Test
+    public void testACPChangedInOtherTransaction() throws Exception {
+        DocumentModel folder = createFolder("/", "folder");
+        setACL(session, folder.getRef(), "bob", true, true);
+        DocumentModel file = session.createDocument(session.createDocumentModel("/folder", "file", "File"));
+        session.save();
+        transactionalFeature.nextTransaction();
+        assertCachedCheck(file.getRef(), true);
+
+        // in another thread, remove the access of bob on the parent
+        MutableObject<RuntimeException> me = new MutableObject<>();
+        Thread thread = new Thread(() -> TransactionHelper.runInTransaction(() -> {
+            try {
+                CoreSession session2 = CoreInstance.getCoreSession(coreFeature.getRepositoryName());
+                setACL(session2, folder.getRef(), "alice", true, true);
+                session2.save();
+            } catch (RuntimeException e) {
+                me.setValue(e);
+            }
+        }));
+        thread.start();
+        thread.join();
+        if (me.getValue() != null) {
+            throw me.getValue();
+        }
+
+        // the next transaction sees the change
+        transactionalFeature.nextTransaction();
+        assertFalse(session.hasPermission(bob, file.getRef(), READ));
+        assertTrue(session.hasPermission(new UserPrincipal("alice", List.of(), false, false), file.getRef(), READ));
+    }
+
+}
@@ -5274,6 +5274,33 @@ public class TestSQLRepositoryAPI {
         assertNotEquals(token2, token2b);
     }
 
+    @Test
+    public void testChangeTokenBatchedUserChange() {
+        assumeTrue("test only makes sense for real change tokens", isChangeTokenEnabled());
+
+        List<DocumentModel> docs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            docs.add(session.createDocument(session.createDocumentModel("/", "doc" + i, "File")));
+        }
+        session.save();
+
+        // change all the docs as user changes, saved together
+        for (DocumentModel doc : docs) {
+            doc.setPropertyValue("dc:title", "Changed " + doc.getName());
+            doc.putContextData(CoreSession.USER_CHANGE, Boolean.TRUE);
+            session.saveDocument(doc);
+        }
+        session.save();
+
+        // reopen session to not read from caches
+        reopenSession();
+        for (DocumentModel doc : docs) {
+            doc = session.getDocument(doc.getRef());
+            assertEquals("Changed " + doc.getName(), doc.getTitle());
+            assertTrue(doc.getChangeToken(), doc.getChangeToken().endsWith("-1"));
+        }
+    }
+
     // query providers create "search" doc types to collect results
     @Test
     public void testChangeTokenOnFakeDocument() {
@@ -5562,6 +5589,76 @@ public class TestSQLRepositoryAPI {
         }
     }
 
+    @Test
+    public void testOptimisticLockingWithParallelChangeBatched() throws InterruptedException {
+        List<DocumentRef> docRefs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DocumentModel doc = session.createDocumentModel("/", "doc" + i, "File");
+            // create row in VCS dublincore table to avoid later concurrent update upon its creation
+            doc.setPropertyValue("dc:title", "foo");
+            maybeCreateChangeToken(doc);
+            doc = session.createDocument(doc);
+            docRefs.add(doc.getRef());
+        }
+        session.save();
+
+        // re-start a new transaction that hasn't done any writes
+        nextTransaction();
+        waitForAsyncCompletion();
+        reopenSession();
+
+        List<DocumentModel> docs = new ArrayList<>();
+        for (DocumentRef docRef : docRefs) {
+            docs.add(session.getDocument(docRef));
+        }
+
+        // in other thread, update one of the docs as a user change
+        DocumentRef parallelDocRef = docRefs.get(2);
+        MutableObject<RuntimeException> me = new MutableObject<>();
+        Thread thread = new Thread(() -> TransactionHelper.runInTransaction(() -> {
+            try {
+                CoreSession session2 = CoreInstance.getCoreSession(coreFeature.getRepositoryName());
+                DocumentModel doc2 = session2.getDocument(parallelDocRef);
+                doc2.setPropertyValue("dc:title", "bar parallel");
+                doc2.putContextData(CoreSession.USER_CHANGE, Boolean.TRUE);
+                maybeUpdateChangeToken(doc2);
+                doc2 = session2.saveDocument(doc2);
+                session2.save(); // save succeeds
+            } catch (RuntimeException e) {
+                me.setValue(e);
+            }
+        }));
+        thread.start();
+        thread.join();
+        if (me.getValue() != null) {
+            throw me.getValue();
+        }
+
+        // now try to save all the docs as user changes, saved together
+        for (DocumentModel doc : docs) {
+            doc.setPropertyValue("dc:title", "bar");
+            doc.putContextData(CoreSession.USER_CHANGE, Boolean.TRUE);
+            maybeUpdateChangeToken(doc);
+            session.saveDocument(doc);
+        }
+        try {
+            session.save();
+            if (isChangeTokenEnabled()) { // not failing for manual change tokens
+                fail("save should fail because of concurrent update in other transaction");
+            }
+        } catch (ConcurrentUpdateException e) {
+            if (!isChangeTokenEnabled()) {
+                // no exception expected for manual change token
+                throw e;
+            }
+            if (isDBS()) {
+                // the document updated in parallel is identified
+                assertEquals(parallelDocRef.toString(), e.getOriginalMessage());
+            }
+            TransactionHelper.setTransactionRollbackOnly();
+        }
+    }
+
     protected static class SavingJob implements Runnable {
 
         protected final List<DocumentRef> docRefs;
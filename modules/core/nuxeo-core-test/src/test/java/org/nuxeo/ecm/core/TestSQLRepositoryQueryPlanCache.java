@@ -0,0 +1,173 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.PathRef;
+import org.nuxeo.ecm.core.api.security.ACE;
+import org.nuxeo.ecm.core.api.security.ACL;
+import org.nuxeo.ecm.core.api.security.ACP;
+import org.nuxeo.ecm.core.storage.QueryPlanCache;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.ecm.core.test.annotations.Granularity;
+import org.nuxeo.ecm.core.test.annotations.RepositoryConfig;
+import org.nuxeo.runtime.metrics.MetricsService;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.WithFrameworkProperty;
+
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+
+/**
+ * Tests the queries with the {@link QueryPlanCache} enabled.
+ *
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@RepositoryConfig(cleanup = Granularity.METHOD)
+@WithFrameworkProperty(name = QueryPlanCache.CACHE_SIZE_PROP, value = "100")
+public class TestSQLRepositoryQueryPlanCache {
+
+    protected static final String METRIC_NAME = "nuxeo.repositories.repository.query.plan.cache";
+
+    @Inject
+    protected CoreFeature coreFeature;
+
+    @Inject
+    protected CoreSession session;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected long getHitCount() {
+        return registry.counter(MetricName.build(METRIC_NAME, "hit").tagged("repository", session.getRepositoryName()))
+                       .getCount();
+    }
+
+    protected long getMissCount() {
+        return registry.counter(MetricName.build(METRIC_NAME, "miss").tagged("repository", session.getRepositoryName()))
+                       .getCount();
+    }
+
+    protected DocumentModel createFolder(String name, String username) {
+        DocumentModel folder = session.createDocumentModel("/", name, "Folder");
+        folder = session.createDocument(folder);
+        ACP acp = folder.getACP();
+        ACL acl = acp.getOrCreateACL();
+        acl.add(new ACE(username, "Read", true));
+        acl.add(ACE.BLOCK);
+        folder.setACP(acp, true);
+        return folder;
+    }
+
+    protected DocumentModel createFile(String parentPath, String name) {
+        DocumentModel doc = session.createDocumentModel(parentPath, name, "File");
+        return session.createDocument(doc);
+    }
+
+    protected List<String> queryNames(CoreSession s, String query) {
+        return s.query(query).stream().map(DocumentModel::getName).sorted().toList();
+    }
+
+    @Test
+    public void testSamePlanForUsersWithDifferentAcls() {
+        createFolder("bobfolder", "bob");
+        createFile("/bobfolder", "bobfile");
+        createFolder("alicefolder", "alice");
+        createFile("/alicefolder", "alicefile");
+        session.save();
+        coreFeature.waitForAsyncCompletion();
+
+        String query = "SELECT * FROM File WHERE ecm:isVersion = 0 ORDER BY ecm:name";
+        CoreSession bobSession = CoreInstance.getCoreSession(session.getRepositoryName(), "bob");
+        CoreSession aliceSession = CoreInstance.getCoreSession(session.getRepositoryName(), "alice");
+        assertEquals(List.of("bobfile"), queryNames(bobSession, query));
+        long hits = getHitCount();
+        // plan built for bob, reused with the principals of alice
+        assertEquals(List.of("alicefile"), queryNames(aliceSession, query));
+        assertEquals(hits + 1, getHitCount());
+        assertEquals(List.of("bobfile"), queryNames(bobSession, query));
+        assertEquals(hits + 2, getHitCount());
+        // no security check for the administrator, different plan
+        assertEquals(List.of("alicefile", "bobfile"), queryNames(session, query));
+    }
+
+    @Test
+    public void testPathQueryAfterMove() {
+        session.createDocument(session.createDocumentModel("/", "folder1", "Folder"));
+        session.createDocument(session.createDocumentModel("/", "folder2", "Folder"));
+        createFile("/folder1", "file");
+        session.save();
+
+        String startsWith = "SELECT * FROM File WHERE ecm:path STARTSWITH '/folder1'";
+        String equals = "SELECT * FROM File WHERE ecm:path = '/folder1/file'";
+        assertEquals(List.of("file"), queryNames(session, startsWith));
+        assertEquals(List.of("file"), queryNames(session, equals));
+
+        session.move(new PathRef("/folder1/file"), new PathRef("/folder2"), null);
+        session.save();
+
+        assertEquals(List.of(), queryNames(session, startsWith));
+        assertEquals(List.of(), queryNames(session, equals));
+        assertEquals(List.of("file"), queryNames(session, "SELECT * FROM File WHERE ecm:path STARTSWITH '/folder2'"));
+        assertEquals(List.of("file"), queryNames(session, "SELECT * FROM File WHERE ecm:path = '/folder2/file'"));
+    }
+
+    @Test
+    public void testNonCacheablePlansAreBypassed() {
+        // DBS caches the parsed query, paths and dates are resolved at execution
+        assumeTrue(coreFeature.getStorageConfiguration().isVCS());
+
+        createFile("/", "file");
+        session.save();
+
+        String cacheable = "SELECT * FROM File WHERE ecm:name = 'file'";
+        queryNames(session, cacheable);
+        long hits = getHitCount();
+        queryNames(session, cacheable);
+        assertEquals(hits + 1, getHitCount());
+
+        for (String query : List.of( //
+                "SELECT * FROM File WHERE ecm:path STARTSWITH '/'", //
+                "SELECT * FROM File WHERE ecm:path = '/file'", //
+                "SELECT * FROM File WHERE dc:created < NOW()", //
+                "SELECT * FROM File WHERE ecm:isTrashed = 0")) {
+            queryNames(session, query);
+            hits = getHitCount();
+            long misses = getMissCount();
+            queryNames(session, query);
+            assertEquals(query, hits, getHitCount());
+            assertEquals(query, misses + 1, getMissCount());
+        }
+    }
+
+}
@@ -834,6 +834,85 @@ public class TestDownloadService {
         verifyNoMoreInteractions(resp);
     }
 
+    @Test
+    public void testDownloadLocalFileWithByteRange() throws IOException {
+        Blob blob = new FileBlob(Blobs.createBlob("Hello World").getStream());
+        blob.setFilename("myFile.txt");
+        assertTrue(blob.getFile().isFile());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getMethod()).thenReturn("GET");
+        when(req.getHeader("Range")).thenReturn("bytes=6-10");
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        ServletOutputStream sos = new DummyServletOutputStream(out);
+        when(resp.getOutputStream()).thenReturn(sos);
+
+        DownloadContext context = DownloadContext.builder(req, resp).blob(blob).reason("test").build();
+        downloadService.downloadBlob(context);
+
+        assertEquals("World", out.toString(UTF_8));
+        verify(resp).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(resp).setContentLengthLong(5);
+    }
+
+    @Test
+    @Deploy("org.nuxeo.ecm.core.api.tests:OSGI-INF/test-default-blob-provider.xml")
+    @WithFrameworkProperty(name = DownloadServiceImpl.DOWNLOAD_SENDFILE_ENABLED, value = "true")
+    public void testDownloadWithSendfile() throws IOException {
+        BlobProvider blobProvider = new LocalBlobProvider();
+        blobProvider.initialize("repo", Collections.emptyMap());
+        String digest = blobProvider.writeBlob(Blobs.createBlob("Hello World"));
+        BlobInfo blobInfo = new BlobInfo();
+        blobInfo.key = digest;
+        blobInfo.filename = "myFile.txt";
+        blobInfo.length = Long.valueOf(11);
+        Blob blob = blobProvider.readBlob(blobInfo);
+
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getMethod()).thenReturn("GET");
+        when(req.getHeader("Range")).thenReturn("bytes=6-10");
+        when(req.getAttribute(DownloadServiceImpl.SENDFILE_SUPPORT_ATTR)).thenReturn(TRUE);
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        ServletOutputStream sos = new DummyServletOutputStream(b -> {
+            throw new NuxeoException("Not supposed to write to response");
+        });
+        when(resp.getOutputStream()).thenReturn(sos);
+
+        DownloadContext context = DownloadContext.builder(req, resp).blob(blob).reason("test").build();
+        downloadService.downloadBlob(context);
+
+        // the container sends the file itself
+        verify(req).setAttribute(DownloadServiceImpl.SENDFILE_FILENAME_ATTR, blob.getFile().getCanonicalPath());
+        verify(req).setAttribute(DownloadServiceImpl.SENDFILE_START_ATTR, Long.valueOf(6));
+        verify(req).setAttribute(DownloadServiceImpl.SENDFILE_END_ATTR, Long.valueOf(11));
+        verify(resp).setContentLengthLong(5);
+    }
+
+    @Test
+    @WithFrameworkProperty(name = DownloadServiceImpl.DOWNLOAD_SENDFILE_ENABLED, value = "true")
+    public void testDownloadTemporaryFileWithSendfile() throws IOException {
+        // a temporary file may be deleted before the container sends it
+        Blob blob = new FileBlob(Blobs.createBlob("Hello World").getStream());
+        blob.setFilename("myFile.txt");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getMethod()).thenReturn("GET");
+        when(req.getHeader("Range")).thenReturn("bytes=6-10");
+        when(req.getAttribute(DownloadServiceImpl.SENDFILE_SUPPORT_ATTR)).thenReturn(TRUE);
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        ServletOutputStream sos = new DummyServletOutputStream(out);
+        when(resp.getOutputStream()).thenReturn(sos);
+
+        DownloadContext context = DownloadContext.builder(req, resp).blob(blob).reason("test").build();
+        downloadService.downloadBlob(context);
+
+        // sent by the current thread
+        assertEquals("World", out.toString(UTF_8));
+        verify(req, never()).setAttribute(eq(DownloadServiceImpl.SENDFILE_FILENAME_ATTR), any());
+    }
+
     // NXP-31279
     @Test
     public void testDownloadWithHTTPRequestParamReason() throws IOException {
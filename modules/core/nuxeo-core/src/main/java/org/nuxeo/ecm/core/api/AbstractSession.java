@@ -57,6 +57,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -74,6 +75,7 @@ import org.nuxeo.ecm.core.api.event.DocumentEventCategories;
 import org.nuxeo.ecm.core.api.event.DocumentEventTypes;
 import org.nuxeo.ecm.core.api.facet.VersioningDocument;
 import org.nuxeo.ecm.core.api.impl.DocumentModelChildrenIterator;
+import org.nuxeo.ecm.core.api.impl.DocumentModelImpl;
 import org.nuxeo.ecm.core.api.impl.DocumentModelListImpl;
 import org.nuxeo.ecm.core.api.impl.FacetFilter;
 import org.nuxeo.ecm.core.api.impl.VersionModelImpl;
@@ -2255,6 +2257,51 @@ public abstract class AbstractSession implements CoreSession, Serializable {
         return DocumentModelFactory.createDataModel(doc, schema);
     }
 
+    @Override
+    public void prefetchSchemas(List<DocumentModel> docs, Collection<String> schemas) {
+        // collect the schemas still to load for each document
+        Map<DocumentModelImpl, List<String>> toLoad = new LinkedHashMap<>();
+        for (DocumentModel doc : docs) {
+            if (!(doc instanceof DocumentModelImpl docModel) || !docModel.isAttached() || docModel.getRef() == null
+                    || !getRepositoryName().equals(docModel.getRepositoryName())) {
+                continue;
+            }
+            List<String> missing = schemas.stream()
+                                          .filter(schema -> docModel.hasSchema(schema)
+                                                  && !docModel.isSchemaLoaded(schema))
+                                          .toList();
+            if (!missing.isEmpty()) {
+                toLoad.put(docModel, missing);
+            }
+        }
+        if (toLoad.isEmpty()) {
+            return;
+        }
+        // fetch them in bulk from the backend
+        Map<String, List<String>> idsBySchema = new HashMap<>();
+        toLoad.forEach((docModel, missing) -> missing.forEach(
+                schema -> idsBySchema.computeIfAbsent(schema, k -> new ArrayList<>()).add(docModel.getId())));
+        idsBySchema.forEach((schema, ids) -> getSession().prefetchSchemas(ids, List.of(schema)));
+        // then fill the data models, now read from memory
+        SchemaManager schemaManager = Framework.getService(SchemaManager.class);
+        for (Entry<DocumentModelImpl, List<String>> es : toLoad.entrySet()) {
+            DocumentModelImpl docModel = es.getKey();
+            Document doc;
+            try {
+                doc = resolveReference(docModel.getRef());
+            } catch (DocumentNotFoundException e) {
+                continue;
+            }
+            if (!hasPermission(doc, READ)) {
+                // lazy loading will fail as usual
+                continue;
+            }
+            for (String schema : es.getValue()) {
+                docModel.addDataModel(DocumentModelFactory.createDataModel(doc, schemaManager.getSchema(schema)));
+            }
+        }
+    }
+
     protected Object getDataModelField(DocumentRef docRef, String schema, String field) {
         Document doc = resolveReference(docRef);
         if (doc != null) {
@@ -37,6 +37,7 @@ import org.nuxeo.ecm.core.api.security.impl.ACLImpl;
 import org.nuxeo.ecm.core.api.security.impl.ACPImpl;
 import org.nuxeo.ecm.core.blob.DocumentBlobManager;
 import org.nuxeo.ecm.core.query.QueryFilter;
+import org.nuxeo.ecm.core.security.ACPCache;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.services.config.ConfigurationService;
 
@@ -108,10 +109,34 @@ public abstract class BaseSession implements Session<QueryFilter> {
 
     protected final boolean disableReadVersionPermission;
 
+    /** @since 2023.13 */
+    protected final ACPCache acpCache;
+
     protected BaseSession(Repository repository) {
         this.repository = repository;
         versionAclMode = VersionAclMode.getConfiguration();
         disableReadVersionPermission = isReadVersionPermissionDisabled();
+        acpCache = ACPCache.create(repository.getName());
+    }
+
+    /**
+     * Gets the cache of compiled merged ACPs of this session, or {@code null} if it's disabled.
+     *
+     * @since 2023.13
+     */
+    public ACPCache getACPCache() {
+        return acpCache;
+    }
+
+    /**
+     * Clears the cache of compiled merged ACPs, when an ACP or the hierarchy may have changed.
+     *
+     * @since 2023.13
+     */
+    protected void invalidateACPCache() {
+        if (acpCache != null) {
+            acpCache.invalidateAll();
+        }
     }
 
     protected DocumentBlobManager getDocumentBlobManager() {
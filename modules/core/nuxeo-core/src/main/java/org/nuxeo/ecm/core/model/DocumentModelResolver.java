@@ -118,7 +118,7 @@ public class DocumentModelResolver extends AbstractObjectResolver implements Obj
         return mode;
     }
 
-    private List<Class<?>> managedClasses = null;
+    private transient List<Class<?>> managedClasses = null;
 
     @Override
     public List<Class<?>> getManagedClasses() {
@@ -280,6 +280,15 @@ public class RepositoryService extends DefaultComponent {
         return pool.getNumActive(repositoryName);
     }
 
+    /**
+     * Gets the maximum number of sessions that can be active at the same time, for all repositories.
+     *
+     * @since 2023.13
+     */
+    public int getMaxPoolSize() {
+        return poolConfig.getMaxPoolSize();
+    }
+
     /**
      * Thread-local sessions allocated, per repository.
      */
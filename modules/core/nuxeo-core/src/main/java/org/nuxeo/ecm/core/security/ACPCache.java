@@ -0,0 +1,151 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.security;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.ecm.core.model.Document;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+
+/**
+ * Cache of the compiled merged ACPs and of the principals to check, held by a repository session.
+ * <p>
+ * Merged ACPs are keyed by document id and change token. As a merged ACP also depends on the ACPs of the ancestors,
+ * the session clears the whole cache when an ACP is set or a document is moved, and at the beginning of each
+ * transaction to see the changes done by other sessions.
+ * <p>
+ * The cache is not thread-safe, like the session holding it. It is disabled unless the {@value #CACHE_SIZE_PROP}
+ * property is set to a positive value.
+ *
+ * @since 2023.13
+ */
+public class ACPCache {
+
+    public static final String CACHE_SIZE_PROP = "nuxeo.security.acp.cache.size";
+
+    protected static final String METRIC_NAME = "nuxeo.repositories.repository.acp.cache";
+
+    protected final Map<String, CompiledACP> mergedACPs;
+
+    protected final Map<NuxeoPrincipal, PrincipalsToCheck> principals = new IdentityHashMap<>();
+
+    protected final Counter hitCount;
+
+    protected final Counter missCount;
+
+    protected ACPCache(String repositoryName, int maxSize) {
+        mergedACPs = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledACP> eldest) {
+                return size() > maxSize;
+            }
+        };
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        hitCount = registry.counter(MetricName.build(METRIC_NAME, "hit").tagged("repository", repositoryName));
+        missCount = registry.counter(MetricName.build(METRIC_NAME, "miss").tagged("repository", repositoryName));
+    }
+
+    /**
+     * Creates the ACP cache for a session of the given repository, or returns {@code null} if it's disabled.
+     */
+    public static ACPCache create(String repositoryName) {
+        if (!Framework.isInitialized()) {
+            // unit tests
+            return null;
+        }
+        int maxSize = Integer.parseInt(Framework.getProperty(CACHE_SIZE_PROP, "0"));
+        return maxSize > 0 ? new ACPCache(repositoryName, maxSize) : null;
+    }
+
+    /**
+     * Gets the compiled merged ACP of a document, compiling it if needed.
+     */
+    public CompiledACP getMergedACP(Document doc, Function<Document, CompiledACP> compiler) {
+        String key = doc.getUUID() + ':' + doc.getChangeToken();
+        CompiledACP compiledACP = mergedACPs.get(key);
+        if (compiledACP == null) {
+            missCount.inc();
+            compiledACP = compiler.apply(doc);
+            mergedACPs.put(key, compiledACP);
+        } else {
+            hitCount.inc();
+        }
+        return compiledACP;
+    }
+
+    /**
+     * Gets the principals to check for a principal, the same principal instance being used for the whole session.
+     */
+    public PrincipalsToCheck getPrincipalsToCheck(NuxeoPrincipal principal) {
+        return principals.computeIfAbsent(principal,
+                p -> new PrincipalsToCheck(SecurityService.getPrincipalsToCheck(p)));
+    }
+
+    public long getHitCount() {
+        return hitCount.getCount();
+    }
+
+    public long getMissCount() {
+        return missCount.getCount();
+    }
+
+    public void invalidateAll() {
+        mergedACPs.clear();
+        principals.clear();
+    }
+
+    /**
+     * The principals to check for a principal, as an array for security policies and as a set for ACP evaluation.
+     */
+    public static class PrincipalsToCheck {
+
+        protected final String[] names;
+
+        protected final Set<String> set;
+
+        protected PrincipalsToCheck(String[] names) {
+            this.names = names;
+            set = new HashSet<>(Arrays.asList(names));
+        }
+
+        public String[] getNames() {
+            return names;
+        }
+
+        public Set<String> getSet() {
+            return set;
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.security;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import org.nuxeo.ecm.core.api.security.ACE;
+import org.nuxeo.ecm.core.api.security.ACL;
+import org.nuxeo.ecm.core.api.security.ACP;
+import org.nuxeo.ecm.core.api.security.Access;
+
+/**
+ * A merged ACP compiled for fast evaluation: the ACEs matching a principal or a permission are precomputed as bitsets
+ * of ACE positions, so that a check only needs a few bitset operations instead of a scan of all the ACEs.
+ * <p>
+ * The evaluation gives the same result as {@link ACP#getAccess(String[], String[])}, given that the principals to
+ * check include {@link org.nuxeo.ecm.core.api.security.SecurityConstants#EVERYONE EVERYONE} and the permissions to
+ * check include {@link org.nuxeo.ecm.core.api.security.SecurityConstants#EVERYTHING EVERYTHING}, as done by
+ * {@link SecurityService}.
+ *
+ * @since 2023.13
+ */
+public class CompiledACP {
+
+    protected final ACP acp;
+
+    protected final boolean[] granted;
+
+    /** Begin and end of the ACEs in milliseconds, or {@code null} if no ACE has dates. */
+    protected final long[] begins;
+
+    protected final long[] ends;
+
+    protected final Map<String, BitSet> acesByPrincipal = new LinkedHashMap<>();
+
+    protected final Map<Integer, BitSet> acesByPermission = new HashMap<>();
+
+    /**
+     * Compiles the given ACP.
+     *
+     * @param acp the merged ACP, may be {@code null}
+     * @param permissionIds the function giving the id of a permission
+     */
+    public CompiledACP(ACP acp, ToIntFunction<String> permissionIds) {
+        this.acp = acp;
+        int size = 0;
+        boolean dated = false;
+        ACL[] acls = acp == null ? new ACL[0] : acp.getACLs();
+        for (ACL acl : acls) {
+            for (ACE ace : acl) {
+                dated |= ace.getBegin() != null || ace.getEnd() != null;
+                size++;
+            }
+        }
+        granted = new boolean[size];
+        begins = dated ? new long[size] : null;
+        ends = dated ? new long[size] : null;
+        int i = 0;
+        for (ACL acl : acls) {
+            for (ACE ace : acl) {
+                granted[i] = ace.isGranted();
+                if (dated) {
+                    begins[i] = ace.getBegin() == null ? Long.MIN_VALUE : ace.getBegin().getTimeInMillis();
+                    ends[i] = ace.getEnd() == null ? Long.MAX_VALUE : ace.getEnd().getTimeInMillis();
+                }
+                if (ace.getUsername() != null && ace.getPermission() != null) {
+                    acesByPrincipal.computeIfAbsent(ace.getUsername(), k -> new BitSet()).set(i);
+                    int permissionId = permissionIds.applyAsInt(ace.getPermission());
+                    acesByPermission.computeIfAbsent(permissionId, k -> new BitSet()).set(i);
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Gets the compiled ACP, may be {@code null}.
+     */
+    public ACP getACP() {
+        return acp;
+    }
+
+    /**
+     * Gets the access given by the first effective ACE matching one of the principals and one of the permissions.
+     *
+     * @param principals the principals to check
+     * @param permissions the ids of the permissions to check
+     */
+    public Access getAccess(Set<String> principals, BitSet permissions) {
+        BitSet matching = new BitSet(granted.length);
+        for (Entry<String, BitSet> entry : acesByPrincipal.entrySet()) {
+            if (principals.contains(entry.getKey())) {
+                matching.or(entry.getValue());
+            }
+        }
+        if (matching.isEmpty()) {
+            return Access.UNKNOWN;
+        }
+        BitSet permitted = new BitSet(granted.length);
+        for (int id = permissions.nextSetBit(0); id >= 0; id = permissions.nextSetBit(id + 1)) {
+            BitSet aces = acesByPermission.get(id);
+            if (aces != null) {
+                permitted.or(aces);
+            }
+        }
+        matching.and(permitted);
+        long now = begins == null ? 0 : System.currentTimeMillis();
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            // only check for effective ACEs
+            if (begins == null || (begins[i] <= now && now <= ends[i])) {
+                return granted[i] ? Access.GRANT : Access.DENY;
+            }
+        }
+        return Access.UNKNOWN;
+    }
+
+}
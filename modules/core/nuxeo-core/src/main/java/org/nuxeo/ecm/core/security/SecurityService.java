@@ -22,8 +22,12 @@
 package org.nuxeo.ecm.core.security;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.NuxeoPrincipal;
@@ -33,6 +37,8 @@ import org.nuxeo.ecm.core.api.security.PermissionProvider;
 import org.nuxeo.ecm.core.api.security.SecurityConstants;
 import org.nuxeo.ecm.core.model.BaseSession;
 import org.nuxeo.ecm.core.model.Document;
+import org.nuxeo.ecm.core.model.Session;
+import org.nuxeo.ecm.core.security.ACPCache.PrincipalsToCheck;
 import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
 import org.nuxeo.runtime.model.ComponentContext;
 import org.nuxeo.runtime.model.ComponentInstance;
@@ -61,6 +67,14 @@ public class SecurityService extends DefaultComponent {
 
     private SecurityPolicyService securityPolicyService;
 
+    /** Ids of the permissions in the compiled ACPs. */
+    protected final Map<String, Integer> permissionIds = new ConcurrentHashMap<>();
+
+    protected final AtomicInteger nextPermissionId = new AtomicInteger();
+
+    /** Compiled permissions to check, cleared when the permissions change. */
+    protected final Map<String, PermissionsToCheck> permissionsToCheck = new ConcurrentHashMap<>();
+
     // private SecurityManager securityManager;
 
     @Override
@@ -79,6 +93,7 @@ public class SecurityService extends DefaultComponent {
 
     @Override
     public void registerContribution(Object contribution, String extensionPoint, ComponentInstance contributor) {
+        permissionsToCheck.clear();
         if (PERMISSIONS_EXTENSION_POINT.equals(extensionPoint) && contribution instanceof PermissionDescriptor) {
             permissionProvider.registerDescriptor((PermissionDescriptor) contribution);
         } else if (PERMISSIONS_VISIBILITY_EXTENSION_POINT.equals(extensionPoint)
@@ -92,6 +107,7 @@ public class SecurityService extends DefaultComponent {
 
     @Override
     public void unregisterContribution(Object contribution, String extensionPoint, ComponentInstance contributor) {
+        permissionsToCheck.clear();
         if (PERMISSIONS_EXTENSION_POINT.equals(extensionPoint) && contribution instanceof PermissionDescriptor) {
             permissionProvider.unregisterDescriptor((PermissionDescriptor) contribution);
         } else if (PERMISSIONS_VISIBILITY_EXTENSION_POINT.equals(extensionPoint)
@@ -126,6 +142,10 @@ public class SecurityService extends DefaultComponent {
             }
             return true;
         }
+        ACPCache acpCache = getACPCache(doc);
+        if (acpCache != null) {
+            return checkPermission(doc, principal, permission, acpCache);
+        }
         // fully check each ACE in turn
         String[] resolvedPermissions = getPermissionsToCheck(permission);
         String[] additionalPrincipals = getPrincipalsToCheck(principal);
@@ -148,6 +168,31 @@ public class SecurityService extends DefaultComponent {
         return access.toBoolean();
     }
 
+    /**
+     * Checks a permission using the compiled merged ACP of the document.
+     *
+     * @since 2023.13
+     */
+    protected boolean checkPermission(Document doc, NuxeoPrincipal principal, String permission,
+            ACPCache acpCache) {
+        PermissionsToCheck permissions = getCompiledPermissionsToCheck(permission);
+        PrincipalsToCheck principals = acpCache.getPrincipalsToCheck(principal);
+        CompiledACP compiledACP = acpCache.getMergedACP(doc, this::compileMergedACP);
+        ACP acp = compiledACP.getACP();
+
+        // check pluggable policies
+        Access access = securityPolicyService.checkPermission(doc, acp, principal, permission, permissions.names,
+                principals.getNames());
+        if (access != null && !Access.UNKNOWN.equals(access)) {
+            return access.toBoolean();
+        }
+
+        if (acp == null) {
+            return false; // no ACP on that doc - by default deny
+        }
+        return compiledACP.getAccess(principals.getSet(), permissions.ids).toBoolean();
+    }
+
     /**
      * Filters the supplied permissions based on whether they are granted to a given principal for a given document.
      *
@@ -161,6 +206,10 @@ public class SecurityService extends DefaultComponent {
             }
             return permissions;
         }
+        ACPCache acpCache = getACPCache(doc);
+        if (acpCache != null) {
+            return filterGrantedPermissions(doc, principal, permissions, acpCache);
+        }
 
         String[] additionalPrincipals = getPrincipalsToCheck(principal);
         ACP acp = doc.getSession().getMergedACP(doc);
@@ -180,6 +229,88 @@ public class SecurityService extends DefaultComponent {
         return result;
     }
 
+    /**
+     * Filters the supplied permissions using the compiled merged ACP of the document.
+     *
+     * @since 2023.13
+     */
+    protected Collection<String> filterGrantedPermissions(Document doc, NuxeoPrincipal principal,
+            Collection<String> permissions, ACPCache acpCache) {
+        PrincipalsToCheck principals = acpCache.getPrincipalsToCheck(principal);
+        CompiledACP compiledACP = acpCache.getMergedACP(doc, this::compileMergedACP);
+        ACP acp = compiledACP.getACP();
+
+        List<String> result = new ArrayList<>();
+        for (String permission : permissions) {
+            PermissionsToCheck resolvedPermissions = getCompiledPermissionsToCheck(permission);
+            Access access = securityPolicyService.checkPermission(doc, acp, principal, permission,
+                    resolvedPermissions.names, principals.getNames());
+            if (access == null || Access.UNKNOWN.equals(access)) {
+                access = acp == null ? null : compiledACP.getAccess(principals.getSet(), resolvedPermissions.ids);
+            }
+            if (access != null && access.toBoolean()) {
+                result.add(permission);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the ACP cache of the session of the document, or {@code null} if it's disabled.
+     *
+     * @since 2023.13
+     */
+    protected ACPCache getACPCache(Document doc) {
+        Session<?> session = doc.getSession();
+        return session instanceof BaseSession ? ((BaseSession) session).getACPCache() : null;
+    }
+
+    /**
+     * @since 2023.13
+     */
+    protected CompiledACP compileMergedACP(Document doc) {
+        ACP acp = doc.getSession().getMergedACP(doc);
+        return new CompiledACP(acp, this::getPermissionId);
+    }
+
+    /**
+     * @since 2023.13
+     */
+    protected int getPermissionId(String permission) {
+        return permissionIds.computeIfAbsent(permission, k -> Integer.valueOf(nextPermissionId.getAndIncrement()));
+    }
+
+    /**
+     * Gets the permissions to check for a permission, as names and as a bitset of permission ids.
+     *
+     * @since 2023.13
+     */
+    protected PermissionsToCheck getCompiledPermissionsToCheck(String permission) {
+        return permissionsToCheck.computeIfAbsent(permission, k -> {
+            String[] names = getPermissionsToCheck(k);
+            BitSet ids = new BitSet();
+            for (String name : names) {
+                ids.set(getPermissionId(name));
+            }
+            return new PermissionsToCheck(names, ids);
+        });
+    }
+
+    /**
+     * @since 2023.13
+     */
+    protected static class PermissionsToCheck {
+
+        protected final String[] names;
+
+        protected final BitSet ids;
+
+        protected PermissionsToCheck(String[] names, BitSet ids) {
+            this.names = names;
+            this.ids = ids;
+        }
+    }
+
     /**
      * Provides the full list of all permissions or groups of permissions that contain the given one (inclusive).
      * <p>
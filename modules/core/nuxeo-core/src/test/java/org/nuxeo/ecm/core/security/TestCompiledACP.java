@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.security;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.security.ACE;
+import org.nuxeo.ecm.core.api.security.ACL;
+import org.nuxeo.ecm.core.api.security.ACP;
+import org.nuxeo.ecm.core.api.security.Access;
+import org.nuxeo.ecm.core.api.security.SecurityConstants;
+import org.nuxeo.ecm.core.api.security.impl.ACLImpl;
+import org.nuxeo.ecm.core.api.security.impl.ACPImpl;
+
+/**
+ * @since 2023.13
+ */
+public class TestCompiledACP {
+
+    protected final Map<String, Integer> permissionIds = new HashMap<>();
+
+    protected int getPermissionId(String permission) {
+        return permissionIds.computeIfAbsent(permission, k -> permissionIds.size());
+    }
+
+    protected void assertSameAccess(ACP acp, String[] principals, String[] permissions) {
+        CompiledACP compiledACP = new CompiledACP(acp, this::getPermissionId);
+        Set<String> principalSet = new HashSet<>(Arrays.asList(principals));
+        BitSet ids = new BitSet();
+        for (String permission : permissions) {
+            ids.set(getPermissionId(permission));
+        }
+        assertEquals(acp.getAccess(principals, permissions), compiledACP.getAccess(principalSet, ids));
+    }
+
+    @Test
+    public void testSameAccessAsACP() {
+        ACP acp = new ACPImpl();
+        ACL local = new ACLImpl(ACL.LOCAL_ACL);
+        local.add(new ACE("bob", SecurityConstants.WRITE, false));
+        local.add(new ACE("members", SecurityConstants.READ_WRITE, true));
+        acp.addACL(local);
+        ACL inherited = new ACLImpl(ACL.INHERITED_ACL, true);
+        inherited.add(new ACE("alice", SecurityConstants.EVERYTHING, true));
+        inherited.add(new ACE(SecurityConstants.EVERYONE, SecurityConstants.EVERYTHING, false));
+        acp.addACL(inherited);
+
+        String[] readPermissions = { SecurityConstants.READ, SecurityConstants.READ_WRITE,
+                SecurityConstants.EVERYTHING };
+        String[] writePermissions = { SecurityConstants.WRITE, SecurityConstants.READ_WRITE,
+                SecurityConstants.EVERYTHING };
+        for (String[] principals : Arrays.asList( //
+                new String[] { "bob", "members", SecurityConstants.EVERYONE }, //
+                new String[] { "alice", SecurityConstants.EVERYONE }, //
+                new String[] { "john", SecurityConstants.EVERYONE })) {
+            assertSameAccess(acp, principals, readPermissions);
+            assertSameAccess(acp, principals, writePermissions);
+        }
+    }
+
+    @Test
+    public void testNonEffectiveACE() {
+        Calendar tomorrow = new GregorianCalendar();
+        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
+        ACP acp = new ACPImpl();
+        ACL local = new ACLImpl(ACL.LOCAL_ACL);
+        local.add(ACE.builder("bob", SecurityConstants.READ).isGranted(false).begin(tomorrow).build());
+        local.add(new ACE("bob", SecurityConstants.READ, true));
+        acp.addACL(local);
+
+        String[] principals = { "bob", SecurityConstants.EVERYONE };
+        String[] permissions = { SecurityConstants.READ, SecurityConstants.EVERYTHING };
+        assertSameAccess(acp, principals, permissions);
+        CompiledACP compiledACP = new CompiledACP(acp, this::getPermissionId);
+        BitSet ids = new BitSet();
+        ids.set(getPermissionId(SecurityConstants.READ));
+        assertEquals(Access.GRANT, compiledACP.getAccess(Set.of("bob"), ids));
+    }
+
+    @Test
+    public void testNullACP() {
+        CompiledACP compiledACP = new CompiledACP(null, this::getPermissionId);
+        assertEquals(Access.UNKNOWN, compiledACP.getAccess(Set.of("bob"), new BitSet()));
+    }
+
+}
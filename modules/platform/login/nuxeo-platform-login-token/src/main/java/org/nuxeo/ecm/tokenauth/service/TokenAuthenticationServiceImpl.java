@@ -20,6 +20,7 @@ package org.nuxeo.ecm.tokenauth.service;
 
 import java.io.Serializable;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
@@ -27,6 +28,8 @@ import java.util.Map;
 import java.util.UUID;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -41,8 +44,13 @@ import org.nuxeo.ecm.directory.api.DirectoryService;
 import org.nuxeo.ecm.platform.ui.web.auth.service.AuthenticationPluginDescriptor;
 import org.nuxeo.ecm.platform.ui.web.auth.service.PluggableAuthenticationService;
 import org.nuxeo.ecm.platform.ui.web.auth.token.TokenAuthenticator;
+import org.nuxeo.ecm.platform.usermanager.UserManagerImpl;
+import org.nuxeo.ecm.platform.usermanager.VerifiedCredentialCache;
 import org.nuxeo.ecm.tokenauth.TokenAuthenticationException;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.pubsub.ClusterActionService;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+import org.nuxeo.runtime.transaction.TransactionHelper;
 
 /**
  * Default implementation of the {@link TokenAuthenticationService}.
@@ -77,6 +85,19 @@ public class TokenAuthenticationServiceImpl implements TokenAuthenticationServic
 
     protected static final String CREATION_DATE_FIELD = "creationDate";
 
+    /** @since 2023.13 */
+    protected static final String CREDENTIAL_CACHE_NAME = "tokenauth";
+
+    /**
+     * The cache of verified tokens, or {@code null} if not initialized yet.
+     *
+     * @since 2023.13
+     */
+    protected transient volatile VerifiedCredentialCache credentialCache;
+
+    /** @since 2023.13 */
+    protected transient volatile boolean credentialCacheInitialized;
+
     @Override
     public String acquireToken(String userName, String applicationName, String deviceId, String deviceDescription,
             String permission) throws TokenAuthenticationException {
@@ -200,6 +221,44 @@ public class TokenAuthenticationServiceImpl implements TokenAuthenticationServic
 
     @Override
     public String getUserName(final String token) {
+        VerifiedCredentialCache cache = getCredentialCache();
+        if (cache != null) {
+            String userName = cache.get(token);
+            if (userName != null) {
+                return userName;
+            }
+        }
+        String userName = readUserName(token);
+        if (cache != null && userName != null) {
+            cache.put(userName, token);
+        }
+        return userName;
+    }
+
+    /**
+     * Gets the cache of verified tokens, configured like the user manager's one, or {@code null} if disabled.
+     *
+     * @since 2023.13
+     */
+    protected VerifiedCredentialCache getCredentialCache() {
+        if (!credentialCacheInitialized) {
+            synchronized (this) {
+                if (!credentialCacheInitialized) {
+                    ConfigurationService configurationService = Framework.getService(ConfigurationService.class);
+                    int size = configurationService.getInteger(UserManagerImpl.CREDENTIAL_CACHE_SIZE_PARAM, 0);
+                    if (size > 0) {
+                        Duration ttl = configurationService.getDuration(UserManagerImpl.CREDENTIAL_CACHE_TTL_PARAM,
+                                UserManagerImpl.CREDENTIAL_CACHE_TTL_DEFAULT);
+                        credentialCache = VerifiedCredentialCache.create(CREDENTIAL_CACHE_NAME, size, ttl);
+                    }
+                    credentialCacheInitialized = true;
+                }
+            }
+        }
+        return credentialCache;
+    }
+
+    protected String readUserName(String token) {
         return Framework.doPrivileged(() -> {
             try (Session session = Framework.getService(DirectoryService.class).open(DIRECTORY_NAME)) {
                 DocumentModel entry = session.getEntry(token);
@@ -216,12 +275,62 @@ public class TokenAuthenticationServiceImpl implements TokenAuthenticationServic
 
     @Override
     public void revokeToken(final String token) {
+        // read before deletion, the token may be cached on other nodes even if not on this one
+        String userName = readUserName(token);
         Framework.doPrivileged(() -> {
             try (Session session = Framework.getService(DirectoryService.class).open(DIRECTORY_NAME)) {
                 session.deleteEntry(token);
                 log.info("Deleted token: '{}' from the back-end.", token);
             }
         });
+        if (userName != null) {
+            invalidateCredentials(userName);
+        }
+    }
+
+    /**
+     * Invalidates the verified tokens of the given user on all nodes once the revocation is committed, so that no node
+     * caches the revoked token again before its deletion is visible.
+     *
+     * @since 2023.13
+     */
+    protected void invalidateCredentials(String userName) {
+        if (TransactionHelper.isTransactionMarkedRollback()) {
+            // nothing will be committed
+            return;
+        }
+        if (!TransactionHelper.isTransactionActive()) {
+            executeCredentialsInvalidation(userName);
+            return;
+        }
+        TransactionHelper.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // nothing to do
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    executeCredentialsInvalidation(userName);
+                }
+            }
+        });
+    }
+
+    /**
+     * Invalidates the verified tokens of the given user on all nodes.
+     *
+     * @since 2023.13
+     */
+    protected void executeCredentialsInvalidation(String userName) {
+        ClusterActionService clusterActionService = Framework.getService(ClusterActionService.class);
+        if (clusterActionService != null) {
+            // invalidates locally and on the other nodes
+            clusterActionService.executeAction(UserManagerImpl.INVALIDATE_CREDENTIALS_ACTION, userName);
+        } else {
+            VerifiedCredentialCache.invalidateUser(userName);
+        }
     }
 
     @Override
@@ -0,0 +1,80 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.tokenauth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Duration;
+
+import javax.inject.Inject;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.platform.usermanager.VerifiedCredentialCache;
+import org.nuxeo.ecm.tokenauth.service.TokenAuthenticationService;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+/**
+ * Tests the invalidation of the verified tokens on revocation.
+ *
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(TokenAuthenticationServiceFeature.class)
+@Deploy("org.nuxeo.ecm.platform.login.token.test:OSGI-INF/test-token-authentication-credential-cache-contrib.xml")
+public class TestTokenAuthenticationCredentialCache {
+
+    protected static final String OTHER_CACHE_NAME = "test-other-node";
+
+    @Inject
+    protected TokenAuthenticationService tokenAuthenticationService;
+
+    @Inject
+    protected TransactionalFeature txFeature;
+
+    @After
+    public void removeOtherCache() {
+        VerifiedCredentialCache.remove(OTHER_CACHE_NAME);
+    }
+
+    @Test
+    public void testRevokeTokenCachedElsewhere() {
+        String token = tokenAuthenticationService.acquireToken("joe", "myFavoriteApp", "Ubuntu box 64 bits",
+                "This is my personal box", "rw");
+        txFeature.nextTransaction();
+
+        // the token was only verified by another cache, as on another node
+        VerifiedCredentialCache otherCache = VerifiedCredentialCache.create(OTHER_CACHE_NAME, 10,
+                Duration.ofMinutes(1));
+        otherCache.put("joe", token);
+
+        tokenAuthenticationService.revokeToken(token);
+        // invalidated once the revocation is committed
+        assertEquals("joe", otherCache.get(token));
+        txFeature.nextTransaction();
+        assertNull(otherCache.get(token));
+        assertNull(tokenAuthenticationService.getUserName(token));
+    }
+
+}
@@ -18,6 +18,8 @@
  */
 package org.nuxeo.ecm.automation.server.jaxrs.batch;
 
+import static org.nuxeo.ecm.automation.server.jaxrs.batch.BatchManagerComponent.CHUNK_ASSEMBLY_FLAG;
+
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -40,7 +42,10 @@ import org.apache.logging.log4j.Logger;
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.Blobs;
 import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.impl.blob.FileBlob;
 import org.nuxeo.ecm.core.transientstore.api.TransientStore;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.services.config.ConfigurationService;
 
 /**
  * Represents a batch file backed by the {@link TransientStore}.
@@ -212,6 +217,10 @@ public class BatchFileEntry {
                             key, uploadedChunkCount, chunkCount);
                     return null;
                 }
+                if (isChunkAssemblyEnabled()) {
+                    chunkedBlob = getAssembledBlob(chunkCount);
+                    return chunkedBlob;
+                }
                 chunkedBlob = Blobs.createBlobWithExtension(null);
                 // Temporary file made from concatenated chunks
                 tmpChunkedFile = chunkedBlob.getFile();
@@ -240,6 +249,87 @@ public class BatchFileEntry {
         }
     }
 
+    protected boolean isChunkAssemblyEnabled() {
+        return Framework.getService(ConfigurationService.class).isBooleanTrue(CHUNK_ASSEMBLY_FLAG);
+    }
+
+    /**
+     * Gets the blob of the chunks assembled as they were uploaded, assembling the kept ones if needed.
+     *
+     * @since 2023.13
+     */
+    protected Blob getAssembledBlob(int chunkCount) throws IOException {
+        ChunkedFileAssembly assembly = ChunkedFileAssembly.getOrCreate(transientStore, key);
+        boolean complete;
+        try {
+            complete = assembly.append(chunkCount, this::getUploadedChunk, this::removeUploadedChunk);
+        } catch (IOException e) {
+            ChunkedFileAssembly.remove(key);
+            throw e;
+        }
+        if (!complete) {
+            // chunks written to the assembly of another node, or discarded after a failure
+            throw new NuxeoException(String.format("Cannot assemble chunks of file entry %s", key));
+        }
+        File file = assembly.getFile().toFile();
+        // Store the assembled file as a parameter for later deletion
+        transientStore.putParameter(key, "tmpChunkedFilePath", file.getAbsolutePath());
+        Blob blob = new FileBlob(file);
+        blob.setMimeType(getMimeType());
+        blob.setFilename(getFileName());
+        blob.setDigestAlgorithm(ChunkedFileAssembly.DIGEST_ALGORITHM);
+        blob.setDigest(assembly.getDigest());
+        return blob;
+    }
+
+    /**
+     * Gets a chunk kept in the transient store, reading the current parameters to see chunks uploaded concurrently.
+     *
+     * @return the chunk, or {@code null} if not uploaded yet or already assembled
+     * @since 2023.13
+     */
+    protected Blob getUploadedChunk(int index) {
+        Map<String, Serializable> currentParams = transientStore.getParameters(key);
+        String chunkEntryKey = currentParams == null ? null : (String) currentParams.get(String.valueOf(index));
+        return chunkEntryKey == null ? null : getChunk(transientStore, chunkEntryKey);
+    }
+
+    /**
+     * Removes a chunk kept in the transient store once it has been assembled.
+     *
+     * @since 2023.13
+     */
+    protected void removeUploadedChunk(int index) {
+        transientStore.remove(getChunkEntryKey(index));
+    }
+
+    protected String getChunkEntryKey(int index) {
+        return key + "_" + index;
+    }
+
+    /**
+     * Adds a chunk to the assembly of the file, only keeping it in the transient store until its predecessors are
+     * written.
+     *
+     * @since 2023.13
+     */
+    protected void addAssembledChunk(int index, Blob blob, int chunkCount) {
+        String chunkEntryKey = getChunkEntryKey(index);
+        ChunkedFileAssembly assembly = ChunkedFileAssembly.getOrCreate(transientStore, key);
+        try {
+            if (!assembly.write(index, blob)) {
+                transientStore.putBlobs(chunkEntryKey, Collections.singletonList(blob));
+            }
+            transientStore.putParameter(key, String.valueOf(index), chunkEntryKey);
+            // write the kept chunks following this one
+            assembly.append(chunkCount, this::getUploadedChunk, this::removeUploadedChunk);
+        } catch (IOException e) {
+            // the chunks already written are lost, getting the blob will fail
+            ChunkedFileAssembly.remove(key);
+            throw new NuxeoException(String.format("Cannot assemble chunk %d of file entry %s", index, key), e);
+        }
+    }
+
     protected Blob getChunk(TransientStore ts, String key) {
         List<Blob> blobs = ts.getBlobs(key);
         if (CollectionUtils.isEmpty(blobs)) {
@@ -276,14 +366,18 @@ public class BatchFileEntry {
                     String.format("Cannot add chunk with index %d to file entry %s as it already exists.", index, key));
         }
 
-        String chunkEntryKey = key + "_" + index;
+        String chunkEntryKey = getChunkEntryKey(index);
+        if (isChunkAssemblyEnabled()) {
+            addAssembledChunk(index, blob, chunkCount);
+            return chunkEntryKey;
+        }
         transientStore.putBlobs(chunkEntryKey, Collections.singletonList(blob));
         transientStore.putParameter(key, String.valueOf(index), chunkEntryKey);
-
         return chunkEntryKey;
     }
 
     public void beforeRemove() {
+        ChunkedFileAssembly.remove(key);
         String tmpChunkedFilePath = (String) transientStore.getParameter(key, "tmpChunkedFilePath");
         if (tmpChunkedFilePath != null) {
             File tmpChunkedFile = new File(tmpChunkedFilePath);
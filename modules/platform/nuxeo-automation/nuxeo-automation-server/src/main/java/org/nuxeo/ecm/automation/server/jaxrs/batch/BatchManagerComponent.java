@@ -67,6 +67,15 @@ public class BatchManagerComponent extends DefaultComponent implements BatchMana
 
     public static final String CLIENT_BATCH_ID_FLAG = "allowClientGeneratedBatchId";
 
+    /**
+     * Configuration property enabling the assembly of chunked files as their chunks are uploaded. The chunks of a file
+     * are then written to a local file, so they must all be uploaded to the same node.
+     *
+     * @since 2023.13
+     * @see ChunkedFileAssembly
+     */
+    public static final String CHUNK_ASSEMBLY_FLAG = "nuxeo.batch.chunk.assembly.enabled";
+
     /**
      * The default batch handler name.
      *
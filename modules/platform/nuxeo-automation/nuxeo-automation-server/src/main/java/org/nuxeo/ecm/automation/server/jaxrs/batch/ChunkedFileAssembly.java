@@ -0,0 +1,215 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.automation.server.jaxrs.batch;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.transientstore.api.TransientStore;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Assembles the chunks of a chunked batch file as they are uploaded, so that getting the blob of a completed file
+ * doesn't need to concatenate all its chunks again.
+ * <p>
+ * A chunk whose predecessors are all assembled is written straight to its offset in a local file, without being
+ * stored in the transient store, and the MD5 digest is computed on the fly. A chunk uploaded before its predecessors
+ * is kept in the transient store until they are written, then moved to the file. As the file is local, the chunks of
+ * a file must all be uploaded to the same node.
+ * <p>
+ * The file is deleted when its file entry is removed from the batch, or once the file entry has expired from the
+ * transient store.
+ *
+ * @since 2023.13
+ */
+public class ChunkedFileAssembly {
+
+    private static final Logger log = LogManager.getLogger(ChunkedFileAssembly.class);
+
+    public static final String DIGEST_ALGORITHM = "MD5";
+
+    protected static final Map<String, ChunkedFileAssembly> ASSEMBLIES = new ConcurrentHashMap<>();
+
+    protected final TransientStore transientStore;
+
+    protected final String key;
+
+    protected final MessageDigest messageDigest;
+
+    protected Path file;
+
+    protected int nextIndex;
+
+    protected long length;
+
+    protected String digest;
+
+    protected ChunkedFileAssembly(TransientStore transientStore, String key) {
+        this.transientStore = transientStore;
+        this.key = key;
+        try {
+            messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new NuxeoException(e);
+        }
+    }
+
+    /**
+     * Gets the assembly for the given file entry, creating it if needed.
+     */
+    public static ChunkedFileAssembly getOrCreate(TransientStore transientStore, String key) {
+        removeExpired();
+        return ASSEMBLIES.computeIfAbsent(key, k -> new ChunkedFileAssembly(transientStore, k));
+    }
+
+    /**
+     * Discards the assembly for the given file entry, deleting its file.
+     */
+    public static void remove(String key) {
+        ChunkedFileAssembly assembly = ASSEMBLIES.remove(key);
+        if (assembly != null) {
+            assembly.delete();
+        }
+    }
+
+    /**
+     * Discards the assemblies whose file entry has expired from the transient store without being removed.
+     */
+    protected static void removeExpired() {
+        ASSEMBLIES.values().removeIf(assembly -> {
+            if (assembly.transientStore.exists(assembly.key)) {
+                return false;
+            }
+            log.debug("Discarding chunk assembly of expired file entry: {}", assembly.key);
+            assembly.delete();
+            return true;
+        });
+    }
+
+    /**
+     * Writes the given chunk to the assembled file if all its predecessors are already assembled.
+     *
+     * @return {@code true} if the chunk was written, {@code false} if it must be kept until its predecessors are
+     *         written
+     */
+    public synchronized boolean write(int index, Blob chunk) throws IOException {
+        if (index != nextIndex) {
+            return false;
+        }
+        writeChunk(chunk);
+        return true;
+    }
+
+    /**
+     * Writes the kept chunks following the ones already assembled, as long as they are available.
+     *
+     * @param chunkCount the total number of chunks
+     * @param chunks a function returning the kept chunk for the given index, or {@code null} if it is not uploaded yet
+     * @param written called with the index of each written chunk, which doesn't need to be kept anymore
+     * @return {@code true} if all the chunks have been assembled
+     */
+    public synchronized boolean append(int chunkCount, IntFunction<Blob> chunks, IntConsumer written)
+            throws IOException {
+        while (nextIndex < chunkCount) {
+            Blob chunk = chunks.apply(nextIndex);
+            if (chunk == null) {
+                break;
+            }
+            int index = nextIndex;
+            writeChunk(chunk);
+            written.accept(index);
+        }
+        if (nextIndex == chunkCount && digest == null) {
+            if (file == null) {
+                // no chunks
+                file = Framework.createTempFilePath("nxchunks-", null);
+            }
+            digest = Hex.encodeHexString(messageDigest.digest());
+        }
+        return digest != null;
+    }
+
+    protected void writeChunk(Blob chunk) throws IOException {
+        if (file == null) {
+            file = Framework.createTempFilePath("nxchunks-", null);
+        }
+        // the offset of the chunk is the length of its predecessors
+        try (FileChannel channel = FileChannel.open(file, WRITE);
+                InputStream in = chunk.getStream();
+                OutputStream out = new DigestOutputStream(Channels.newOutputStream(channel.position(length)),
+                        messageDigest)) {
+            length += IOUtils.copyLarge(in, out);
+        }
+        log.trace("Wrote chunk: {} of: {}", nextIndex, key);
+        nextIndex++;
+    }
+
+    /**
+     * Gets the assembled file, or {@code null} if no chunk has been assembled.
+     */
+    public synchronized Path getFile() {
+        return file;
+    }
+
+    public synchronized long getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the {@value #DIGEST_ALGORITHM} digest of the assembled file, or {@code null} if it is not complete.
+     */
+    public synchronized String getDigest() {
+        return digest;
+    }
+
+    protected synchronized void delete() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Cannot delete chunk assembly file: {}", file, e);
+            }
+            file = null;
+        }
+        // no further writes, the file is gone
+        nextIndex = Integer.MAX_VALUE;
+        digest = null;
+    }
+
+}
@@ -37,6 +37,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -311,6 +312,40 @@ public class BatchManagerFixture {
         assertEquals(0, tsm.getStorageSize());
     }
 
+    @Test
+    @Deploy("org.nuxeo.ecm.automation.test.test:test-batchmanager-chunk-assembly-contrib.xml")
+    public void testChunkAssembly() throws IOException {
+        BatchManager bm = Framework.getService(BatchManager.class);
+        String batchId = bm.initBatch();
+
+        // chunks uploaded out of order
+        TransientStore ts = getTransientStore();
+        bm.addBlob(batchId, "0", Blobs.createBlob("Chunk 3"), 3, 2, "chunkedFile.txt", "text/plain", 23);
+        // kept until its predecessors are written
+        assertTrue(ts.exists(batchId + "_0_2"));
+        bm.addBlob(batchId, "0", Blobs.createBlob("Chunk 1 "), 3, 0, "chunkedFile.txt", "text/plain", 23);
+        bm.addBlob(batchId, "0", Blobs.createBlob("Chunk 2 "), 3, 1, "chunkedFile.txt", "text/plain", 23);
+        // the chunks are only in the assembled file
+        assertFalse(ts.exists(batchId + "_0_0"));
+        assertFalse(ts.exists(batchId + "_0_1"));
+        assertFalse(ts.exists(batchId + "_0_2"));
+
+        Blob blob = bm.getBlob(batchId, "0");
+        assertNotNull(blob);
+        assertEquals("Chunk 1 Chunk 2 Chunk 3", blob.getString());
+        assertEquals("chunkedFile.txt", blob.getFilename());
+        assertEquals("text/plain", blob.getMimeType());
+        assertEquals("MD5", blob.getDigestAlgorithm());
+        assertEquals(DigestUtils.md5Hex("Chunk 1 Chunk 2 Chunk 3"), blob.getDigest());
+
+        // the same assembled file is returned again
+        File file = blob.getFile();
+        assertEquals(file, bm.getBlob(batchId, "0").getFile());
+
+        bm.clean(batchId);
+        assertFalse(file.exists());
+    }
+
     @Test
     public void testBatchConcurrency() throws Exception {
 
@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.drive.service;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.nuxeo.drive.stream.DriveChangeEvent;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+
+/**
+ * Push-based change feed for Nuxeo Drive.
+ * <p>
+ * Document changes are consumed from a stream and appended to the change logs of each synchronization root, so that
+ * clients can get their incremental changes by cursor without querying the audit. When a cursor cannot be served from
+ * the change logs (first call, expired entries, root (un)registration, security change...) the changes are
+ * computed by {@link NuxeoDriveManager#getChangeSummary(NuxeoPrincipal, Map, long)}.
+ *
+ * @since 2023.13
+ */
+public interface DriveChangeFeed {
+
+    /**
+     * Gets the changes in the synchronization roots of the given principal since the given cursor.
+     *
+     * @param principal the principal
+     * @param lastSyncRootRefs the roots as reported by the last successful synchronization
+     * @param cursor the cursor returned by the previous call, or {@code null}
+     * @param lowerBound the audit lower bound to use if there is no cursor
+     * @param timeout the maximum time in milliseconds to wait for changes when there are none
+     * @return the change summary and the cursor to use for the next call
+     */
+    DriveChangeFeedSummary getChanges(NuxeoPrincipal principal, Map<String, Set<IdRef>> lastSyncRootRefs, String cursor,
+            long lowerBound, long timeout);
+
+    /**
+     * Appends the given change to the change logs of the document and its ancestors.
+     */
+    void appendChange(DriveChangeEvent change);
+
+}
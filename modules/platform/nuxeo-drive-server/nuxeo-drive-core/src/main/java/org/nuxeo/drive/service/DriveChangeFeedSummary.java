@@ -0,0 +1,56 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.drive.service;
+
+/**
+ * Result of {@link DriveChangeFeed#getChanges}: the change summary and the cursor to get the next changes.
+ *
+ * @since 2023.13
+ */
+public class DriveChangeFeedSummary {
+
+    protected final FileSystemChangeSummary summary;
+
+    protected final String cursor;
+
+    protected final boolean fromFeed;
+
+    public DriveChangeFeedSummary(FileSystemChangeSummary summary, String cursor, boolean fromFeed) {
+        this.summary = summary;
+        this.cursor = cursor;
+        this.fromFeed = fromFeed;
+    }
+
+    public FileSystemChangeSummary getSummary() {
+        return summary;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns {@code true} if the changes were served from the change feed, {@code false} if they were computed from
+     * the audit.
+     */
+    public boolean isFromFeed() {
+        return fromFeed;
+    }
+
+}
@@ -0,0 +1,413 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.drive.service.impl;
+
+import static org.nuxeo.drive.service.NuxeoDriveEvents.DELETED_EVENT;
+import static org.nuxeo.drive.service.NuxeoDriveEvents.MOVED_EVENT;
+import static org.nuxeo.drive.service.impl.NuxeoDriveManagerImpl.DOCUMENT_CHANGE_LIMIT_PROPERTY;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.drive.adapter.FileSystemItem;
+import org.nuxeo.drive.adapter.RootlessItemException;
+import org.nuxeo.drive.service.DriveChangeFeed;
+import org.nuxeo.drive.service.DriveChangeFeedSummary;
+import org.nuxeo.drive.service.FileSystemChangeSummary;
+import org.nuxeo.drive.service.FileSystemItemAdapterService;
+import org.nuxeo.drive.service.FileSystemItemChange;
+import org.nuxeo.drive.service.NuxeoDriveManager;
+import org.nuxeo.drive.service.SynchronizationRoots;
+import org.nuxeo.drive.stream.DriveChangeEvent;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.model.DefaultComponent;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+
+/**
+ * Default implementation of the {@link DriveChangeFeed}, storing the change logs of the synchronization roots in a
+ * key/value store.
+ * <p>
+ * Each synchronization root has a head counter and a sequence of change entries expiring after {@value #TTL_PROPERTY},
+ * the documents that are not synchronization roots have no change log. A cursor holds the audit upper bound of the last
+ * fallback and the position reached in the change log of each active root of the user.
+ * <p>
+ * Like the {@link AuditChangeFinder}, a document that is no longer adaptable as a file system item is reported as
+ * removed from the client view using the file system item id of its last deletion, move or security update entry.
+ *
+ * @since 2023.13
+ */
+public class DriveChangeFeedImpl extends DefaultComponent implements DriveChangeFeed {
+
+    private static final Logger log = LogManager.getLogger(DriveChangeFeedImpl.class);
+
+    public static final String KV_STORE_NAME = "nuxeoDriveChangeFeed";
+
+    public static final String TTL_PROPERTY = "org.nuxeo.drive.changeFeed.ttl";
+
+    public static final String REPLAY_PROPERTY = "org.nuxeo.drive.changeFeed.replay";
+
+    public static final String MAX_WAIT_PROPERTY = "org.nuxeo.drive.changeFeed.maxWait";
+
+    public static final String POLL_INTERVAL_PROPERTY = "org.nuxeo.drive.changeFeed.pollInterval";
+
+    public static final String MAX_WAITERS_PROPERTY = "org.nuxeo.drive.changeFeed.maxWaiters";
+
+    protected static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    protected static final int DEFAULT_REPLAY = 100;
+
+    protected static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    protected static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(500);
+
+    protected static final int DEFAULT_MAX_WAITERS = 20;
+
+    protected static final String HEAD_PREFIX = "head:";
+
+    protected static final String ENTRY_PREFIX = "entry:";
+
+    protected static final String CURSOR_SEPARATOR = "|";
+
+    // notified when changes are appended by this node
+    protected final Object changeMonitor = new Object();
+
+    protected final AtomicInteger waiters = new AtomicInteger();
+
+    @Override
+    public void appendChange(DriveChangeEvent change) {
+        KeyValueStore kvStore = getKeyValueStore();
+        long ttl = getConfigurationService().getDuration(TTL_PROPERTY, DEFAULT_TTL).toSeconds();
+        String entry = change.eventDate + ":" + (change.structural ? 1 : 0) + ":" + change.event + ":" + change.id;
+        if (change.fileSystemItemId != null) {
+            entry += ":" + change.fileSystemItemId;
+        }
+        for (String rootId : change.ancestorIds) {
+            String root = change.repository + ":" + rootId;
+            long seq = kvStore.addAndGet(HEAD_PREFIX + root, 1);
+            kvStore.put(ENTRY_PREFIX + root + ":" + seq, entry, ttl);
+        }
+        synchronized (changeMonitor) {
+            changeMonitor.notifyAll();
+        }
+    }
+
+    @Override
+    public DriveChangeFeedSummary getChanges(NuxeoPrincipal principal, Map<String, Set<IdRef>> lastSyncRootRefs,
+            String cursor, long lowerBound, long timeout) {
+        NuxeoDriveManager driveManager = Framework.getService(NuxeoDriveManager.class);
+        Map<String, SynchronizationRoots> roots = driveManager.getSynchronizationRoots(principal);
+        Map<String, Long> heads = getHeads(roots);
+        Long auditBound = parseAuditBound(cursor);
+        Map<String, Long> positions = parsePositions(cursor);
+        if (auditBound == null || !positions.keySet().equals(heads.keySet())) {
+            log.debug("Cold cursor for user: {}, falling back to the audit", principal::getName);
+            return fallback(principal, lastSyncRootRefs, auditBound == null ? lowerBound : auditBound, heads);
+        }
+        boolean hasCollectionSyncRootMembers = driveManager.getCollectionSyncRootMemberIds(principal)
+                                                           .values()
+                                                           .stream()
+                                                           .anyMatch(ids -> !ids.isEmpty());
+        if (hasCollectionSyncRootMembers) {
+            // collection members are not under their synchronization root, the feed cannot track them
+            return fallback(principal, lastSyncRootRefs, auditBound, heads);
+        }
+        heads = waitForChanges(roots, positions, heads, timeout);
+        int limit = Integer.parseInt(Framework.getProperty(DOCUMENT_CHANGE_LIMIT_PROPERTY, "1000"));
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, Long> head : heads.entrySet()) {
+            long position = positions.get(head.getKey());
+            if (head.getValue() - position > limit) {
+                return fallback(principal, lastSyncRootRefs, auditBound, heads);
+            }
+            LongStream.rangeClosed(position + 1, head.getValue())
+                      .mapToObj(seq -> ENTRY_PREFIX + head.getKey() + ":" + seq)
+                      .forEach(keys::add);
+        }
+        Map<String, String> entries = keys.isEmpty() ? Map.of() : getKeyValueStore().getStrings(keys);
+        if (entries.size() < keys.size()) {
+            log.debug("Expired change log entries for user: {}, falling back to the audit", principal::getName);
+            return fallback(principal, lastSyncRootRefs, auditBound, heads);
+        }
+        // keep the last change of each document, and its last removal from the client view, in event order
+        Map<String, ChangeEntry> changesByDoc = new LinkedHashMap<>();
+        Map<String, ChangeEntry> removalsByDoc = new HashMap<>();
+        for (String key : keys) {
+            String repositoryName = StringUtils.substringBefore(key.substring(ENTRY_PREFIX.length()), ":");
+            ChangeEntry change = ChangeEntry.parse(repositoryName, entries.get(key));
+            if (change.structural()) {
+                log.debug("Structural change {} for user: {}, falling back to the audit", change.event(),
+                        principal.getName());
+                return fallback(principal, lastSyncRootRefs, auditBound, heads);
+            }
+            String docKey = repositoryName + ":" + change.docId();
+            changesByDoc.merge(docKey, change, ChangeEntry::latest);
+            if (change.fileSystemItemId() != null) {
+                removalsByDoc.merge(docKey, change, ChangeEntry::latest);
+            }
+        }
+        List<FileSystemItemChange> changes = getFileSystemItemChanges(principal, changesByDoc, removalsByDoc);
+        FileSystemChangeSummary summary = new FileSystemChangeSummaryImpl(changes, getActiveRootRefs(roots),
+                getSyncDate(), auditBound, Boolean.FALSE);
+        return new DriveChangeFeedSummary(summary, formatCursor(auditBound, heads), true);
+    }
+
+    protected DriveChangeFeedSummary fallback(NuxeoPrincipal principal, Map<String, Set<IdRef>> lastSyncRootRefs,
+            long lowerBound, Map<String, Long> heads) {
+        FileSystemChangeSummary summary = Framework.getService(NuxeoDriveManager.class)
+                                                   .getChangeSummary(principal, lastSyncRootRefs, lowerBound);
+        // the audit is written asynchronously and may not contain yet the latest changes of the feed,
+        // replay the last entries on next call, sending a change twice is harmless for the client
+        int limit = Integer.parseInt(Framework.getProperty(DOCUMENT_CHANGE_LIMIT_PROPERTY, "1000"));
+        int replay = Math.min(limit, getConfigurationService().getInteger(REPLAY_PROPERTY, DEFAULT_REPLAY));
+        Map<String, Long> positions = getReplayPositions(heads, replay);
+        return new DriveChangeFeedSummary(summary, formatCursor(summary.getUpperBound(), positions), false);
+    }
+
+    /**
+     * Gets the positions from which to replay the change logs after a fallback. The replay starts after the last
+     * structural or expired entry, which would otherwise make the next calls fall back again.
+     */
+    protected Map<String, Long> getReplayPositions(Map<String, Long> heads, int replay) {
+        Map<String, Long> positions = new TreeMap<>();
+        List<String> keys = new ArrayList<>();
+        heads.forEach((root, head) -> {
+            long position = Math.max(0, head - replay);
+            positions.put(root, position);
+            LongStream.rangeClosed(position + 1, head)
+                      .mapToObj(seq -> ENTRY_PREFIX + root + ":" + seq)
+                      .forEach(keys::add);
+        });
+        if (keys.isEmpty()) {
+            return positions;
+        }
+        Map<String, String> entries = getKeyValueStore().getStrings(keys);
+        for (String key : keys) {
+            String value = entries.get(key);
+            if (value == null || ChangeEntry.parse(null, value).structural()) {
+                String root = StringUtils.substringBeforeLast(key.substring(ENTRY_PREFIX.length()), ":");
+                positions.merge(root, Long.valueOf(StringUtils.substringAfterLast(key, ":")), Math::max);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Waits for changes in the change logs of the given roots.
+     * <p>
+     * The JAX-RS version in use has no asynchronous responses so the waiting request holds its thread: the number of
+     * waiting requests is capped by {@value #MAX_WAITERS_PROPERTY}, beyond which the request returns immediately and
+     * the client polls again. A waiting request is woken up as soon as this node appends a change, changes appended by
+     * other nodes are checked every {@value #POLL_INTERVAL_PROPERTY}.
+     */
+    protected Map<String, Long> waitForChanges(Map<String, SynchronizationRoots> roots, Map<String, Long> positions,
+            Map<String, Long> heads, long timeout) {
+        if (timeout <= 0 || !heads.equals(positions)) {
+            return heads;
+        }
+        ConfigurationService configurationService = getConfigurationService();
+        int maxWaiters = configurationService.getInteger(MAX_WAITERS_PROPERTY, DEFAULT_MAX_WAITERS);
+        if (waiters.incrementAndGet() > maxWaiters) {
+            waiters.decrementAndGet();
+            log.debug("Too many clients waiting for changes, returning immediately");
+            return heads;
+        }
+        try {
+            long maxWait = configurationService.getDuration(MAX_WAIT_PROPERTY, DEFAULT_MAX_WAIT).toMillis();
+            long pollInterval = configurationService.getDuration(POLL_INTERVAL_PROPERTY, DEFAULT_POLL_INTERVAL)
+                                                    .toMillis();
+            long deadline = System.currentTimeMillis() + Math.min(timeout, maxWait);
+            long remaining;
+            while (heads.equals(positions) && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                synchronized (changeMonitor) {
+                    changeMonitor.wait(Math.min(pollInterval, remaining));
+                }
+                heads = getHeads(roots);
+            }
+            return heads;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NuxeoException(e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    protected List<FileSystemItemChange> getFileSystemItemChanges(NuxeoPrincipal principal,
+            Map<String, ChangeEntry> changesByDoc, Map<String, ChangeEntry> removalsByDoc) {
+        Map<String, CoreSession> sessions = new HashMap<>();
+        List<FileSystemItemChange> changes = new ArrayList<>();
+        for (Map.Entry<String, ChangeEntry> entry : changesByDoc.entrySet()) {
+            ChangeEntry change = entry.getValue();
+            CoreSession session = sessions.computeIfAbsent(change.repository(),
+                    name -> CoreInstance.getCoreSession(name, principal));
+            // the document of a deletion entry may still exist, e.g. trashed
+            FileSystemItem fsItem = DELETED_EVENT.equals(change.event()) ? null
+                    : getFileSystemItem(session, change.docId());
+            if (fsItem != null) {
+                if (MOVED_EVENT.equals(change.event())) {
+                    // moved to another synchronization root, reported by the documentMoved change
+                    continue;
+                }
+                changes.add(new FileSystemItemChangeImpl(change.event(), change.eventDate(), change.repository(),
+                        change.docId(), fsItem));
+                continue;
+            }
+            // the document is no longer adaptable: deleted, moved out of the synchronization roots, blob removed or
+            // no longer accessible, report its removal if it was ever part of the client view
+            ChangeEntry removal = removalsByDoc.get(entry.getKey());
+            if (removal == null) {
+                continue;
+            }
+            String eventId = MOVED_EVENT.equals(removal.event()) ? DELETED_EVENT : removal.event();
+            changes.add(new FileSystemItemChangeImpl(eventId, change.eventDate(), change.repository(), change.docId(),
+                    removal.fileSystemItemId(), null));
+        }
+        return changes;
+    }
+
+    protected FileSystemItem getFileSystemItem(CoreSession session, String docId) {
+        IdRef docRef = new IdRef(docId);
+        if (!session.exists(docRef)) {
+            return null;
+        }
+        DocumentModel doc = session.getDocument(docRef);
+        try {
+            // NXP-19442: Avoid useless and costly call to DocumentModel#getLockInfo
+            return Framework.getService(FileSystemItemAdapterService.class)
+                            .getFileSystemItem(doc, false, false, false);
+        } catch (RootlessItemException e) {
+            return null;
+        }
+    }
+
+    protected Map<String, Long> getHeads(Map<String, SynchronizationRoots> roots) {
+        List<String> rootKeys = roots.values()
+                                     .stream()
+                                     .flatMap(r -> r.getRefs()
+                                                    .stream()
+                                                    .map(ref -> r.getRepositoryName() + ":" + ref.toString()))
+                                     .collect(Collectors.toList());
+        Map<String, Long> heads = new TreeMap<>();
+        if (rootKeys.isEmpty()) {
+            return heads;
+        }
+        Map<String, Long> values = getKeyValueStore().getLongs(
+                rootKeys.stream().map(root -> HEAD_PREFIX + root).collect(Collectors.toList()));
+        for (String root : rootKeys) {
+            heads.put(root, values.getOrDefault(HEAD_PREFIX + root, 0L));
+        }
+        return heads;
+    }
+
+    protected Map<String, Set<IdRef>> getActiveRootRefs(Map<String, SynchronizationRoots> roots) {
+        Map<String, Set<IdRef>> activeRootRefs = new HashMap<>();
+        roots.forEach((repositoryName, syncRoots) -> activeRootRefs.put(repositoryName, syncRoots.getRefs()));
+        return activeRootRefs;
+    }
+
+    protected long getSyncDate() {
+        // Truncate sync date to 0 milliseconds
+        long syncDate = System.currentTimeMillis();
+        return syncDate - (syncDate % 1000);
+    }
+
+    protected String formatCursor(long auditBound, Map<String, Long> positions) {
+        return auditBound + CURSOR_SEPARATOR + positions.entrySet()
+                                                        .stream()
+                                                        .map(e -> e.getKey() + "=" + e.getValue())
+                                                        .collect(Collectors.joining(","));
+    }
+
+    protected Long parseAuditBound(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(StringUtils.substringBefore(cursor, CURSOR_SEPARATOR));
+        } catch (NumberFormatException e) {
+            log.debug("Invalid cursor: {}", cursor);
+            return null;
+        }
+    }
+
+    protected Map<String, Long> parsePositions(String cursor) {
+        Map<String, Long> positions = new TreeMap<>();
+        String value = StringUtils.substringAfter(cursor, CURSOR_SEPARATOR);
+        if (StringUtils.isBlank(value)) {
+            return positions;
+        }
+        try {
+            for (String position : value.split(",")) {
+                positions.put(StringUtils.substringBeforeLast(position, "="),
+                        Long.valueOf(StringUtils.substringAfterLast(position, "=")));
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Invalid cursor: {}", cursor);
+            positions.clear();
+        }
+        return positions;
+    }
+
+    protected KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(KV_STORE_NAME);
+    }
+
+    protected ConfigurationService getConfigurationService() {
+        return Framework.getService(ConfigurationService.class);
+    }
+
+    /**
+     * A change log entry, formatted as {@code eventDate:structural:event:docId[:fileSystemItemId]}.
+     */
+    protected record ChangeEntry(String repository, long eventDate, boolean structural, String event, String docId,
+            String fileSystemItemId) {
+
+        protected static ChangeEntry parse(String repository, String value) {
+            String[] parts = value.split(":", 5);
+            return new ChangeEntry(repository, Long.parseLong(parts[0]), "1".equals(parts[1]), parts[2], parts[3],
+                    parts.length > 4 ? parts[4] : null);
+        }
+
+        protected static ChangeEntry latest(ChangeEntry e1, ChangeEntry e2) {
+            // entries come in change log order, the last one wins on same date
+            return e2.eventDate >= e1.eventDate ? e2 : e1;
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.drive.stream;
+
+import static org.nuxeo.drive.service.NuxeoDriveEvents.EVENT_CATEGORY;
+import static org.nuxeo.drive.service.NuxeoDriveEvents.IMPACTED_USERNAME_PROPERTY;
+import static org.nuxeo.drive.service.NuxeoDriveEvents.VIRTUAL_EVENT_CREATED;
+import static org.nuxeo.drive.service.impl.NuxeoDriveManagerImpl.NUXEO_DRIVE_FACET;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.ABOUT_TO_MOVE;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.BLOB_DIGEST_UPDATED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_CREATED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_CREATED_BY_COPY;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_LOCKED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_MOVED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_PROXY_PUBLISHED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_RESTORED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_SECURITY_UPDATED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_UNLOCKED;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_UPDATED;
+import static org.nuxeo.ecm.core.api.trash.TrashService.DOCUMENT_UNTRASHED;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.drive.listener.NuxeoDriveFileSystemDeletionListener;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.event.Event;
+import org.nuxeo.ecm.core.event.EventContext;
+import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
+import org.nuxeo.ecm.core.event.stream.DomainEventProducer;
+import org.nuxeo.ecm.platform.audit.api.ExtendedInfo;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.codec.CodecService;
+
+/**
+ * Propagates the document events relevant to Nuxeo Drive to a DomainEvent stream, with the synchronization roots
+ * containing the document resolved while it still exists.
+ * <p>
+ * Deletions, moves out of a synchronization root, blob removals and security updates are taken from the virtual events
+ * of the {@link NuxeoDriveFileSystemDeletionListener}, which hold the id of the file system item to remove from the
+ * client view.
+ *
+ * @since 2023.13
+ */
+public class DriveChangeDomainEventProducer extends DomainEventProducer {
+
+    private static final Logger log = LogManager.getLogger(DriveChangeDomainEventProducer.class);
+
+    protected static final String CODEC_NAME = "avro";
+
+    protected static final String FILE_SYSTEM_ITEM_ID_INFO = "fileSystemItemId";
+
+    /** Events that can be served incrementally from the change feed. */
+    public static final Set<String> CONTENT_EVENTS = Set.of(DOCUMENT_CREATED, DOCUMENT_UPDATED, DOCUMENT_MOVED,
+            DOCUMENT_CREATED_BY_COPY, DOCUMENT_RESTORED, DOCUMENT_PROXY_PUBLISHED, DOCUMENT_LOCKED, DOCUMENT_UNLOCKED,
+            DOCUMENT_UNTRASHED, BLOB_DIGEST_UPDATED);
+
+    /** Events that may add items to the client view, requiring a resynchronization from the audit. */
+    public static final Set<String> STRUCTURAL_EVENTS = Set.of(DOCUMENT_SECURITY_UPDATED);
+
+    protected final Codec<DriveChangeEvent> codec;
+
+    protected final List<Record> records = new ArrayList<>();
+
+    // synchronization roots of the documents being moved, resolved before the move
+    protected final Map<String, List<String>> moveSources = new HashMap<>();
+
+    public DriveChangeDomainEventProducer(String name, String stream) {
+        super(name, stream);
+        codec = Framework.getService(CodecService.class).getCodec(CODEC_NAME, DriveChangeEvent.class);
+    }
+
+    @Override
+    public void addEvent(Event event) {
+        EventContext ctx = event.getContext();
+        if (VIRTUAL_EVENT_CREATED.equals(event.getName())) {
+            addVirtualEvents(event);
+            return;
+        }
+        if (!(ctx instanceof DocumentEventContext docCtx)) {
+            return;
+        }
+        String eventName = event.getName();
+        boolean structural = STRUCTURAL_EVENTS.contains(eventName);
+        if (!structural && !CONTENT_EVENTS.contains(eventName) && !ABOUT_TO_MOVE.equals(eventName)) {
+            return;
+        }
+        DocumentModel doc = docCtx.getSourceDocument();
+        CoreSession session = docCtx.getCoreSession();
+        if (doc == null || session == null || doc.isVersion()) {
+            return;
+        }
+        if (ABOUT_TO_MOVE.equals(eventName)) {
+            moveSources.put(doc.getId(), getSyncRootIds(session, doc.getRef()));
+            return;
+        }
+        DriveChangeEvent change = newChange(session.getRepositoryName(), doc.getId(), eventName, event.getTime());
+        change.structural = structural;
+        change.ancestorIds = getSyncRootIds(session, doc.getRef());
+        if (DOCUMENT_MOVED.equals(eventName)) {
+            // the clients of the source roots must also be notified
+            List<String> sourceIds = moveSources.remove(doc.getId());
+            if (sourceIds != null) {
+                Set<String> ancestorIds = new LinkedHashSet<>(change.ancestorIds);
+                ancestorIds.addAll(sourceIds);
+                change.ancestorIds = new ArrayList<>(ancestorIds);
+            }
+        }
+        addChange(change);
+    }
+
+    /**
+     * Adds the changes of the audit entries injected by the {@link NuxeoDriveFileSystemDeletionListener}, fired while
+     * the document is still in place.
+     */
+    protected void addVirtualEvents(Event event) {
+        for (Object argument : event.getContext().getArguments()) {
+            if (!(argument instanceof LogEntry entry) || !EVENT_CATEGORY.equals(entry.getCategory())) {
+                continue;
+            }
+            Map<String, ExtendedInfo> extendedInfos = entry.getExtendedInfos();
+            DriveChangeEvent change = newChange(entry.getRepositoryId(), entry.getDocUUID(), entry.getEventId(),
+                    entry.getEventDate().getTime());
+            // a change impacting a single user, such as a root unregistration, is not shared by the change logs
+            change.structural = extendedInfos.containsKey(IMPACTED_USERNAME_PROPERTY);
+            ExtendedInfo fsIdInfo = extendedInfos.get(FILE_SYSTEM_ITEM_ID_INFO);
+            change.fileSystemItemId = fsIdInfo == null ? null : fsIdInfo.getValue(String.class);
+            CoreSession session = CoreInstance.getCoreSessionSystem(entry.getRepositoryId());
+            change.ancestorIds = getSyncRootIds(session, new IdRef(entry.getDocUUID()));
+            addChange(change);
+        }
+    }
+
+    protected DriveChangeEvent newChange(String repository, String id, String eventName, long eventDate) {
+        DriveChangeEvent change = new DriveChangeEvent();
+        change.repository = repository;
+        change.id = id;
+        change.event = eventName;
+        change.eventDate = eventDate;
+        return change;
+    }
+
+    /**
+     * Gets the ids of the synchronization roots among the document and its ancestors, only they have a change log.
+     */
+    protected List<String> getSyncRootIds(CoreSession session, DocumentRef docRef) {
+        if (docRef == null) {
+            return new ArrayList<>();
+        }
+        return CoreInstance.doPrivileged(session, (CoreSession s) -> {
+            List<String> syncRootIds = new ArrayList<>();
+            if (s.exists(docRef)) {
+                for (DocumentModel ancestor : s.getParentDocuments(docRef)) {
+                    if (ancestor.hasFacet(NUXEO_DRIVE_FACET)) {
+                        syncRootIds.add(ancestor.getId());
+                    }
+                }
+            }
+            return syncRootIds;
+        });
+    }
+
+    protected void addChange(DriveChangeEvent change) {
+        log.trace("Adding Drive change: {}", change);
+        records.add(Record.of(change.id, codec.encode(change)));
+    }
+
+    @Override
+    public List<Record> getDomainEvents() {
+        return records;
+    }
+
+}
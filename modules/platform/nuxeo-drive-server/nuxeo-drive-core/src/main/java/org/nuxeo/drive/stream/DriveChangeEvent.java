@@ -0,0 +1,64 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.drive.stream;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.avro.reflect.Nullable;
+
+/**
+ * Domain Event of a document change relevant to Nuxeo Drive, propagated to the change logs of the synchronization
+ * roots containing the document.
+ *
+ * @since 2023.13
+ */
+public class DriveChangeEvent implements Serializable {
+
+    private static final long serialVersionUID = 20261019L;
+
+    public String repository;
+
+    // doc identifier
+    public String id;
+
+    public String event;
+
+    public long eventDate;
+
+    // if true the change cannot be served incrementally, clients must resynchronize from the audit
+    public boolean structural;
+
+    // ids of the synchronization roots among the document and its ancestors
+    public List<String> ancestorIds;
+
+    // id of the file system item removed from the client view, for deletions, moves and security updates
+    @Nullable
+    public String fileSystemItemId;
+
+    public DriveChangeEvent() {
+    }
+
+    @Override
+    public String toString() {
+        return "DriveChangeEvent{" + "repository='" + repository + '\'' + ", id='" + id + '\'' + ", event='" + event
+                + '\'' + ", eventDate=" + eventDate + ", structural=" + structural + ", ancestorIds=" + ancestorIds
+                + ", fileSystemItemId='" + fileSystemItemId + '\'' + '}';
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.drive.stream;
+
+import static org.nuxeo.drive.stream.DriveChangeDomainEventProducer.CODEC_NAME;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.drive.service.DriveChangeFeed;
+import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.computation.AbstractComputation;
+import org.nuxeo.lib.stream.computation.ComputationContext;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.codec.CodecService;
+import org.nuxeo.runtime.stream.StreamProcessorTopology;
+
+/**
+ * A Processor that appends the Nuxeo Drive document changes to the change logs of the synchronization roots.
+ *
+ * @since 2023.13
+ */
+public class DriveChangeFeedProcessor implements StreamProcessorTopology {
+
+    private static final Logger log = LogManager.getLogger(DriveChangeFeedProcessor.class);
+
+    public static final String COMPUTATION_NAME = "drive/changeFeed";
+
+    public static final String STREAM_NAME = "source/drive";
+
+    @Override
+    public Topology getTopology(Map<String, String> options) {
+        return Topology.builder()
+                       .addComputation(() -> new DriveChangeFeedComputation(COMPUTATION_NAME),
+                               List.of("i1:" + STREAM_NAME))
+                       .build();
+    }
+
+    public static class DriveChangeFeedComputation extends AbstractComputation {
+
+        protected final Codec<DriveChangeEvent> codec;
+
+        public DriveChangeFeedComputation(String name) {
+            super(name, 1, 0);
+            codec = Framework.getService(CodecService.class).getCodec(CODEC_NAME, DriveChangeEvent.class);
+        }
+
+        @Override
+        public void processRecord(ComputationContext context, String inputStreamName, Record record) {
+            DriveChangeEvent change = codec.decode(record.getData());
+            log.trace("Processing Drive change: {}", change);
+            Framework.getService(DriveChangeFeed.class).appendChange(change);
+            context.askForCheckpoint();
+        }
+
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.drive.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.nuxeo.drive.service.NuxeoDriveEvents.DELETED_EVENT;
+import static org.nuxeo.drive.stream.DriveChangeFeedProcessor.COMPUTATION_NAME;
+import static org.nuxeo.drive.stream.DriveChangeFeedProcessor.STREAM_NAME;
+import static org.nuxeo.ecm.core.api.event.DocumentEventTypes.DOCUMENT_UPDATED;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nuxeo.drive.fixtures.AbstractChangeFinderTestCase;
+import org.nuxeo.drive.fixtures.SimpleFileSystemItemChange;
+import org.nuxeo.drive.service.impl.DriveChangeFeedImpl;
+import org.nuxeo.drive.service.impl.RootDefinitionsHelper;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.impl.blob.StringBlob;
+import org.nuxeo.lib.stream.log.LogManager;
+import org.nuxeo.lib.stream.log.Name;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.stream.StreamService;
+import org.nuxeo.runtime.test.runner.Deploy;
+
+/**
+ * Tests the changes served incrementally by the {@link DriveChangeFeed}.
+ *
+ * @since 2023.13
+ */
+@Deploy("org.nuxeo.drive.core:OSGI-INF/test-nuxeodrive-change-feed-contrib.xml")
+public class TestDriveChangeFeed extends AbstractChangeFinderTestCase {
+
+    @Inject
+    protected DriveChangeFeed changeFeed;
+
+    @Inject
+    protected StreamService streamService;
+
+    @Inject
+    protected KeyValueService keyValueService;
+
+    protected String cursor;
+
+    protected DocumentModel doc;
+
+    @Before
+    public void initChangeFeed() throws InterruptedException {
+        doc = session.createDocumentModel(FOLDER_1_PATH, TEST_DOC, FILE_TYPE);
+        doc.setPropertyValue(FILE_CONTENT, new StringBlob(TEST_DOC_CONTENT));
+        doc = session.createDocument(doc);
+        nuxeoDriveManager.registerSynchronizationRoot(session.getPrincipal(), folder1, session);
+        commitAndWaitForChangeFeed();
+
+        // the first call is served by the audit
+        assertFalse(getFeedChanges().isFromFeed());
+        DriveChangeFeedSummary summary = getFeedChanges();
+        assertTrue(summary.isFromFeed());
+        assertTrue(summary.getSummary().getFileSystemChanges().isEmpty());
+    }
+
+    @Test
+    public void testUpdate() throws InterruptedException {
+        doc.setPropertyValue("dc:description", "updated");
+        session.saveDocument(doc);
+        commitAndWaitForChangeFeed();
+
+        List<FileSystemItemChange> changes = getFeedFileSystemChanges();
+        assertEquals(1, changes.size());
+        assertEquals(new SimpleFileSystemItemChange(doc.getId(), DOCUMENT_UPDATED, TEST_REPOSITORY,
+                DEFAULT_FILE_SYSTEM_ITEM_FACTORY_PREFIX + doc.getId()),
+                toSimpleFileSystemItemChange(changes.get(0)));
+        assertNotNull(changes.get(0).getFileSystemItem());
+    }
+
+    @Test
+    public void testChangeLogsOfSyncRootsOnly() throws InterruptedException {
+        doc.setPropertyValue("dc:description", "updated");
+        session.saveDocument(doc);
+        commitAndWaitForChangeFeed();
+
+        KeyValueStore kvStore = keyValueService.getKeyValueStore(DriveChangeFeedImpl.KV_STORE_NAME);
+        assertNotNull(kvStore.getLong("head:" + TEST_REPOSITORY + ":" + folder1.getId()));
+        assertNull(kvStore.getLong("head:" + TEST_REPOSITORY + ":" + doc.getId()));
+        assertNull(kvStore.getLong("head:" + TEST_REPOSITORY + ":" + folder1.getParentRef()));
+    }
+
+    @Test
+    public void testMoveOutOfSyncRoot() throws InterruptedException {
+        session.move(doc.getRef(), folder3.getRef(), null);
+        commitAndWaitForChangeFeed();
+
+        // reported to the client of the source root as a deletion
+        List<FileSystemItemChange> changes = getFeedFileSystemChanges();
+        assertEquals(1, changes.size());
+        assertDeleted(changes.get(0));
+    }
+
+    @Test
+    public void testMoveToOtherSyncRoot() throws InterruptedException {
+        nuxeoDriveManager.registerSynchronizationRoot(session.getPrincipal(), folder2, session);
+        commitAndWaitForChangeFeed();
+        // the root registration is served by the audit
+        assertFalse(getFeedChanges().isFromFeed());
+
+        session.move(doc.getRef(), folder2.getRef(), null);
+        commitAndWaitForChangeFeed();
+
+        List<FileSystemItemChange> changes = getFeedFileSystemChanges();
+        assertEquals(1, changes.size());
+        assertEquals(new SimpleFileSystemItemChange(doc.getId(), "documentMoved", TEST_REPOSITORY),
+                toSimpleFileSystemItemChange(changes.get(0)));
+        assertNotNull(changes.get(0).getFileSystemItem());
+    }
+
+    @Test
+    public void testDelete() throws InterruptedException {
+        session.removeDocument(doc.getRef());
+        commitAndWaitForChangeFeed();
+
+        List<FileSystemItemChange> changes = getFeedFileSystemChanges();
+        assertEquals(1, changes.size());
+        assertDeleted(changes.get(0));
+    }
+
+    @Test
+    public void testBlobRemoval() throws InterruptedException {
+        doc.setPropertyValue(FILE_CONTENT, null);
+        session.saveDocument(doc);
+        commitAndWaitForChangeFeed();
+
+        // not adaptable anymore, reported as a deletion from the client's point of view
+        List<FileSystemItemChange> changes = getFeedFileSystemChanges();
+        assertEquals(1, changes.size());
+        assertDeleted(changes.get(0));
+    }
+
+    protected void assertDeleted(FileSystemItemChange change) {
+        assertEquals(new SimpleFileSystemItemChange(doc.getId(), DELETED_EVENT, TEST_REPOSITORY),
+                toSimpleFileSystemItemChange(change));
+        assertNotNull(change.getFileSystemItemId());
+        assertNull(change.getFileSystemItem());
+    }
+
+    protected List<FileSystemItemChange> getFeedFileSystemChanges() {
+        DriveChangeFeedSummary summary = getFeedChanges();
+        assertTrue(summary.isFromFeed());
+        return summary.getSummary().getFileSystemChanges();
+    }
+
+    protected DriveChangeFeedSummary getFeedChanges() {
+        DriveChangeFeedSummary summary = changeFeed.getChanges(session.getPrincipal(),
+                RootDefinitionsHelper.parseRootDefinitions(lastSyncActiveRootDefinitions), cursor, lastEventLogId, 0);
+        cursor = summary.getCursor();
+        lastEventLogId = summary.getSummary().getUpperBound();
+        lastSyncActiveRootDefinitions = summary.getSummary().getActiveSynchronizationRootDefinitions();
+        return summary;
+    }
+
+    protected void commitAndWaitForChangeFeed() throws InterruptedException {
+        commitAndWaitForAsyncCompletion();
+        LogManager logManager = streamService.getLogManager();
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (logManager.getLag(Name.ofUrn(STREAM_NAME), Name.ofUrn(COMPUTATION_NAME)).lag() > 0) {
+            assertTrue("Timeout waiting for the change feed", System.currentTimeMillis() < deadline);
+            Thread.sleep(100);
+        }
+    }
+
+}
@@ -19,17 +19,25 @@
 package org.nuxeo.ecm.restapi.server.jaxrs.drive;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
 
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.nuxeo.common.Environment;
+import org.nuxeo.drive.service.DriveChangeFeed;
+import org.nuxeo.drive.service.DriveChangeFeedSummary;
+import org.nuxeo.ecm.core.api.Blobs;
 import org.nuxeo.ecm.webengine.model.WebObject;
 import org.nuxeo.ecm.webengine.model.exceptions.WebResourceNotFoundException;
 import org.nuxeo.ecm.webengine.model.impl.DefaultObject;
+import org.nuxeo.runtime.api.Framework;
 
 /**
  * @since 9.10
@@ -57,4 +65,24 @@ public class NuxeoDriveObject extends DefaultObject {
         return Response.ok().entity(configurationFile).type(MediaType.APPLICATION_JSON).build();
     }
 
+    /**
+     * Retrieves the changes in the synchronization roots of the current user since the given cursor, waiting up to
+     * the given timeout in milliseconds for changes if there are none.
+     *
+     * @param cursor the cursor returned by the previous call, absent for the first call
+     * @param lowerBound the audit lower bound to use if there is no cursor
+     * @param timeout the maximum time to wait for changes, in milliseconds
+     * @since 2023.13
+     */
+    @GET
+    @Path("changes")
+    public Response getChanges(@QueryParam("cursor") String cursor,
+            @QueryParam("lowerBound") @DefaultValue("-1") long lowerBound,
+            @QueryParam("timeout") @DefaultValue("0") long timeout) throws IOException {
+        DriveChangeFeed changeFeed = Framework.getService(DriveChangeFeed.class);
+        DriveChangeFeedSummary changes = changeFeed.getChanges(getContext().getPrincipal(), Collections.emptyMap(),
+                cursor, lowerBound, timeout);
+        return Response.ok().entity(Blobs.createJSONBlobFromValue(changes)).type(MediaType.APPLICATION_JSON).build();
+    }
+
 }
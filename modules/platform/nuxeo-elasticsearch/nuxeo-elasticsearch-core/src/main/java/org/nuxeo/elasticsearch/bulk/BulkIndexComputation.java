@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.logging.log4j.LogManager;
@@ -56,6 +58,9 @@ import org.opensearch.rest.RestStatus;
  * A computation that submits elasticsearch requests using the bulk API.
  * <p>
  * Note that the retry policy is handled by the elasticsearch bulk processor.
+ * <p>
+ * When a target latency is configured, the submission of requests is throttled according to the Elasticsearch bulk
+ * latency and rejections, see {@link IndexThrottle}.
  *
  * @since 10.3
  */
@@ -81,11 +86,26 @@ public class BulkIndexComputation extends AbstractComputation implements BulkPro
 
     protected volatile boolean abort;
 
+    // @since 2023.13
+    protected final IndexThrottle throttle;
+
+    // @since 2023.13
+    protected final Map<Long, Long> bulkStartTimes = new ConcurrentHashMap<>();
+
     public BulkIndexComputation(int esBulkSize, int esBulkActions, int flushInterval) {
+        this(esBulkSize, esBulkActions, flushInterval, 0, 0);
+    }
+
+    /**
+     * @since 2023.13
+     */
+    public BulkIndexComputation(int esBulkSize, int esBulkActions, int flushInterval, int throttleTargetLatencyMs,
+            int throttleMaxDelayMs) {
         super(NAME, 1, 1);
         this.esBulkSize = esBulkSize;
         this.esBulkActions = esBulkActions;
         this.flushIntervalMs = flushInterval * 1000;
+        this.throttle = new IndexThrottle(throttleTargetLatencyMs, throttleMaxDelayMs);
     }
 
     @Override
@@ -127,6 +147,7 @@ public class BulkIndexComputation extends AbstractComputation implements BulkPro
         if (abort) {
             return;
         }
+        throttle();
         DataBucket in = codec.decode(record.getData());
         if (in.getCount() > 0) {
             BulkRequest bulkRequest = decodeRequest(in);
@@ -145,6 +166,19 @@ public class BulkIndexComputation extends AbstractComputation implements BulkPro
         updates = true;
     }
 
+    protected void throttle() {
+        long delay = throttle.getDelay();
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NuxeoException("Interrupted while throttling indexing", e);
+        }
+    }
+
     @Override
     public void destroy() {
         if (bulkProcessor != null) {
@@ -173,11 +207,29 @@ public class BulkIndexComputation extends AbstractComputation implements BulkPro
     @Override
     public void beforeBulk(long executionId, BulkRequest request) {
         log.debug("Creating elasticsearch bulk {} with {} action", executionId, request.numberOfActions());
+        if (throttle.isEnabled()) {
+            bulkStartTimes.put(executionId, System.currentTimeMillis());
+        }
+    }
+
+    protected void throttleAfterBulk(long executionId, boolean rejected) {
+        Long start = bulkStartTimes.remove(executionId);
+        if (start != null) {
+            throttle.onBulk(System.currentTimeMillis() - start, rejected);
+        }
+    }
+
+    protected boolean isRejected(BulkResponse response) {
+        return response.hasFailures() && Arrays.stream(response.getItems())
+                                               .filter(BulkItemResponse::isFailed)
+                                               .anyMatch(item -> item.getFailure()
+                                                                     .getStatus() == RestStatus.TOO_MANY_REQUESTS);
     }
 
     @Override
     public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
         log.debug("After bulk: {}, actions: {}, status: {}", executionId, request.numberOfActions(), response.status());
+        throttleAfterBulk(executionId, isRejected(response));
         if (!response.hasFailures()) {
             return;
         }
@@ -201,6 +253,7 @@ public class BulkIndexComputation extends AbstractComputation implements BulkPro
     @Override
     public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
         log.error("Elasticsearch bulk {} fails, contains {} actions", executionId, request.numberOfActions(), failure);
+        throttleAfterBulk(executionId, true);
         if (!continueOnFailure) {
             abort = true;
         }
@@ -55,6 +55,18 @@ public class IndexAction implements StreamProcessorTopology {
 
     public static final int BULK_FLUSH_INTERVAL_DEFAULT = 10;
 
+    // @since 2023.13
+    public static final String ES_THROTTLE_TARGET_LATENCY_OPTION = "esThrottleTargetLatencyMs";
+
+    // @since 2023.13
+    public static final int ES_THROTTLE_TARGET_LATENCY_DEFAULT = 0;
+
+    // @since 2023.13
+    public static final String ES_THROTTLE_MAX_DELAY_OPTION = "esThrottleMaxDelayMs";
+
+    // @since 2023.13
+    public static final int ES_THROTTLE_MAX_DELAY_DEFAULT = 5_000;
+
     public static final String INDEX_UPDATE_ALIAS_PARAM = "updateAlias";
 
     public static final String REFRESH_INDEX_PARAM = "refresh";
@@ -64,10 +76,15 @@ public class IndexAction implements StreamProcessorTopology {
         int esBulkSize = getOptionAsInteger(options, ES_BULK_SIZE_OPTION, ES_BULK_SIZE_DEFAULT);
         int esBulkActions = getOptionAsInteger(options, ES_BULK_ACTION_OPTION, ES_BULK_ACTION_DEFAULT);
         int esBulkFlushInterval = getOptionAsInteger(options, BULK_FLUSH_INTERVAL_OPTION, BULK_FLUSH_INTERVAL_DEFAULT);
+        int esThrottleTargetLatency = getOptionAsInteger(options, ES_THROTTLE_TARGET_LATENCY_OPTION,
+                ES_THROTTLE_TARGET_LATENCY_DEFAULT);
+        int esThrottleMaxDelay = getOptionAsInteger(options, ES_THROTTLE_MAX_DELAY_OPTION,
+                ES_THROTTLE_MAX_DELAY_DEFAULT);
         return Topology.builder()
                        .addComputation(IndexRequestComputation::new, Arrays.asList(INPUT_1 + ":" + ACTION_FULL_NAME, //
                                OUTPUT_1 + ":" + STATUS_STREAM, OUTPUT_2 + ":" + BulkIndexComputation.NAME))
-                       .addComputation(() -> new BulkIndexComputation(esBulkSize, esBulkActions, esBulkFlushInterval),
+                       .addComputation(() -> new BulkIndexComputation(esBulkSize, esBulkActions, esBulkFlushInterval,
+                               esThrottleTargetLatency, esThrottleMaxDelay),
                                Arrays.asList(INPUT_1 + ":" + BulkIndexComputation.NAME, //
                                        OUTPUT_1 + ":" + STATUS_STREAM))
                        .addComputation(() -> new IndexCompletionComputation(),
@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.elasticsearch.bulk;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Adaptive throttle for the bulk indexing, so that a reindexing can run on a live cluster without saturating it.
+ * <p>
+ * The delay applied before submitting new requests is increased multiplicatively when Elasticsearch rejects requests
+ * or when the bulk latency exceeds the target, and decreased multiplicatively when Elasticsearch keeps up.
+ *
+ * @since 2023.13
+ */
+public class IndexThrottle {
+
+    private static final Logger log = LogManager.getLogger(IndexThrottle.class);
+
+    protected static final long MIN_DELAY_MS = 100;
+
+    protected static final long RESET_DELAY_MS = 10;
+
+    protected final long targetLatencyMs;
+
+    protected final long maxDelayMs;
+
+    protected volatile long delayMs;
+
+    /**
+     * @param targetLatencyMs the bulk latency above which indexing is slowed down, 0 to disable the throttle
+     * @param maxDelayMs the maximum delay to apply
+     */
+    public IndexThrottle(long targetLatencyMs, long maxDelayMs) {
+        this.targetLatencyMs = targetLatencyMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public boolean isEnabled() {
+        return targetLatencyMs > 0;
+    }
+
+    /** Returns the delay in milliseconds to wait before submitting new requests. */
+    public long getDelay() {
+        return delayMs;
+    }
+
+    /**
+     * Adjusts the delay after a bulk request.
+     *
+     * @param latencyMs the time taken by the bulk request
+     * @param rejected {@code true} if Elasticsearch rejected some requests or failed
+     */
+    public void onBulk(long latencyMs, boolean rejected) {
+        if (!isEnabled()) {
+            return;
+        }
+        long previous = delayMs;
+        long delay;
+        if (rejected || latencyMs > targetLatencyMs) {
+            delay = Math.min(maxDelayMs, Math.max(MIN_DELAY_MS, previous * 2));
+        } else {
+            delay = previous / 2;
+            if (delay < RESET_DELAY_MS) {
+                delay = 0;
+            }
+        }
+        delayMs = delay;
+        if (delay != previous) {
+            log.debug("Bulk latency: {}ms, rejected: {}, indexing delay: {}ms -> {}ms", latencyMs, rejected, previous,
+                    delay);
+        }
+    }
+
+}
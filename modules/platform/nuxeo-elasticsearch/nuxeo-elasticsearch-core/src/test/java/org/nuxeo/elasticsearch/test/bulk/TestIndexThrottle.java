@@ -0,0 +1,66 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.elasticsearch.test.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.nuxeo.elasticsearch.bulk.IndexThrottle;
+
+/**
+ * @since 2023.13
+ */
+public class TestIndexThrottle {
+
+    @Test
+    public void testDisabled() {
+        IndexThrottle throttle = new IndexThrottle(0, 5000);
+        assertFalse(throttle.isEnabled());
+        throttle.onBulk(10_000, true);
+        assertEquals(0, throttle.getDelay());
+    }
+
+    @Test
+    public void testAdaptiveDelay() {
+        IndexThrottle throttle = new IndexThrottle(500, 1000);
+        throttle.onBulk(100, false);
+        assertEquals(0, throttle.getDelay());
+
+        // slow bulk or rejections increase the delay up to the max
+        throttle.onBulk(800, false);
+        assertEquals(100, throttle.getDelay());
+        throttle.onBulk(100, true);
+        assertEquals(200, throttle.getDelay());
+        throttle.onBulk(800, false);
+        throttle.onBulk(800, false);
+        assertEquals(800, throttle.getDelay());
+        throttle.onBulk(800, false);
+        assertEquals(1000, throttle.getDelay());
+
+        // fast bulk decrease the delay until no throttling
+        throttle.onBulk(100, false);
+        assertEquals(500, throttle.getDelay());
+        for (int i = 0; i < 6; i++) {
+            throttle.onBulk(100, false);
+        }
+        assertEquals(0, throttle.getDelay());
+    }
+
+}
@@ -90,7 +90,7 @@ public class DirectoryEntryResolver extends AbstractObjectResolver implements Ob
 
     private String separator = null;
 
-    private List<Class<?>> managedClasses = null;
+    private transient List<Class<?>> managedClasses = null;
 
     private String directoryName;
 
@@ -31,9 +31,17 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -71,6 +79,7 @@ import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.model.ComponentContext;
 import org.nuxeo.runtime.model.ComponentInstance;
 import org.nuxeo.runtime.model.DefaultComponent;
+import org.nuxeo.runtime.services.config.ConfigurationService;
 import org.nuxeo.runtime.transaction.TransactionHelper;
 
 public class ImagingComponent extends DefaultComponent implements ImagingService {
@@ -81,10 +90,60 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
 
     public static final String PICTURE_CONVERSIONS_EP = "pictureConversions";
 
+    /**
+     * Property to enable the parallel computation of the picture views, each view being computed from the original
+     * picture.
+     *
+     * @since 2023.13
+     */
+    public static final String PARALLEL_VIEWS_ENABLED_PROPERTY = "nuxeo.picture.views.parallel.enabled";
+
+    /**
+     * Property holding the maximum number of picture conversions running concurrently on this node.
+     *
+     * @since 2023.13
+     */
+    public static final String PARALLEL_VIEWS_MAX_THREADS_PROPERTY = "nuxeo.picture.views.parallel.maxThreads";
+
+    /** @since 2023.13 */
+    public static final int DEFAULT_PARALLEL_VIEWS_MAX_THREADS = 2;
+
     protected Map<String, String> configurationParameters = new HashMap<>();
 
     protected PictureConversionRegistry pictureConversionRegistry = new PictureConversionRegistry();
 
+    /** @since 2023.13 */
+    protected volatile ExecutorService viewsExecutor;
+
+    @Override
+    public void start(ComponentContext context) {
+        ConfigurationService configurationService = Framework.getService(ConfigurationService.class);
+        if (configurationService.isBooleanTrue(PARALLEL_VIEWS_ENABLED_PROPERTY)) {
+            int maxThreads = configurationService.getInteger(PARALLEL_VIEWS_MAX_THREADS_PROPERTY,
+                    DEFAULT_PARALLEL_VIEWS_MAX_THREADS);
+            AtomicInteger count = new AtomicInteger();
+            viewsExecutor = Executors.newFixedThreadPool(Math.max(1, maxThreads), r -> {
+                Thread thread = new Thread(r, "Nuxeo-PictureViews-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            log.debug("Picture views computed in parallel using {} threads", maxThreads);
+        }
+    }
+
+    @Override
+    public void stop(ComponentContext context) throws InterruptedException {
+        if (viewsExecutor != null) {
+            ExecutorService executor = viewsExecutor;
+            // new computations are done sequentially
+            viewsExecutor = null;
+            executor.shutdown();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
     @Override
     public List<PictureConversion> getPictureConversions() {
         return pictureConversionRegistry.getPictureConversions();
@@ -271,13 +330,21 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
     protected PictureView computeView(DocumentModel doc, Blob blob, PictureConversion pictureConversion,
             ImageInfo imageInfo) {
 
-        String title = pictureConversion.getId();
+        Point size = getViewSize(pictureConversion, imageInfo);
 
-        Map<String, Serializable> pictureViewMap = new HashMap<>();
-        pictureViewMap.put(PictureView.FIELD_TITLE, title);
-        pictureViewMap.put(PictureView.FIELD_DESCRIPTION, pictureConversion.getDescription());
-        pictureViewMap.put(PictureView.FIELD_TAG, pictureConversion.getTag());
+        // Use the registered conversion format
+        String conversionFormat = getConfigurationValue(CONVERSION_FORMAT, JPEG_CONVERSATION_FORMAT);
+
+        Blob viewBlob = callPictureConversionChain(doc, blob, pictureConversion, imageInfo, size, conversionFormat);
+        return createPictureView(blob, pictureConversion, viewBlob);
+    }
 
+    /**
+     * Returns the size of the view computed by the given {@code pictureConversion}.
+     *
+     * @since 2023.13
+     */
+    protected Point getViewSize(PictureConversion pictureConversion, ImageInfo imageInfo) {
         Point size = new Point(imageInfo.getWidth(), imageInfo.getHeight());
 
         /*
@@ -287,11 +354,21 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         if (pictureConversion.getMaxSize() != null) {
             size = ImageResizer.scaleToMax(size.x, size.y, pictureConversion.getMaxSize());
         }
+        return size;
+    }
 
-        // Use the registered conversion format
-        String conversionFormat = getConfigurationValue(CONVERSION_FORMAT, JPEG_CONVERSATION_FORMAT);
+    /**
+     * Creates the {@link PictureView} holding the {@code viewBlob} computed from the given {@code blob}.
+     *
+     * @since 2023.13
+     */
+    protected PictureView createPictureView(Blob blob, PictureConversion pictureConversion, Blob viewBlob) {
+        String title = pictureConversion.getId();
 
-        Blob viewBlob = callPictureConversionChain(doc, blob, pictureConversion, imageInfo, size, conversionFormat);
+        Map<String, Serializable> pictureViewMap = new HashMap<>();
+        pictureViewMap.put(PictureView.FIELD_TITLE, title);
+        pictureViewMap.put(PictureView.FIELD_DESCRIPTION, pictureConversion.getDescription());
+        pictureViewMap.put(PictureView.FIELD_TAG, pictureConversion.getTag());
 
         // If the extension of the generated binary is empty, it's fetched from the mimetype
         String extension = FilenameUtils.getExtension(viewBlob.getFilename());
@@ -326,6 +403,29 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
             return wrapBlob(blob);
         }
 
+        DocumentModel pictureDocument = null;
+        if (doc != null) {
+            pictureDocument = doc.getCoreSession().getDocument(doc.getRef());
+            pictureDocument.detach(true);
+        }
+        return runPictureConversionChain(pictureDocument, blob, pictureConversion, imageInfo, size, conversionFormat);
+    }
+
+    /**
+     * Runs the chain of the given {@code pictureConversion}, the {@code pictureDocument} being already detached so that
+     * this can be called from any thread.
+     *
+     * @since 2023.13
+     */
+    protected Blob runPictureConversionChain(DocumentModel pictureDocument, Blob blob,
+            PictureConversion pictureConversion, ImageInfo imageInfo, Point size, String conversionFormat) {
+        String chainId = pictureConversion.getChainId();
+
+        // if the chainId is null just use the same blob (wrapped)
+        if (StringUtils.isBlank(chainId)) {
+            return wrapBlob(blob);
+        }
+
         Properties parameters = new Properties();
         parameters.put(OPTION_RESIZE_WIDTH, String.valueOf(size.x));
         parameters.put(OPTION_RESIZE_HEIGHT, String.valueOf(size.y));
@@ -336,9 +436,7 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         chainParameters.put("parameters", parameters);
 
         try (OperationContext context = new OperationContext()) {
-            if (doc != null) {
-                DocumentModel pictureDocument = doc.getCoreSession().getDocument(doc.getRef());
-                pictureDocument.detach(true);
+            if (pictureDocument != null) {
                 context.put("pictureDocument", pictureDocument);
             }
             context.setInput(blob);
@@ -356,25 +454,118 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
 
     @Override
     public List<PictureView> computeViewsFor(DocumentModel doc, Blob blob, ImageInfo imageInfo, boolean convert) {
-        List<PictureConversion> pictureConversions = getPictureConversions();
-        List<PictureView> pictureViews = new ArrayList<>(pictureConversions.size());
+        return computeViewsFor(doc, blob, imageInfo, convert, view -> {
+        });
+    }
 
-        for (PictureConversion pictureConversion : pictureConversions) {
+    @Override
+    public List<PictureView> computeViewsFor(DocumentModel doc, Blob blob, ImageInfo imageInfo, boolean convert,
+            Consumer<PictureView> consumer) {
+        List<PictureConversion> pictureConversions = new ArrayList<>();
+        for (PictureConversion pictureConversion : getPictureConversions()) {
             if (canApplyPictureConversion(pictureConversion, doc)) {
+                pictureConversions.add(pictureConversion);
+            }
+        }
+        ExecutorService executor = viewsExecutor;
+        if (convert && executor != null && doc != null && imageInfo != null) {
+            return computeViewsInParallel(executor, doc, blob, imageInfo, pictureConversions, consumer);
+        }
+
+        List<PictureView> pictureViews = new ArrayList<>(pictureConversions.size());
+        for (PictureConversion pictureConversion : pictureConversions) {
+            try {
+                PictureView pictureView = computeView(doc, blob, pictureConversion, imageInfo, convert);
+                pictureViews.add(pictureView);
+                consumer.accept(pictureView);
+            } catch (NuxeoException e) {
+                log.warn("Unable to compute view: {} for document: {} exception message: {}",
+                        pictureConversion::getId, doc::toString, e::getMessage);
+                log.debug(e, e);
+            }
+        }
+
+        return pictureViews;
+    }
+
+    /**
+     * Computes the views of the given {@code pictureConversions} concurrently on the given node-wide views executor.
+     * <p>
+     * Each view is computed from the original {@code blob}, so that the views don't accumulate the compression loss
+     * of each other. The conversions are started from the smallest to the largest view and handed to the
+     * {@code consumer} in this order, so that the thumbnail is available first.
+     *
+     * @since 2023.13
+     */
+    protected List<PictureView> computeViewsInParallel(ExecutorService executor, DocumentModel doc, Blob blob,
+            ImageInfo imageInfo, List<PictureConversion> pictureConversions, Consumer<PictureView> consumer) {
+        List<PictureConversion> conversions = new ArrayList<>(pictureConversions);
+        // no max size means the size of the original
+        conversions.sort(
+                Comparator.comparing(PictureConversion::getMaxSize, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        // fetch the document once, the conversions don't run in the thread holding the session
+        DocumentModel pictureDocument = doc.getCoreSession().getDocument(doc.getRef());
+        pictureDocument.detach(true);
+        String conversionFormat = getConfigurationValue(CONVERSION_FORMAT, JPEG_CONVERSATION_FORMAT);
+
+        List<CompletableFuture<PictureView>> futures = new ArrayList<>(conversions.size());
+        for (PictureConversion pictureConversion : conversions) {
+            futures.add(CompletableFuture.supplyAsync(() -> Framework.doPrivileged(
+                    () -> computeDetachedView(pictureDocument, blob, pictureConversion, imageInfo, conversionFormat)),
+                    executor));
+        }
+
+        List<PictureView> pictureViews = new ArrayList<>(conversions.size());
+        try {
+            for (int i = 0; i < conversions.size(); i++) {
+                PictureConversion pictureConversion = conversions.get(i);
                 try {
-                    PictureView pictureView = computeView(doc, blob, pictureConversion, imageInfo, convert);
+                    PictureView pictureView = futures.get(i).join();
                     pictureViews.add(pictureView);
-                } catch (NuxeoException e) {
+                    consumer.accept(pictureView);
+                } catch (CompletionException e) {
+                    if (!(e.getCause() instanceof NuxeoException)) {
+                        throw new NuxeoException(e.getCause());
+                    }
                     log.warn("Unable to compute view: {} for document: {} exception message: {}",
-                            pictureConversion::getId, doc::toString, e::getMessage);
+                            pictureConversion::getId, doc::toString, () -> e.getCause().getMessage());
                     log.debug(e, e);
                 }
             }
+        } finally {
+            // on failure don't start the remaining conversions for nothing
+            futures.forEach(future -> future.cancel(true));
         }
 
+        // keep the order of the registered conversions
+        pictureViews.sort(Comparator.comparingInt(view -> indexOf(pictureConversions, view.getTitle())));
         return pictureViews;
     }
 
+    /**
+     * Computes the view of the given {@code pictureConversion} from the original {@code blob}, the
+     * {@code pictureDocument} being already detached so that this can be called from any thread.
+     *
+     * @since 2023.13
+     */
+    protected PictureView computeDetachedView(DocumentModel pictureDocument, Blob blob,
+            PictureConversion pictureConversion, ImageInfo imageInfo, String conversionFormat) {
+        Point size = getViewSize(pictureConversion, imageInfo);
+        Blob viewBlob = runPictureConversionChain(pictureDocument, blob, pictureConversion, imageInfo, size,
+                conversionFormat);
+        return createPictureView(blob, pictureConversion, viewBlob);
+    }
+
+    protected static int indexOf(List<PictureConversion> pictureConversions, String id) {
+        for (int i = 0; i < pictureConversions.size(); i++) {
+            if (pictureConversions.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        return pictureConversions.size();
+    }
+
     protected boolean canApplyPictureConversion(PictureConversion pictureConversion, DocumentModel doc) {
         ActionManager actionService = Framework.getService(ActionManager.class);
         return actionService.checkFilters(pictureConversion.getFilterIds(), createActionContext(doc));
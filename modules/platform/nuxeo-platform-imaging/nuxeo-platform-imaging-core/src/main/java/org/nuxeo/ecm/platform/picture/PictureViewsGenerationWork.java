@@ -97,7 +97,9 @@ public class PictureViewsGenerationWork extends AbstractWork {
 
         PictureViewsHelper pictureViewsHelper = new PictureViewsHelper();
         pictureViewsHelper.newTransaction();
-        pictureViewsHelper.computePictureViews(session, docId, xpath, this::setStatus);
+        // commit after each view saved progressively, to make it visible right away
+        pictureViewsHelper.computePictureViews(session, docId, xpath, this::setStatus,
+                pictureViewsHelper::newTransaction);
     }
 
     /**
@@ -71,6 +71,14 @@ public class PictureViewsHelper {
 
     public static final String NOTHING_TO_PROCESS_MESSAGE = "Nothing to process";
 
+    /**
+     * Property to save the document each time a picture view is computed, so that the first views, usually the
+     * smallest ones when they are computed in parallel, are available before all the views are computed.
+     *
+     * @since 2023.13
+     */
+    public static final String PICTURE_VIEWS_PROGRESSIVE_SAVE_PROPERTY = "nuxeo.picture.views.progressive.save.enabled";
+
     protected Integer transactionTimeout;
 
     /**
@@ -79,6 +87,21 @@ public class PictureViewsHelper {
      * Uses the given {@code statusSetter} to eventually set a status at the different stages of the computation.
      */
     public void computePictureViews(CoreSession session, String id, String xpath, Consumer<String> statusSetter) {
+        computePictureViews(session, id, xpath, statusSetter, () -> {
+        });
+    }
+
+    /**
+     * Computes the picture views of the document with the given {@code id} and property with the given {@code xpath}.
+     * <p>
+     * Uses the given {@code statusSetter} to eventually set a status at the different stages of the computation. When
+     * progressive save is enabled, the document is saved after each computed view and {@code viewSaved} is called, so
+     * that the caller owning the transaction can commit it to make the view visible right away.
+     *
+     * @since 2023.13
+     */
+    public void computePictureViews(CoreSession session, String id, String xpath, Consumer<String> statusSetter,
+            Runnable viewSaved) {
         if (!session.exists(new IdRef(id))) {
             log.debug("Doc id doesn't exist: {}", id);
             statusSetter.accept(NOTHING_TO_PROCESS_MESSAGE);
@@ -105,7 +128,14 @@ public class PictureViewsHelper {
         try {
             PictureResourceAdapter picture = workingDocument.getAdapter(PictureResourceAdapter.class);
             log.debug("Fill picture views for doc: {}", workingDocument);
-            picture.fillPictureViews(blob, blob.getFilename(), title, null);
+            if (isProgressiveSaveEnabled()) {
+                picture.fillPictureViewsProgressively(blob, blob.getFilename(), title, () -> {
+                    saveDocument(session, workingDocument);
+                    viewSaved.run();
+                });
+            } else {
+                picture.fillPictureViews(blob, blob.getFilename(), title, null);
+            }
         } catch (DocumentNotFoundException e) {
             // a parent of the document may have been deleted.
             statusSetter.accept(NOTHING_TO_PROCESS_MESSAGE);
@@ -120,20 +150,34 @@ public class PictureViewsHelper {
             return;
         }
         statusSetter.accept("Saving");
-        if (workingDocument.isVersion()) {
-            workingDocument.putContextData(ALLOW_VERSION_WRITE, Boolean.TRUE);
-        }
-        workingDocument.putContextData("disableNotificationService", Boolean.TRUE);
-        workingDocument.putContextData(PARAM_DISABLE_AUDIT, Boolean.TRUE);
-        workingDocument.putContextData(DISABLE_AUTO_CHECKOUT, Boolean.TRUE);
-        workingDocument.putContextData(DISABLE_PICTURE_VIEWS_GENERATION_LISTENER, Boolean.TRUE);
-        workingDocument.putContextData(DISABLE_DUBLINCORE_LISTENER, Boolean.TRUE);
-        workingDocument.putContextData(DISABLE_AUTOMATIC_VERSIONING, Boolean.TRUE);
-        session.saveDocument(workingDocument);
+        saveDocument(session, workingDocument);
 
         statusSetter.accept("Done");
     }
 
+    /**
+     * Saves the picture views of the given document without triggering the usual listeners.
+     *
+     * @since 2023.13
+     */
+    protected void saveDocument(CoreSession session, DocumentModel doc) {
+        if (doc.isVersion()) {
+            doc.putContextData(ALLOW_VERSION_WRITE, Boolean.TRUE);
+        }
+        doc.putContextData("disableNotificationService", Boolean.TRUE);
+        doc.putContextData(PARAM_DISABLE_AUDIT, Boolean.TRUE);
+        doc.putContextData(DISABLE_AUTO_CHECKOUT, Boolean.TRUE);
+        doc.putContextData(DISABLE_PICTURE_VIEWS_GENERATION_LISTENER, Boolean.TRUE);
+        doc.putContextData(DISABLE_DUBLINCORE_LISTENER, Boolean.TRUE);
+        doc.putContextData(DISABLE_AUTOMATIC_VERSIONING, Boolean.TRUE);
+        session.saveDocument(doc);
+    }
+
+    /** @since 2023.13 */
+    public boolean isProgressiveSaveEnabled() {
+        return Framework.getService(ConfigurationService.class).isBooleanTrue(PICTURE_VIEWS_PROGRESSIVE_SAVE_PROPERTY);
+    }
+
     /**
      * Commits and starts a new transaction with a custom timeout.
      */
@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.DocumentModel;
@@ -199,4 +200,20 @@ public interface ImagingService {
      */
     List<PictureView> computeViewsFor(DocumentModel doc, Blob blob, ImageInfo imageInfo, boolean convert) throws IOException;
 
+    /**
+     * Compute all the registered {@link PictureConversion} for the given document, as
+     * {@link #computeViewsFor(DocumentModel, Blob, ImageInfo, boolean)} does, passing each computed {@link PictureView}
+     * to the given {@code consumer} as soon as it is available.
+     * <p>
+     * The {@code consumer} is always called from the calling thread.
+     *
+     * @since 2023.13
+     */
+    default List<PictureView> computeViewsFor(DocumentModel doc, Blob blob, ImageInfo imageInfo, boolean convert,
+            Consumer<PictureView> consumer) throws IOException {
+        List<PictureView> pictureViews = computeViewsFor(doc, blob, imageInfo, convert);
+        pictureViews.forEach(consumer);
+        return pictureViews;
+    }
+
 }
@@ -102,6 +102,9 @@ public abstract class AbstractPictureAdapter implements PictureResourceAdapter {
     /** @since 5.9.5 */
     protected ImageInfo imageInfo;
 
+    /** @since 2023.13 */
+    protected Runnable pictureViewsListener;
+
     private CoreSession session;
 
     @Override
@@ -161,8 +164,15 @@ public abstract class AbstractPictureAdapter implements PictureResourceAdapter {
                     TransactionHelper.commitOrRollbackTransaction();
                 }
 
+                List<PictureView> computedViews = new ArrayList<>();
                 List<PictureView> pictureViews = getImagingService().computeViewsFor(doc, fileContent, getImageInfo(),
-                        true);
+                        true, view -> {
+                            if (pictureViewsListener != null) {
+                                computedViews.add(view);
+                                addPictureViews(computedViews, true);
+                                pictureViewsListener.run();
+                            }
+                        });
                 addPictureViews(pictureViews, true);
             } finally {
                 if (outsideTx && txWasActive && !TransactionHelper.isTransactionActiveOrMarkedRollback()) {
@@ -215,6 +225,17 @@ public abstract class AbstractPictureAdapter implements PictureResourceAdapter {
         return fillPictureViews(blob, filename, title, null);
     }
 
+    @Override
+    public boolean fillPictureViewsProgressively(Blob blob, String filename, String title, Runnable listener)
+            throws IOException {
+        pictureViewsListener = listener;
+        try {
+            return fillPictureViews(blob, filename, title);
+        } finally {
+            pictureViewsListener = null;
+        }
+    }
+
     /**
      * Returns the picture views attached to the document if present, an empty list otherwise.
      *
@@ -67,6 +67,19 @@ public interface PictureResourceAdapter {
      */
     boolean fillPictureViews(Blob blob, String filename, String title) throws IOException;
 
+    /**
+     * Fill this Picture views like {@link #fillPictureViews(Blob, String, String)} does, calling the given
+     * {@code listener} each time a newly computed view has been added to the document, so that the document can be
+     * saved before all the views are computed.
+     *
+     * @since 2023.13
+     */
+    default boolean fillPictureViewsProgressively(Blob blob, String filename, String title, Runnable listener)
+            throws IOException {
+        // default implementation does not notify of the intermediate views
+        return fillPictureViews(blob, filename, title);
+    }
+
     /**
      * Pre-fill this Picture views using the given {@code pictureConversions} and {@code blob}.
      * <p>
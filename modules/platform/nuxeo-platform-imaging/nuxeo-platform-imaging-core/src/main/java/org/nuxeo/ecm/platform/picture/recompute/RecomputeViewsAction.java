@@ -106,7 +106,9 @@ public class RecomputeViewsAction implements StreamProcessorTopology {
             log.debug("Compute action: {} for doc ids: {}", ACTION_NAME, ids);
             for (String docId : ids) {
                 pictureViewsHelper.newTransaction();
-                pictureViewsHelper.computePictureViews(session, docId, xpath, this::setLastPictureViewsStatus);
+                // commit after each view saved progressively, to make it visible right away
+                pictureViewsHelper.computePictureViews(session, docId, xpath, this::setLastPictureViewsStatus,
+                        pictureViewsHelper::newTransaction);
                 if (!NOTHING_TO_PROCESS_MESSAGE.equals(getLastPictureViewsStatus())) {
                     fireEvent(session, session.getDocument(new IdRef(docId)), PICTURE_VIEWS_GENERATION_DONE_EVENT);
                 }
@@ -0,0 +1,59 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.picture.core.test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.nuxeo.ecm.automation.core.annotations.Operation;
+import org.nuxeo.ecm.automation.core.annotations.OperationMethod;
+import org.nuxeo.ecm.core.api.Blob;
+
+/**
+ * Returns its input after a short delay, recording how many of these operations run at the same time.
+ *
+ * @since 2023.13
+ */
+@Operation(id = ConcurrencyRecorderOperation.ID)
+public class ConcurrencyRecorderOperation {
+
+    public static final String ID = "Test.ConcurrencyRecorder";
+
+    protected static final AtomicInteger RUNNING = new AtomicInteger();
+
+    protected static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+
+    public static void reset() {
+        MAX_RUNNING.set(0);
+    }
+
+    public static int getMaxRunning() {
+        return MAX_RUNNING.get();
+    }
+
+    @OperationMethod
+    public Blob run(Blob blob) throws InterruptedException {
+        MAX_RUNNING.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(200);
+        } finally {
+            RUNNING.decrementAndGet();
+        }
+        return blob;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.picture.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.transaction.Synchronization;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.common.utils.FileUtils;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.platform.picture.PictureViewsHelper;
+import org.nuxeo.ecm.platform.picture.api.ImageInfo;
+import org.nuxeo.ecm.platform.picture.api.ImagingService;
+import org.nuxeo.ecm.platform.picture.api.PictureView;
+import org.nuxeo.ecm.platform.picture.core.ImagingFeature;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Tests the parallel computation and the progressive save of the picture views.
+ *
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(ImagingFeature.class)
+@Deploy("org.nuxeo.ecm.platform.picture.core.tests:OSGI-INF/imaging-parallel-views-contrib.xml")
+public class TestParallelPictureViews {
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected TransactionalFeature txFeature;
+
+    @Inject
+    protected ImagingService imagingService;
+
+    @Test
+    public void testViewsComputedConcurrentlySmallestFirst() throws IOException {
+        DocumentModel doc = createPicture();
+        Blob blob = (Blob) doc.getPropertyValue("file:content");
+        ImageInfo imageInfo = imagingService.getImageInfo(blob);
+        assertNotNull(imageInfo);
+        ConcurrencyRecorderOperation.reset();
+
+        Thread thread = Thread.currentThread();
+        List<String> computed = new ArrayList<>();
+        List<PictureView> views = imagingService.computeViewsFor(doc, blob, imageInfo, true, view -> {
+            // views are handed to the calling thread
+            assertSame(thread, Thread.currentThread());
+            computed.add(view.getTitle());
+        });
+
+        // the resizes overlap
+        assertEquals(2, ConcurrencyRecorderOperation.getMaxRunning());
+        // the thumbnail is handed first, then the larger views
+        assertEquals(List.of("Thumbnail", "Small", "Medium", "FullHD", "OriginalJpeg"), computed);
+        // returned in the order of the registered conversions
+        assertEquals(List.of("Thumbnail", "Small", "Medium", "FullHD", "OriginalJpeg"),
+                views.stream().map(PictureView::getTitle).toList());
+        for (int i = 1; i < views.size(); i++) {
+            assertTrue(views.get(i - 1).getWidth() <= views.get(i).getWidth());
+        }
+    }
+
+    @Test
+    public void testProgressiveSaveLeavesTransactionToCaller() throws IOException {
+        DocumentModel doc = createPicture();
+
+        AtomicBoolean completed = new AtomicBoolean();
+        TransactionHelper.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // nothing to do
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                completed.set(true);
+            }
+        });
+        AtomicInteger saved = new AtomicInteger();
+        PictureViewsHelper pictureViewsHelper = new PictureViewsHelper();
+        pictureViewsHelper.computePictureViews(session, doc.getId(), "file:content", status -> {
+        }, saved::incrementAndGet);
+
+        // the document was saved after each view, but the transaction wasn't committed by the helper
+        assertEquals(5, saved.get());
+        assertFalse(completed.get());
+        assertTrue(TransactionHelper.isTransactionActive());
+    }
+
+    protected DocumentModel createPicture() throws IOException {
+        DocumentModel doc = session.createDocumentModel("/", "pictureDoc", "Picture");
+        Blob blob = Blobs.createBlob(FileUtils.getResourceFileFromContext("images/test.jpg"), "image/jpeg",
+                StandardCharsets.UTF_8.name(), "test.jpg");
+        doc.setPropertyValue("file:content", (Serializable) blob);
+        doc = session.createDocument(doc);
+        // wait for picture views generation
+        txFeature.nextTransaction();
+        return session.getDocument(doc.getRef());
+    }
+
+}
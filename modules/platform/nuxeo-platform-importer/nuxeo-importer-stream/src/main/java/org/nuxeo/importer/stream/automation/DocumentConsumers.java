@@ -32,6 +32,7 @@ import org.nuxeo.ecm.automation.core.annotations.Operation;
 import org.nuxeo.ecm.automation.core.annotations.OperationMethod;
 import org.nuxeo.ecm.automation.core.annotations.Param;
 import org.nuxeo.importer.stream.StreamImporters;
+import org.nuxeo.importer.stream.consumer.BulkDocumentMessageConsumerFactory;
 import org.nuxeo.importer.stream.consumer.DocumentConsumerPolicy;
 import org.nuxeo.importer.stream.consumer.DocumentConsumerPool;
 import org.nuxeo.importer.stream.consumer.DocumentMessageConsumerFactory;
@@ -39,6 +40,7 @@ import org.nuxeo.importer.stream.message.DocumentMessage;
 import org.nuxeo.lib.stream.codec.Codec;
 import org.nuxeo.lib.stream.log.LogManager;
 import org.nuxeo.lib.stream.pattern.consumer.BatchPolicy;
+import org.nuxeo.lib.stream.pattern.consumer.ConsumerFactory;
 import org.nuxeo.lib.stream.pattern.consumer.ConsumerPolicy;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.stream.StreamService;
@@ -100,6 +102,14 @@ public class DocumentConsumers {
     @Param(name = "waitMessageTimeoutSeconds", required = false)
     protected Integer waitMessageTimeoutSeconds = 20;
 
+    /** @since 2023.13 */
+    @Param(name = "bulkCreate", required = false)
+    protected Boolean bulkCreate = false;
+
+    /** @since 2023.13 */
+    @Param(name = "pendingTimeoutSeconds", required = false)
+    protected Integer pendingTimeoutSeconds = 60;
+
     @OperationMethod
     public void run() throws OperationException {
         RandomBlobProducers.checkAccess(ctx);
@@ -130,7 +140,7 @@ public class DocumentConsumers {
         LogManager manager = Framework.getService(StreamService.class).getLogManager();
         Codec<DocumentMessage> codec = StreamImporters.getDocCodec();
         try (DocumentConsumerPool<DocumentMessage> consumers = new DocumentConsumerPool<>(logName, manager, codec,
-                new DocumentMessageConsumerFactory(repositoryName, rootFolder), consumerPolicy)) {
+                getConsumerFactory(), consumerPolicy)) {
             consumers.start().get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -142,6 +152,14 @@ public class DocumentConsumers {
         }
     }
 
+    protected ConsumerFactory<DocumentMessage> getConsumerFactory() {
+        if (Boolean.TRUE.equals(bulkCreate)) {
+            return new BulkDocumentMessageConsumerFactory(repositoryName, rootFolder,
+                    Duration.ofSeconds(pendingTimeoutSeconds));
+        }
+        return new DocumentMessageConsumerFactory(repositoryName, rootFolder);
+    }
+
     protected short getNbThreads() {
         if (nbThreads != null) {
             return nbThreads.shortValue();
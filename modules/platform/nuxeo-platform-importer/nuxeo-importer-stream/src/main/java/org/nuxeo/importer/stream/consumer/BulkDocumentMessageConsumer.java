@@ -0,0 +1,216 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.importer.stream.consumer;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.common.utils.Path;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.PartialList;
+import org.nuxeo.ecm.core.api.PathRef;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.importer.stream.message.DocumentMessage;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Consumes DocumentMessage and produce Nuxeo documents using bulk creation.
+ * <p>
+ * Messages of a batch are grouped by parent and each group is created with a single call to
+ * {@link org.nuxeo.ecm.core.api.CoreSession#createDocument(DocumentModel[])}. Children received before their parent,
+ * either later in the batch or imported by another consumer, are kept pending until the parent exists. While waiting,
+ * the documents already created are committed so that consumers waiting on each other can make progress.
+ * <p>
+ * The offset of the stream committed after each batch acts as a watermark: all the messages before it are imported.
+ * Messages after it may have been partially imported by an intermediate commit, on restart the documents that already
+ * exist are skipped, so that an interrupted import resumes where it stopped without creating duplicates.
+ *
+ * @since 2023.13
+ */
+public class BulkDocumentMessageConsumer extends DocumentMessageConsumer {
+
+    private static final Logger log = LogManager.getLogger(BulkDocumentMessageConsumer.class);
+
+    public static final Duration DEFAULT_PENDING_TIMEOUT = Duration.ofSeconds(60);
+
+    protected static final long PENDING_POLL_MS = 200;
+
+    protected static final int MAX_KNOWN_PARENTS = 10_000;
+
+    protected final Duration pendingTimeout;
+
+    protected final List<DocumentMessage> messages = new ArrayList<>();
+
+    /** Paths of the parents known to exist in the repository. */
+    protected final Set<String> knownParents = new HashSet<>();
+
+    /** Paths of the folderish documents created by the current transaction. */
+    protected final Set<String> createdPaths = new HashSet<>();
+
+    protected long skipped;
+
+    public BulkDocumentMessageConsumer(String consumerId, String repositoryName, String rootPath,
+            Duration pendingTimeout) {
+        super(consumerId, repositoryName, rootPath);
+        this.pendingTimeout = pendingTimeout;
+    }
+
+    @Override
+    public void accept(DocumentMessage message) {
+        messages.add(message);
+    }
+
+    @Override
+    public void commit() {
+        createDocuments();
+        super.commit();
+        rememberCreatedPaths();
+    }
+
+    @Override
+    public void rollback() {
+        messages.clear();
+        createdPaths.clear();
+        super.rollback();
+    }
+
+    protected void createDocuments() {
+        // group the messages by parent, keeping the order of arrival
+        Map<String, List<DocumentMessage>> pending = new LinkedHashMap<>();
+        for (DocumentMessage message : messages) {
+            String parentPath = new Path(rootPath).append(message.getParentPath()).toString();
+            pending.computeIfAbsent(parentPath, k -> new ArrayList<>()).add(message);
+        }
+        messages.clear();
+        long deadline = System.currentTimeMillis() + pendingTimeout.toMillis();
+        while (!pending.isEmpty()) {
+            boolean progress = false;
+            Iterator<Map.Entry<String, List<DocumentMessage>>> it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, List<DocumentMessage>> entry = it.next();
+                if (parentExists(entry.getKey())) {
+                    createChildren(entry.getKey(), entry.getValue());
+                    it.remove();
+                    progress = true;
+                }
+            }
+            if (!progress) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new NuxeoException("Parent documents not found after " + pendingTimeout + ": "
+                            + pending.keySet());
+                }
+                waitForParents(pending.size());
+            }
+        }
+    }
+
+    protected boolean parentExists(String parentPath) {
+        if (knownParents.contains(parentPath) || createdPaths.contains(parentPath)) {
+            return true;
+        }
+        if (!session.exists(new PathRef(parentPath))) {
+            return false;
+        }
+        if (knownParents.size() >= MAX_KNOWN_PARENTS) {
+            knownParents.clear();
+        }
+        knownParents.add(parentPath);
+        return true;
+    }
+
+    protected void createChildren(String parentPath, List<DocumentMessage> children) {
+        Set<String> existingNames = createdPaths.contains(parentPath) ? Set.of()
+                : getExistingNames(parentPath, children);
+        List<DocumentModel> docs = new ArrayList<>(children.size());
+        for (DocumentMessage message : children) {
+            if (existingNames.contains(message.getName())) {
+                // already imported before an interruption
+                skipped++;
+                continue;
+            }
+            docs.add(createDocumentModel(message));
+        }
+        if (docs.isEmpty()) {
+            return;
+        }
+        for (DocumentModel doc : session.createDocument(docs.toArray(new DocumentModel[0]))) {
+            if (doc.isFolder()) {
+                createdPaths.add(doc.getPathAsString());
+            }
+        }
+        log.trace("Created {} documents in: {}", docs::size, () -> parentPath);
+    }
+
+    protected Set<String> getExistingNames(String parentPath, List<DocumentMessage> children) {
+        String names = children.stream()
+                               .map(message -> NXQL.escapeString(message.getName()))
+                               .collect(Collectors.joining(", "));
+        String parentId = session.getDocument(new PathRef(parentPath)).getId();
+        String query = String.format("SELECT ecm:name FROM Document WHERE ecm:parentId = %s AND ecm:name IN (%s)",
+                NXQL.escapeString(parentId), names);
+        PartialList<Map<String, Serializable>> projection = session.queryProjection(query, 0, 0);
+        return projection.stream().map(map -> (String) map.get(NXQL.ECM_NAME)).collect(Collectors.toSet());
+    }
+
+    /**
+     * Commits the documents created so far, so that they are visible to the other consumers, and waits for the
+     * missing parents to be imported.
+     */
+    protected void waitForParents(int nbPending) {
+        log.debug("Waiting for the parents of {} pending groups", nbPending);
+        session.save();
+        TransactionHelper.commitOrRollbackTransaction();
+        rememberCreatedPaths();
+        TransactionHelper.startTransaction();
+        try {
+            Thread.sleep(PENDING_POLL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NuxeoException(e);
+        }
+    }
+
+    protected void rememberCreatedPaths() {
+        if (knownParents.size() + createdPaths.size() >= MAX_KNOWN_PARENTS) {
+            knownParents.clear();
+        }
+        knownParents.addAll(createdPaths);
+        createdPaths.clear();
+    }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (skipped > 0) {
+            log.info("Skipped {} already imported documents", skipped);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.importer.stream.consumer;
+
+import java.time.Duration;
+
+import org.nuxeo.importer.stream.message.DocumentMessage;
+import org.nuxeo.lib.stream.pattern.consumer.Consumer;
+import org.nuxeo.lib.stream.pattern.consumer.ConsumerFactory;
+
+/**
+ * @since 2023.13
+ */
+public class BulkDocumentMessageConsumerFactory implements ConsumerFactory<DocumentMessage> {
+    protected final String repositoryName;
+
+    protected final String rootPath;
+
+    protected final Duration pendingTimeout;
+
+    public BulkDocumentMessageConsumerFactory(String repositoryName, String rootPath) {
+        this(repositoryName, rootPath, BulkDocumentMessageConsumer.DEFAULT_PENDING_TIMEOUT);
+    }
+
+    public BulkDocumentMessageConsumerFactory(String repositoryName, String rootPath, Duration pendingTimeout) {
+        this.repositoryName = repositoryName;
+        this.rootPath = rootPath;
+        this.pendingTimeout = pendingTimeout;
+    }
+
+    @Override
+    public Consumer<DocumentMessage> createConsumer(String consumerId) {
+        return new BulkDocumentMessageConsumer(consumerId, repositoryName, rootPath, pendingTimeout);
+    }
+}
@@ -73,6 +73,16 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
 
     @Override
     public void accept(DocumentMessage message) {
+        DocumentModel doc = createDocumentModel(message);
+        doc = session.createDocument(doc);
+    }
+
+    /**
+     * Creates the document model to save for the given message.
+     *
+     * @since 2023.13
+     */
+    protected DocumentModel createDocumentModel(DocumentMessage message) {
         DocumentModel doc = session.createDocumentModel(rootPath + message.getParentPath(), message.getName(),
                 message.getType());
         doc.putContextData(CoreSession.SKIP_DESTINATION_CHECK_ON_CREATE, true);
@@ -84,7 +94,7 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
         if (props != null && !props.isEmpty()) {
             setDocumentProperties(doc, props);
         }
-        doc = session.createDocument(doc);
+        return doc;
     }
 
     protected Blob getBlob(DocumentMessage message) {
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +44,7 @@ import org.nuxeo.ecm.core.work.api.WorkManager;
 import org.nuxeo.importer.stream.StreamImporters;
 import org.nuxeo.importer.stream.consumer.BlobInfoWriter;
 import org.nuxeo.importer.stream.consumer.BlobMessageConsumerFactory;
+import org.nuxeo.importer.stream.consumer.BulkDocumentMessageConsumerFactory;
 import org.nuxeo.importer.stream.consumer.DocumentMessageConsumerFactory;
 import org.nuxeo.importer.stream.consumer.LogBlobInfoWriter;
 import org.nuxeo.importer.stream.message.BlobInfoMessage;
@@ -127,6 +129,49 @@ public class TestDocumentImport {
         assertEquals(NB_PRODUCERS * NB_DOCUMENTS, ret2.stream().mapToLong(r -> r.committed).sum());
     }
 
+    @Test
+    public void twoStepsBulkImport() throws Exception {
+        final int NB_QUEUE = 5;
+        final short NB_PRODUCERS = 5;
+        final int NB_DOCUMENTS = 2 * 100;
+        final Name LOG_DOC = Name.ofUrn("import/twoStepsBulk-doc");
+        streamsToClean.add(LOG_DOC);
+
+        Codec<DocumentMessage> docCodec = StreamImporters.getDocCodec();
+        // 1. generate documents with blobs
+        getLogManager().createIfNotExists(LOG_DOC, NB_QUEUE);
+        ProducerPool<DocumentMessage> producers = new ProducerPool<>(LOG_DOC.getUrn(), getLogManager(), docCodec,
+                new RandomDocumentMessageProducerFactory(NB_DOCUMENTS, "en_US", 2), NB_PRODUCERS);
+        List<ProducerStatus> ret = producers.start().get();
+        assertEquals(NB_PRODUCERS, ret.size());
+
+        // 2. import documents grouped by parent
+        DocumentModel root = session.getRootDocument();
+        ConsumerFactory<DocumentMessage> docFactory = new BulkDocumentMessageConsumerFactory(
+                root.getRepositoryName(), root.getPathAsString());
+        ConsumerPool<DocumentMessage> consumers = new ConsumerPool<>(LOG_DOC.getUrn(), getLogManager(), docCodec,
+                docFactory, ConsumerPolicy.BOUNDED);
+        List<ConsumerStatus> ret2 = consumers.start().get();
+        assertEquals(NB_QUEUE, ret2.size());
+        assertEquals(NB_PRODUCERS * NB_DOCUMENTS, ret2.stream().mapToLong(r -> r.committed).sum());
+
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+        assertEquals(NB_PRODUCERS * NB_DOCUMENTS, session.query("SELECT * FROM Document").totalSize());
+
+        // 3. replay the whole stream as after an interruption, nothing is created twice
+        ConsumerPolicy replayPolicy = ConsumerPolicy.builder()
+                                                    .waitMessageTimeout(Duration.ofSeconds(5))
+                                                    .startOffset(ConsumerPolicy.StartOffset.BEGIN)
+                                                    .build();
+        consumers = new ConsumerPool<>(LOG_DOC.getUrn(), getLogManager(), docCodec, docFactory, replayPolicy);
+        consumers.start().get();
+
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+        assertEquals(NB_PRODUCERS * NB_DOCUMENTS, session.query("SELECT * FROM Document").totalSize());
+    }
+
     @Test
     public void fourStepsImport() throws Exception {
         final int NB_QUEUE = 5;
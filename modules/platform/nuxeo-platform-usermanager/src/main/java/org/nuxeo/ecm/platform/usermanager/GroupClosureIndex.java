@@ -0,0 +1,272 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.NuxeoGroup;
+
+/**
+ * In-memory index of the group membership graph, used to resolve the transitive closure of groups without hitting
+ * the group directory for each group.
+ * <p>
+ * The direct parent and member groups of each group are read once from the directory and memoized, the ancestor and
+ * descendant closures are then computed from these edges and memoized as well. When a group changes, only the edges
+ * of this group and of its neighbours are dropped, along with the closures going through them, everything being read
+ * again lazily on next access.
+ *
+ * @since 2023.13
+ */
+public class GroupClosureIndex {
+
+    private static final Logger log = LogManager.getLogger(GroupClosureIndex.class);
+
+    protected static final GroupNode MISSING = new GroupNode(null, List.of(), List.of());
+
+    protected final Function<String, NuxeoGroup> groupLoader;
+
+    protected final long maxAgeMillis;
+
+    protected final Map<String, GroupNode> nodes = new ConcurrentHashMap<>();
+
+    protected final Map<String, List<String>> ancestors = new ConcurrentHashMap<>();
+
+    protected final Map<String, List<String>> descendants = new ConcurrentHashMap<>();
+
+    /** The names used as keys in the maps above, by lower case name, as groups may be requested with another case. */
+    protected final Map<String, Set<String>> aliases = new ConcurrentHashMap<>();
+
+    protected volatile long expiresAt;
+
+    /**
+     * @param groupLoader the function reading a group from the directory, returning {@code null} if it doesn't exist
+     * @param maxAgeMillis the delay after which the whole index is read again, to catch up with the changes not done
+     *            through the user manager, or {@code 0} to never expire
+     */
+    public GroupClosureIndex(Function<String, NuxeoGroup> groupLoader, long maxAgeMillis) {
+        this.groupLoader = groupLoader;
+        this.maxAgeMillis = maxAgeMillis;
+        resetExpiration();
+    }
+
+    /**
+     * Gets the given group as stored in the index, or {@code null} if it doesn't exist.
+     */
+    public GroupNode getGroup(String groupName) {
+        checkExpiration();
+        GroupNode node = getNode(groupName);
+        return node == MISSING ? null : node;
+    }
+
+    /**
+     * Gets the names of all the ancestor groups of the given group, closest first.
+     */
+    public List<String> getAncestorGroups(String groupName) {
+        checkExpiration();
+        List<String> result = ancestors.get(groupName);
+        if (result == null) {
+            result = computeClosure(groupName, GroupNode::getParentGroups);
+            ancestors.put(addAlias(groupName), result);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the names of all the descendant groups of the given group, closest first.
+     */
+    public List<String> getDescendantGroups(String groupName) {
+        checkExpiration();
+        List<String> result = descendants.get(groupName);
+        if (result == null) {
+            result = computeClosure(groupName, GroupNode::getMemberGroups);
+            descendants.put(addAlias(groupName), result);
+        }
+        return result;
+    }
+
+    /**
+     * Invalidates the given group, after it has been created, modified or deleted, along with the closures going
+     * through it. Nothing is read from the directory here, the group is read again on next access.
+     *
+     * @param relatedGroups the parent and member groups of the group after the change, which are not known to the
+     *            index yet, or {@code null} if unknown in which case the whole index is invalidated
+     */
+    public void invalidate(String groupName, Collection<String> relatedGroups) {
+        if (relatedGroups == null) {
+            invalidateAll();
+            return;
+        }
+        // the edges on both sides of the old and new relations of the group
+        Set<String> stale = new LinkedHashSet<>();
+        stale.add(groupName);
+        stale.addAll(getCachedRelations(groupName, GroupNode::getParentGroups));
+        stale.addAll(getCachedRelations(groupName, GroupNode::getMemberGroups));
+        stale.addAll(relatedGroups);
+        // the ancestors of the stale groups and of their descendants go through these edges, and conversely
+        Set<String> staleAncestors = new HashSet<>(stale);
+        Set<String> staleDescendants = new HashSet<>(stale);
+        for (String name : stale) {
+            staleAncestors.addAll(computeCachedClosure(name, GroupNode::getMemberGroups));
+            staleDescendants.addAll(computeCachedClosure(name, GroupNode::getParentGroups));
+        }
+        stale.forEach(name -> remove(nodes, name));
+        staleAncestors.forEach(name -> remove(ancestors, name));
+        staleDescendants.forEach(name -> remove(descendants, name));
+        log.debug("Invalidated group: {} and its neighbours: {}", groupName, stale);
+    }
+
+    /**
+     * Invalidates the whole index.
+     */
+    public void invalidateAll() {
+        nodes.clear();
+        ancestors.clear();
+        descendants.clear();
+        aliases.clear();
+        resetExpiration();
+    }
+
+    protected GroupNode getNode(String groupName) {
+        GroupNode node = nodes.get(groupName);
+        if (node == null) {
+            NuxeoGroup group = groupLoader.apply(groupName);
+            node = group == null ? MISSING
+                    : new GroupNode(group.getName(), copyOf(group.getParentGroups()), copyOf(group.getMemberGroups()));
+            nodes.put(addAlias(groupName), node);
+        }
+        return node;
+    }
+
+    protected String addAlias(String groupName) {
+        aliases.computeIfAbsent(groupName.toLowerCase(Locale.ROOT), k -> ConcurrentHashMap.newKeySet()).add(groupName);
+        return groupName;
+    }
+
+    protected void remove(Map<String, ?> map, String groupName) {
+        aliases.getOrDefault(groupName.toLowerCase(Locale.ROOT), Set.of()).forEach(map::remove);
+    }
+
+    /**
+     * Gets the relations of the given group from the groups already in the index, without reading the directory.
+     */
+    protected List<String> getCachedRelations(String groupName, Function<GroupNode, List<String>> next) {
+        List<String> relations = new ArrayList<>();
+        for (String alias : aliases.getOrDefault(groupName.toLowerCase(Locale.ROOT), Set.of())) {
+            GroupNode node = nodes.get(alias);
+            if (node != null) {
+                relations.addAll(next.apply(node));
+            }
+        }
+        return relations;
+    }
+
+    /**
+     * Computes a closure from the groups already in the index, without reading the directory. As the memoized closures
+     * were computed from groups which are still in the index, this covers all the groups they contain.
+     */
+    protected Set<String> computeCachedClosure(String groupName, Function<GroupNode, List<String>> next) {
+        Set<String> closure = new LinkedHashSet<>();
+        Deque<String> toProcess = new ArrayDeque<>(getCachedRelations(groupName, next));
+        while (!toProcess.isEmpty()) {
+            String name = toProcess.poll();
+            if (closure.add(name)) {
+                toProcess.addAll(getCachedRelations(name, next));
+            }
+        }
+        return closure;
+    }
+
+    protected static List<String> copyOf(List<String> groupNames) {
+        if (groupNames == null) {
+            return List.of();
+        }
+        return groupNames.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableList());
+    }
+
+    protected List<String> computeClosure(String groupName, Function<GroupNode, List<String>> next) {
+        Set<String> closure = new LinkedHashSet<>();
+        Deque<String> toProcess = new ArrayDeque<>(next.apply(getNode(groupName)));
+        while (!toProcess.isEmpty()) {
+            String name = toProcess.poll();
+            // the set avoids infinite loops in case a group has one of its ancestors as a subgroup
+            if (closure.add(name)) {
+                toProcess.addAll(next.apply(getNode(name)));
+            }
+        }
+        return List.copyOf(closure);
+    }
+
+    protected void checkExpiration() {
+        if (maxAgeMillis > 0 && System.currentTimeMillis() > expiresAt) {
+            log.debug("Group closure index expired");
+            invalidateAll();
+        }
+    }
+
+    protected void resetExpiration() {
+        expiresAt = System.currentTimeMillis() + maxAgeMillis;
+    }
+
+    /**
+     * A group as stored in the index, holding only its name and its relations to other groups.
+     */
+    public static class GroupNode {
+
+        protected final String name;
+
+        protected final List<String> parentGroups;
+
+        protected final List<String> memberGroups;
+
+        protected GroupNode(String name, List<String> parentGroups, List<String> memberGroups) {
+            this.name = name;
+            this.parentGroups = parentGroups;
+            this.memberGroups = memberGroups;
+        }
+
+        /** The group name, as stored in the directory. */
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getParentGroups() {
+            return parentGroups;
+        }
+
+        public List<String> getMemberGroups() {
+            return memberGroups;
+        }
+    }
+
+}
@@ -313,19 +313,28 @@ public class NuxeoPrincipalImpl implements NuxeoPrincipal {
 
     public void updateAllGroups() {
         UserManager userManager = Framework.getService(UserManager.class);
+        GroupClosureIndex groupClosureIndex = userManager instanceof UserManagerImpl
+                ? ((UserManagerImpl) userManager).getGroupClosureIndex()
+                : null;
         Set<String> checkedGroups = new HashSet<>();
-        List<String> groupsToProcess = new ArrayList<>();
+        LinkedList<String> groupsToProcess = new LinkedList<>();
         List<String> resultingGroups = new ArrayList<>();
         groupsToProcess.addAll(getGroups());
 
         while (!groupsToProcess.isEmpty()) {
-            String groupName = groupsToProcess.remove(0);
+            String groupName = groupsToProcess.poll();
             if (!checkedGroups.contains(groupName)) {
                 checkedGroups.add(groupName);
                 NuxeoGroup nxGroup = null;
+                GroupClosureIndex.GroupNode groupNode = null;
                 if (userManager != null) {
                     try {
-                        nxGroup = userManager.getGroup(groupName);
+                        if (groupClosureIndex != null) {
+                            // memoized group relations, avoiding a directory call per group
+                            groupNode = groupClosureIndex.getGroup(groupName);
+                        } else {
+                            nxGroup = userManager.getGroup(groupName);
+                        }
                     } catch (DirectoryException de) {
                         if (virtualGroups.contains(groupName)) {
                             // do not fail while retrieving a virtual group
@@ -338,7 +347,10 @@ public class NuxeoPrincipalImpl implements NuxeoPrincipal {
                         }
                     }
                 }
-                if (nxGroup == null) {
+                if (groupNode != null) {
+                    groupsToProcess.addAll(groupNode.getParentGroups());
+                    resultingGroups.add(groupNode.getName());
+                } else if (nxGroup == null) {
                     if (virtualGroups.contains(groupName)) {
                         // just add the virtual group as is
                         resultingGroups.add(groupName);
@@ -26,11 +26,15 @@ import static org.nuxeo.ecm.platform.usermanager.UserConfig.GROUPS_COLUMN;
 
 import java.io.Serializable;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +43,9 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -84,9 +91,11 @@ import org.nuxeo.ecm.platform.usermanager.exceptions.GroupAlreadyExistsException
 import org.nuxeo.ecm.platform.usermanager.exceptions.InvalidPasswordException;
 import org.nuxeo.ecm.platform.usermanager.exceptions.UserAlreadyExistsException;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.pubsub.ClusterActionService;
 import org.nuxeo.runtime.services.config.ConfigurationService;
 import org.nuxeo.runtime.services.event.Event;
 import org.nuxeo.runtime.services.event.EventService;
+import org.nuxeo.runtime.transaction.TransactionHelper;
 
 /**
  * Standard implementation of the Nuxeo UserManager.
@@ -100,6 +109,59 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
     /** @since 11.1 */
     protected static final String SEARCH_ESCAPE_COMPAT_PARAM = "nuxeo.usermanager.search.escape.compat";
 
+    /**
+     * Whether the transitive group memberships are resolved from an in-memory {@link GroupClosureIndex}.
+     *
+     * @since 2023.13
+     */
+    public static final String GROUP_CLOSURE_ENABLED_PARAM = "nuxeo.usermanager.group.closure.enabled";
+
+    /**
+     * The delay after which the {@link GroupClosureIndex} is read again from the group directory.
+     *
+     * @since 2023.13
+     */
+    public static final String GROUP_CLOSURE_MAX_AGE_PARAM = "nuxeo.usermanager.group.closure.maxAge";
+
+    /** @since 2023.13 */
+    public static final Duration GROUP_CLOSURE_MAX_AGE_DEFAULT = Duration.ofMinutes(10);
+
+    /**
+     * Cluster action invalidating a group in the {@link GroupClosureIndex} of all nodes.
+     *
+     * @since 2023.13
+     */
+    public static final String INVALIDATE_GROUP_CLOSURE_ACTION = "usermanagerInvalidateGroupClosure";
+
+    /**
+     * The maximum number of successful credential verifications kept in a {@link VerifiedCredentialCache}, disabled
+     * if 0.
+     *
+     * @since 2023.13
+     */
+    public static final String CREDENTIAL_CACHE_SIZE_PARAM = "nuxeo.usermanager.credential.cache.size";
+
+    /**
+     * The time during which a successful credential verification is kept in a {@link VerifiedCredentialCache}.
+     *
+     * @since 2023.13
+     */
+    public static final String CREDENTIAL_CACHE_TTL_PARAM = "nuxeo.usermanager.credential.cache.ttl";
+
+    /** @since 2023.13 */
+    public static final Duration CREDENTIAL_CACHE_TTL_DEFAULT = Duration.ofMinutes(1);
+
+    /** @since 2023.13 */
+    public static final String CREDENTIAL_CACHE_NAME = "usermanager";
+
+    /**
+     * Cluster action invalidating the verified credentials of a user in the {@link VerifiedCredentialCache}s of all
+     * nodes.
+     *
+     * @since 2023.13
+     */
+    public static final String INVALIDATE_CREDENTIALS_ACTION = "usermanagerInvalidateCredentials";
+
     private static final long serialVersionUID = 1L;
 
     public static final String USERMANAGER_TOPIC = "usermanager";
@@ -162,6 +224,23 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
 
     protected Cache principalCache = null;
 
+    /**
+     * @since 2023.13
+     */
+    protected GroupClosureIndex groupClosureIndex;
+
+    /**
+     * The invalidations waiting for the commit of the current transaction.
+     *
+     * @since 2023.13
+     */
+    protected final transient ThreadLocal<PendingInvalidations> pendingInvalidations = new ThreadLocal<>();
+
+    /**
+     * @since 2023.13
+     */
+    protected VerifiedCredentialCache credentialCache;
+
     public UserMultiTenantManagement multiTenantManagement = new DefaultUserMultiTenantManagement();
 
     /**
@@ -292,6 +371,38 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
             invalidateAllPrincipals();
         }
 
+        ConfigurationService configurationService = Framework.getService(ConfigurationService.class);
+        if (configurationService != null && configurationService.isBooleanTrue(GROUP_CLOSURE_ENABLED_PARAM)) {
+            Duration maxAge = configurationService.getDuration(GROUP_CLOSURE_MAX_AGE_PARAM,
+                    GROUP_CLOSURE_MAX_AGE_DEFAULT);
+            groupClosureIndex = new GroupClosureIndex(this::getGroup, maxAge.toMillis());
+        } else {
+            groupClosureIndex = null;
+        }
+
+        int credentialCacheSize = configurationService == null ? 0
+                : configurationService.getInteger(CREDENTIAL_CACHE_SIZE_PARAM, 0);
+        if (credentialCacheSize > 0) {
+            Duration ttl = configurationService.getDuration(CREDENTIAL_CACHE_TTL_PARAM, CREDENTIAL_CACHE_TTL_DEFAULT);
+            credentialCache = VerifiedCredentialCache.create(CREDENTIAL_CACHE_NAME, credentialCacheSize, ttl);
+        } else {
+            credentialCache = null;
+            VerifiedCredentialCache.remove(CREDENTIAL_CACHE_NAME);
+        }
+    }
+
+    /**
+     * Gets the index of the transitive group memberships, or {@code null} if it is not enabled or if groups have been
+     * changed by the current transaction, as the index only reflects committed changes.
+     *
+     * @since 2023.13
+     */
+    public GroupClosureIndex getGroupClosureIndex() {
+        PendingInvalidations pending = pendingInvalidations.get();
+        if (pending != null && !pending.groups.isEmpty()) {
+            return null;
+        }
+        return groupClosureIndex;
     }
 
     protected void setUserDirectoryName(String userDirectoryName) {
@@ -447,10 +558,17 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
                 log.error("Trying to authenticate against a non authenticating directory: {}", userDirName);
                 return false;
             }
+            if (credentialCache != null && username.equals(credentialCache.get(userDirName, username, password))) {
+                // verified recently, digest password already synced
+                return true;
+            }
 
             boolean authenticated = userDir.authenticate(username, password);
             if (authenticated) {
                 Framework.doPrivileged(() -> syncDigestAuthPassword(username, password));
+                if (credentialCache != null) {
+                    credentialCache.put(username, userDirName, username, password);
+                }
             }
             return authenticated;
         }
@@ -813,6 +931,7 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
     @Override
     public void notifyUserChanged(String userName, String eventId) {
         invalidatePrincipal(userName);
+        invalidateCredentials(userName);
         notifyRuntime(userName, USERCHANGED_EVENT_ID);
         if (eventId != null) {
             notifyRuntime(userName, eventId);
@@ -826,9 +945,43 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
         }
     }
 
+    /**
+     * Invalidates the verified credentials of the given user on all nodes once the change is committed, as its
+     * password may have changed.
+     *
+     * @since 2023.13
+     */
+    protected void invalidateCredentials(String userName) {
+        if (credentialCache == null) {
+            return;
+        }
+        getPendingInvalidations().users.add(userName);
+        flushPendingInvalidations();
+    }
+
+    /**
+     * Invalidates the verified credentials of the given user on all nodes.
+     *
+     * @since 2023.13
+     */
+    protected void executeCredentialsInvalidation(String userName) {
+        ClusterActionService clusterActionService = Framework.getService(ClusterActionService.class);
+        if (clusterActionService != null) {
+            // invalidates locally and on the other nodes
+            clusterActionService.executeAction(INVALIDATE_CREDENTIALS_ACTION, userName);
+        } else {
+            VerifiedCredentialCache.invalidateUser(userName);
+        }
+    }
+
     @Override
     public void notifyGroupChanged(String groupName, String eventId, List<String> ancestorGroupNames) {
         invalidateAllPrincipals();
+        if (groupClosureIndex != null) {
+            // relations not recorded by the caller are unknown
+            getPendingInvalidations().groups.putIfAbsent(groupName, null);
+            flushPendingInvalidations();
+        }
         notifyRuntime(groupName, GROUPCHANGED_EVENT_ID);
         if (eventId != null) {
             notifyRuntime(groupName, eventId);
@@ -842,6 +995,137 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
         }
     }
 
+    /**
+     * Records the parent and member groups of a group being changed, to be invalidated along with it in the
+     * {@link GroupClosureIndex} once the change is committed.
+     *
+     * @since 2023.13
+     */
+    protected void recordGroupRelations(String groupName, DocumentModel groupModel) {
+        if (groupClosureIndex == null) {
+            return;
+        }
+        Set<String> relatedGroups = new HashSet<>();
+        if (groupModel != null) {
+            for (String field : List.of(groupParentGroupsField, groupSubGroupsField)) {
+                @SuppressWarnings("unchecked")
+                List<String> groupNames = (List<String>) groupModel.getProperty(groupSchemaName, field);
+                if (groupNames != null) {
+                    relatedGroups.addAll(groupNames);
+                }
+            }
+        }
+        getPendingInvalidations().groups.merge(groupName, relatedGroups, (a, b) -> {
+            a.addAll(b);
+            return a;
+        });
+    }
+
+    protected PendingInvalidations getPendingInvalidations() {
+        PendingInvalidations pending = pendingInvalidations.get();
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            pendingInvalidations.set(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * Runs the pending invalidations now if there is no transaction, or after commit otherwise, so that neither this
+     * node nor the other ones cache again the previous data before the change is visible.
+     *
+     * @since 2023.13
+     */
+    protected void flushPendingInvalidations() {
+        PendingInvalidations pending = pendingInvalidations.get();
+        if (pending == null) {
+            return;
+        }
+        if (TransactionHelper.isTransactionMarkedRollback()) {
+            // nothing will be committed
+            pendingInvalidations.remove();
+        } else if (!TransactionHelper.isTransactionActive()) {
+            pendingInvalidations.remove();
+            pending.run();
+        } else if (!pending.registered) {
+            TransactionHelper.registerSynchronization(pending);
+            pending.registered = true;
+        }
+    }
+
+    /**
+     * Invalidates the given group in the {@link GroupClosureIndex} of all nodes.
+     *
+     * @param relatedGroups the parent and member groups of the group after the change, or {@code null} if unknown
+     * @since 2023.13
+     */
+    protected void executeGroupClosureInvalidation(String groupName, Collection<String> relatedGroups) {
+        ClusterActionService clusterActionService = Framework.getService(ClusterActionService.class);
+        if (clusterActionService != null) {
+            // invalidates locally and on the other nodes
+            String param = relatedGroups == null ? groupName
+                    : groupName + "\n" + String.join("\n", relatedGroups);
+            clusterActionService.executeAction(INVALIDATE_GROUP_CLOSURE_ACTION, param);
+        } else if (groupClosureIndex != null) {
+            groupClosureIndex.invalidate(groupName, relatedGroups);
+        }
+    }
+
+    /**
+     * Invalidates a group in the {@link GroupClosureIndex} from a cluster action parameter: the group name, followed
+     * if they are known by its parent and member groups after the change, all separated by new lines. The whole index
+     * is invalidated if the parameter is {@code null}.
+     *
+     * @since 2023.13
+     */
+    public void invalidateGroupClosure(String param) {
+        if (groupClosureIndex == null) {
+            return;
+        }
+        if (param == null) {
+            groupClosureIndex.invalidateAll();
+            return;
+        }
+        String[] names = param.split("\n", -1);
+        List<String> relatedGroups = names.length == 1 ? null
+                : Arrays.stream(names, 1, names.length).filter(StringUtils::isNotEmpty).toList();
+        groupClosureIndex.invalidate(names[0], relatedGroups);
+    }
+
+    /**
+     * The invalidations to run once the current transaction is committed, dropped on rollback.
+     *
+     * @since 2023.13
+     */
+    protected class PendingInvalidations implements Synchronization {
+
+        /** The changed groups, with their parent and member groups after the change, {@code null} if unknown. */
+        protected final Map<String, Set<String>> groups = new LinkedHashMap<>();
+
+        /** The changed users, whose verified credentials may not be valid anymore. */
+        protected final Set<String> users = new LinkedHashSet<>();
+
+        protected boolean registered;
+
+        @Override
+        public void beforeCompletion() {
+            // nothing to do
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            pendingInvalidations.remove();
+            if (status == Status.STATUS_COMMITTED) {
+                run();
+            }
+        }
+
+        protected void run() {
+            groups.forEach(UserManagerImpl.this::executeGroupClosureInvalidation);
+            users.forEach(UserManagerImpl.this::executeCredentialsInvalidation);
+        }
+    }
+
     @Override
     public Boolean areGroupsReadOnly() {
         try (Session groupDir = dirService.open(groupDirectoryName)) {
@@ -1219,6 +1503,7 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
                 throw new GroupAlreadyExistsException();
             }
             groupModel = groupDir.createEntry(groupModel);
+            recordGroupRelations(groupId, groupModel);
             notifyGroupChanged(groupId, GROUPCREATED_EVENT_ID);
             return groupModel;
 
@@ -1443,6 +1728,7 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
                 throw new DirectoryException("group does not exist: " + groupId);
             }
             groupDir.updateEntry(groupModel);
+            recordGroupRelations(groupId, groupModel);
             notifyGroupChanged(groupId, GROUPMODIFIED_EVENT_ID);
         }
     }
@@ -1462,6 +1748,7 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
             // Get ancestor group names before deletion to pass them as a property of the core event
             List<String> ancestorGroupNames = getAncestorGroups(groupId);
             groupDir.deleteEntry(groupId);
+            recordGroupRelations(groupId, null);
             notifyGroupChanged(groupId, GROUPDELETED_EVENT_ID, ancestorGroupNames);
         }
     }
@@ -1570,6 +1857,10 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
 
     @Override
     public List<String> getAncestorGroups(String groupId) {
+        GroupClosureIndex index = getGroupClosureIndex();
+        if (index != null) {
+            return new ArrayList<>(index.getAncestorGroups(groupId));
+        }
         List<String> ancestorGroups = new ArrayList<>();
         populateAncestorGroups(groupId, ancestorGroups);
         return ancestorGroups;
@@ -1589,6 +1880,10 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
 
     @Override
     public List<String> getDescendantGroups(String groupId) {
+        GroupClosureIndex index = getGroupClosureIndex();
+        if (index != null) {
+            return new ArrayList<>(index.getDescendantGroups(groupId));
+        }
         List<String> descendantGroups = new ArrayList<>();
         populateDescendantGroups(groupId, descendantGroups);
         return descendantGroups;
@@ -1617,6 +1912,10 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
             invalidatePrincipal((String) event.getData());
         } else if (INVALIDATE_ALL_PRINCIPALS_EVENT_ID.equals(id)) {
             invalidateAllPrincipals();
+            invalidateGroupClosure(null);
+            if (credentialCache != null) {
+                credentialCache.invalidateAll();
+            }
         }
     }
 
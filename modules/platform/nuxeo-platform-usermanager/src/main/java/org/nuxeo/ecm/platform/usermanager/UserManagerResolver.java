@@ -96,7 +96,7 @@ public class UserManagerResolver extends AbstractObjectResolver implements Objec
         return userManager;
     }
 
-    private List<Class<?>> managedClasses = null;
+    private transient List<Class<?>> managedClasses = null;
 
     @Override
     public List<Class<?>> getManagedClasses() {
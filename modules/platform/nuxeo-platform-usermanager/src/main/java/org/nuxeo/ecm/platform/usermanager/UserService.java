@@ -38,6 +38,7 @@ import org.nuxeo.runtime.model.ComponentContext;
 import org.nuxeo.runtime.model.ComponentInstance;
 import org.nuxeo.runtime.model.ComponentName;
 import org.nuxeo.runtime.model.DefaultComponent;
+import org.nuxeo.runtime.pubsub.ClusterActionService;
 import org.nuxeo.runtime.services.event.EventService;
 
 public class UserService extends DefaultComponent {
@@ -120,6 +121,26 @@ public class UserService extends DefaultComponent {
         log.info("UserService activated");
     }
 
+    @Override
+    public void start(ComponentContext context) {
+        ClusterActionService clusterActionService = Framework.getService(ClusterActionService.class);
+        if (clusterActionService != null) {
+            clusterActionService.registerAction(UserManagerImpl.INVALIDATE_GROUP_CLOSURE_ACTION,
+                    message -> invalidateGroupClosure(message.param));
+            clusterActionService.registerAction(UserManagerImpl.INVALIDATE_CREDENTIALS_ACTION,
+                    message -> VerifiedCredentialCache.invalidateUser(message.param));
+        }
+    }
+
+    /**
+     * @since 2023.13
+     */
+    protected void invalidateGroupClosure(String param) {
+        if (userManager instanceof UserManagerImpl) {
+            ((UserManagerImpl) userManager).invalidateGroupClosure(param);
+        }
+    }
+
     @Override
     public void deactivate(ComponentContext context) {
         log.info("UserService deactivated");
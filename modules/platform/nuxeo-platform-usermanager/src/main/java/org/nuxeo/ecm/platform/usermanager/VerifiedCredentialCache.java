@@ -0,0 +1,169 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.nuxeo.ecm.core.api.NuxeoException;
+
+/**
+ * Bounded cache of successful credential verifications, mapping credentials to the name of the user they
+ * authenticate, for a short time.
+ * <p>
+ * Credentials are never stored: entries are keyed by an HMAC of the credentials, computed with a random key that
+ * never leaves the current node. Entries can be invalidated for a given user on all the caches of the node, which is
+ * done through the {@link UserManagerImpl#INVALIDATE_CREDENTIALS_ACTION} cluster action when a password changes or a
+ * token is revoked.
+ *
+ * @since 2023.13
+ */
+public class VerifiedCredentialCache {
+
+    protected static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    protected static final Map<String, VerifiedCredentialCache> CACHES = new ConcurrentHashMap<>();
+
+    protected final SecretKeySpec secretKey;
+
+    protected final long ttlMillis;
+
+    protected final Map<String, Entry> entries;
+
+    protected record Entry(String userName, long expiration) {
+    }
+
+    protected VerifiedCredentialCache(int maxSize, Duration ttl) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        secretKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        ttlMillis = ttl.toMillis();
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache and registers it under the given name, replacing any previous one.
+     */
+    public static VerifiedCredentialCache create(String name, int maxSize, Duration ttl) {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(maxSize, ttl);
+        CACHES.put(name, cache);
+        return cache;
+    }
+
+    /**
+     * Unregisters the cache with the given name.
+     */
+    public static void remove(String name) {
+        CACHES.remove(name);
+    }
+
+    /**
+     * Invalidates the credentials of the given user in all the caches, or all the credentials if the user is
+     * {@code null}.
+     */
+    public static void invalidateUser(String userName) {
+        for (VerifiedCredentialCache cache : CACHES.values()) {
+            if (userName == null) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidate(userName);
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the user authenticated by the given credentials, or {@code null} if not cached.
+     */
+    public String get(String... credentials) {
+        String key = computeKey(credentials);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiration < System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.userName;
+        }
+    }
+
+    /**
+     * Records that the given credentials successfully authenticated the given user.
+     */
+    public void put(String userName, String... credentials) {
+        String key = computeKey(credentials);
+        Entry entry = new Entry(userName, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    public void invalidate(String userName) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.userName.equals(userName));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    protected String computeKey(String... credentials) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            for (String credential : credentials) {
+                mac.update(credential.getBytes(UTF_8));
+                // separator so that ("ab", "c") and ("a", "bc") differ
+                mac.update((byte) 0);
+            }
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new NuxeoException(e);
+        }
+    }
+
+}
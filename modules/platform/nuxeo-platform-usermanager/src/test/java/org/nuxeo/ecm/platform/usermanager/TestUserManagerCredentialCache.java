@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+
+import javax.inject.Inject;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * @since 2023.13
+ */
+@Deploy("org.nuxeo.ecm.platform.usermanager.tests:test-usermanagerimpl/directory-config.xml")
+@Deploy("org.nuxeo.ecm.platform.usermanager.tests:test-usermanager-credential-cache.xml")
+public class TestUserManagerCredentialCache extends UserManagerTestCase {
+
+    @Inject
+    protected TransactionalFeature txFeature;
+
+    @Test
+    public void testCredentialCache() {
+        VerifiedCredentialCache cache = ((UserManagerImpl) userManager).credentialCache;
+        assertNotNull(cache);
+        assertTrue(userManager.checkUsernamePassword("Administrator", "Administrator"));
+        assertEquals(1, cache.getSize());
+        // served from the cache
+        assertTrue(userManager.checkUsernamePassword("Administrator", "Administrator"));
+        assertEquals(1, cache.getSize());
+        // failures are not cached
+        assertFalse(userManager.checkUsernamePassword("Administrator", "wrong"));
+        assertEquals(1, cache.getSize());
+
+        // password change invalidates the verified credentials once committed
+        DocumentModel doc = userManager.getUserModel("Administrator");
+        doc.setProperty("user", "password", "newPassword123");
+        userManager.updateUser(doc);
+        assertEquals(1, cache.getSize());
+        txFeature.nextTransaction();
+        assertEquals(0, cache.getSize());
+        assertFalse(userManager.checkUsernamePassword("Administrator", "Administrator"));
+        assertTrue(userManager.checkUsernamePassword("Administrator", "newPassword123"));
+    }
+
+    @Test
+    public void testNoInvalidationOnRollback() {
+        VerifiedCredentialCache cache = ((UserManagerImpl) userManager).credentialCache;
+        assertTrue(userManager.checkUsernamePassword("Administrator", "Administrator"));
+        assertEquals(1, cache.getSize());
+
+        DocumentModel doc = userManager.getUserModel("Administrator");
+        doc.setProperty("user", "password", "newPassword123");
+        userManager.updateUser(doc);
+        TransactionHelper.setTransactionRollbackOnly();
+        txFeature.nextTransaction();
+        // the password didn't change
+        assertEquals(1, cache.getSize());
+        assertTrue(userManager.checkUsernamePassword("Administrator", "Administrator"));
+    }
+
+    @Test
+    public void testCacheEntries() throws InterruptedException {
+        VerifiedCredentialCache cache = VerifiedCredentialCache.create("test", 2, Duration.ofMillis(200));
+        try {
+            cache.put("bob", "bob", "secret");
+            cache.put("alice", "alice", "secret");
+            assertEquals("bob", cache.get("bob", "secret"));
+            assertNull(cache.get("bob", "other"));
+            // credentials parts are separated
+            assertNull(cache.get("bobs", "ecret"));
+
+            // bounded, least recently used evicted
+            cache.put("carol", "carol", "secret");
+            assertEquals(2, cache.getSize());
+            assertNull(cache.get("alice", "secret"));
+
+            VerifiedCredentialCache.invalidateUser("bob");
+            assertNull(cache.get("bob", "secret"));
+            assertEquals("carol", cache.get("carol", "secret"));
+
+            Thread.sleep(300);
+            assertNull(cache.get("carol", "secret"));
+        } finally {
+            VerifiedCredentialCache.remove("test");
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+/**
+ * @since 2023.13
+ */
+@Deploy("org.nuxeo.ecm.platform.usermanager.tests:test-usermanagerimpl/directory-config.xml")
+@Deploy("org.nuxeo.ecm.platform.usermanager.tests:test-usermanager-group-closure.xml")
+public class TestUserManagerGroupClosure extends UserManagerTestCase {
+
+    @Inject
+    protected TransactionalFeature txFeature;
+
+    protected void createGroup(String groupId, List<String> subGroups) {
+        DocumentModel group = userManager.getBareGroupModel();
+        group.setProperty("group", "groupname", groupId);
+        group.setProperty("group", "subGroups", subGroups);
+        userManager.createGroup(group);
+    }
+
+    @Test
+    public void testGroupClosure() {
+        assertNotNull(((UserManagerImpl) userManager).getGroupClosureIndex());
+        createGroup("group3", List.of());
+        createGroup("group2", List.of("group3"));
+        createGroup("group1", List.of("group2"));
+
+        assertEquals(List.of("group2", "group1"), userManager.getAncestorGroups("group3"));
+        assertEquals(List.of("group2", "group3"), userManager.getDescendantGroups("group1"));
+        assertEquals(List.of(), userManager.getAncestorGroups("group1"));
+
+        // detach group3 from group2, the closure index is invalidated
+        DocumentModel group2 = userManager.getGroupModel("group2");
+        group2.setProperty("group", "subGroups", List.of());
+        userManager.updateGroup(group2);
+        assertEquals(List.of(), userManager.getAncestorGroups("group3"));
+        assertEquals(List.of("group2"), userManager.getDescendantGroups("group1"));
+
+        // attach group1 to group3, without looping
+        DocumentModel group3 = userManager.getGroupModel("group3");
+        group3.setProperty("group", "subGroups", List.of("group1"));
+        userManager.updateGroup(group3);
+        assertEquals(List.of("group1", "group2"), userManager.getDescendantGroups("group3"));
+        assertEquals(List.of("group1", "group3"), userManager.getAncestorGroups("group2"));
+    }
+
+    @Test
+    public void testInvalidationAfterCommit() {
+        createGroup("group3", List.of());
+        createGroup("group2", List.of("group3"));
+        createGroup("group1", List.of("group2"));
+        txFeature.nextTransaction();
+        GroupClosureIndex index = ((UserManagerImpl) userManager).getGroupClosureIndex();
+        assertNotNull(index);
+        assertEquals(List.of("group2", "group1"), index.getAncestorGroups("group3"));
+        assertEquals(List.of("group1"), index.getAncestorGroups("group2"));
+
+        // detach group3 from group2, the index is left untouched until commit
+        DocumentModel group2 = userManager.getGroupModel("group2");
+        group2.setProperty("group", "subGroups", List.of());
+        userManager.updateGroup(group2);
+        assertNull(((UserManagerImpl) userManager).getGroupClosureIndex());
+        assertEquals(List.of(), userManager.getAncestorGroups("group3"));
+        assertEquals(List.of("group2", "group1"), index.getAncestorGroups("group3"));
+        txFeature.nextTransaction();
+        assertEquals(List.of(), index.getAncestorGroups("group3"));
+        assertEquals(List.of("group2"), index.getDescendantGroups("group1"));
+
+        // the closures going through a new parent are invalidated as well
+        createGroup("group0", List.of("group1"));
+        txFeature.nextTransaction();
+        assertEquals(List.of("group1", "group0"), index.getAncestorGroups("group2"));
+        assertEquals(List.of("group1", "group2"), index.getDescendantGroups("group0"));
+    }
+
+    @Test
+    public void testPrincipalAllGroups() {
+        createGroup("group3", List.of());
+        createGroup("group2", List.of("group3"));
+        createGroup("group1", List.of("group2"));
+        DocumentModel user = userManager.getBareUserModel();
+        user.setProperty("user", "username", "bob");
+        user.setProperty("user", "groups", List.of("group3"));
+        userManager.createUser(user);
+
+        NuxeoPrincipal principal = userManager.getPrincipal("bob");
+        List<String> allGroups = principal.getAllGroups();
+        assertTrue(allGroups.toString(), allGroups.containsAll(Set.of("group1", "group2", "group3")));
+
+        userManager.deleteGroup("group1");
+        principal = userManager.getPrincipal("bob");
+        allGroups = principal.getAllGroups();
+        assertTrue(allGroups.toString(), allGroups.containsAll(Set.of("group2", "group3")));
+        assertTrue(allGroups.toString(), !allGroups.contains("group1"));
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.web.common.admission;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.repository.RepositoryService;
+import org.nuxeo.ecm.core.work.api.WorkManager;
+import org.nuxeo.ecm.core.work.api.WorkQueueMetrics;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.metrics.MetricsService;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.SharedMetricRegistries;
+
+/**
+ * Filter doing admission control of the authenticated API requests.
+ * <p>
+ * A request is rejected with a {@code 429 Too Many Requests} status when:
+ * <ul>
+ * <li>the repository session pool or the WorkManager queues are saturated (load shedding),
+ * <li>the user already has too many requests in progress on this node for the same endpoint,
+ * <li>the user exceeded its rate of requests per second for the same endpoint, counted for the whole cluster using a
+ * {@link ClusterRateLimiter}.
+ * </ul>
+ * Each limit is disabled when its configuration property is 0.
+ *
+ * @since 2023.13
+ */
+public class AdmissionControlFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = LogManager.getLogger(AdmissionControlFilter.class);
+
+    public static final String ENABLED_PROPERTY = "org.nuxeo.request.admission.enabled";
+
+    /** Maximum number of requests in progress per user and endpoint on a node. */
+    public static final String CONCURRENCY_PROPERTY = "org.nuxeo.request.admission.user.concurrency";
+
+    /** Maximum number of requests per second per user and endpoint on the cluster. */
+    public static final String RATE_PROPERTY = "org.nuxeo.request.admission.user.rate";
+
+    /** Number of permits leased at once from the cluster-wide counters. */
+    public static final String RATE_BATCH_PROPERTY = "org.nuxeo.request.admission.rate.batch";
+
+    /** Ratio of active repository sessions above which requests are shed. */
+    public static final String REPOSITORY_SATURATION_PROPERTY = "org.nuxeo.request.admission.repository.saturation";
+
+    /** Number of scheduled works above which requests are shed. */
+    public static final String WORK_SATURATION_PROPERTY = "org.nuxeo.request.admission.work.scheduled";
+
+    public static final String STORE_PROPERTY = "org.nuxeo.request.admission.keyvaluestore.name";
+
+    public static final String DEFAULT_STORE = "admission";
+
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+
+    protected static final String ADMITTED_ATTRIBUTE = AdmissionControlFilter.class.getName() + ".admitted";
+
+    protected static final String METRIC_NAME = "nuxeo.web.admission.rejected";
+
+    /** Delay during which the saturation state is reused, to avoid computing it for each request. */
+    protected static final long SATURATION_CHECK_INTERVAL_MS = 1000;
+
+    protected final Map<String, AtomicInteger> inProgress = new ConcurrentHashMap<>();
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected volatile ClusterRateLimiter rateLimiter;
+
+    protected volatile long nextSaturationCheck;
+
+    protected volatile String saturation;
+
+    // parsed once, null until then
+    protected volatile Double repositorySaturationRatio;
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        ConfigurationService cs = Framework.getService(ConfigurationService.class);
+        if (cs == null || !cs.isBooleanTrue(ENABLED_PROPERTY) || request.getAttribute(ADMITTED_ATTRIBUTE) != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(ADMITTED_ATTRIBUTE, Boolean.TRUE);
+
+        String overload = getSaturation(cs);
+        if (overload != null) {
+            reject(response, overload);
+            return;
+        }
+        String key = getUserName(request) + ":" + getEndpoint(request);
+        int maxConcurrency = cs.getInteger(CONCURRENCY_PROPERTY, 0);
+        if (maxConcurrency > 0 && inProgress.computeIfAbsent(key, k -> new AtomicInteger())
+                                             .incrementAndGet() > maxConcurrency) {
+            release(key);
+            reject(response, "concurrency");
+            return;
+        }
+        try {
+            ClusterRateLimiter limiter = getRateLimiter(cs);
+            if (limiter != null && !limiter.tryAcquire(key)) {
+                reject(response, "rate");
+                return;
+            }
+            chain.doFilter(request, response);
+        } finally {
+            if (maxConcurrency > 0) {
+                release(key);
+            }
+        }
+    }
+
+    protected void release(String key) {
+        inProgress.computeIfPresent(key, (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    protected void reject(HttpServletResponse response, String reason) {
+        log.debug("Rejecting request: {}", reason);
+        registry.counter(MetricName.build(METRIC_NAME).tagged("reason", reason)).inc();
+        // Don't call response.sendError, because it commits the response
+        // which prevents NuxeoExceptionFilter from returning a custom error page.
+        response.setStatus(SC_TOO_MANY_REQUESTS);
+        response.setHeader("Retry-After", "1");
+    }
+
+    protected String getUserName(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal == null ? request.getRemoteAddr() : principal.getName();
+    }
+
+    /**
+     * Gets the endpoint of the request: the first segment of the path, or the resource for the versioned REST API
+     * (for instance {@code api/automation} for {@code /site/api/v1/automation/Document.Query}).
+     */
+    protected String getEndpoint(HttpServletRequest request) {
+        String path = StringUtils.defaultString(request.getPathInfo());
+        String[] segments = StringUtils.split(path, '/');
+        if (segments.length == 0) {
+            return request.getServletPath();
+        }
+        if ("api".equals(segments[0]) && segments.length > 2) {
+            return "api/" + segments[2];
+        }
+        return segments[0];
+    }
+
+    protected ClusterRateLimiter getRateLimiter(ConfigurationService cs) {
+        long rate = cs.getLong(RATE_PROPERTY, 0);
+        if (rate <= 0) {
+            return null;
+        }
+        ClusterRateLimiter limiter = rateLimiter;
+        if (limiter == null || limiter.permitsPerSecond != rate) {
+            KeyValueService kvs = Framework.getService(KeyValueService.class);
+            if (kvs == null) {
+                log.debug("KeyValueService not present");
+                return null;
+            }
+            int batch = cs.getInteger(RATE_BATCH_PROPERTY, 10);
+            limiter = new ClusterRateLimiter(kvs.getKeyValueStore(cs.getString(STORE_PROPERTY, DEFAULT_STORE)), rate,
+                    batch);
+            rateLimiter = limiter;
+        }
+        return limiter;
+    }
+
+    /**
+     * Gets the reason why the node is saturated, or {@code null} if it is not.
+     */
+    protected String getSaturation(ConfigurationService cs) {
+        long now = System.currentTimeMillis();
+        if (now < nextSaturationCheck) {
+            return saturation;
+        }
+        String reason = null;
+        double repositoryRatio = getRepositorySaturationRatio(cs);
+        if (repositoryRatio > 0 && isRepositorySaturated(repositoryRatio)) {
+            reason = "repository";
+        }
+        long maxScheduled = cs.getLong(WORK_SATURATION_PROPERTY, 0);
+        WorkManager workManager = Framework.getService(WorkManager.class);
+        if (reason == null && maxScheduled > 0 && workManager != null) {
+            long scheduled = 0;
+            for (String queueId : workManager.getWorkQueueIds()) {
+                WorkQueueMetrics metrics = workManager.getMetrics(queueId);
+                scheduled += metrics.getScheduled().longValue();
+            }
+            if (scheduled >= maxScheduled) {
+                reason = "work";
+            }
+        }
+        saturation = reason;
+        nextSaturationCheck = now + SATURATION_CHECK_INTERVAL_MS;
+        return reason;
+    }
+
+    /**
+     * Gets the ratio of active repository sessions above which requests are shed, 0 if disabled or invalid.
+     */
+    protected double getRepositorySaturationRatio(ConfigurationService cs) {
+        Double ratio = repositorySaturationRatio;
+        if (ratio == null) {
+            String value = cs.getString(REPOSITORY_SATURATION_PROPERTY, "0");
+            try {
+                ratio = Double.valueOf(value);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: {} for property: {}, repository saturation is not checked", value,
+                        REPOSITORY_SATURATION_PROPERTY);
+                ratio = Double.valueOf(0);
+            }
+            repositorySaturationRatio = ratio;
+        }
+        return ratio.doubleValue();
+    }
+
+    /**
+     * Checks whether the ratio of active sessions of the repository session pool reached the given one.
+     */
+    protected boolean isRepositorySaturated(double ratio) {
+        RepositoryService repositoryService = Framework.getService(RepositoryService.class);
+        return repositoryService != null
+                && repositoryService.getActiveSessionsCount() >= ratio * repositoryService.getMaxPoolSize();
+    }
+
+}
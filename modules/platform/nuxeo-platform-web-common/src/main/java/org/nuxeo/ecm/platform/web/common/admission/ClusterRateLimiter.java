@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.web.common.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.nuxeo.runtime.kv.KeyValueStore;
+
+/**
+ * Rate limiter shared by all the nodes of a cluster, allowing a number of requests per second for each key.
+ * <p>
+ * The requests of each one-second window are counted in a {@link KeyValueStore}. To avoid a round trip to the store
+ * for each request, each node leases permits by batches and hands them out locally until the batch is used, so the
+ * store is only updated once per batch.
+ *
+ * @since 2023.13
+ */
+public class ClusterRateLimiter {
+
+    protected static final String KEY_PREFIX = "ratelimit:";
+
+    /** Time to live of the window counters in the store, in seconds. */
+    protected static final long WINDOW_TTL = 10;
+
+    /** Leases older than this number of windows are discarded. */
+    protected static final long LEASE_EXPIRATION = 60;
+
+    protected final KeyValueStore store;
+
+    protected final long permitsPerSecond;
+
+    protected final int batchSize;
+
+    protected final LongSupplier clock;
+
+    protected final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    protected volatile long lastCleanupWindow;
+
+    protected static class Lease {
+
+        protected long window;
+
+        protected long remaining;
+
+        protected boolean exhausted;
+    }
+
+    public ClusterRateLimiter(KeyValueStore store, long permitsPerSecond, int batchSize) {
+        this(store, permitsPerSecond, batchSize, System::currentTimeMillis);
+    }
+
+    protected ClusterRateLimiter(KeyValueStore store, long permitsPerSecond, int batchSize, LongSupplier clock) {
+        this.store = store;
+        this.permitsPerSecond = permitsPerSecond;
+        this.batchSize = (int) Math.max(1, Math.min(batchSize, permitsPerSecond));
+        this.clock = clock;
+    }
+
+    /**
+     * Tries to acquire a permit for the given key in the current one-second window.
+     *
+     * @return {@code true} if the permit was acquired, {@code false} if the rate is exceeded
+     */
+    public boolean tryAcquire(String key) {
+        long window = clock.getAsLong() / 1000;
+        cleanup(window);
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        synchronized (lease) {
+            if (lease.window != window) {
+                lease.window = window;
+                lease.remaining = 0;
+                lease.exhausted = false;
+            }
+            if (lease.remaining > 0) {
+                lease.remaining--;
+                return true;
+            }
+            if (lease.exhausted) {
+                return false;
+            }
+            String storeKey = KEY_PREFIX + key + ":" + window;
+            long used = store.addAndGet(storeKey, batchSize);
+            if (used == batchSize) {
+                // first lease of the window in the cluster
+                store.setTTL(storeKey, WINDOW_TTL);
+            }
+            long granted = Math.min(batchSize, permitsPerSecond - (used - batchSize));
+            if (granted <= 0) {
+                lease.exhausted = true;
+                return false;
+            }
+            lease.remaining = granted - 1;
+            return true;
+        }
+    }
+
+    protected void cleanup(long window) {
+        if (window - lastCleanupWindow < LEASE_EXPIRATION) {
+            return;
+        }
+        lastCleanupWindow = window;
+        leases.values().removeIf(lease -> lease.window < window - LEASE_EXPIRATION);
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.web.common.admission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.nuxeo.ecm.platform.web.common.admission.AdmissionControlFilter.SC_TOO_MANY_REQUESTS;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+import org.nuxeo.runtime.test.runner.RuntimeFeature;
+
+import io.dropwizard.metrics5.MetricName;
+
+/**
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(RuntimeFeature.class)
+@Deploy("org.nuxeo.ecm.platform.web.common.test:OSGI-INF/test-admission-control-config.xml")
+public class TestAdmissionControlFilter {
+
+    protected static class TestFilter extends AdmissionControlFilter {
+
+        private static final long serialVersionUID = 1L;
+
+        protected boolean repositorySaturated;
+
+        @Override
+        protected boolean isRepositorySaturated(double ratio) {
+            assertEquals(0.8, ratio, 0);
+            return repositorySaturated;
+        }
+    }
+
+    protected static HttpServletRequest mockRequest(String user, String pathInfo) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Principal principal = () -> user;
+        when(request.getUserPrincipal()).thenReturn(principal);
+        when(request.getServletPath()).thenReturn("/site");
+        when(request.getPathInfo()).thenReturn(pathInfo);
+        return request;
+    }
+
+    protected static void assertRejected(HttpServletResponse response) {
+        verify(response).setStatus(SC_TOO_MANY_REQUESTS);
+        verify(response).setHeader("Retry-After", "1");
+    }
+
+    protected static void assertAdmitted(HttpServletResponse response) {
+        verify(response, never()).setStatus(SC_TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    public void testConcurrencyRejectionAndRelease() throws IOException, ServletException {
+        TestFilter filter = new TestFilter();
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (req, resp) -> calls.incrementAndGet();
+        HttpServletResponse concurrentResponse = mock(HttpServletResponse.class);
+        HttpServletResponse otherEndpointResponse = mock(HttpServletResponse.class);
+        HttpServletResponse otherUserResponse = mock(HttpServletResponse.class);
+        FilterChain firstChain = (req, resp) -> {
+            calls.incrementAndGet();
+            // requests received while the first one is in progress
+            filter.doFilter(mockRequest("bob", "/api/v1/path/default"), concurrentResponse, chain);
+            filter.doFilter(mockRequest("bob", "/api/v1/automation/Document.Query"), otherEndpointResponse, chain);
+            filter.doFilter(mockRequest("alice", "/api/v1/path/default"), otherUserResponse, chain);
+        };
+        HttpServletResponse firstResponse = mock(HttpServletResponse.class);
+        filter.doFilter(mockRequest("bob", "/api/v1/path/default-domain"), firstResponse, firstChain);
+
+        assertAdmitted(firstResponse);
+        // same user and endpoint
+        assertRejected(concurrentResponse);
+        assertAdmitted(otherEndpointResponse);
+        assertAdmitted(otherUserResponse);
+        assertEquals(3, calls.get());
+        assertTrue(filter.inProgress.isEmpty());
+
+        // released once the first request is done
+        HttpServletResponse nextResponse = mock(HttpServletResponse.class);
+        filter.doFilter(mockRequest("bob", "/api/v1/path/default"), nextResponse, chain);
+        assertAdmitted(nextResponse);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testReleaseOnFailure() throws IOException, ServletException {
+        TestFilter filter = new TestFilter();
+        try {
+            filter.doFilter(mockRequest("bob", "/nxfile/default"), mock(HttpServletResponse.class), (req, resp) -> {
+                throw new ServletException("failure");
+            });
+            fail("should have thrown");
+        } catch (ServletException e) {
+            assertEquals("failure", e.getMessage());
+        }
+        assertTrue(filter.inProgress.isEmpty());
+    }
+
+    @Test
+    public void testSaturationShedding() throws IOException, ServletException {
+        TestFilter filter = new TestFilter();
+        filter.repositorySaturated = true;
+        long rejected = filter.registry.counter(
+                MetricName.build(AdmissionControlFilter.METRIC_NAME).tagged("reason", "repository")).getCount();
+        AtomicInteger calls = new AtomicInteger();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        filter.doFilter(mockRequest("bob", "/nxfile/default"), response, (req, resp) -> calls.incrementAndGet());
+
+        assertRejected(response);
+        assertEquals(0, calls.get());
+        assertEquals(rejected + 1, filter.registry.counter(
+                MetricName.build(AdmissionControlFilter.METRIC_NAME).tagged("reason", "repository")).getCount());
+    }
+
+    @Test
+    public void testInvalidSaturationRatio() {
+        ConfigurationService cs = mock(ConfigurationService.class);
+        when(cs.getString(AdmissionControlFilter.REPOSITORY_SATURATION_PROPERTY, "0")).thenReturn("foo");
+        AdmissionControlFilter filter = new AdmissionControlFilter();
+        assertEquals(0, filter.getRepositorySaturationRatio(cs), 0);
+        // parsed only once
+        assertEquals(0, filter.getRepositorySaturationRatio(cs), 0);
+        verify(cs, times(1)).getString(AdmissionControlFilter.REPOSITORY_SATURATION_PROPERTY, "0");
+    }
+
+    @Test
+    public void testGetEndpoint() {
+        AdmissionControlFilter filter = new AdmissionControlFilter();
+        assertEquals("api/automation", filter.getEndpoint(mockRequest("bob", "/api/v1/automation/Document.Query")));
+        assertEquals("api/path", filter.getEndpoint(mockRequest("bob", "/api/v1/path/default-domain")));
+        assertEquals("api", filter.getEndpoint(mockRequest("bob", "/api/v1")));
+        assertEquals("nxfile", filter.getEndpoint(mockRequest("bob", "/nxfile/default/1234/file:content")));
+        assertEquals("/site", filter.getEndpoint(mockRequest("bob", null)));
+        assertEquals("/site", filter.getEndpoint(mockRequest("bob", "/")));
+    }
+
+}
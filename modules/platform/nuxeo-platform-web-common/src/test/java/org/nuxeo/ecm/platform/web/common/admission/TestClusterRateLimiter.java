@@ -0,0 +1,64 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.web.common.admission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.kv.MemKeyValueStore;
+
+/**
+ * @since 2023.13
+ */
+public class TestClusterRateLimiter {
+
+    protected static int acquireAll(ClusterRateLimiter limiter, String key, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(key)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+
+    @Test
+    public void testRateSharedByNodes() {
+        KeyValueStore store = new MemKeyValueStore();
+        AtomicLong clock = new AtomicLong(1_000_000);
+        // two nodes sharing the same store
+        ClusterRateLimiter node1 = new ClusterRateLimiter(store, 10, 3, clock::get);
+        ClusterRateLimiter node2 = new ClusterRateLimiter(store, 10, 3, clock::get);
+
+        int acquired = acquireAll(node1, "bob", 4) + acquireAll(node2, "bob", 20) + acquireAll(node1, "bob", 20);
+        assertEquals(10, acquired);
+        // other keys are independent
+        assertEquals(10, acquireAll(node2, "alice", 20));
+
+        // next window
+        clock.addAndGet(1000);
+        assertTrue(node1.tryAcquire("bob"));
+        assertEquals(9, acquireAll(node2, "bob", 20) + acquireAll(node1, "bob", 20));
+    }
+
+}
@@ -42,12 +42,16 @@ import org.nuxeo.ecm.quota.AbstractQuotaStatsUpdater;
 import org.nuxeo.ecm.quota.QuotaStatsInitialWork;
 import org.nuxeo.ecm.quota.QuotaUtils;
 import org.nuxeo.ecm.quota.size.QuotaExceededException;
+import org.nuxeo.ecm.quota.stream.QuotaDeltaCollector;
 import org.nuxeo.runtime.transaction.TransactionHelper;
 
 /**
  * {@link org.nuxeo.ecm.quota.QuotaStatsUpdater} counting the non folderish documents.
  * <p>
  * Store the descendant and children count on {@code Folderish} documents.
+ * <p>
+ * When {@value QuotaDeltaCollector#QUOTA_ASYNC_ENABLED_PROP} is {@code true}, the counts of the ancestors are updated
+ * asynchronously by the {@link org.nuxeo.ecm.quota.stream.QuotaAggregatorProcessor}.
  *
  * @since 5.5
  */
@@ -138,6 +142,17 @@ public class DocumentsCountUpdater extends AbstractQuotaStatsUpdater {
         if (count == 0) {
             return;
         }
+        if (QuotaDeltaCollector.isEnabled()) {
+            // defer the update to the aggregator
+            String repositoryName = session.getRepositoryName();
+            long childrenCount = doc.hasFacet(FOLDERISH) ? 0 : count;
+            QuotaDeltaCollector.addCountDelta(repositoryName, ancestors.get(0).getId(), childrenCount, count);
+            ancestors.stream()
+                     .skip(1)
+                     .forEach(ancestor -> QuotaDeltaCollector.addCountDelta(repositoryName, ancestor.getId(), 0,
+                             count));
+            return;
+        }
 
         if (!doc.hasFacet(FOLDERISH)) {
             DocumentModel parent = ancestors.get(0);
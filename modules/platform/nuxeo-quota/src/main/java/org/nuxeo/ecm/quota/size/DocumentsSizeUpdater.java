@@ -31,6 +31,7 @@ import org.apache.logging.log4j.Logger;
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
 import org.nuxeo.ecm.core.api.IdRef;
 import org.nuxeo.ecm.core.api.PathRef;
 import org.nuxeo.ecm.core.api.ScrollResult;
@@ -39,6 +40,7 @@ import org.nuxeo.ecm.core.query.sql.NXQL;
 import org.nuxeo.ecm.core.utils.BlobsExtractor;
 import org.nuxeo.ecm.quota.AbstractQuotaStatsUpdater;
 import org.nuxeo.ecm.quota.QuotaStatsInitialWork;
+import org.nuxeo.ecm.quota.stream.QuotaDeltaCollector;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.services.config.ConfigurationService;
 import org.nuxeo.runtime.transaction.TransactionHelper;
@@ -46,6 +48,10 @@ import org.nuxeo.runtime.transaction.TransactionHelper;
 /**
  * {@link org.nuxeo.ecm.quota.QuotaStatsUpdater} counting space used by Blobs in document. This implementation does not
  * track the space used by non-Blob properties.
+ * <p>
+ * When {@value QuotaDeltaCollector#QUOTA_ASYNC_ENABLED_PROP} is {@code true}, the statistics of the ancestors are
+ * updated asynchronously by the {@link org.nuxeo.ecm.quota.stream.QuotaAggregatorProcessor}, the quota checks taking
+ * into account the deltas not yet applied.
  *
  * @since 8.3
  */
@@ -161,7 +167,10 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
         boolean isDeleted = doc.isTrashed();
         long size = getBlobsSize(doc);
         long versionsSize = getVersionsSize(session, doc);
-        updateDocumentAndAncestors(session, doc, size, size + versionsSize, isDeleted ? size : 0, versionsSize);
+        long trashSize = isDeleted ? size : 0;
+        // initial computation reads back the ancestors, don't defer their update
+        updateDocument(doc, size, size + versionsSize, trashSize, versionsSize);
+        updateAncestorsSync(session, doc, size + versionsSize, trashSize, versionsSize);
     }
 
     protected void initDocumentFromChildren(DocumentModel doc) {
@@ -384,6 +393,7 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
         if (delta <= 0) {
             return;
         }
+        boolean async = QuotaDeltaCollector.isEnabled();
         for (DocumentModel parent : getAncestors(session, doc)) {
             log.trace("processing {} {}", parent::getId, parent::getPathAsString);
             QuotaAware quotaDoc = parent.getAdapter(QuotaAware.class);
@@ -392,7 +402,11 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
             if (quotaDoc == null || quotaDoc.getMaxQuota() <= 0 || USER_WORKSPACES_ROOT.equals(parent.getType())) {
                 continue;
             }
-            if (quotaDoc.getTotalSize() + delta > quotaDoc.getMaxQuota()) {
+            long totalSize = quotaDoc.getTotalSize();
+            if (async) {
+                totalSize += QuotaDeltaCollector.getPendingTotal(session.getRepositoryName(), parent.getId());
+            }
+            if (totalSize + delta > quotaDoc.getMaxQuota()) {
                 log.info("Raising Quota Exception on {} ({})", doc::getId, doc::getPathAsString);
                 throw new QuotaExceededException(parent, doc, quotaDoc.getMaxQuota());
             }
@@ -470,6 +484,28 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
             // avoids computing ancestors if there's no update to do
             return;
         }
+        if (QuotaDeltaCollector.isEnabled()) {
+            // defer the update to the aggregator, ancestors don't need to be loaded
+            String repositoryName = session.getRepositoryName();
+            for (DocumentRef ref : session.getParentDocumentRefs(doc.getRef())) {
+                QuotaDeltaCollector.addDelta(repositoryName, ref.reference().toString(), deltaTotal, deltaTrash,
+                        deltaVersions);
+            }
+            return;
+        }
+        updateAncestorsSync(session, doc, deltaTotal, deltaTrash, deltaVersions);
+    }
+
+    /**
+     * Updates the ancestors in the current transaction, whether or not asynchronous aggregation is enabled.
+     *
+     * @since 2023.13
+     */
+    protected void updateAncestorsSync(CoreSession session, DocumentModel doc, long deltaTotal, long deltaTrash,
+            long deltaVersions) {
+        if (deltaTotal == 0 && deltaTrash == 0 && deltaVersions == 0) {
+            return;
+        }
         List<DocumentModel> ancestors = getAncestors(session, doc);
         for (DocumentModel ancestor : ancestors) {
             updateDocument(ancestor, 0, deltaTotal, deltaTrash, deltaVersions);
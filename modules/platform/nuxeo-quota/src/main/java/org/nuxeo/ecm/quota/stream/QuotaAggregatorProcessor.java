@@ -0,0 +1,245 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.quota.stream;
+
+import static org.nuxeo.ecm.quota.count.Constants.DOCUMENTS_COUNT_STATISTICS_CHILDREN_COUNT_PROPERTY;
+import static org.nuxeo.ecm.quota.count.Constants.DOCUMENTS_COUNT_STATISTICS_DESCENDANTS_COUNT_PROPERTY;
+import static org.nuxeo.ecm.quota.count.Constants.DOCUMENTS_COUNT_STATISTICS_FACET;
+import static org.nuxeo.ecm.quota.stream.QuotaDeltaCollector.STREAM_NAME;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.model.DeltaLong;
+import org.nuxeo.ecm.quota.QuotaUtils;
+import org.nuxeo.ecm.quota.size.QuotaAware;
+import org.nuxeo.ecm.quota.size.QuotaAwareDocumentFactory;
+import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.computation.AbstractBatchComputation;
+import org.nuxeo.lib.stream.computation.ComputationContext;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.lib.stream.log.LogOffset;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.stream.StreamProcessorTopology;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Computation that consumes the quota size and count deltas, coalesces them per document over a batch and applies
+ * them to the documents in a single transaction per repository.
+ * <p>
+ * Once the deltas of a repository are committed, the offset of the last applied record of each partition is recorded
+ * for this repository, so that a retry of the batch, or its replay after a crash, skips the records already applied.
+ * Only a crash between the commit and the recording of the offsets can lead to applying records twice.
+ *
+ * @since 2023.13
+ */
+public class QuotaAggregatorProcessor implements StreamProcessorTopology {
+
+    private static final Logger log = LogManager.getLogger(QuotaAggregatorProcessor.class);
+
+    public static final String COMPUTATION_NAME = "quota/aggregator";
+
+    public static final String APPLIED_KEY_PREFIX = "applied:";
+
+    @Override
+    public Topology getTopology(Map<String, String> options) {
+        return Topology.builder()
+                       .addComputation(() -> new QuotaAggregatorComputation(COMPUTATION_NAME),
+                               List.of("i1:" + STREAM_NAME))
+                       .build();
+    }
+
+    public static class QuotaAggregatorComputation extends AbstractBatchComputation {
+
+        protected Codec<QuotaDelta> codec;
+
+        // offsets of the records of the current batch, which don't hold them
+        protected final Map<Record, LogOffset> offsets = new IdentityHashMap<>();
+
+        // records of the current batch whose pending budget was released, kept across retries
+        protected final Set<Record> released = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public QuotaAggregatorComputation(String name) {
+            super(name, 1, 0);
+        }
+
+        @Override
+        public void init(ComputationContext context) {
+            super.init(context);
+            codec = QuotaDeltaCollector.getCodec();
+        }
+
+        @Override
+        public void processRecord(ComputationContext context, String inputStreamName, Record record) {
+            offsets.put(record, context.getLastOffset());
+            super.processRecord(context, inputStreamName, record);
+        }
+
+        @Override
+        protected void checkpointBatch(ComputationContext context) {
+            super.checkpointBatch(context);
+            offsets.clear();
+            released.clear();
+        }
+
+        @Override
+        public void processFailure(ComputationContext context, Throwable failure) {
+            super.processFailure(context, failure);
+            offsets.clear();
+            released.clear();
+        }
+
+        @Override
+        protected void batchProcess(ComputationContext context, String inputStreamName, List<Record> records) {
+            Map<String, List<Record>> recordsByRepository = new LinkedHashMap<>();
+            Map<Record, QuotaDelta> deltas = new IdentityHashMap<>();
+            for (Record record : records) {
+                QuotaDelta delta = codec.decode(record.getData());
+                deltas.put(record, delta);
+                recordsByRepository.computeIfAbsent(delta.repository, k -> new ArrayList<>()).add(record);
+            }
+            recordsByRepository.forEach((repository, repositoryRecords) -> applyDeltas(repository,
+                    repositoryRecords, deltas));
+        }
+
+        @Override
+        public void batchFailure(ComputationContext context, String inputStreamName, List<Record> records) {
+            // error log already done by abstract, the pending budgets were released by the last attempt
+        }
+
+        /**
+         * Applies the deltas of the given records, all targeting the given repository, skipping the ones already
+         * applied.
+         */
+        protected void applyDeltas(String repository, List<Record> records, Map<Record, QuotaDelta> deltas) {
+            KeyValueStore kvStore = QuotaDeltaCollector.getKeyValueStore();
+            Map<Integer, Long> applied = new LinkedHashMap<>();
+            Map<String, QuotaDelta> coalesced = new LinkedHashMap<>();
+            List<Record> toApply = new ArrayList<>();
+            for (Record record : records) {
+                LogOffset offset = offsets.get(record);
+                if (offset != null) {
+                    int partition = offset.partition().partition();
+                    Long last = applied.computeIfAbsent(partition,
+                            p -> kvStore.getLong(getAppliedKey(repository, p)));
+                    if (last != null && offset.offset() <= last) {
+                        log.debug("Skipping already applied quota delta at: {}", offset);
+                        continue;
+                    }
+                }
+                toApply.add(record);
+                QuotaDelta delta = deltas.get(record);
+                coalesced.merge(delta.getKey(), new QuotaDelta(delta.repository, delta.id).merge(delta),
+                        QuotaDelta::merge);
+            }
+            if (toApply.isEmpty()) {
+                return;
+            }
+            log.debug("Coalesced {} quota deltas into {} updates on repository: {}", toApply::size,
+                    coalesced::size, () -> repository);
+            try {
+                TransactionHelper.runInTransaction(() -> CoreInstance.doPrivileged(repository, session -> {
+                    for (QuotaDelta delta : coalesced.values()) {
+                        applyDelta(session, delta);
+                    }
+                }));
+                // record the applied offsets only once the deltas are committed
+                Map<Integer, Long> lastOffsets = new LinkedHashMap<>();
+                for (Record record : toApply) {
+                    LogOffset offset = offsets.get(record);
+                    if (offset != null) {
+                        lastOffsets.merge(offset.partition().partition(), offset.offset(), Math::max);
+                    }
+                }
+                lastOffsets.forEach((partition, offset) -> kvStore.put(getAppliedKey(repository, partition),
+                        offset));
+            } finally {
+                // the budget is an approximation, release it once whatever happens so that it doesn't leak
+                for (Record record : toApply) {
+                    if (released.add(record)) {
+                        QuotaDeltaCollector.releasePending(deltas.get(record));
+                    }
+                }
+            }
+        }
+
+        protected static String getAppliedKey(String repository, int partition) {
+            return APPLIED_KEY_PREFIX + repository + ":" + partition;
+        }
+
+        protected void applyDelta(CoreSession session, QuotaDelta delta) {
+            if (delta.isEmpty()) {
+                return;
+            }
+            IdRef ref = new IdRef(delta.id);
+            if (!session.exists(ref)) {
+                log.debug("Skipping quota delta on removed document: {}", delta);
+                return;
+            }
+            DocumentModel doc = session.getDocument(ref);
+            if (delta.hasCounts()) {
+                applyCountDelta(doc, delta);
+            }
+            if (!delta.hasSizes()) {
+                // do not send notifications
+                QuotaUtils.disableListeners(doc);
+                session.saveDocument(doc);
+                QuotaUtils.clearContextData(doc);
+                return;
+            }
+            QuotaAware quotaDoc = doc.getAdapter(QuotaAware.class);
+            if (quotaDoc == null) {
+                quotaDoc = QuotaAwareDocumentFactory.make(doc);
+            }
+            quotaDoc.addTotalSize(delta.total);
+            quotaDoc.addTrashSize(delta.trash);
+            quotaDoc.addVersionsSize(delta.versions);
+            // also saves the counts
+            quotaDoc.save();
+        }
+
+        protected void applyCountDelta(DocumentModel doc, QuotaDelta delta) {
+            if (!doc.hasFacet(DOCUMENTS_COUNT_STATISTICS_FACET)) {
+                doc.addFacet(DOCUMENTS_COUNT_STATISTICS_FACET);
+            }
+            addCount(doc, DOCUMENTS_COUNT_STATISTICS_CHILDREN_COUNT_PROPERTY, delta.children);
+            addCount(doc, DOCUMENTS_COUNT_STATISTICS_DESCENDANTS_COUNT_PROPERTY, delta.descendants);
+        }
+
+        protected void addCount(DocumentModel doc, String xpath, long count) {
+            if (count != 0) {
+                Number previous = (Number) doc.getPropertyValue(xpath);
+                doc.setPropertyValue(xpath, DeltaLong.valueOf(previous, count));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.quota.stream;
+
+import java.io.Serializable;
+
+/**
+ * A size and count delta to apply to the quota statistics of a document, used by the asynchronous quota aggregation.
+ *
+ * @since 2023.13
+ */
+public class QuotaDelta implements Serializable {
+
+    private static final long serialVersionUID = 20261019L;
+
+    public String repository;
+
+    // id of the document to update
+    public String id;
+
+    public long total;
+
+    public long trash;
+
+    public long versions;
+
+    public long children;
+
+    public long descendants;
+
+    public QuotaDelta() {
+    }
+
+    public QuotaDelta(String repository, String id) {
+        this.repository = repository;
+        this.id = id;
+    }
+
+    /** Gets the key identifying the document to update across repositories. */
+    public String getKey() {
+        return repository + ":" + id;
+    }
+
+    public boolean isEmpty() {
+        return !hasSizes() && !hasCounts();
+    }
+
+    public boolean hasSizes() {
+        return total != 0 || trash != 0 || versions != 0;
+    }
+
+    public boolean hasCounts() {
+        return children != 0 || descendants != 0;
+    }
+
+    /** Adds the given size deltas to this one. */
+    public QuotaDelta add(long deltaTotal, long deltaTrash, long deltaVersions) {
+        total += deltaTotal;
+        trash += deltaTrash;
+        versions += deltaVersions;
+        return this;
+    }
+
+    /** Adds the given count deltas to this one. */
+    public QuotaDelta addCounts(long deltaChildren, long deltaDescendants) {
+        children += deltaChildren;
+        descendants += deltaDescendants;
+        return this;
+    }
+
+    /** Adds the other delta, targeting the same document, to this one. */
+    public QuotaDelta merge(QuotaDelta other) {
+        return add(other.total, other.trash, other.versions).addCounts(other.children, other.descendants);
+    }
+
+    @Override
+    public String toString() {
+        return "QuotaDelta{" + "repository='" + repository + '\'' + ", id='" + id + '\'' + ", total=" + total
+                + ", trash=" + trash + ", versions=" + versions + ", children=" + children + ", descendants="
+                + descendants + '}';
+    }
+}
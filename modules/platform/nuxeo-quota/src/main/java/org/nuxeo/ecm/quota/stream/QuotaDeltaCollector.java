@@ -0,0 +1,196 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.quota.stream;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.StreamManager;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.codec.CodecService;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+import org.nuxeo.runtime.stream.StreamService;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Collects the quota size and count deltas to apply to the ancestors of the documents modified by the current
+ * transaction.
+ * <p>
+ * Deltas are coalesced per document for the transaction, and appended to the {@value #STREAM_NAME} stream after
+ * commit, using the document id as partition key, so that the {@link QuotaAggregatorProcessor} can coalesce them
+ * again over its batch window before updating the documents. Until applied, the total size deltas are kept as a
+ * pending budget in a key/value store so that quota checks remain approximately up to date. The pending budget of a
+ * document expires if it's not updated for a while, so that a budget not released because of a crash doesn't leak.
+ *
+ * @since 2023.13
+ */
+public class QuotaDeltaCollector implements Synchronization {
+
+    private static final Logger log = LogManager.getLogger(QuotaDeltaCollector.class);
+
+    public static final String QUOTA_ASYNC_ENABLED_PROP = "nuxeo.quota.async.enabled";
+
+    public static final String STREAM_NAME = "quota/deltas";
+
+    public static final String KV_STORE_NAME = "quota";
+
+    public static final String PENDING_KEY_PREFIX = "pending:";
+
+    public static final String PENDING_TTL_PROP = "nuxeo.quota.async.pending.ttl";
+
+    public static final Duration PENDING_TTL_DEFAULT = Duration.ofHours(1);
+
+    protected static final String CODEC_NAME = "avro";
+
+    protected static final ThreadLocal<QuotaDeltaCollector> collector = new ThreadLocal<>();
+
+    protected final Map<String, QuotaDelta> deltas = new LinkedHashMap<>();
+
+    /** Checks if the quota statistics of the ancestors are updated asynchronously. */
+    public static boolean isEnabled() {
+        return Framework.getService(ConfigurationService.class).isBooleanTrue(QUOTA_ASYNC_ENABLED_PROP);
+    }
+
+    /**
+     * Adds a size delta to apply asynchronously to the given document. If there is no active transaction, the delta is
+     * written immediately.
+     */
+    public static void addDelta(String repository, String id, long deltaTotal, long deltaTrash, long deltaVersions) {
+        if (deltaTotal == 0 && deltaTrash == 0 && deltaVersions == 0) {
+            return;
+        }
+        addDelta(repository, id, delta -> delta.add(deltaTotal, deltaTrash, deltaVersions));
+    }
+
+    /**
+     * Adds a count delta to apply asynchronously to the given document. If there is no active transaction, the delta
+     * is written immediately.
+     */
+    public static void addCountDelta(String repository, String id, long deltaChildren, long deltaDescendants) {
+        if (deltaChildren == 0 && deltaDescendants == 0) {
+            return;
+        }
+        addDelta(repository, id, delta -> delta.addCounts(deltaChildren, deltaDescendants));
+    }
+
+    protected static void addDelta(String repository, String id, Consumer<QuotaDelta> updater) {
+        QuotaDeltaCollector current = collector.get();
+        if (current == null) {
+            if (TransactionHelper.isTransactionMarkedRollback()) {
+                // nothing will be committed
+                return;
+            }
+            current = new QuotaDeltaCollector();
+            if (TransactionHelper.isTransactionActive()) {
+                TransactionHelper.registerSynchronization(current);
+                collector.set(current);
+            }
+        }
+        updater.accept(current.deltas.computeIfAbsent(repository + ":" + id, k -> new QuotaDelta(repository, id)));
+        if (collector.get() != current) {
+            // no transaction so don't wait for a commit
+            current.write();
+        }
+    }
+
+    /**
+     * Gets the total size not yet applied to the given document, including the deltas of the current transaction.
+     */
+    public static long getPendingTotal(String repository, String id) {
+        Long pending = getKeyValueStore().getLong(PENDING_KEY_PREFIX + repository + ":" + id);
+        long total = pending == null ? 0 : pending.longValue();
+        QuotaDeltaCollector current = collector.get();
+        if (current != null) {
+            QuotaDelta delta = current.deltas.get(repository + ":" + id);
+            if (delta != null) {
+                total += delta.total;
+            }
+        }
+        return total;
+    }
+
+    /** Releases the pending total size once a delta has been applied to its document. */
+    public static void releasePending(QuotaDelta delta) {
+        if (delta.total != 0) {
+            getKeyValueStore().addAndGet(PENDING_KEY_PREFIX + delta.getKey(), -delta.total);
+        }
+    }
+
+    @Override
+    public void beforeCompletion() {
+        // nothing to do
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        try {
+            if (status == Status.STATUS_COMMITTED) {
+                write();
+            }
+        } finally {
+            collector.remove();
+        }
+    }
+
+    protected void write() {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        KeyValueStore kvStore = getKeyValueStore();
+        long ttl = Framework.getService(ConfigurationService.class)
+                            .getDuration(PENDING_TTL_PROP, PENDING_TTL_DEFAULT)
+                            .toSeconds();
+        Codec<QuotaDelta> codec = getCodec();
+        StreamManager streamManager = Framework.getService(StreamService.class).getStreamManager();
+        for (QuotaDelta delta : deltas.values()) {
+            if (delta.isEmpty()) {
+                continue;
+            }
+            // reserve the budget before the delta becomes visible to the aggregator
+            if (delta.total != 0) {
+                String key = PENDING_KEY_PREFIX + delta.getKey();
+                kvStore.addAndGet(key, delta.total);
+                kvStore.setTTL(key, ttl);
+            }
+            streamManager.append(STREAM_NAME, Record.of(delta.id, codec.encode(delta)));
+        }
+        log.debug("Appended {} quota deltas", deltas::size);
+        deltas.clear();
+    }
+
+    protected static KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(KV_STORE_NAME);
+    }
+
+    protected static Codec<QuotaDelta> getCodec() {
+        return Framework.getService(CodecService.class).getCodec(CODEC_NAME, QuotaDelta.class);
+    }
+
+}
@@ -0,0 +1,276 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.quota.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.nuxeo.ecm.quota.count.Constants.DOCUMENTS_COUNT_STATISTICS_CHILDREN_COUNT_PROPERTY;
+import static org.nuxeo.ecm.quota.count.Constants.DOCUMENTS_COUNT_STATISTICS_DESCENDANTS_COUNT_PROPERTY;
+import static org.nuxeo.ecm.quota.stream.QuotaDeltaCollector.PENDING_KEY_PREFIX;
+import static org.nuxeo.ecm.quota.stream.QuotaDeltaCollector.STREAM_NAME;
+import static org.nuxeo.lib.stream.computation.AbstractBatchComputation.TIMER_BATCH;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.quota.count.QuotaFeature;
+import org.nuxeo.ecm.quota.size.QuotaAware;
+import org.nuxeo.ecm.quota.stream.QuotaAggregatorProcessor.QuotaAggregatorComputation;
+import org.nuxeo.lib.stream.codec.Codec;
+import org.nuxeo.lib.stream.computation.ComputationMetadataMapping;
+import org.nuxeo.lib.stream.computation.ComputationPolicy;
+import org.nuxeo.lib.stream.computation.ComputationPolicyBuilder;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.internals.ComputationContextImpl;
+import org.nuxeo.lib.stream.log.Name;
+import org.nuxeo.lib.stream.log.internals.LogOffsetImpl;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Tests the application of the quota deltas by the {@link QuotaAggregatorComputation}.
+ *
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(QuotaFeature.class)
+public class TestQuotaAggregator {
+
+    @Inject
+    protected CoreSession session;
+
+    protected DocumentModel folder;
+
+    protected Codec<QuotaDelta> codec;
+
+    @Before
+    public void setUp() {
+        folder = session.createDocument(session.createDocumentModel("/", "folder", "Folder"));
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+        codec = QuotaDeltaCollector.getCodec();
+        resetKeys();
+    }
+
+    @After
+    public void tearDown() {
+        resetKeys();
+    }
+
+    protected void resetKeys() {
+        KeyValueStore kvStore = QuotaDeltaCollector.getKeyValueStore();
+        kvStore.put(QuotaAggregatorProcessor.getAppliedKey(session.getRepositoryName(), 0), (Long) null);
+        kvStore.put(PENDING_KEY_PREFIX + session.getRepositoryName() + ":" + folder.getId(), (Long) null);
+    }
+
+    @Test
+    public void testCoalescing() {
+        CountingComputation computation = new CountingComputation();
+        ComputationContextImpl context = newContext(computation);
+        processRecord(computation, context, 0, 10);
+        processRecord(computation, context, 1, 20);
+        processRecord(computation, context, 2, -5);
+        processBatch(computation, context);
+
+        // the three deltas are applied as a single update
+        assertEquals(1, computation.applied);
+        assertEquals(25, getTotalSize());
+        assertEquals(0, getPending());
+    }
+
+    @Test
+    public void testCountCoalescing() {
+        CountingComputation computation = new CountingComputation();
+        ComputationContextImpl context = newContext(computation);
+        processCountRecord(computation, context, 0, 1, 1);
+        processCountRecord(computation, context, 1, 0, 3);
+        processRecord(computation, context, 2, 10);
+        processCountRecord(computation, context, 3, -1, -1);
+        processBatch(computation, context);
+
+        // the count and size deltas are applied as a single update
+        assertEquals(1, computation.applied);
+        assertEquals(10, getTotalSize());
+        DocumentModel doc = session.getDocument(folder.getRef());
+        assertEquals(0L, doc.getPropertyValue(DOCUMENTS_COUNT_STATISTICS_CHILDREN_COUNT_PROPERTY));
+        assertEquals(3L, doc.getPropertyValue(DOCUMENTS_COUNT_STATISTICS_DESCENDANTS_COUNT_PROPERTY));
+        assertEquals(0, getPending());
+    }
+
+    @Test
+    public void testRetry() {
+        CountingComputation computation = new CountingComputation();
+        computation.failures = 1;
+        ComputationContextImpl context = newContext(computation);
+        processRecord(computation, context, 0, 10);
+        processRecord(computation, context, 1, 20);
+        try {
+            processBatch(computation, context);
+            fail("should have failed");
+        } catch (NuxeoException e) {
+            assertEquals("failure", e.getMessage());
+        }
+        // nothing applied but the pending budget is released anyway
+        assertEquals(0, getTotalSize());
+        assertEquals(0, getPending());
+
+        // retry the batch
+        processBatch(computation, context);
+        assertEquals(30, getTotalSize());
+        // the pending budget is not released twice
+        assertEquals(0, getPending());
+
+    }
+
+    @Test
+    public void testRetryAfterCommit() {
+        CountingComputation computation = new CountingComputation();
+        // fails after the deltas are committed, as when the deltas of another repository of the batch fail
+        computation.failuresAfterCommit = 1;
+        ComputationContextImpl context = newContext(computation);
+        processRecord(computation, context, 0, 10);
+        processRecord(computation, context, 1, 20);
+        try {
+            processBatch(computation, context);
+            fail("should have failed");
+        } catch (NuxeoException e) {
+            assertEquals("failure after commit", e.getMessage());
+        }
+        assertEquals(30, getTotalSize());
+        assertEquals(0, getPending());
+
+        // the retry doesn't apply the deltas twice
+        processBatch(computation, context);
+        assertEquals(1, computation.applied);
+        assertEquals(30, getTotalSize());
+        assertEquals(0, getPending());
+    }
+
+    @Test
+    public void testCrashRecovery() {
+        CountingComputation computation = new CountingComputation();
+        ComputationContextImpl context = newContext(computation);
+        processRecord(computation, context, 0, 10);
+        processRecord(computation, context, 1, 20);
+        processBatch(computation, context);
+        assertEquals(30, getTotalSize());
+
+        // the node crashed before the checkpoint, a new computation replays the records from the last checkpoint
+        computation = new CountingComputation();
+        context = newContext(computation);
+        processRecord(computation, context, 0, 10);
+        processRecord(computation, context, 1, 20);
+        processRecord(computation, context, 2, 5);
+        processBatch(computation, context);
+
+        // only the record not yet applied is applied
+        assertEquals(1, computation.applied);
+        assertEquals(35, getTotalSize());
+        assertEquals(0, getPending());
+    }
+
+    protected ComputationContextImpl newContext(QuotaAggregatorComputation computation) {
+        ComputationPolicy policy = new ComputationPolicyBuilder().batchPolicy(100, Duration.ofMinutes(1)).build();
+        ComputationContextImpl context = new ComputationContextImpl(null,
+                new ComputationMetadataMapping(computation.metadata(), Collections.emptyMap()), policy);
+        computation.init(context);
+        return context;
+    }
+
+    protected void processRecord(QuotaAggregatorComputation computation, ComputationContextImpl context, long offset,
+            long total) {
+        QuotaDelta delta = new QuotaDelta(session.getRepositoryName(), folder.getId()).add(total, 0, 0);
+        // the collector reserves the budget when appending the delta
+        QuotaDeltaCollector.getKeyValueStore().addAndGet(PENDING_KEY_PREFIX + delta.getKey(), total);
+        context.setLastOffset(new LogOffsetImpl(Name.ofUrn(STREAM_NAME), 0, offset));
+        computation.processRecord(context, "i1", Record.of(delta.id, codec.encode(delta)));
+    }
+
+    protected void processCountRecord(QuotaAggregatorComputation computation, ComputationContextImpl context,
+            long offset, long children, long descendants) {
+        QuotaDelta delta = new QuotaDelta(session.getRepositoryName(), folder.getId()).addCounts(children,
+                descendants);
+        context.setLastOffset(new LogOffsetImpl(Name.ofUrn(STREAM_NAME), 0, offset));
+        computation.processRecord(context, "i1", Record.of(delta.id, codec.encode(delta)));
+    }
+
+    protected void processBatch(QuotaAggregatorComputation computation, ComputationContextImpl context) {
+        // the computation runs its own transaction
+        TransactionHelper.runWithoutTransaction(
+                () -> computation.processTimer(context, TIMER_BATCH, System.currentTimeMillis()));
+    }
+
+    protected long getTotalSize() {
+        // see the changes committed by the computation
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+        QuotaAware quotaDoc = session.getDocument(folder.getRef()).getAdapter(QuotaAware.class);
+        return quotaDoc == null ? 0 : quotaDoc.getTotalSize();
+    }
+
+    protected long getPending() {
+        return QuotaDeltaCollector.getPendingTotal(session.getRepositoryName(), folder.getId());
+    }
+
+    protected static class CountingComputation extends QuotaAggregatorComputation {
+
+        protected int failures;
+
+        protected int failuresAfterCommit;
+
+        protected int applied;
+
+        public CountingComputation() {
+            super("test");
+        }
+
+        @Override
+        protected void applyDelta(CoreSession session, QuotaDelta delta) {
+            if (failures > 0) {
+                failures--;
+                throw new NuxeoException("failure");
+            }
+            applied++;
+            super.applyDelta(session, delta);
+        }
+
+        @Override
+        protected void applyDeltas(String repository, List<Record> records, Map<Record, QuotaDelta> deltas) {
+            super.applyDeltas(repository, records, deltas);
+            if (failuresAfterCommit > 0) {
+                failuresAfterCommit--;
+                throw new NuxeoException("failure after commit");
+            }
+        }
+    }
+
+}
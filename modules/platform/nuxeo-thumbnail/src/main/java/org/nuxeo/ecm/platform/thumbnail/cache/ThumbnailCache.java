@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.thumbnail.cache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.transientstore.api.TransientStore;
+import org.nuxeo.ecm.core.transientstore.api.TransientStoreService;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+
+/**
+ * Content-addressed cache of the thumbnails, keyed by the digest of the source blob, the converter and its parameters.
+ * <p>
+ * Copies, versions and imports of the same content share the same digest, so the thumbnail computed for one of them is
+ * reused by all the others, across the cluster when the {@value #STORE_NAME} transient store is shared. Blobs without
+ * digest, such as the intermediate results of a conversion chain, are never cached.
+ *
+ * @since 2023.13
+ */
+public class ThumbnailCache {
+
+    private static final Logger log = LogManager.getLogger(ThumbnailCache.class);
+
+    public static final String THUMBNAIL_CACHE_ENABLED_PROPERTY = "nuxeo.thumbnail.cache.enabled";
+
+    public static final String STORE_NAME = "thumbnailCache";
+
+    private ThumbnailCache() {
+        // utility class
+    }
+
+    public static boolean isEnabled() {
+        return Framework.getService(ConfigurationService.class).isBooleanTrue(THUMBNAIL_CACHE_ENABLED_PROPERTY);
+    }
+
+    /**
+     * Computes the cache key of the thumbnail of the given {@code blob}.
+     *
+     * @return the key, or {@code null} if the thumbnail must not be cached
+     */
+    public static String computeKey(String converterName, Blob blob, Map<String, Serializable> parameters) {
+        if (blob == null || StringUtils.isEmpty(blob.getDigest()) || !isEnabled()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(converterName);
+        sb.append(":");
+        sb.append(blob.getDigest());
+        if (parameters != null) {
+            // sort the parameters so that the key is stable
+            for (Map.Entry<String, Serializable> entry : new TreeMap<>(parameters).entrySet()) {
+                sb.append(":").append(entry.getKey());
+                sb.append(":").append(entry.getValue());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the cached thumbnail for the given key.
+     *
+     * @return the thumbnail, or {@code null} if not cached
+     */
+    public static Blob get(String key) {
+        if (key == null) {
+            return null;
+        }
+        TransientStore store = getStore();
+        if (!store.isCompleted(key)) {
+            return null;
+        }
+        List<Blob> blobs = store.getBlobs(key);
+        if (blobs == null || blobs.isEmpty()) {
+            return null;
+        }
+        log.debug("Thumbnail cache hit for key: {}", key);
+        return blobs.get(0);
+    }
+
+    /**
+     * Caches the thumbnail for the given key.
+     */
+    public static void put(String key, Blob thumbnail) {
+        if (key == null || thumbnail == null) {
+            return;
+        }
+        TransientStore store = getStore();
+        store.putBlobs(key, Collections.singletonList(thumbnail));
+        store.setCompleted(key, true);
+    }
+
+    protected static TransientStore getStore() {
+        return Framework.getService(TransientStoreService.class).getStore(STORE_NAME);
+    }
+
+}
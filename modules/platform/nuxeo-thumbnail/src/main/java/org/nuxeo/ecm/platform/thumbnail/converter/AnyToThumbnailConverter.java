@@ -29,8 +29,10 @@ import java.util.regex.Pattern;
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.blobholder.BlobHolder;
 import org.nuxeo.ecm.core.convert.api.ConversionService;
+import org.nuxeo.ecm.core.convert.cache.SimpleCachableBlobHolder;
 import org.nuxeo.ecm.core.convert.extension.Converter;
 import org.nuxeo.ecm.core.convert.extension.ConverterDescriptor;
+import org.nuxeo.ecm.platform.thumbnail.cache.ThumbnailCache;
 import org.nuxeo.runtime.api.Framework;
 
 /**
@@ -88,7 +90,24 @@ public class AnyToThumbnailConverter implements Converter {
                 && conversionService.isConverterAvailable(ANY_TO_PDF_CONVERTER_NAME, true).isAvailable()) {
             converterName = ANY_TO_PDF_TO_THUMBNAIL_CONVERTER_NAME;
         }
-        return converterName == null ? null : conversionService.convert(converterName, blobHolder, parameters);
+        if (converterName == null) {
+            return null;
+        }
+        if (PDF_AND_IMAGE_TO_THUMBNAIL_CONVERTER_NAME.equals(converterName)) {
+            // cached by the converter itself
+            return conversionService.convert(converterName, blobHolder, parameters);
+        }
+        // avoid running again the costly office conversions for an already converted content
+        String cacheKey = ThumbnailCache.computeKey(converterName, sourceBlob, parameters);
+        Blob cachedBlob = ThumbnailCache.get(cacheKey);
+        if (cachedBlob != null) {
+            return new SimpleCachableBlobHolder(cachedBlob);
+        }
+        BlobHolder result = conversionService.convert(converterName, blobHolder, parameters);
+        if (result != null) {
+            ThumbnailCache.put(cacheKey, result.getBlob());
+        }
+        return result;
     }
 
 }
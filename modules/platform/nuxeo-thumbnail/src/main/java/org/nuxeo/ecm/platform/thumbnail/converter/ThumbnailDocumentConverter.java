@@ -20,6 +20,7 @@
  */
 package org.nuxeo.ecm.platform.thumbnail.converter;
 
+import static org.nuxeo.ecm.platform.thumbnail.ThumbnailConstants.PDF_AND_IMAGE_TO_THUMBNAIL_CONVERTER_NAME;
 import static org.nuxeo.ecm.platform.thumbnail.ThumbnailConstants.THUMBNAIL_DEFAULT_SIZE;
 import static org.nuxeo.ecm.platform.thumbnail.ThumbnailConstants.THUMBNAIL_SIZE_PARAMETER_NAME;
 
@@ -42,6 +43,7 @@ import org.nuxeo.ecm.platform.commandline.executor.api.CommandException;
 import org.nuxeo.ecm.platform.commandline.executor.api.CommandLineExecutorService;
 import org.nuxeo.ecm.platform.commandline.executor.api.CommandNotAvailable;
 import org.nuxeo.ecm.platform.commandline.executor.api.ExecResult;
+import org.nuxeo.ecm.platform.thumbnail.cache.ThumbnailCache;
 import org.nuxeo.runtime.api.Framework;
 
 /**
@@ -53,6 +55,9 @@ public class ThumbnailDocumentConverter implements Converter {
 
     public static final String THUMBNAIL_COMMAND = "toThumbnail";
 
+    /** @since 2023.13 */
+    protected String converterName = PDF_AND_IMAGE_TO_THUMBNAIL_CONVERTER_NAME;
+
     @Override
     public BlobHolder convert(BlobHolder blobHolder, Map<String, Serializable> parameters) {
         try {
@@ -68,12 +73,20 @@ public class ThumbnailDocumentConverter implements Converter {
                 return new SimpleCachableBlobHolder((Blob) null);
             }
 
+            String size = parameters == null ? THUMBNAIL_DEFAULT_SIZE
+                    : (String) parameters.getOrDefault(THUMBNAIL_SIZE_PARAMETER_NAME, THUMBNAIL_DEFAULT_SIZE);
+            // the same content may have already been converted for another document
+            String cacheKey = ThumbnailCache.computeKey(converterName, blob,
+                    Map.of(THUMBNAIL_SIZE_PARAMETER_NAME, size));
+            Blob cachedBlob = ThumbnailCache.get(cacheKey);
+            if (cachedBlob != null) {
+                return new SimpleCachableBlobHolder(cachedBlob);
+            }
+
             Blob targetBlob = Blobs.createBlobWithExtension(".png");
             targetBlob.setMimeType("image/png");
             try (CloseableFile source = blob.getCloseableFile()) {
                 CmdParameters params = cles.getDefaultCmdParameters();
-                String size = parameters == null ? THUMBNAIL_DEFAULT_SIZE
-                        : (String) parameters.getOrDefault(THUMBNAIL_SIZE_PARAMETER_NAME, THUMBNAIL_DEFAULT_SIZE);
                 params.addNamedParameter(THUMBNAIL_SIZE_PARAMETER_NAME, size);
                 params.addNamedParameter("inputFilePath", source.getFile());
                 params.addNamedParameter("outputFilePath", targetBlob.getFile());
@@ -83,6 +96,7 @@ public class ThumbnailDocumentConverter implements Converter {
                     throw res.getError();
                 }
             }
+            ThumbnailCache.put(cacheKey, targetBlob);
             return new SimpleCachableBlobHolder(targetBlob);
         } catch (CommandNotAvailable | IOException | NuxeoException | CommandException e) {
             throw new ConversionException("Thumbnail conversion failed", blobHolder, e);
@@ -91,6 +105,6 @@ public class ThumbnailDocumentConverter implements Converter {
 
     @Override
     public void init(ConverterDescriptor descriptor) {
-        // Nothing to do here
+        converterName = descriptor.getConverterName();
     }
 }
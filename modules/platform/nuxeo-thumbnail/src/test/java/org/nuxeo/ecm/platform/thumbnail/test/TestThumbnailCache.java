@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.thumbnail.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.ecm.platform.thumbnail.cache.ThumbnailCache;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.platform.thumbnail")
+@Deploy("org.nuxeo.ecm.platform.thumbnail:test-thumbnail-cache-contrib.xml")
+public class TestThumbnailCache {
+
+    protected static final Map<String, Serializable> PARAMS = Map.of("size", "100x100");
+
+    @Test
+    public void testKeyDependsOnDigestAndParameters() {
+        Blob blob = Blobs.createBlob("content");
+        assertNull(ThumbnailCache.computeKey("converter", blob, PARAMS));
+
+        blob.setDigest("0123456789");
+        Blob copy = Blobs.createBlob("content");
+        copy.setDigest("0123456789");
+        String key = ThumbnailCache.computeKey("converter", blob, PARAMS);
+        assertNotNull(key);
+        assertEquals(key, ThumbnailCache.computeKey("converter", copy, PARAMS));
+        assertNotEquals(key, ThumbnailCache.computeKey("converter", blob, Map.of("size", "200x200")));
+        assertNotEquals(key, ThumbnailCache.computeKey("otherConverter", blob, PARAMS));
+    }
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        Blob blob = Blobs.createBlob("content");
+        blob.setDigest("0123456789");
+        String key = ThumbnailCache.computeKey("converter", blob, PARAMS);
+        assertNull(ThumbnailCache.get(key));
+
+        ThumbnailCache.put(key, Blobs.createBlob("thumbnail", "image/png"));
+        Blob thumbnail = ThumbnailCache.get(key);
+        assertNotNull(thumbnail);
+        assertEquals("thumbnail", thumbnail.getString());
+    }
+
+}
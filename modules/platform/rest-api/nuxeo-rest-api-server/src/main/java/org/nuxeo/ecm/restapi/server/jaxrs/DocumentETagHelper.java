@@ -0,0 +1,267 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.restapi.server.jaxrs;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.nuxeo.ecm.webengine.jaxrs.coreiodelegate.PartialCoreIODelegate.CONTENT_TYPE;
+import static org.nuxeo.ecm.webengine.jaxrs.coreiodelegate.PartialCoreIODelegate.NUXEO_ENTITY;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.nuxeo.ecm.automation.core.util.Paginable;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.Lock;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.cache.Cache;
+import org.nuxeo.ecm.core.cache.CacheService;
+import org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelJsonWriter;
+import org.nuxeo.ecm.core.io.registry.MarshallerRegistry;
+import org.nuxeo.ecm.core.io.registry.Writer;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+import org.nuxeo.ecm.platform.web.common.vh.VirtualHostHelper;
+import org.nuxeo.ecm.webengine.jaxrs.coreiodelegate.RenderingContextWebUtils;
+import org.nuxeo.ecm.webengine.model.WebContext;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+
+/**
+ * Handles the conditional GET requests on documents.
+ * <p>
+ * The strong entity tag of a response is computed from the id, change token and lock of the returned documents, the
+ * current principal, and the request headers and parameters driving the marshalling (properties, enrichers, fetch,
+ * ...). This way a request with a matching {@code If-None-Match} header is answered with a {@code 304 Not Modified}
+ * before marshalling anything. The entity tag doesn't take into account the related documents that some enrichers may
+ * render.
+ * <p>
+ * The ACLs, and the ACLs inherited from the ancestors, don't change the change token. The requests rendering ACLs or
+ * permissions are therefore answered without entity tag nor cache.
+ * <p>
+ * If enabled, the serialized JSON bodies are also kept in the {@value #CACHE_NAME} cache by entity tag, which mostly
+ * benefits reads shared by many clients, such as anonymous ones.
+ *
+ * @since 2023.13
+ */
+public class DocumentETagHelper {
+
+    public static final String ETAG_ENABLED_PROPERTY = "nuxeo.rest.api.document.etag.enabled";
+
+    public static final String CACHE_ENABLED_PROPERTY = "nuxeo.rest.api.document.cache.enabled";
+
+    public static final String CACHE_NAME = "restapi-document-json";
+
+    /** Prefixes of the headers having an impact on the marshalling. */
+    protected static final List<String> RENDERING_HEADER_PREFIXES = List.of("x-nx", "properties", "enrichers",
+            "fetch", "translate", "depth", HttpHeaders.ACCEPT.toLowerCase());
+
+    protected static final String ESENTITY = "+esentity";
+
+    /** The document parts depending on the ACLs of the document or of its ancestors. */
+    protected static final Set<String> ACL_DEPENDENT_PARTS = Set.of("acls", "permissions", "userVisiblePermissions",
+            "firstAccessibleAncestor");
+
+    private DocumentETagHelper() {
+        // helper class
+    }
+
+    /**
+     * A serialized response body.
+     */
+    protected record CachedBody(String contentType, byte[] content) implements Serializable {
+    }
+
+    public static boolean isEnabled() {
+        return Framework.getService(ConfigurationService.class).isBooleanTrue(ETAG_ENABLED_PROPERTY);
+    }
+
+    /**
+     * Checks whether conditional requests are enabled and apply to the given request, which is not the case if it
+     * renders ACL or permission dependent parts of the documents.
+     */
+    public static boolean isEnabled(HttpServletRequest request) {
+        if (!isEnabled()) {
+            return false;
+        }
+        RenderingContext renderingCtx = RenderingContextWebUtils.getContext(request);
+        String entityType = DocumentModelJsonWriter.ENTITY_TYPE;
+        return Stream.concat(renderingCtx.getEnrichers(entityType).stream(),
+                renderingCtx.getFetched(entityType).stream()).noneMatch(ACL_DEPENDENT_PARTS::contains);
+    }
+
+    /**
+     * Builds the response for the given document, or a {@code 304 Not Modified} response if the client already has
+     * its current version.
+     */
+    public static Response getResponse(WebContext ctx, DocumentModel doc) {
+        StringBuilder state = new StringBuilder();
+        appendState(state, doc);
+        return getResponse(ctx, state, doc, DocumentModel.class);
+    }
+
+    /**
+     * Builds the response for the given page of children documents, or a {@code 304 Not Modified} response if the
+     * client already has its current version.
+     */
+    public static Response getResponse(WebContext ctx, DocumentModel parent, Paginable<DocumentModel> children) {
+        StringBuilder state = new StringBuilder();
+        appendState(state, parent);
+        appendState(state, "resultsCount", children.getResultsCount());
+        for (DocumentModel doc : children) {
+            appendState(state, doc);
+        }
+        Type genericType = new GenericEntity<Paginable<DocumentModel>>(children) {
+        }.getType();
+        return getResponse(ctx, state, children, genericType);
+    }
+
+    protected static Response getResponse(WebContext ctx, StringBuilder state, Object entity, Type genericType) {
+        HttpServletRequest request = ctx.getRequest();
+        appendRequestState(state, ctx);
+        EntityTag etag = new EntityTag(hash(state));
+        if (isNotModified(request, etag)) {
+            return Response.notModified(etag).build();
+        }
+        Cache cache = getCache(request);
+        if (cache == null) {
+            return Response.ok(new GenericEntity<>(entity, genericType)).tag(etag).build();
+        }
+        CachedBody body = (CachedBody) cache.get(etag.getValue());
+        if (body == null) {
+            body = serialize(request, entity, genericType);
+            cache.put(etag.getValue(), body);
+        }
+        return Response.ok(body.content()).header(CONTENT_TYPE, body.contentType()).tag(etag).build();
+    }
+
+    protected static void appendState(StringBuilder state, DocumentModel doc) {
+        String changeToken = doc.getChangeToken();
+        if (changeToken == null) {
+            // no change token, fall back on the modification date
+            changeToken = String.valueOf(doc.getPropertyValue("dc:modified"));
+        }
+        state.append(doc.getId()).append(':').append(changeToken);
+        // locking doesn't change the change token
+        Lock lock = doc.getLockInfo();
+        if (lock != null) {
+            Calendar created = lock.getCreated();
+            long createdMillis = created == null ? 0 : created.getTimeInMillis();
+            state.append(':').append(lock.getOwner()).append(':').append(createdMillis);
+        }
+        state.append('\n');
+    }
+
+    protected static void appendState(StringBuilder state, String name, Object value) {
+        state.append(name).append('=').append(value).append('\n');
+    }
+
+    protected static void appendRequestState(StringBuilder state, WebContext ctx) {
+        HttpServletRequest request = ctx.getRequest();
+        appendState(state, "principal", ctx.getPrincipal().getName());
+        appendState(state, "base", VirtualHostHelper.getBaseURL(request));
+        appendState(state, "locale", request.getLocale());
+        Map<String, List<String>> headers = new TreeMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            String lowerName = name.toLowerCase();
+            if (RENDERING_HEADER_PREFIXES.stream().anyMatch(lowerName::startsWith)) {
+                headers.computeIfAbsent(lowerName, k -> new ArrayList<>())
+                       .addAll(Collections.list(request.getHeaders(name)));
+            }
+        }
+        headers.forEach((name, values) -> appendState(state, name, values));
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> appendState(state, name, List.of(values)));
+    }
+
+    protected static String hash(StringBuilder state) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(state.toString().getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new NuxeoException(e);
+        }
+    }
+
+    protected static boolean isNotModified(HttpServletRequest request, EntityTag etag) {
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String value : header.split(",")) {
+                value = value.trim();
+                if (value.startsWith("W/")) {
+                    // weak comparison is used for GET requests
+                    value = value.substring(2);
+                }
+                if ("*".equals(value) || value.equals('"' + etag.getValue() + '"')) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected static Cache getCache(HttpServletRequest request) {
+        if (!Framework.getService(ConfigurationService.class).isBooleanTrue(CACHE_ENABLED_PROPERTY)) {
+            return null;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(ESENTITY)) {
+            // only plain JSON bodies are cached
+            return null;
+        }
+        return Framework.getService(CacheService.class).getCache(CACHE_NAME);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static CachedBody serialize(HttpServletRequest request, Object entity, Type genericType) {
+        RenderingContext renderingCtx = RenderingContextWebUtils.getContext(request);
+        MarshallerRegistry registry = Framework.getService(MarshallerRegistry.class);
+        Writer<Object> writer = (Writer<Object>) registry.getWriter(renderingCtx, entity.getClass(), genericType,
+                APPLICATION_JSON_TYPE);
+        if (writer == null) {
+            throw new NuxeoException("No JSON writer for: " + genericType);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writer.write(entity, entity.getClass(), genericType, APPLICATION_JSON_TYPE, out);
+        } catch (IOException e) {
+            throw new NuxeoException(e);
+        }
+        String entityType = renderingCtx.getParameter(RenderingContext.RESPONSE_HEADER_ENTITY_TYPE_KEY);
+        return new CachedBody(APPLICATION_JSON + NUXEO_ENTITY + entityType, out.toByteArray());
+    }
+
+}
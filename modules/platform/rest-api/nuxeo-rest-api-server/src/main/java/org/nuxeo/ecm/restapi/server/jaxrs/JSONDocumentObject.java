@@ -28,12 +28,14 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
 import org.apache.commons.lang3.StringUtils;
+import org.nuxeo.ecm.automation.core.util.Paginable;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.DocumentRef;
@@ -45,6 +47,8 @@ import org.nuxeo.ecm.core.api.versioning.VersioningService;
 import org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelJsonReader;
 import org.nuxeo.ecm.core.rest.DocumentObject;
 import org.nuxeo.ecm.restapi.jaxrs.io.RestConstants;
+import org.nuxeo.ecm.restapi.server.jaxrs.adapters.ChildrenAdapter;
+import org.nuxeo.ecm.restapi.server.jaxrs.adapters.DocumentModelListPaginableAdapter;
 import org.nuxeo.ecm.webengine.model.WebObject;
 import org.nuxeo.runtime.api.Framework;
 
@@ -62,10 +66,31 @@ public class JSONDocumentObject extends DocumentObject {
 
     @Override
     @GET
-    public DocumentModel doGet() {
+    public Object doGet() {
+        if (DocumentETagHelper.isEnabled(ctx.getRequest())) {
+            return DocumentETagHelper.getResponse(ctx, doc);
+        }
         return doc;
     }
 
+    /**
+     * Gets the children of the document, handling conditional requests if enabled. The other requests are dispatched
+     * to the {@link ChildrenAdapter} as any other adapter.
+     *
+     * @since 2023.13
+     */
+    @GET
+    @Path("@" + ChildrenAdapter.NAME)
+    public Object doGetChildren() {
+        var adapter = (DocumentModelListPaginableAdapter) ctx.newAdapter(this, ChildrenAdapter.NAME);
+        Paginable<DocumentModel> children = adapter.getPaginableEntries();
+        if (DocumentETagHelper.isEnabled(ctx.getRequest())) {
+            return DocumentETagHelper.getResponse(ctx, doc, children);
+        }
+        return Response.ok(new GenericEntity<Paginable<DocumentModel>>(children) {
+        }).build();
+    }
+
     /**
      * @return the document or the last version document in case of versioning handled
      */
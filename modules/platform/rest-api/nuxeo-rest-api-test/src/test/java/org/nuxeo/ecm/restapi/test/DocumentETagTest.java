@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.restapi.test;
+
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Inject;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.test.annotations.Granularity;
+import org.nuxeo.ecm.core.test.annotations.RepositoryConfig;
+import org.nuxeo.http.test.HttpClientTestRule;
+import org.nuxeo.http.test.HttpResponse;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+/**
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(RestServerFeature.class)
+@RepositoryConfig(cleanup = Granularity.METHOD, init = RestServerInit.class)
+@Deploy("org.nuxeo.ecm.platform.restapi.test.test:test-document-etag-contrib.xml")
+public class DocumentETagTest {
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected RestServerFeature restServerFeature;
+
+    @Inject
+    protected TransactionalFeature transactionalFeature;
+
+    @Rule
+    public final HttpClientTestRule httpClient = HttpClientTestRule.defaultClient(
+            () -> restServerFeature.getRestApiUrl());
+
+    @Test
+    public void testDocumentConditionalGet() {
+        DocumentModel note = RestServerInit.getNote(0, session);
+        String path = "/id/" + note.getId();
+
+        String etag = getETag(path, "dublincore");
+        assertEquals(SC_NOT_MODIFIED, getStatus(path, etag, "dublincore"));
+        // the marshalling parameters are part of the entity tag
+        assertEquals(SC_OK, getStatus(path, etag, "*"));
+        assertEquals(SC_OK, getStatus("/path" + note.getPathAsString(), etag, "*"));
+        assertEquals(SC_NOT_MODIFIED, getStatus(path, "W/" + etag + ", \"foo\"", "dublincore"));
+
+        note.setPropertyValue("dc:title", "new title");
+        session.saveDocument(note);
+        transactionalFeature.nextTransaction();
+
+        assertEquals(SC_OK, getStatus(path, etag, "dublincore"));
+        String newETag = getETag(path, "dublincore");
+        assertNotEquals(etag, newETag);
+        assertEquals(SC_NOT_MODIFIED, getStatus(path, newETag, "dublincore"));
+    }
+
+    @Test
+    public void testLockConditionalGet() {
+        DocumentModel note = RestServerInit.getNote(0, session);
+        String path = "/id/" + note.getId();
+
+        String etag = getETag(path, "dublincore");
+
+        // locking doesn't change the change token
+        session.setLock(note.getRef());
+        transactionalFeature.nextTransaction();
+        assertEquals(SC_OK, getStatus(path, etag, "dublincore"));
+        String lockedETag = getETag(path, "dublincore");
+        assertNotEquals(etag, lockedETag);
+        assertEquals(SC_NOT_MODIFIED, getStatus(path, lockedETag, "dublincore"));
+
+        session.removeLock(note.getRef());
+        transactionalFeature.nextTransaction();
+        assertEquals(SC_OK, getStatus(path, lockedETag, "dublincore"));
+    }
+
+    @Test
+    public void testNoETagForPermissions() {
+        DocumentModel note = RestServerInit.getNote(0, session);
+        String path = "/id/" + note.getId();
+
+        // the ACLs don't change the change token
+        httpClient.buildGetRequest(path)
+                  .addHeader("properties", "dublincore")
+                  .addHeader("enrichers.document", "permissions")
+                  .executeAndConsume(response -> {
+                      assertEquals(SC_OK, response.getStatus());
+                      assertNull(response.getFirstHeader(HttpHeaders.ETAG));
+                  });
+    }
+
+    @Test
+    public void testChildrenConditionalGet() {
+        DocumentModel folder = RestServerInit.getFolder(1, session);
+        String path = "/id/" + folder.getId() + "/@children";
+
+        String etag = getETag(path, "dublincore");
+        assertEquals(SC_NOT_MODIFIED, getStatus(path, etag, "dublincore"));
+
+        DocumentModel child = session.createDocumentModel(folder.getPathAsString(), "newChild", "Note");
+        session.createDocument(child);
+        transactionalFeature.nextTransaction();
+
+        assertEquals(SC_OK, getStatus(path, etag, "dublincore"));
+    }
+
+    @Test
+    @Deploy("org.nuxeo.ecm.platform.restapi.test.test:test-document-cache-contrib.xml")
+    public void testDocumentCache() {
+        DocumentModel note = RestServerInit.getNote(0, session);
+        String path = "/id/" + note.getId();
+
+        String body = httpClient.buildGetRequest(path)
+                                .addHeader("properties", "dublincore")
+                                .executeAndThen(response -> {
+                                    assertEquals(SC_OK, response.getStatus());
+                                    String contentType = response.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+                                    assertTrue(contentType, contentType.contains("nuxeo-entity=document"));
+                                    return response.getEntityString();
+                                });
+        String cachedBody = httpClient.buildGetRequest(path)
+                                      .addHeader("properties", "dublincore")
+                                      .executeAndThen(HttpResponse::getEntityString);
+        assertEquals(body, cachedBody);
+        assertTrue(cachedBody, cachedBody.contains(note.getId()));
+    }
+
+    protected String getETag(String path, String properties) {
+        return httpClient.buildGetRequest(path).addHeader("properties", properties).executeAndThen(response -> {
+            assertEquals(SC_OK, response.getStatus());
+            String etag = response.getFirstHeader(HttpHeaders.ETAG);
+            assertNotNull(etag);
+            return etag;
+        });
+    }
+
+    protected int getStatus(String path, String ifNoneMatch, String properties) {
+        return httpClient.buildGetRequest(path)
+                         .addHeader("properties", properties)
+                         .addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+                         .executeAndThen(HttpResponse::getStatus);
+    }
+
+}
@@ -18,6 +18,8 @@
  */
 package org.nuxeo.common.concurrent;
 
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.Method;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,6 +33,14 @@ public final class ThreadFactories {
 
     private static final Logger log = LogManager.getLogger(ThreadFactories.class);
 
+    private static final UncaughtExceptionHandler LOG_UNCAUGHT_EXCEPTION = (t, e) -> log.error(
+            "Uncaught exception: {}", e.getMessage(), e);
+
+    // Thread.ofVirtual() is looked up reflectively as we still compile against Java 17
+    private static final Method OF_VIRTUAL = getMethod(Thread.class, "ofVirtual");
+
+    private static final Class<?> THREAD_BUILDER = getClass("java.lang.Thread$Builder");
+
     public static ThreadFactory newThreadFactory(String threadPrefix) {
         return newThreadFactory(threadPrefix, false);
     }
@@ -44,10 +54,57 @@ public final class ThreadFactories {
             public Thread newThread(Runnable r) {
                 Thread thread = new Thread(r, threadPrefix + '-' + count.incrementAndGet());
                 thread.setDaemon(daemon);
-                thread.setUncaughtExceptionHandler((t, e) -> log.error("Uncaught exception: {}", e.getMessage(), e));
+                thread.setUncaughtExceptionHandler(LOG_UNCAUGHT_EXCEPTION);
                 return thread;
             }
         };
     }
 
+    /**
+     * Checks if the running JVM is able to create virtual threads.
+     *
+     * @since 2023.13
+     */
+    public static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null && THREAD_BUILDER != null;
+    }
+
+    /**
+     * Returns a factory of virtual threads, suitable for tasks mostly blocked on IO. When the running JVM does not
+     * support virtual threads, falls back to a factory of non daemon platform threads.
+     *
+     * @since 2023.13
+     */
+    public static ThreadFactory newVirtualThreadFactory(String threadPrefix) {
+        if (isVirtualThreadSupported()) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                builder = THREAD_BUILDER.getMethod("name", String.class, long.class)
+                                        .invoke(builder, threadPrefix + '-', 1L);
+                builder = THREAD_BUILDER.getMethod("uncaughtExceptionHandler", UncaughtExceptionHandler.class)
+                                        .invoke(builder, LOG_UNCAUGHT_EXCEPTION);
+                return (ThreadFactory) THREAD_BUILDER.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Unable to create a virtual thread factory for: {}, using platform threads", threadPrefix, e);
+            }
+        }
+        return newThreadFactory(threadPrefix);
+    }
+
+    private static Method getMethod(Class<?> klass, String name) {
+        try {
+            return klass.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> getClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
 }
@@ -22,10 +22,12 @@
 package org.nuxeo.common.xmap;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -39,12 +41,17 @@ import org.w3c.dom.Element;
  */
 public class XAnnotatedObject {
 
+    protected static final MethodType CTOR_TYPE = MethodType.methodType(Object.class);
+
     final XMap xmap;
 
     final Class<?> klass;
 
     final Constructor<?> ctor;
 
+    /** @since 2023.13 */
+    final MethodHandle ctorHandle;
+
     final Path path;
 
     final List<XAnnotatedMember> members;
@@ -57,6 +64,7 @@ public class XAnnotatedObject {
             this.klass = klass;
             this.ctor = this.klass.getDeclaredConstructor();
             ctor.setAccessible(true);
+            ctorHandle = newConstructorHandle(ctor);
             path = new Path(xob.value());
             members = new ArrayList<>();
             String[] order = xob.order();
@@ -70,8 +78,21 @@ public class XAnnotatedObject {
         }
     }
 
+    protected static MethodHandle newConstructorHandle(Constructor<?> ctor) {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(ctor).asType(CTOR_TYPE);
+        } catch (IllegalAccessException e) {
+            // abstract class for instance, the error is raised when instantiating
+            return null;
+        }
+    }
+
     public void addMember(XAnnotatedMember member) {
         members.add(member);
+        if (sorter != null) {
+            // sort at registration time so that instances can be created concurrently
+            members.sort(sorter);
+        }
     }
 
     public Path getPath() {
@@ -81,24 +102,19 @@ public class XAnnotatedObject {
     public Object newInstance(Context ctx, Element element) {
         Object ob;
         try {
-            ob = ctor.newInstance();
-        } catch (InstantiationException e) {
-            throw new IllegalArgumentException(e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(e);
+            ob = ctorHandle == null ? ctor.newInstance() : (Object) ctorHandle.invokeExact();
         } catch (InvocationTargetException e) {
             if (e.getCause() instanceof RuntimeException) {
                 throw (RuntimeException) e.getCause();
             }
             throw new IllegalArgumentException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) { // NOSONAR
+            throw new IllegalArgumentException(t);
         }
         ctx.push(ob);
 
-        if (sorter != null) {
-            Collections.sort(members, sorter);
-            sorter = null; // sort only once
-        }
-
         // set annotated members
         for (XAnnotatedMember member : members) {
             member.process(ctx, element);
@@ -21,18 +21,45 @@
 
 package org.nuxeo.common.xmap;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 
 /**
+ * Accessor of an annotated field.
+ * <p>
+ * The field is accessed through method handles resolved once, falling back to reflection when they can't be created.
+ *
  * @author <a href="mailto:bs@nuxeo.com">Bogdan Stefanescu</a>
  */
 public class XFieldAccessor implements XAccessor {
 
+    protected static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    protected static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
     private final Field field;
 
+    private final MethodHandle setter;
+
+    private final MethodHandle getter;
+
     public XFieldAccessor(Field field) {
         this.field = field;
         this.field.setAccessible(true);
+        MethodHandle set;
+        MethodHandle get;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            set = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            get = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            set = null;
+            get = null;
+        }
+        setter = set;
+        getter = get;
     }
 
     @Override
@@ -42,19 +69,41 @@ public class XFieldAccessor implements XAccessor {
 
     @Override
     public void setValue(Object instance, Object value) {
+        if (setter == null) {
+            try {
+                field.set(instance, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+            return;
+        }
         try {
-            field.set(instance, value);
-        } catch (IllegalAccessException e) {
+            setter.invokeExact(instance, value);
+        } catch (ClassCastException | NullPointerException e) {
+            // same error as reflection for a value not matching the field type
             throw new IllegalArgumentException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) { // NOSONAR
+            throw new IllegalArgumentException(t);
         }
     }
 
     @Override
     public Object getValue(Object instance) {
+        if (getter == null) {
+            try {
+                return field.get(instance);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
         try {
-            return field.get(instance);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(e);
+            return getter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) { // NOSONAR
+            throw new IllegalArgumentException(t);
         }
     }
 
@@ -97,6 +97,29 @@ public class XMap {
 
     private static DocumentBuilderFactory factory = initFactory();
 
+    /**
+     * Document builders are expensive to create, keep one per thread.
+     *
+     * @since 2023.13
+     */
+    private static final ThreadLocal<DocumentBuilder> builders = new ThreadLocal<>();
+
+    /**
+     * Gets a document builder from the {@link #getFactory() factory}, reused by the calling thread.
+     *
+     * @since 2023.13
+     */
+    protected static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = builders.get();
+        if (builder == null) {
+            builder = getFactory().newDocumentBuilder();
+            builders.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
     // top level objects
     private final Map<String, XAnnotatedObject> roots;
 
@@ -257,9 +280,7 @@ public class XMap {
      */
     public Object load(Context ctx, InputStream in) throws IOException {
         try {
-            DocumentBuilderFactory factory = getFactory();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(in);
+            Document document = getDocumentBuilder().parse(in);
             return load(ctx, document.getDocumentElement());
         } catch (ParserConfigurationException | SAXException e) {
             throw new IOException(e);
@@ -330,9 +351,7 @@ public class XMap {
      */
     public Object[] loadAll(Context ctx, InputStream in) throws IOException {
         try {
-            DocumentBuilderFactory factory = getFactory();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(in);
+            Document document = getDocumentBuilder().parse(in);
             return loadAll(ctx, document.getDocumentElement());
         } catch (ParserConfigurationException | SAXException e) {
             throw new IOException(e);
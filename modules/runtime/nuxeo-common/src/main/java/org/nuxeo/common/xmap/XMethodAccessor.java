@@ -21,6 +21,9 @@
 
 package org.nuxeo.common.xmap;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -31,6 +34,9 @@ public class XMethodAccessor implements XAccessor {
 
     private final Method setter;
 
+    /** @since 2023.13 */
+    private final MethodHandle setterHandle;
+
     private final Class<?> klass;
 
     Method getter;
@@ -38,7 +44,13 @@ public class XMethodAccessor implements XAccessor {
     public XMethodAccessor(Method method, Class<?> klass) {
         setter = method;
         setter.setAccessible(true);
-        //
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(setter).asType(XFieldAccessor.SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            handle = null;
+        }
+        setterHandle = handle;
         this.klass = klass;
     }
 
@@ -49,6 +61,23 @@ public class XMethodAccessor implements XAccessor {
 
     @Override
     public void setValue(Object instance, Object value) {
+        if (setterHandle != null) {
+            try {
+                setterHandle.invokeExact(instance, value);
+            } catch (ClassCastException | NullPointerException e) {
+                if (!isAssignable(value)) {
+                    // same error as reflection for a value not matching the parameter type
+                    throw new IllegalArgumentException("argument type mismatch", e);
+                }
+                // thrown by the setter itself
+                throw e;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) { // NOSONAR
+                throw new IllegalArgumentException(t);
+            }
+            return;
+        }
         try {
             setter.invoke(instance, value);
         } catch (IllegalAccessException e) {
@@ -61,6 +90,19 @@ public class XMethodAccessor implements XAccessor {
         }
     }
 
+    /**
+     * Checks whether the given value can be passed to the setter, as reflection would check it.
+     *
+     * @since 2023.13
+     */
+    protected boolean isAssignable(Object value) {
+        Class<?> type = getType();
+        if (type.isPrimitive()) {
+            return value != null && MethodType.methodType(type).wrap().returnType().isInstance(value);
+        }
+        return value == null || type.isInstance(value);
+    }
+
     @Override
     public String toString() {
         return "XMethodSetter {method: " + setter + '}';
@@ -26,6 +26,11 @@ import static org.junit.Assert.fail;
 
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 import org.nuxeo.common.xmap.Author.Gender;
@@ -45,6 +50,27 @@ public class XMapTest {
         checkAuthor((Author) xmap.load(url));
     }
 
+    @Test
+    public void testConcurrentMapping() throws Exception {
+        XMap xmap = new XMap();
+        xmap.register(Author.class);
+
+        URL url = Thread.currentThread().getContextClassLoader().getResource("test-xmap.xml");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> xmap.load(url)));
+            }
+            for (Future<Object> future : futures) {
+                checkAuthor((Author) future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testInheritedMapping() throws Exception {
         XMap xmap = new XMap();
@@ -120,6 +146,38 @@ public class XMapTest {
         assertEquals(Duration.ofSeconds(1), author.durationJdk);
     }
 
+    @Test
+    public void testMethodAccessorTypeMismatch() throws Exception {
+        XMethodAccessor accessor = new XMethodAccessor(Author.class.getMethod("setAge", int.class), Author.class);
+        Author author = new Author();
+        accessor.setValue(author, Integer.valueOf(42));
+        assertEquals(42, author.age);
+        for (Object value : new Object[] { "42", null }) {
+            try {
+                accessor.setValue(author, value);
+                fail("Should not allow setting: " + value);
+            } catch (IllegalArgumentException e) {
+                assertEquals("argument type mismatch", e.getMessage());
+            }
+        }
+
+        // errors raised by the setter itself are kept
+        accessor = new XMethodAccessor(ThrowingSetter.class.getMethod("setName", String.class), ThrowingSetter.class);
+        try {
+            accessor.setValue(new ThrowingSetter(), "name");
+            fail("Should have failed");
+        } catch (NullPointerException e) {
+            assertEquals("from setter", e.getMessage());
+        }
+    }
+
+    public static class ThrowingSetter {
+
+        public void setName(String name) {
+            throw new NullPointerException("from setter");
+        }
+    }
+
     @Test
     public void testInvalidClass() throws Exception {
         XMap xmap = new XMap();
@@ -36,9 +36,12 @@ import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.model.ComponentContext;
+import org.nuxeo.runtime.model.ComponentManager;
 import org.nuxeo.runtime.model.DefaultComponent;
 
 import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.Gauge;
+import io.dropwizard.metrics5.MetricName;
 import io.dropwizard.metrics5.MetricRegistry;
 import io.dropwizard.metrics5.SharedMetricRegistries;
 import io.dropwizard.metrics5.jvm.BufferPoolMetricSet;
@@ -57,6 +60,13 @@ public class MetricsServiceImpl extends DefaultComponent implements MetricsServi
 
     protected static final String REPORTER_EP = "reporter";
 
+    /**
+     * Gauge of the time taken by a component to start, in milliseconds, tagged with the component name.
+     *
+     * @since 2023.13
+     */
+    protected static final String COMPONENT_START_METRIC = "nuxeo.runtime.component.start.duration";
+
     protected MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
 
     protected final Counter instanceUp = registry.counter(MetricRegistry.name("nuxeo", "instance-up"));
@@ -69,16 +79,29 @@ public class MetricsServiceImpl extends DefaultComponent implements MetricsServi
 
     protected InstrumentedAppender appender;
 
+    /** @since 2023.13 */
+    protected ComponentManager.Listener componentStartListener;
+
     @Override
     public void activate(ComponentContext context) {
         super.activate(context);
         log.debug("Activating component");
         SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        componentStartListener = new ComponentManager.Listener() {
+            @Override
+            public void afterStart(ComponentManager mgr, boolean isResume) {
+                registerComponentStartMetrics(mgr);
+            }
+        }.install();
     }
 
     @Override
     public void deactivate(ComponentContext context) {
         log.debug("Deactivating component");
+        if (componentStartListener != null) {
+            componentStartListener.uninstall();
+            componentStartListener = null;
+        }
         SharedMetricRegistries.remove(MetricsService.class.getName());
         super.deactivate(context);
     }
@@ -99,6 +122,19 @@ public class MetricsServiceImpl extends DefaultComponent implements MetricsServi
         instanceUp.dec();
     }
 
+    /**
+     * Publishes the time taken by each component to start.
+     *
+     * @since 2023.13
+     */
+    protected void registerComponentStartMetrics(ComponentManager mgr) {
+        registry.removeMatching((name, metric) -> COMPONENT_START_METRIC.equals(name.getKey()));
+        mgr.getComponentStartTimes()
+           .forEach((component, millis) -> registry.register(
+                   MetricName.build(COMPONENT_START_METRIC).tagged("component", component),
+                   (Gauge<Long>) () -> millis));
+    }
+
     protected boolean metricEnabled() {
         return config != null && config.isEnabled();
     }
@@ -33,6 +33,7 @@ import org.nuxeo.lib.stream.computation.Settings;
 import org.nuxeo.lib.stream.computation.StreamManager;
 import org.nuxeo.lib.stream.computation.StreamProcessor;
 import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.lib.stream.computation.log.ComputationRunner;
 import org.nuxeo.lib.stream.computation.log.LogStreamManager;
 import org.nuxeo.lib.stream.log.LogConfig;
 import org.nuxeo.lib.stream.log.LogManager;
@@ -78,6 +79,13 @@ public class StreamServiceImpl extends DefaultComponent implements StreamService
 
     protected Boolean isStreamProcessingDisabled;
 
+    /**
+     * Ratio of the records without trace context that are traced by the computations, disabled by default.
+     *
+     * @since 2023.13
+     */
+    public static final String STREAM_TRACING_SAMPLE_RATE = "nuxeo.stream.tracing.sampleRate";
+
     @Override
     public int getApplicationStartedOrder() {
         // start after kafka config service
@@ -108,6 +116,8 @@ public class StreamServiceImpl extends DefaultComponent implements StreamService
     @Override
     public void start(ComponentContext context) {
         super.start(context);
+        ComputationRunner.setTracingSampleRate(
+                Double.parseDouble(Framework.getProperty(STREAM_TRACING_SAMPLE_RATE, "0")));
         List<LogConfig> configs = getLogConfigs();
         logManager = new UnifiedLogManager(configs);
         streamManager = new LogStreamManager(getNodeId(), logManager);
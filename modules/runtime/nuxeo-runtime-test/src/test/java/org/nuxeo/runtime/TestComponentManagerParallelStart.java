@@ -0,0 +1,97 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.model.ComponentManager;
+import org.nuxeo.runtime.model.impl.ComponentManagerImpl;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.RuntimeFeature;
+import org.nuxeo.runtime.test.runner.WithFrameworkProperty;
+
+/**
+ * @since 2023.13
+ */
+@RunWith(FeaturesRunner.class)
+@Features(RuntimeFeature.class)
+@Deploy("org.nuxeo.runtime.test.tests:parallel-start-a.xml")
+@Deploy("org.nuxeo.runtime.test.tests:parallel-start-b.xml")
+@Deploy("org.nuxeo.runtime.test.tests:parallel-start-c.xml")
+@Deploy("org.nuxeo.runtime.test.tests:parallel-start-d.xml")
+public class TestComponentManagerParallelStart {
+
+    @Before
+    public void before() {
+        StartRecorderComponent.EVENTS.clear();
+        StartRecorderComponent.THREADS.clear();
+    }
+
+    @Test
+    @WithFrameworkProperty(name = ComponentManagerImpl.PARALLEL_START_PROP, value = "true")
+    @WithFrameworkProperty(name = ComponentManagerImpl.PARALLEL_START_THREADS_PROP, value = "4")
+    public void testParallelStart() {
+        ComponentManager mgr = Framework.getRuntime().getComponentManager();
+        mgr.restart(false);
+
+        List<String> events = StartRecorderComponent.EVENTS;
+        assertEquals(events.toString(), 8, events.size());
+        // the requirement is started before the component requiring it
+        assertTrue(events.toString(),
+                events.indexOf("end:parallel.start.a") < events.indexOf("start:parallel.start.b"));
+        // the components declaring a parallel start are started concurrently
+        assertTrue(events.toString(),
+                events.indexOf("start:parallel.start.c") < events.indexOf("end:parallel.start.a"));
+        // the other ones keep their sequential order
+        assertTrue(events.toString(),
+                events.indexOf("end:parallel.start.b") < events.indexOf("start:parallel.start.d"));
+        Map<String, String> threads = StartRecorderComponent.THREADS;
+        assertTrue(threads.toString(), threads.get("parallel.start.a").startsWith("nuxeo-component-start-"));
+        assertTrue(threads.toString(), threads.get("parallel.start.c").startsWith("nuxeo-component-start-"));
+        assertFalse(threads.toString(), threads.get("parallel.start.b").startsWith("nuxeo-component-start-"));
+        assertFalse(threads.toString(), threads.get("parallel.start.d").startsWith("nuxeo-component-start-"));
+        // the start timings are kept
+        Map<String, Long> startTimes = mgr.getComponentStartTimes();
+        assertTrue(startTimes.toString(), startTimes.keySet().containsAll(threads.keySet()));
+    }
+
+    @Test
+    @WithFrameworkProperty(name = ComponentManagerImpl.PARALLEL_START_PROP, value = "false")
+    public void testSequentialStart() {
+        ComponentManager mgr = Framework.getRuntime().getComponentManager();
+        mgr.restart(false);
+
+        List<String> events = StartRecorderComponent.EVENTS;
+        assertEquals(List.of("start:parallel.start.a", "end:parallel.start.a", "start:parallel.start.b",
+                "end:parallel.start.b", "start:parallel.start.c", "end:parallel.start.c", "start:parallel.start.d",
+                "end:parallel.start.d"), events);
+    }
+
+}
@@ -20,6 +20,7 @@
 package org.nuxeo.runtime.model;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -307,6 +308,15 @@ public interface ComponentManager {
      */
     boolean isStarted();
 
+    /**
+     * Gets the time taken by each component to start during the last start, in milliseconds, by component name.
+     *
+     * @since 2023.13
+     */
+    default Map<String, Long> getComponentStartTimes() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Tests whether the components are in standby mode. That means they were started and then stopped - waiting to be
      * started again.
@@ -255,6 +255,19 @@ public interface RegistrationInfo {
      */
     int getApplicationStartedOrder();
 
+    /**
+     * Whether the component declares that it can be started concurrently with the other components of the same
+     * {@link #getApplicationStartedOrder() start order}, as it doesn't rely on any of them being started before it,
+     * except those it explicitly requires, and none of them relies on it being started before them.
+     * <p>
+     * Such a component must not register components or extensions when it starts.
+     *
+     * @since 2023.13
+     */
+    default boolean isParallelStart() {
+        return false;
+    }
+
     /**
      * DON'T USE THIS METHOD - INTERNAL API.
      *
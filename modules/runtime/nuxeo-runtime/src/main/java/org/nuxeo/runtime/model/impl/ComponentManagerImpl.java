@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -34,16 +35,23 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -63,6 +71,7 @@ import org.nuxeo.runtime.model.DescriptorRegistry;
 import org.nuxeo.runtime.model.Extension;
 import org.nuxeo.runtime.model.RegistrationInfo;
 import org.nuxeo.runtime.util.Watch;
+import org.nuxeo.runtime.util.Watch.TimeInterval;
 
 /**
  * @author Bogdan Stefanescu
@@ -72,6 +81,22 @@ public class ComponentManagerImpl implements ComponentManager {
 
     private static final Logger log = LogManager.getLogger(ComponentManagerImpl.class);
 
+    /**
+     * Framework property enabling the concurrent start of the components declaring a
+     * {@link RegistrationInfo#isParallelStart() parallel start}, enabled by default.
+     *
+     * @since 2023.13
+     */
+    public static final String PARALLEL_START_PROP = "org.nuxeo.runtime.components.parallel.start";
+
+    /**
+     * Framework property defining the number of threads used to start components concurrently, defaults to the
+     * number of available processors.
+     *
+     * @since 2023.13
+     */
+    public static final String PARALLEL_START_THREADS_PROP = "org.nuxeo.runtime.components.parallel.threads";
+
     // must use an ordered Set to avoid loosing the order of the pending
     // extensions
     protected final ConcurrentMap<ComponentName, Set<Extension>> pendingExtensions;
@@ -107,6 +132,13 @@ public class ComponentManagerImpl implements ComponentManager {
      */
     protected volatile List<RegistrationInfo> standby;
 
+    /**
+     * The time taken by each component to start during the last start, in milliseconds.
+     *
+     * @since 2023.13
+     */
+    protected volatile Map<String, Long> componentStartTimes = Collections.emptyMap();
+
     /**
      * A list of registrations that were deployed while the manager was started.
      *
@@ -719,12 +751,20 @@ public class ComponentManagerImpl implements ComponentManager {
         Watch watch = new Watch();
         watch.start();
         listeners.beforeStart(isResume);
-        for (RegistrationInfo ri : ris) {
-            watch.start(ri.getName().getName());
-            startComponent(ri);
-            watch.stop(ri.getName().getName());
+        if (ris.size() > 1 && !Framework.isBooleanPropertyFalse(PARALLEL_START_PROP)) {
+            watch = new Watch(new ConcurrentHashMap<>()).start();
+            startComponentsInParallel(ris, watch);
+        } else {
+            for (RegistrationInfo ri : ris) {
+                watch.start(ri.getName().getName());
+                startComponent(ri);
+                watch.stop(ri.getName().getName());
+            }
         }
         this.started = ris;
+        componentStartTimes = Arrays.stream(watch.getIntervals())
+                                    .collect(Collectors.toUnmodifiableMap(TimeInterval::getName,
+                                            interval -> interval.elapsed(TimeUnit.MILLISECONDS)));
         listeners.afterStart(isResume);
         watch.stop();
 
@@ -732,6 +772,113 @@ public class ComponentManagerImpl implements ComponentManager {
         writeDevMetrics(watch, "start");
     }
 
+    /**
+     * Starts the given components, the ones declaring a {@link RegistrationInfo#isParallelStart() parallel start}
+     * being started concurrently.
+     * <p>
+     * Components are started by increasing {@link RegistrationInfo#getApplicationStartedOrder() start order}, all the
+     * components of a given order being started before the next order. Inside an order, the other components are
+     * started one after the other in the calling thread as in a sequential start, and a parallel component is started
+     * in the pool as soon as possible. Each component waits for the components it requires which come before it in
+     * the start order, which cannot deadlock as waits only go backwards.
+     * <p>
+     * The calling thread keeps the manager lock while waiting, so the manager is never seen half started.
+     *
+     * @since 2023.13
+     */
+    protected void startComponentsInParallel(List<RegistrationInfo> ris, Watch watch) {
+        String threadsProp = Framework.getProperty(PARALLEL_START_THREADS_PROP);
+        int threads = threadsProp == null ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threadsProp);
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("nuxeo-component-start-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+        try {
+            Map<Integer, List<RegistrationInfo>> orders = new TreeMap<>();
+            for (RegistrationInfo ri : ris) {
+                orders.computeIfAbsent(ri.getApplicationStartedOrder(), k -> new ArrayList<>()).add(ri);
+            }
+            for (List<RegistrationInfo> sameOrder : orders.values()) {
+                Map<ComponentName, CompletableFuture<Void>> futures = new HashMap<>();
+                List<Runnable> sequential = new ArrayList<>();
+                for (RegistrationInfo ri : sameOrder) {
+                    ComponentName name = ri.getName();
+                    CompletableFuture<Void> requirements = getRequirements(ri, futures);
+                    Runnable start = () -> {
+                        watch.start(name.getName());
+                        startComponent(ri);
+                        watch.stop(name.getName());
+                    };
+                    if (ri.isParallelStart()) {
+                        futures.put(name, requirements.thenRunAsync(start, pool));
+                    } else {
+                        CompletableFuture<Void> started = new CompletableFuture<>();
+                        futures.put(name, started);
+                        sequential.add(() -> {
+                            await(requirements);
+                            start.run();
+                            started.complete(null);
+                        });
+                    }
+                }
+                sequential.forEach(Runnable::run);
+                await(CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        watch.stop();
+        long sum = Arrays.stream(watch.getIntervals()).mapToLong(TimeInterval::elapsed).sum();
+        log.info("Started {} components in {}s using {} threads (sequential time: {}s), slowest: {}", ris::size,
+                watch.total::formatSeconds, () -> threads,
+                () -> new DecimalFormat("0.000").format((double) sum / 1_000_000_000),
+                () -> Arrays.stream(watch.getIntervals())
+                            .sorted(Comparator.reverseOrder())
+                            .limit(10)
+                            .map(TimeInterval::toString)
+                            .collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Gets the future completed once the components required by the given one and coming before it are started.
+     *
+     * @since 2023.13
+     */
+    protected CompletableFuture<Void> getRequirements(RegistrationInfo ri,
+            Map<ComponentName, CompletableFuture<Void>> futures) {
+        Set<ComponentName> requires = ri.getRequiredComponents();
+        if (requires == null || requires.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(requires.stream()
+                                               .map(registry::unaliased)
+                                               .map(futures::get)
+                                               .filter(Objects::nonNull)
+                                               .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Waits for the given future, without releasing the manager lock.
+     *
+     * @since 2023.13
+     */
+    protected void await(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Failed to start components", cause);
+        }
+    }
+
     /**
      * Starts the given {@link RegistrationInfo}. This step will start the component.
      *
@@ -895,6 +1042,11 @@ public class ComponentManagerImpl implements ComponentManager {
         return this.started != null;
     }
 
+    @Override
+    public Map<String, Long> getComponentStartTimes() {
+        return componentStartTimes;
+    }
+
     @Override
     public boolean isStandby() {
         return this.standby != null;
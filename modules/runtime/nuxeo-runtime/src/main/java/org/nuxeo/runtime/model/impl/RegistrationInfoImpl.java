@@ -75,6 +75,10 @@ public class RegistrationInfoImpl implements RegistrationInfo {
     @XNode("@disabled")
     boolean disabled;
 
+    // @since 2023.13
+    @XNode("@parallelStart")
+    boolean parallelStart;
+
     @XNode("configuration")
     ConfigurationDescriptor config;
 
@@ -163,6 +167,11 @@ public class RegistrationInfoImpl implements RegistrationInfo {
         return disabled;
     }
 
+    @Override
+    public boolean isParallelStart() {
+        return parallelStart;
+    }
+
     @Override
     public final boolean isPersistent() {
         return isPersistent;
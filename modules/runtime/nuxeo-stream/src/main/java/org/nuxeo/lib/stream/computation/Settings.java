@@ -23,6 +23,7 @@ import static org.nuxeo.lib.stream.codec.NoCodec.NO_CODEC;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
 
 import org.nuxeo.lib.stream.codec.Codec;
 import org.nuxeo.lib.stream.computation.internals.RecordFilterChainImpl;
@@ -60,6 +61,8 @@ public class Settings {
 
     protected final Map<Name, ComputationPolicy> policies = new HashMap<>();
 
+    protected final Map<Name, ThreadFactory> threadFactories = new HashMap<>();
+
     /**
      * Default concurrency and partition to use if not specified explicitly.
      */
@@ -243,6 +246,48 @@ public class Settings {
         return policies.getOrDefault(Name.ofUrn(computationName), defaultPolicy);
     }
 
+    /**
+     * Sets the factory of the threads running a computation, for instance to run IO bound computations on virtual
+     * threads. When not set, the computation runs on a fixed pool of platform threads.
+     *
+     * @since 2023.13
+     */
+    public Settings setThreadFactory(Name computationName, ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            threadFactories.remove(computationName);
+        } else {
+            threadFactories.put(computationName, threadFactory);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the factory of the threads running a computation.
+     *
+     * @since 2023.13
+     */
+    public Settings setThreadFactory(String computationName, ThreadFactory threadFactory) {
+        return setThreadFactory(Name.ofUrn(computationName), threadFactory);
+    }
+
+    /**
+     * Gets the factory of the threads running a computation, {@code null} for the default.
+     *
+     * @since 2023.13
+     */
+    public ThreadFactory getThreadFactory(Name computationName) {
+        return threadFactories.get(computationName);
+    }
+
+    /**
+     * Gets the factory of the threads running a computation, {@code null} for the default.
+     *
+     * @since 2023.13
+     */
+    public ThreadFactory getThreadFactory(String computationName) {
+        return getThreadFactory(Name.ofUrn(computationName));
+    }
+
     /**
      * Add a filter
      *
@@ -63,10 +63,22 @@ public class ComputationPool {
 
     protected final ComputationPolicy policy;
 
+    protected final ThreadFactory threadFactory;
+
     protected ExecutorService threadPool;
 
     public ComputationPool(Supplier<Computation> supplier, ComputationMetadataMapping metadata,
             List<List<LogPartition>> defaultAssignments, LogStreamManager streamManager, ComputationPolicy policy) {
+        this(supplier, metadata, defaultAssignments, streamManager, policy, null);
+    }
+
+    /**
+     * @param threadFactory the factory of the runner threads, or {@code null} for the default named platform threads
+     * @since 2023.13
+     */
+    public ComputationPool(Supplier<Computation> supplier, ComputationMetadataMapping metadata,
+            List<List<LogPartition>> defaultAssignments, LogStreamManager streamManager, ComputationPolicy policy,
+            ThreadFactory threadFactory) {
         Objects.requireNonNull(policy);
         this.supplier = supplier;
         this.metadata = metadata;
@@ -75,6 +87,7 @@ public class ComputationPool {
         this.defaultAssignments = defaultAssignments;
         this.policy = policy;
         this.runners = new ArrayList<>(threads);
+        this.threadFactory = threadFactory;
     }
 
     public String getComputationName() {
@@ -88,7 +101,8 @@ public class ComputationPool {
             return;
         }
         log.info("{}: Starting pool", metadata::name);
-        threadPool = newFixedThreadPool(threads, new NamedThreadFactory(metadata.name() + "Pool"));
+        threadPool = newFixedThreadPool(threads,
+                threadFactory == null ? new NamedThreadFactory(metadata.name() + "Pool") : threadFactory);
         defaultAssignments.forEach(assignments -> {
             ComputationRunner runner = new ComputationRunner(supplier, metadata, assignments, streamManager, policy);
             threadPool.submit(runner);
@@ -27,6 +27,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
@@ -64,6 +65,7 @@ import io.opencensus.trace.Tracer;
 import io.opencensus.trace.Tracing;
 import io.opencensus.trace.propagation.BinaryFormat;
 import io.opencensus.trace.propagation.SpanContextParseException;
+import io.opencensus.trace.samplers.Samplers;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.Fallback;
 import net.jodah.failsafe.RetryPolicy;
@@ -139,6 +141,21 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     public static final String GLOBAL_FAILURE_COUNT_REGISTRY_NAME = MetricRegistry.name("nuxeo", "streams", "failure")
                                                                                   .getKey();
 
+    // @since 2023.13
+    public static final String STAGE_METRIC_NAME = "nuxeo.streams.computation.stage";
+
+    // @since 2023.13
+    public static final String STAGE_READ = "read";
+
+    // @since 2023.13
+    public static final String STAGE_FILTER = "filter";
+
+    // @since 2023.13
+    public static final String STAGE_CHECKPOINT = "checkpoint";
+
+    // @since 2023.13
+    public static final String STAGE_APPEND = "append";
+
     protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(NUXEO_METRICS_REGISTRY_NAME);
 
     protected Counter globalFailureCount;
@@ -153,9 +170,24 @@ public class ComputationRunner implements Runnable, RebalanceListener {
 
     protected Timer processTimerTimer;
 
+    // @since 2023.13
+    protected Timer readTimer;
+
+    // @since 2023.13
+    protected Timer filterTimer;
+
+    // @since 2023.13
+    protected Timer checkpointTimer;
+
+    // @since 2023.13
+    protected Timer appendTimer;
+
     // @since 11.1
     protected static AtomicInteger skipFailures = new AtomicInteger(0);
 
+    // @since 2023.13
+    protected static volatile double tracingSampleRate;
+
     // @since 11.1
     protected boolean recordActivity;
 
@@ -189,6 +221,16 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         this.defaultAssignment = defaultAssignment;
     }
 
+    /**
+     * Sets the ratio of records without trace context that are traced anyway, from 0 (the default) to 1. The span of
+     * a sampled record covers its processing, the checkpoint and the append of the output records.
+     *
+     * @since 2023.13
+     */
+    public static void setTracingSampleRate(double rate) {
+        tracingSampleRate = Math.max(0, Math.min(1, rate));
+    }
+
     public void stop() {
         log.debug("{}: Receives Stop signal", metadata::name);
         stop = true;
@@ -300,6 +342,15 @@ public class ComputationRunner implements Runnable, RebalanceListener {
                 MetricName.build("nuxeo.streams.computation.processRecord").tagged("computation", name));
         processTimerTimer = registry.timer(
                 MetricName.build("nuxeo.streams.computation.processTimer").tagged("computation", name));
+        readTimer = getStageTimer(name, STAGE_READ);
+        filterTimer = getStageTimer(name, STAGE_FILTER);
+        checkpointTimer = getStageTimer(name, STAGE_CHECKPOINT);
+        appendTimer = getStageTimer(name, STAGE_APPEND);
+    }
+
+    protected Timer getStageTimer(String computationName, String stage) {
+        return registry.timer(
+                MetricName.build(STAGE_METRIC_NAME).tagged("computation", computationName, "stage", stage));
     }
 
     protected void closeTailer() {
@@ -433,6 +484,7 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         }
         Duration timeoutRead = getTimeoutDuration();
         LogRecord<Record> logRecord = null;
+        long start = System.nanoTime();
         try {
             logRecord = tailer.read(timeoutRead);
         } catch (RebalanceException e) {
@@ -443,9 +495,12 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         if (logRecord == null) {
             return false;
         }
+        long read = System.nanoTime();
+        readTimer.update(read - start, TimeUnit.NANOSECONDS);
         Record record = logRecord.message();
         Name stream = logRecord.offset().partition().name();
         Record filteredRecord = streamManager.getFilter(stream).afterRead(record, logRecord.offset());
+        filterTimer.update(System.nanoTime() - read, TimeUnit.NANOSECONDS);
         if (filteredRecord == null) {
             log.debug("Filtering skip record: {}", record);
             return false;
@@ -480,7 +535,7 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     protected Span getSpanFromRecord(Record record) {
         byte[] traceContext = record.getTraceContext();
         if (traceContext == null || traceContext.length == 0) {
-            return BlankSpan.INSTANCE;
+            return getSampledSpan(record);
         }
         Tracer tracer = Tracing.getTracer();
         BinaryFormat binaryFormat = Tracing.getPropagationComponent().getBinaryFormat();
@@ -490,17 +545,7 @@ public class ComputationRunner implements Runnable, RebalanceListener {
             Span span = tracer.spanBuilderWithRemoteParent("comp/" + computation.metadata().name() + "/record",
                     lastSpanContext).startSpan();
             span.addLink(Link.fromSpanContext(lastSpanContext, Link.Type.PARENT_LINKED_SPAN));
-
-            HashMap<String, AttributeValue> map = new HashMap<>();
-            map.put("comp.name", AttributeValue.stringAttributeValue(computation.metadata().name()));
-            map.put("comp.thread", AttributeValue.stringAttributeValue(Thread.currentThread().getName()));
-            map.put("record.key", AttributeValue.stringAttributeValue(record.getKey()));
-            map.put("record.offset", AttributeValue.stringAttributeValue(context.getLastOffset().toString()));
-            map.put("record.watermark",
-                    AttributeValue.stringAttributeValue(Watermark.ofValue(record.getWatermark()).toString()));
-            map.put("record.submit_thread", AttributeValue.stringAttributeValue(record.getAppenderThread()));
-            map.put("record.data.length", AttributeValue.longAttributeValue(record.getData().length));
-            span.putAttributes(map);
+            span.putAttributes(getRecordAttributes(record));
             return span;
         } catch (SpanContextParseException e) {
             log.warn("Invalid span context in record: {} length: {}", record.getKey(), traceContext.length);
@@ -508,6 +553,37 @@ public class ComputationRunner implements Runnable, RebalanceListener {
         }
     }
 
+    /**
+     * Starts a root span for a record without trace context, depending on the tracing sample rate.
+     *
+     * @since 2023.13
+     */
+    protected Span getSampledSpan(Record record) {
+        double rate = tracingSampleRate;
+        if (rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate) {
+            return BlankSpan.INSTANCE;
+        }
+        Span span = Tracing.getTracer()
+                           .spanBuilderWithExplicitParent("comp/" + computation.metadata().name() + "/record", null)
+                           .setSampler(Samplers.alwaysSample())
+                           .startSpan();
+        span.putAttributes(getRecordAttributes(record));
+        return span;
+    }
+
+    protected Map<String, AttributeValue> getRecordAttributes(Record record) {
+        HashMap<String, AttributeValue> map = new HashMap<>();
+        map.put("comp.name", AttributeValue.stringAttributeValue(computation.metadata().name()));
+        map.put("comp.thread", AttributeValue.stringAttributeValue(Thread.currentThread().getName()));
+        map.put("record.key", AttributeValue.stringAttributeValue(record.getKey()));
+        map.put("record.offset", AttributeValue.stringAttributeValue(context.getLastOffset().toString()));
+        map.put("record.watermark",
+                AttributeValue.stringAttributeValue(Watermark.ofValue(record.getWatermark()).toString()));
+        map.put("record.submit_thread", AttributeValue.stringAttributeValue(record.getAppenderThread()));
+        map.put("record.data.length", AttributeValue.longAttributeValue(record.getData().length));
+        return map;
+    }
+
     protected void processRecordWithRetry(String from, Record record) {
         runningCount.inc();
         try (Timer.Context ignored = processRecordTimer.time()) {
@@ -595,15 +671,17 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     }
 
     protected void checkpoint() {
-        sendRecords();
-        saveTimers();
-        saveState();
-        // To Simulate slow checkpoint add a Thread.sleep(1)
-        saveOffsets();
-        lowWatermark.checkpoint();
-        context.removeCheckpointFlag();
-        inCheckpointRecords = inRecords;
-        setThreadName("checkpoint");
+        try (Timer.Context ignored = checkpointTimer.time()) {
+            sendRecords();
+            saveTimers();
+            saveState();
+            // To Simulate slow checkpoint add a Thread.sleep(1)
+            saveOffsets();
+            lowWatermark.checkpoint();
+            context.removeCheckpointFlag();
+            inCheckpointRecords = inRecords;
+            setThreadName("checkpoint");
+        }
         log.debug("{}: Checkpoint done", metadata::name);
     }
 
@@ -624,6 +702,7 @@ public class ComputationRunner implements Runnable, RebalanceListener {
     }
 
     protected void sendRecords() {
+        long start = System.nanoTime();
         boolean firstRecord = true;
         for (String stream : metadata.outputStreams()) {
             for (Record record : context.getRecords(stream)) {
@@ -641,6 +720,9 @@ public class ComputationRunner implements Runnable, RebalanceListener {
             }
             context.getRecords(stream).clear();
         }
+        if (!firstRecord) {
+            appendTimer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     public Watermark getLowWatermark() {
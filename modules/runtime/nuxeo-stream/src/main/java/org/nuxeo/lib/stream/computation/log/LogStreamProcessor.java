@@ -235,7 +235,7 @@ public class LogStreamProcessor implements StreamProcessor {
                                                       .findFirst()
                                                       .orElseThrow();
             pool = new ComputationPool(topology.getSupplier(meta.name()), meta, getDefaultAssignments(meta),
-                    streamManager, settings.getPolicy(meta.name()));
+                    streamManager, settings.getPolicy(meta.name()), settings.getThreadFactory(meta.name()));
             pools.add(pool);
             pool.start();
         }
@@ -342,7 +342,8 @@ public class LogStreamProcessor implements StreamProcessor {
         return topology.metadataList()
                        .stream()
                        .map(meta -> new ComputationPool(topology.getSupplier(meta.name()), meta,
-                               getDefaultAssignments(meta), streamManager, settings.getPolicy(meta.name())))
+                               getDefaultAssignments(meta), streamManager, settings.getPolicy(meta.name()),
+                               settings.getThreadFactory(meta.name())))
                        .collect(Collectors.toList());
     }
 
@@ -33,6 +33,7 @@ import org.nuxeo.lib.stream.tools.command.LatencyCommand;
 import org.nuxeo.lib.stream.tools.command.MonitorCommand;
 import org.nuxeo.lib.stream.tools.command.PositionCommand;
 import org.nuxeo.lib.stream.tools.command.RestoreCommand;
+import org.nuxeo.lib.stream.tools.command.StageCommand;
 import org.nuxeo.lib.stream.tools.command.TailCommand;
 import org.nuxeo.lib.stream.tools.command.TestCommand;
 import org.nuxeo.lib.stream.tools.command.TrackerCommand;
@@ -60,6 +61,7 @@ public class CommandRegistry {
         ret.add(new MonitorCommand());
         ret.add(new DatadogCommand());
         ret.add(new WorkCatCommand());
+        ret.add(new StageCommand());
         return ret;
     }
 }
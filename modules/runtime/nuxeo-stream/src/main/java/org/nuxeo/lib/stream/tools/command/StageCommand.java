@@ -0,0 +1,179 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.lib.stream.tools.command;
+
+import static org.nuxeo.lib.stream.computation.log.ComputationRunner.STAGE_METRIC_NAME;
+import static org.nuxeo.lib.stream.computation.log.LogStreamManager.INTERNAL_CODEC;
+import static org.nuxeo.lib.stream.computation.log.LogStreamManager.METRICS_STREAM;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.log.LogManager;
+import org.nuxeo.lib.stream.log.LogOffset;
+import org.nuxeo.lib.stream.log.LogPartition;
+import org.nuxeo.lib.stream.log.LogRecord;
+import org.nuxeo.lib.stream.log.LogTailer;
+import org.nuxeo.lib.stream.log.Name;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Displays the latest per stage latency percentiles of the computations, as reported by each Nuxeo node into the
+ * metrics stream.
+ *
+ * @since 2023.13
+ */
+public class StageCommand extends Command {
+
+    private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(StageCommand.class);
+
+    protected static final String NAME = "stage";
+
+    protected static final Name GROUP = Name.ofUrn("admin/stage");
+
+    protected static final Duration READ_TIMEOUT = Duration.ofSeconds(1);
+
+    protected static final String PROCESS_RECORD_METRIC_NAME = "nuxeo.streams.computation.processRecord";
+
+    protected static final String PROCESS_TIMER_METRIC_NAME = "nuxeo.streams.computation.processTimer";
+
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void updateOptions(Options options) {
+        options.addOption(Option.builder("c")
+                                .longOpt("computation")
+                                .desc("Only display the stages of this computation")
+                                .hasArg()
+                                .argName("COMPUTATION")
+                                .build());
+        options.addOption(Option.builder()
+                                .longOpt("since")
+                                .desc("Ignore the metrics reported more than SECONDS ago, default is 300")
+                                .hasArg()
+                                .argName("SECONDS")
+                                .build());
+    }
+
+    @Override
+    public boolean run(LogManager manager, CommandLine cmd) throws InterruptedException {
+        String computation = cmd.getOptionValue("computation");
+        long since = System.currentTimeMillis() - 1000 * Long.parseLong(cmd.getOptionValue("since", "300"));
+        Name metrics = Name.ofUrn(METRICS_STREAM);
+        if (!manager.exists(metrics)) {
+            log.error("No metrics stream: {}, the stream metrics reporter must be enabled on Nuxeo nodes",
+                    METRICS_STREAM);
+            return false;
+        }
+        Map<String, JsonNode> reports = readLatestReports(manager, metrics, since);
+        if (reports.isEmpty()) {
+            log.warn("No metrics reported since {}s", (System.currentTimeMillis() - since) / 1000);
+            return true;
+        }
+        reports.forEach((node, report) -> renderReport(node, report, computation));
+        return true;
+    }
+
+    protected Map<String, JsonNode> readLatestReports(LogManager manager, Name metrics, long since)
+            throws InterruptedException {
+        Map<String, JsonNode> reports = new TreeMap<>();
+        try (LogTailer<Record> tailer = manager.createTailer(GROUP, metrics, INTERNAL_CODEC)) {
+            tailer.toStart();
+            seekToTimestamp(manager, tailer, metrics, since);
+            LogRecord<Record> logRecord;
+            while ((logRecord = tailer.read(READ_TIMEOUT)) != null) {
+                try {
+                    JsonNode report = OBJECT_MAPPER.readTree(logRecord.message().getData());
+                    if (report.path("timestamp").asLong() * 1000 >= since) {
+                        reports.put(report.path("nodeId").asText(report.path("hostname").asText()), report);
+                    }
+                } catch (IOException e) {
+                    log.debug("Skipping invalid metrics record at: {}", logRecord.offset(), e);
+                }
+            }
+        }
+        return reports;
+    }
+
+    protected void seekToTimestamp(LogManager manager, LogTailer<Record> tailer, Name metrics, long timestamp) {
+        try {
+            for (int partition = 0; partition < manager.size(metrics); partition++) {
+                LogOffset offset = tailer.offsetForTimestamp(new LogPartition(metrics, partition), timestamp);
+                if (offset != null) {
+                    tailer.seek(offset);
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            // read from the start
+            log.debug("Cannot seek by timestamp: {}", e::getMessage);
+        }
+    }
+
+    protected void renderReport(String node, JsonNode report, String computation) {
+        log.info("## Node: {}, host: {}, reported at: {}", node, report.path("hostname").asText(),
+                report.path("timestamp").asLong());
+        log.info("| computation | stage | count | rate1m | p50 ms | p95 ms | p99 ms | max ms |\n"
+                + "| --- | --- | ---: | ---: | ---: | ---: | ---: | ---: |");
+        for (JsonNode metric : report.path("metrics")) {
+            String stage = getStage(metric);
+            if (stage == null || metric.path("count").asLong() == 0) {
+                continue;
+            }
+            String name = metric.path("computation").asText();
+            if (computation != null && !computation.equals(name)) {
+                continue;
+            }
+            log.info("|{}|{}|{}|{}|{}|{}|{}|{}|", name, stage, metric.path("count").asLong(),
+                    String.format("%.2f", metric.path("rate1m").asDouble()), toMillis(metric.path("p50")),
+                    toMillis(metric.path("p95")), toMillis(metric.path("p99")), toMillis(metric.path("max")));
+        }
+    }
+
+    protected String getStage(JsonNode metric) {
+        String key = metric.path("k").asText();
+        if (STAGE_METRIC_NAME.equals(key)) {
+            return metric.path("stage").asText();
+        } else if (PROCESS_RECORD_METRIC_NAME.equals(key)) {
+            return "process";
+        } else if (PROCESS_TIMER_METRIC_NAME.equals(key)) {
+            return "timer";
+        }
+        return null;
+    }
+
+    protected String toMillis(JsonNode seconds) {
+        // timers are reported in seconds
+        return String.format("%.3f", seconds.asDouble() * 1000);
+    }
+
+}
@@ -37,6 +37,7 @@ import org.junit.Test;
 import org.nuxeo.lib.stream.codec.AvroBinaryCodec;
 import org.nuxeo.lib.stream.computation.Record;
 import org.nuxeo.lib.stream.computation.Watermark;
+import org.nuxeo.lib.stream.computation.log.LogStreamManager;
 import org.nuxeo.lib.stream.log.LogAppender;
 import org.nuxeo.lib.stream.log.LogLag;
 import org.nuxeo.lib.stream.log.LogManager;
@@ -302,6 +303,21 @@ public abstract class TestTools {
                 LOG_NAME));
     }
 
+    @Test
+    public void testStage() throws Exception {
+        try (LogManager manager = getManager()) {
+            Name metrics = Name.ofUrn(LogStreamManager.METRICS_STREAM);
+            manager.createIfNotExists(metrics, 1);
+            String report = String.format("{\"timestamp\":%d,\"hostname\":\"localhost\",\"nodeId\":\"node1\","
+                    + "\"metrics\":[{\"k\":\"nuxeo.streams.computation.stage\",\"computation\":\"myComputation\","
+                    + "\"stage\":\"read\",\"count\":10,\"rate1m\":1.5,\"p50\":0.001,\"p95\":0.002,"
+                    + "\"p99\":0.003,\"max\":0.004}]}", System.currentTimeMillis() / 1000);
+            manager.getAppender(metrics, LogStreamManager.INTERNAL_CODEC)
+                   .append(0, Record.of("node1", report.getBytes(UTF_8)));
+        }
+        run(String.format("stage %s --computation myComputation", getManagerOptions()));
+    }
+
     @Test
     public void testHelpOption() {
         run("-h");